@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.benchmark;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H2上逐行execute与BatchInserter的插入速度对比，得分单位为行/秒
+ * <p>
+ * 运行：java -jar target/benchmarks.jar BatchInsertBenchmark
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private static final String INSERT_SQL = "insert into user_t (first_name, last_name, age) values(?,?,?)";
+
+    private final Dialect dialect = Dialect.H2Dialect;
+
+    private Connection conn;
+
+    private BatchInserter batchInserter;
+
+    private BatchInserter multiRowInserter;
+
+    private long sequence;
+
+    @Setup
+    public void setup() throws SQLException {
+        Dialect.setGlobalAllowShowSql(false);
+
+        TableModel t = BenchmarkModels.userModel();
+        conn = DriverManager.getConnection("jdbc:h2:mem:batch_bench", "sa", "");
+        try (Statement st = conn.createStatement()) {
+            for (String ddl : dialect.toCreateDDL(t)) {
+                st.execute(ddl);
+            }
+        }
+
+        batchInserter = new BatchInserter(dialect, t).batchSize(ROWS);
+        multiRowInserter = new BatchInserter(dialect, t).batchSize(ROWS).rowsPerStatement(50);
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("truncate table user_t");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    /**
+     * 原CreateDDLTest.testAddData的写法：每行prepare、execute、close一次
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int perRowExecute() throws SQLException {
+        int count = 0;
+        for (Object[] row : nextRows()) {
+            PreparedStatement pst = conn.prepareStatement(INSERT_SQL);
+            try {
+                for (int i = 0; i < row.length; i++) {
+                    pst.setObject(i + 1, row[i]);
+                }
+                pst.execute();
+                count++;
+            } finally {
+                pst.close();
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int batchInsert() throws SQLException {
+        return batchInserter.insert(conn, nextRows());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int multiRowBatchInsert() throws SQLException {
+        return multiRowInserter.insert(conn, nextRows());
+    }
+
+    private List<Object[]> nextRows() {
+        List<Object[]> rows = new ArrayList<Object[]>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long n = sequence++;
+            rows.add(new Object[]{"Foo" + n, "Bar" + n, (int) (n % 100)});
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.benchmark;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+
+/**
+ * 基准测试使用的模型，与CreateDDLTest、CreateModeDDLTest中的定义保持一致
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public final class BenchmarkModels {
+
+    private BenchmarkModels() {
+    }
+
+    /**
+     * CreateDDLTest中的user_t
+     */
+    public static TableModel userModel() {
+        TableModel t = new TableModel("user_t");
+        t.column("first_name").VARCHAR(20).pkey();
+        t.column("last_name").VARCHAR(20).pkey();
+        t.column("age").INTEGER();
+        return t;
+    }
+
+    /**
+     * CreateModeDDLTest中的model_column_t
+     */
+    public static TableModel modelColumnModel() {
+        TableModel t = new TableModel("model_column_t");
+        t.column("model_column_id").LONG().pkey().autoId();
+        t.column("column_name").VARCHAR(50);
+        t.column("column_type").VARCHAR(50);
+        t.column("column_definition").VARCHAR(50);
+        t.column("pkey").BOOLEAN();
+        t.column("nullable").BOOLEAN();
+        t.column("check_attribute").VARCHAR(50);
+        t.column("default_value").VARCHAR(50);
+        t.column("tail").VARCHAR(50);
+        t.column("comment_attribute").VARCHAR(50);
+        t.column("create_timestamp").BOOLEAN();
+        t.column("update_timestamp").BOOLEAN();
+        t.column("created_by").BOOLEAN();
+        t.column("last_modified_by").BOOLEAN();
+        t.column("id_generation_type").VARCHAR(50);
+        t.column("id_generation_name").VARCHAR(50);
+        t.column("converter_class_or_name").VARCHAR(350);
+        t.column("entity_field").VARCHAR(50);
+        t.column("length").INTEGER();
+        t.column("precision_attribute").INTEGER();
+        t.column("scale").INTEGER();
+        t.column("insertable").BOOLEAN();
+        t.column("updatable").BOOLEAN();
+        t.column("transientable").BOOLEAN();
+        t.column("model_table_id").LONG();
+        t.fkey("fk_model_table_id_model_column_t_model_table_t").columns("model_table_id").refs("model_table_t", "model_table_id");
+        return t;
+    }
+
+    /**
+     * 按名称查找方言，如"H2Dialect"、"MySQL8Dialect"
+     */
+    public static Dialect dialect(String name) {
+        for (Dialect dialect : Dialect.dialects) {
+            if (dialect.getName().equals(name)) {
+                return dialect;
+            }
+        }
+        throw new IllegalArgumentException("Unknown dialect: " + name);
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 在IDE中直接运行基准测试，默认开启GC分析以统计分配速率
+ * <p>
+ * 参数为要运行的基准测试正则，默认运行全部
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : ".*Benchmark.*")
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.benchmark;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.BulkLoader;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H2上BatchInserter多行批量插入、CSV + CSVREAD导入与BulkLoader导入user_t的耗时对比
+ * <p>
+ * 行按需生成，不整体放入内存。csvRead总是走CSVREAD；bulkLoad由BulkLoader按连接选择，
+ * 嵌入式H2上退回批量插入（没有网络往返，CSVREAD不占优），本机TCP服务上使用CSVREAD。
+ * <p>
+ * 运行：java -jar target/benchmarks.jar BulkLoadBenchmark -p rows=10000000 -p mode=file,tcp
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BulkLoadBenchmark {
+
+    private final Dialect dialect = Dialect.H2Dialect;
+
+    @Param({"1000000", "10000000"})
+    private int rows;
+
+    /**
+     * mem为嵌入式内存库（1000万行在-Xmx3g下放不下）；file为嵌入式文件库；
+     * tcp为同一JVM内启动的H2 TCP服务上的文件库，批量插入需要经过网络往返，更接近客户端/服务器部署
+     */
+    @Param({"mem", "file", "tcp"})
+    private String mode;
+
+    private Server server;
+
+    private Path baseDir;
+
+    private final TableModel t = BenchmarkModels.userModel();
+
+    private Connection conn;
+
+    @Setup
+    public void setup() throws SQLException, IOException {
+        Dialect.setGlobalAllowShowSql(false);
+        if ("mem".equals(mode)) {
+            conn = DriverManager.getConnection("jdbc:h2:mem:bulk_bench", "sa", "");
+            return;
+        }
+        baseDir = Files.createTempDirectory("bulk_bench");
+        if ("tcp".equals(mode)) {
+            server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists", "-baseDir", baseDir.toString()).start();
+            conn = DriverManager.getConnection("jdbc:h2:tcp://localhost:" + server.getPort() + "/bulk_bench", "sa", "");
+        } else {
+            conn = DriverManager.getConnection("jdbc:h2:file:" + baseDir.resolve("bulk_bench"), "sa", "");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void recreate() throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("drop table if exists user_t");
+            for (String ddl : dialect.toCreateDDL(t)) {
+                st.execute(ddl);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException, IOException {
+        conn.close();
+        if (server != null) {
+            server.stop();
+        }
+        if (baseDir != null) {
+            // H2的文件库只有bulk_bench.mv.db等几个文件，没有子目录
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(baseDir)) {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(baseDir);
+        }
+    }
+
+    @Benchmark
+    public int batchInsert() throws SQLException {
+        return new BatchInserter(dialect, t).batchSize(1000).rowsPerStatement(50).insert(conn, userRows(rows));
+    }
+
+    @Benchmark
+    public long bulkLoad() throws SQLException, IOException {
+        return new BulkLoader(dialect, t).load(conn, userRows(rows));
+    }
+
+    @Benchmark
+    public long csvRead() throws SQLException, IOException {
+        BulkLoader loader = new BulkLoader(dialect, t);
+        Path csv = Files.createTempFile("user_t", ".csv");
+        try (Statement st = conn.createStatement()) {
+            long count = loader.writeCsv(csv, userRows(rows));
+            st.executeUpdate(loader.loadSql(csv));
+            return count;
+        } finally {
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    private static Iterable<Object[]> userRows(final int count) {
+        return () -> new Iterator<Object[]>() {
+
+            private int n;
+
+            @Override
+            public boolean hasNext() {
+                return n < count;
+            }
+
+            @Override
+            public Object[] next() {
+                n++;
+                return new Object[]{"Foo" + n, "Bar" + n, n % 100};
+            }
+        };
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.benchmark;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import com.waylau.jdialects.result.ColumnarPage;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 读取一页user_t（100行），每行一个Map&lt;String,Object&gt;与复用ColumnarPage的耗时和分配对比
+ * <p>
+ * 每次操作读一页并对age求和。加-prof gc查看每次操作分配的字节数，其中包含H2驱动自身的分配。
+ * 运行：java -jar target/benchmarks.jar ColumnarPageBenchmark -prof gc
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarPageBenchmark {
+
+    private static final int ROWS = 10000;
+
+    private static final int PAGE_SIZE = 100;
+
+    private final Dialect dialect = Dialect.H2Dialect;
+
+    private BasicDataSource ds;
+
+    private SqlExecutor executor;
+
+    private Connection conn;
+
+    private ColumnarPage page;
+
+    private int age;
+
+    private String[] pageSqls;
+
+    private int next;
+
+    @Setup
+    public void setup() throws SQLException {
+        Dialect.setGlobalAllowShowSql(false);
+
+        ds = new BasicDataSource();
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:columnar_bench");
+        ds.setUsername("sa");
+        ds.setPassword("");
+        executor = new SqlExecutor(SqlExecutor.enableStatementPooling(ds, SqlExecutor.DEFAULT_MAX_OPEN_PREPARED_STATEMENTS));
+
+        TableModel t = BenchmarkModels.userModel();
+        executor.execute(dialect.toCreateDDL(t));
+        List<Object[]> rows = new ArrayList<Object[]>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{String.format("Foo%05d", i), "Bar" + (i % 10), i % 100 + 200});
+        }
+        conn = ds.getConnection();
+        new BatchInserter(dialect, t).insert(conn, rows);
+
+        pageSqls = new String[ROWS / PAGE_SIZE];
+        for (int p = 0; p < pageSqls.length; p++) {
+            pageSqls[p] = dialect.pagin(p + 1, PAGE_SIZE, "select * from user_t order by first_name");
+        }
+        page = new ColumnarPage(t, PAGE_SIZE);
+        age = page.columnIndex("age");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        conn.close();
+        ds.close();
+    }
+
+    @Benchmark
+    public long mapRows() throws SQLException {
+        final List<Map<String, Object>> rows = new ArrayList<Map<String, Object>>(PAGE_SIZE);
+        executor.query(conn, nextSql(), rs -> rows.add(toMap(rs)));
+        long sum = 0;
+        for (Map<String, Object> row : rows) {
+            sum += (Integer) row.get("AGE");
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long columnar() throws SQLException {
+        page.clear();
+        executor.query(conn, nextSql(), page::add);
+        long sum = 0;
+        for (int row = 0; row < page.size(); row++) {
+            sum += page.getInt(row, age);
+        }
+        return sum;
+    }
+
+    private String nextSql() {
+        return pageSqls[next++ % pageSqls.length];
+    }
+
+    private static Map<String, Object> toMap(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int n = meta.getColumnCount();
+        Map<String, Object> row = new HashMap<String, Object>(n * 2);
+        for (int i = 1; i <= n; i++) {
+            row.put(meta.getColumnLabel(i), rs.getObject(i));
+        }
+        return row;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.benchmark;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.paging.PaginTemplateCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dialect的DDL生成、分页基准测试
+ * <p>
+ * 运行：java -jar target/benchmarks.jar DialectBenchmark -prof gc
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DialectBenchmark {
+
+    private static final String SQL = "select * from user_t";
+
+    @Param({"H2Dialect", "MySQL8Dialect", "PostgreSQL95Dialect", "Oracle12cDialect", "SQLServer2012Dialect"})
+    private String dialectName;
+
+    private Dialect dialect;
+
+    private TableModel userModel;
+
+    private TableModel modelColumnModel;
+
+    private PaginTemplateCache paginCache;
+
+    @Setup
+    public void setup() {
+        // 关闭日志，避免输出干扰测量
+        Dialect.setGlobalAllowShowSql(false);
+
+        dialect = BenchmarkModels.dialect(dialectName);
+        userModel = BenchmarkModels.userModel();
+        modelColumnModel = BenchmarkModels.modelColumnModel();
+        paginCache = new PaginTemplateCache(500);
+    }
+
+    @Benchmark
+    public String paginFirstPage() {
+        return dialect.pagin(1, 20, SQL);
+    }
+
+    @Benchmark
+    public String paginDeepPage() {
+        return dialect.pagin(50, 20, SQL);
+    }
+
+    @Benchmark
+    public String cachedPaginFirstPage() {
+        return paginCache.pagin(dialect, 1, 20, SQL);
+    }
+
+    @Benchmark
+    public String cachedPaginDeepPage() {
+        return paginCache.pagin(dialect, 50, 20, SQL);
+    }
+
+    @Benchmark
+    public String[] toCreateDDLUser() {
+        return dialect.toCreateDDL(userModel);
+    }
+
+    @Benchmark
+    public String[] toCreateDDLModelColumn() {
+        return dialect.toCreateDDL(modelColumnModel);
+    }
+
+    @Benchmark
+    public String[] toDropDDLUser() {
+        return dialect.toDropDDL(userModel);
+    }
+
+    @Benchmark
+    public String[] toDropDDLModelColumn() {
+        return dialect.toDropDDL(modelColumnModel);
+    }
+}
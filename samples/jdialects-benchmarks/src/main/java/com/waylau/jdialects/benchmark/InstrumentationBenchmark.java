@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.benchmark;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import com.waylau.jdialects.metrics.InstrumentedDataSource;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H2上借连接、按主键查询、归还连接，直接使用BasicDataSource与经InstrumentedDataSource统计的开销对比
+ * <p>
+ * 加-prof gc查看每次操作多分配的字节数。运行：java -jar target/benchmarks.jar InstrumentationBenchmark -prof gc
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private static final String QUERY = "select age from user_t where first_name = ? and last_name = ?";
+
+    private final Dialect dialect = Dialect.H2Dialect;
+
+    @Param({"raw", "instrumented"})
+    private String mode;
+
+    private BasicDataSource ds;
+
+    private SqlExecutor executor;
+
+    private int next;
+
+    @Setup
+    public void setup() throws SQLException {
+        Dialect.setGlobalAllowShowSql(false);
+
+        ds = new BasicDataSource();
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:instrumentation_bench");
+        ds.setUsername("sa");
+        ds.setPassword("");
+        DataSource dataSource = "instrumented".equals(mode) ? new InstrumentedDataSource(ds) : ds;
+        executor = new SqlExecutor(dataSource);
+
+        TableModel t = BenchmarkModels.userModel();
+        executor.execute(dialect.toCreateDDL(t));
+        List<Object[]> rows = new ArrayList<Object[]>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{"Foo" + i, "Bar" + i, i % 100});
+        }
+        try (Connection conn = ds.getConnection()) {
+            new BatchInserter(dialect, t).insert(conn, rows);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        if (executor.getDataSource() instanceof InstrumentedDataSource) {
+            System.out.println(((InstrumentedDataSource) executor.getDataSource()).getMetrics().snapshot(QUERY));
+        }
+        ds.close();
+    }
+
+    @Benchmark
+    public Object query() throws SQLException {
+        int n = next++ % ROWS;
+        try (Connection conn = executor.getDataSource().getConnection()) {
+            return executor.queryForObject(conn, QUERY, "Foo" + n, "Bar" + n);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.benchmark;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.TableModelUtils;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.schema.SchemaIntrospector;
+import com.waylau.jdialects.schema.SchemaSnapshot;
+import com.waylau.jdialects.schema.SchemaSnapshotCache;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在有5000个表的H2库上，TableModelUtils.db2Models()、SchemaIntrospector并行读取与SchemaSnapshotCache快照启动的耗时对比
+ * <p>
+ * 运行：java -jar target/benchmarks.jar IntrospectionBenchmark
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IntrospectionBenchmark {
+
+    private static final int TABLES = 5000;
+
+    private final Dialect dialect = Dialect.H2Dialect;
+
+    @Param({"1", "4", "8"})
+    private int parallelism;
+
+    private BasicDataSource ds;
+
+    private Path snapshotFile;
+
+    @Setup
+    public void setup() throws SQLException, IOException {
+        Dialect.setGlobalAllowShowSql(false);
+
+        ds = new BasicDataSource();
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:introspection_bench");
+        ds.setUsername("sa");
+        ds.setPassword("");
+        ds.setMaxTotal(8);
+
+        TableModel[] models = new TableModel[TABLES];
+        for (int i = 0; i < TABLES; i++) {
+            TableModel t = BenchmarkModels.modelColumnModel();
+            t.setTableName("model_column_" + i);
+            t.getFkeyConstraints().clear();
+            if (i > 0) {
+                t.fkey().columns("model_table_id").refs("model_column_" + (i - 1), "model_column_id");
+            }
+            models[i] = t;
+        }
+        Connection conn = ds.getConnection();
+        try (Statement st = conn.createStatement()) {
+            for (String ddl : dialect.toCreateDDL(models)) {
+                st.execute(ddl);
+            }
+        } finally {
+            conn.close();
+        }
+
+        snapshotFile = Files.createTempFile("introspection_bench", ".snapshot");
+        Files.delete(snapshotFile);
+        new SchemaSnapshotCache(dialect, ds, snapshotFile).load();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException, IOException {
+        ds.close();
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    /**
+     * 单连接串行读取，不读取索引
+     */
+    @Benchmark
+    public TableModel[] db2Models() throws SQLException {
+        Connection conn = ds.getConnection();
+        try {
+            return TableModelUtils.db2Models(conn, dialect);
+        } finally {
+            conn.close();
+        }
+    }
+
+    @Benchmark
+    public TableModel[] introspector() throws SQLException {
+        return new SchemaIntrospector(dialect, ds).parallelism(parallelism).includeIndexes(false).db2Models();
+    }
+
+    @Benchmark
+    public TableModel[] introspectorWithIndexes() throws SQLException {
+        return new SchemaIntrospector(dialect, ds).parallelism(parallelism).db2Models();
+    }
+
+    /**
+     * 校验结构版本后映射快照文件，按表名取一个表
+     */
+    @Benchmark
+    public TableModel snapshot() throws SQLException, IOException {
+        SchemaSnapshot snapshot = new SchemaSnapshotCache(dialect, ds, snapshotFile).load();
+        return snapshot.get("model_column_" + (TABLES - 1));
+    }
+
+    /**
+     * 映射快照文件并解码全部表
+     */
+    @Benchmark
+    public TableModel[] snapshotAllTables() throws SQLException, IOException {
+        return new SchemaSnapshotCache(dialect, ds, snapshotFile).load().models();
+    }
+}
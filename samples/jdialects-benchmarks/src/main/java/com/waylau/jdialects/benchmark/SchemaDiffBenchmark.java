@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.benchmark;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.schema.SchemaDiff;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SchemaDiff在大量表上的比较耗时，只有最后一个表有变化
+ * <p>
+ * 运行：java -jar target/benchmarks.jar SchemaDiffBenchmark
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaDiffBenchmark {
+
+    @Param({"1000", "5000"})
+    private int tables;
+
+    private SchemaDiff schemaDiff;
+
+    private TableModel[] live;
+
+    private TableModel[] target;
+
+    @Setup
+    public void setup() {
+        Dialect.setGlobalAllowShowSql(false);
+
+        schemaDiff = new SchemaDiff(Dialect.H2Dialect);
+        live = new TableModel[tables];
+        target = new TableModel[tables];
+        for (int i = 0; i < tables; i++) {
+            TableModel model = BenchmarkModels.modelColumnModel();
+            model.setTableName("model_column_" + i);
+            target[i] = model;
+            live[i] = model.newCopy();
+        }
+        target[tables - 1].column("remark").VARCHAR(50);
+    }
+
+    @Benchmark
+    public String[] diff() {
+        return schemaDiff.diff(live, target);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.benchmark;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 原execute()写法与SqlExecutor（开启PreparedStatement池）的语句吞吐对比，得分单位为语句/秒
+ * <p>
+ * 运行：java -jar target/benchmarks.jar SqlExecutorBenchmark
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlExecutorBenchmark {
+
+    private static final String SQL = "select age from user_t where first_name = ? and last_name = ?";
+
+    /**
+     * H2自带会话级的解析缓存，设为0时每次prepare都重新解析，接近没有服务端缓存的数据库
+     */
+    @Param({"8", "0"})
+    private int queryCacheSize;
+
+    private BasicDataSource plainDataSource;
+
+    private BasicDataSource pooledDataSource;
+
+    private SqlExecutor executor;
+
+    private int sequence;
+
+    @Setup
+    public void setup() throws SQLException {
+        Dialect.setGlobalAllowShowSql(false);
+
+        plainDataSource = newDataSource("jdbc:h2:mem:plain_bench;QUERY_CACHE_SIZE=" + queryCacheSize);
+        pooledDataSource = newDataSource("jdbc:h2:mem:pooled_bench;QUERY_CACHE_SIZE=" + queryCacheSize);
+        executor = new SqlExecutor(SqlExecutor.enableStatementPooling(pooledDataSource,
+                SqlExecutor.DEFAULT_MAX_OPEN_PREPARED_STATEMENTS));
+
+        createData(plainDataSource);
+        createData(pooledDataSource);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        plainDataSource.close();
+        pooledDataSource.close();
+    }
+
+    /**
+     * 原测试中的execute()：每次prepare新语句，执行后关闭
+     */
+    @Benchmark
+    public Object before() throws SQLException {
+        int i = nextId();
+        Connection conn = plainDataSource.getConnection();
+        try {
+            PreparedStatement pst = conn.prepareStatement(SQL);
+            try {
+                pst.setObject(1, "Foo" + i);
+                pst.setObject(2, "Bar" + i);
+                ResultSet rs = pst.executeQuery();
+                try {
+                    return rs.next() ? rs.getObject(1) : null;
+                } finally {
+                    rs.close();
+                }
+            } finally {
+                pst.close();
+            }
+        } finally {
+            conn.close();
+        }
+    }
+
+    @Benchmark
+    public Object after() throws SQLException {
+        int i = nextId();
+        Connection conn = pooledDataSource.getConnection();
+        try {
+            return executor.queryForObject(conn, SQL, "Foo" + i, "Bar" + i);
+        } finally {
+            conn.close();
+        }
+    }
+
+    private int nextId() {
+        return sequence++ % 1000 + 1;
+    }
+
+    private static BasicDataSource newDataSource(String url) {
+        BasicDataSource ds = new BasicDataSource();
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl(url);
+        ds.setUsername("sa");
+        ds.setPassword("");
+        return ds;
+    }
+
+    private static void createData(BasicDataSource ds) throws SQLException {
+        TableModel t = BenchmarkModels.userModel();
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (int i = 1; i <= 1000; i++) {
+            rows.add(new Object[]{"Foo" + i, "Bar" + i, i});
+        }
+        new SqlExecutor(ds).execute(Dialect.H2Dialect.toCreateDDL(t));
+        Connection conn = ds.getConnection();
+        try {
+            new BatchInserter(Dialect.H2Dialect, t).insert(conn, rows);
+        } finally {
+            conn.close();
+        }
+    }
+}
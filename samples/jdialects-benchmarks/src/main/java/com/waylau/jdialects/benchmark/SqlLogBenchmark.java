@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import com.waylau.jdialects.log.AsyncSqlLog;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H2上按主键查询时，不记录、同步logger.info(sql)、AsyncSqlLog全部记录、AsyncSqlLog按1%采样的吞吐量对比
+ * <p>
+ * 日志按logback.xml中的格式写入丢弃输出的流，只计格式化和加锁的开销，AsyncSqlLog与默认配置一样成批写入logger。
+ * 运行：java -jar target/benchmarks.jar SqlLogBenchmark
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqlLogBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private static final String QUERY = "select age from user_t where first_name = ? and last_name = ?";
+
+    private final Dialect dialect = Dialect.H2Dialect;
+
+    @Param({"off", "sync", "async", "asyncSampled"})
+    private String mode;
+
+    private BasicDataSource ds;
+
+    private Connection conn;
+
+    private SqlExecutor executor;
+
+    private Logger syncLogger;
+
+    private AsyncSqlLog sqlLog;
+
+    private OutputStreamAppender<ILoggingEvent> appender;
+
+    private int next;
+
+    @Setup
+    public void setup() throws SQLException {
+        Dialect.setGlobalAllowShowSql(false);
+
+        ds = new BasicDataSource();
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:sql_log_bench");
+        ds.setUsername("sa");
+        ds.setPassword("");
+        executor = new SqlExecutor(SqlExecutor.enableStatementPooling(ds, SqlExecutor.DEFAULT_MAX_OPEN_PREPARED_STATEMENTS));
+
+        TableModel t = BenchmarkModels.userModel();
+        executor.execute(dialect.toCreateDDL(t));
+        List<Object[]> rows = new ArrayList<Object[]>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{"Foo" + i, "Bar" + i, i % 100});
+        }
+        conn = ds.getConnection();
+        new BatchInserter(dialect, t).insert(conn, rows);
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+        appender = new OutputStreamAppender<ILoggingEvent>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        });
+        appender.start();
+        syncLogger = context.getLogger("sql_log_bench");
+        syncLogger.setAdditive(false);
+        syncLogger.addAppender(appender);
+
+        if ("async".equals(mode)) {
+            sqlLog = new AsyncSqlLog(8192, syncLogger);
+        } else if ("asyncSampled".equals(mode)) {
+            sqlLog = new AsyncSqlLog(8192, syncLogger).sampleRate(0.01);
+        }
+        executor.sqlLog(sqlLog);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        if (sqlLog != null) {
+            sqlLog.close();
+            System.out.println(mode + ": " + sqlLog);
+        }
+        syncLogger.detachAppender(appender);
+        appender.stop();
+        conn.close();
+        ds.close();
+    }
+
+    @Benchmark
+    public Object query() throws SQLException {
+        int n = next++ % ROWS;
+        if ("sync".equals(mode)) {
+            syncLogger.info(QUERY);
+        }
+        return executor.queryForObject(conn, QUERY, "Foo" + n, "Bar" + n);
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.jdbc;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.ColumnModel;
+import com.github.drinkjava2.jdialects.model.TableModel;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 根据TableModel生成的批量插入器
+ * <p>
+ * 使用JDBC的addBatch/executeBatch批量提交，方言支持时一条INSERT语句携带多行VALUES，
+ * 减少网络往返和SQL解析次数。事务由调用方控制。
+ *
+ * <pre>
+ * BatchInserter inserter = new BatchInserter(Dialect.H2Dialect, t).batchSize(500).rowsPerStatement(20);
+ * inserter.insert(conn, rows);
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class BatchInserter {
+
+    /**
+     * 没有已知上限的方言单条语句使用的最大参数个数，见maxParameters()
+     */
+    public static final int DEFAULT_MAX_PARAMETERS = 2000;
+
+    private final Dialect dialect;
+
+    private final String tableName;
+
+    private final List<String> columnNames;
+
+    private int batchSize = 100;
+
+    private int rowsPerStatement = 1;
+
+    public BatchInserter(Dialect dialect, TableModel tableModel) {
+        this.dialect = dialect;
+        this.tableName = tableModel.getTableName();
+
+        List<String> names = new ArrayList<String>();
+        for (ColumnModel column : tableModel.getColumns()) {
+            if (Boolean.TRUE.equals(column.getTransientable()) || Boolean.FALSE.equals(column.getInsertable())) {
+                continue;
+            }
+            names.add(column.getColumnName());
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("No insertable column in table " + tableName);
+        }
+        this.columnNames = Collections.unmodifiableList(names);
+    }
+
+    /**
+     * 每次executeBatch提交的语句数
+     */
+    public BatchInserter batchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * 每条INSERT语句携带的行数，方言不支持多行VALUES时固定为1，
+     * 超过maxRowsPerStatement()或maxParameters()允许的行数时取上限
+     */
+    public BatchInserter rowsPerStatement(int rowsPerStatement) {
+        if (rowsPerStatement < 1) {
+            throw new IllegalArgumentException("rowsPerStatement must be positive");
+        }
+        int max = Math.max(1, Math.min(maxRowsPerStatement(dialect), maxParameters(dialect) / columnNames.size()));
+        this.rowsPerStatement = supportsMultiRowValues(dialect) ? Math.min(rowsPerStatement, max) : 1;
+        return this;
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getRowsPerStatement() {
+        return rowsPerStatement;
+    }
+
+    /**
+     * 生成携带rows行VALUES的INSERT语句
+     */
+    public String insertSql(int rows) {
+        StringBuilder sb = new StringBuilder(64 + rows * columnNames.size() * 2);
+        sb.append("insert into ").append(tableName).append(" (");
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(columnNames.get(i));
+        }
+        sb.append(") values ");
+        for (int r = 0; r < rows; r++) {
+            if (r > 0) {
+                sb.append(", ");
+            }
+            sb.append('(');
+            for (int i = 0; i < columnNames.size(); i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append('?');
+            }
+            sb.append(')');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 批量插入，每行的值按getColumnNames()的顺序排列
+     *
+     * @return 插入的行数
+     */
+    public int insert(Connection conn, Iterable<Object[]> rows) throws SQLException {
+        List<Object[]> buffer = new ArrayList<Object[]>(rowsPerStatement);
+        int total = 0;
+
+        PreparedStatement pst = conn.prepareStatement(insertSql(rowsPerStatement));
+        try {
+            int pending = 0;
+            for (Object[] row : rows) {
+                checkRow(row);
+                buffer.add(row);
+                if (buffer.size() == rowsPerStatement) {
+                    bind(pst, buffer);
+                    pst.addBatch();
+                    buffer.clear();
+                    if (++pending == batchSize) {
+                        pst.executeBatch();
+                        total += pending * rowsPerStatement;
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                pst.executeBatch();
+                total += pending * rowsPerStatement;
+            }
+        } finally {
+            pst.close();
+        }
+
+        // 剩余不足一条多行语句的数据按单行批量提交
+        if (!buffer.isEmpty()) {
+            total += executeSingleRows(conn, buffer);
+        }
+        return total;
+    }
+
+    private int executeSingleRows(Connection conn, List<Object[]> buffer) throws SQLException {
+        PreparedStatement pst = conn.prepareStatement(insertSql(1));
+        try {
+            int pending = 0;
+            for (Object[] row : buffer) {
+                for (int i = 0; i < row.length; i++) {
+                    pst.setObject(i + 1, row[i]);
+                }
+                pst.addBatch();
+                if (++pending == batchSize) {
+                    pst.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                pst.executeBatch();
+            }
+            return buffer.size();
+        } finally {
+            pst.close();
+        }
+    }
+
+    private void bind(PreparedStatement pst, List<Object[]> buffer) throws SQLException {
+        int index = 1;
+        for (Object[] row : buffer) {
+            for (Object value : row) {
+                pst.setObject(index++, value);
+            }
+        }
+    }
+
+    private void checkRow(Object[] row) {
+        if (row.length != columnNames.size()) {
+            throw new IllegalArgumentException("Expected " + columnNames.size() + " values for table " + tableName
+                    + " but got " + row.length);
+        }
+    }
+
+    /**
+     * 单条语句允许的最大参数个数：SQL Server为2100，SQLite 3.32之前为999（SQLITE_MAX_VARIABLE_NUMBER），
+     * PostgreSQL为32767，MySQL为65535，其他方言取DEFAULT_MAX_PARAMETERS
+     */
+    public static int maxParameters(Dialect dialect) {
+        if (dialect.isSQLServerFamily()) {
+            return 2100;
+        }
+        if (Dialect.SQLiteDialect.equals(dialect)) {
+            return 999;
+        }
+        if (dialect.isPostgresFamily()) {
+            return 32767;
+        }
+        if (dialect.isMySqlFamily()) {
+            return 65535;
+        }
+        return DEFAULT_MAX_PARAMETERS;
+    }
+
+    /**
+     * 单条INSERT语句允许的最大VALUES行数：SQL Server的表值构造器最多1000行，
+     * SQLite 3.8.8之前多行VALUES受SQLITE_MAX_COMPOUND_SELECT（500）限制，其他方言只受参数个数限制
+     */
+    public static int maxRowsPerStatement(Dialect dialect) {
+        if (dialect.isSQLServerFamily()) {
+            return 1000;
+        }
+        if (Dialect.SQLiteDialect.equals(dialect)) {
+            return 500;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * 方言是否支持 insert ... values (...), (...) 多行写法
+     */
+    public static boolean supportsMultiRowValues(Dialect dialect) {
+        if (dialect.isSQLServerFamily()) {
+            // SQL Server 2008开始支持表值构造器
+            return !Dialect.SQLServerDialect.equals(dialect) && !Dialect.SQLServer2005Dialect.equals(dialect);
+        }
+        return dialect.isMySqlFamily() || dialect.isH2Family() || dialect.isPostgresFamily()
+                || dialect.isDB2Family() || dialect.isDerbyFamily()
+                || Dialect.HSQLDialect.equals(dialect) || Dialect.SQLiteDialect.equals(dialect);
+    }
+}
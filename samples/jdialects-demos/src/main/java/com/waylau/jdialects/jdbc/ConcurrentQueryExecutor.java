@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.jdbc;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import org.apache.commons.dbcp2.BasicDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 把分页查询（Dialect.pagin）和分段批量写入分发到ExecutorService并发执行
+ * <p>
+ * 同时持有连接的任务数不超过maxConcurrency（默认取BasicDataSource的maxTotal），多出的任务在信号量上等待，
+ * 而不是在连接池的borrow上等到maxWait超时。ExecutorService可以是固定大小的线程池，
+ * 也可以是Java 21的Executors.newVirtualThreadPerTaskExecutor()（见jdialects-java21模块），
+ * 后者每个任务一个虚拟线程，阻塞在JDBC调用上时不占用平台线程。
+ *
+ * <pre>
+ * try (ConcurrentQueryExecutor executor = new ConcurrentQueryExecutor(dialect, ds, Executors.newFixedThreadPool(8))) {
+ *     List&lt;List&lt;String&gt;&gt; pages = executor.queryPages("select name from user_t order by id", 100, 20, rs -&gt; rs.getString(1));
+ * }
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class ConcurrentQueryExecutor implements AutoCloseable {
+
+    private final Dialect dialect;
+
+    private final SqlExecutor sqlExecutor;
+
+    private final ExecutorService executorService;
+
+    private final Semaphore permits;
+
+    private final int maxConcurrency;
+
+    /**
+     * 并发上限取连接池的maxTotal，maxTotal为负数（不限）时取executorService能承受的任意数量
+     */
+    public ConcurrentQueryExecutor(Dialect dialect, BasicDataSource dataSource, ExecutorService executorService) {
+        this(dialect, new SqlExecutor(dataSource), executorService,
+                dataSource.getMaxTotal() < 0 ? Integer.MAX_VALUE : dataSource.getMaxTotal());
+    }
+
+    public ConcurrentQueryExecutor(Dialect dialect, SqlExecutor sqlExecutor, ExecutorService executorService,
+                                   int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.dialect = dialect;
+        this.sqlExecutor = sqlExecutor;
+        this.executorService = executorService;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * 并发查询第1到pageCount页，每页一个任务
+     *
+     * @return 按页码顺序排列的每页结果
+     */
+    public <T> List<List<T>> queryPages(String sql, int pageSize, int pageCount, RowMapper<T> mapper,
+                                        Object... params) throws SQLException {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        if (pageCount <= 0) {
+            throw new IllegalArgumentException("pageCount must be positive");
+        }
+        List<Callable<List<T>>> tasks = new ArrayList<Callable<List<T>>>(pageCount);
+        for (int page = 1; page <= pageCount; page++) {
+            final String pageSql = dialect.pagin(page, pageSize, sql);
+            tasks.add(() -> withConnection(conn -> {
+                List<T> rows = new ArrayList<T>(pageSize);
+                sqlExecutor.query(conn, pageSql, rs -> rows.add(mapper.map(rs)), params);
+                return rows;
+            }));
+        }
+        return invokeAll(tasks);
+    }
+
+    /**
+     * 按rowsPerTask把rows切段，每段在自己的连接上用BatchInserter写入，段与段之间不在同一事务中
+     *
+     * @return 写入的总行数
+     */
+    public long insert(TableModel tableModel, List<Object[]> rows, int rowsPerTask) throws SQLException {
+        final BatchInserter inserter = new BatchInserter(dialect, tableModel);
+        List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        for (final List<Object[]> chunk : chunks(rows, rowsPerTask)) {
+            tasks.add(() -> withConnection(conn -> inserter.insert(conn, chunk)));
+        }
+        long total = 0;
+        for (Integer n : invokeAll(tasks)) {
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * 按rowsPerTask把paramsList切段，每段在自己的连接上执行SqlExecutor.executeBatch
+     *
+     * @return 更新的总行数
+     */
+    public long executeBatch(String sql, List<Object[]> paramsList, int rowsPerTask, int batchSize)
+            throws SQLException {
+        List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+        for (final List<Object[]> chunk : chunks(paramsList, rowsPerTask)) {
+            tasks.add(() -> withConnection(conn -> sqlExecutor.executeBatch(conn, sql, chunk, batchSize)));
+        }
+        long total = 0;
+        for (Long n : invokeAll(tasks)) {
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * 关闭executorService，正在执行的任务会执行完
+     */
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
+
+    private <R> R withConnection(ConnectionCallback<R> callback) throws SQLException, InterruptedException {
+        permits.acquire();
+        try {
+            Connection conn = sqlExecutor.getDataSource().getConnection();
+            try {
+                return callback.apply(conn);
+            } finally {
+                conn.close();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 按任务顺序取结果，任一任务失败时取消（中断）其余任务并抛出
+     */
+    private <R> List<R> invokeAll(List<Callable<R>> tasks) throws SQLException {
+        return ParallelTasks.invokeAll(executorService, tasks, "Concurrent query");
+    }
+
+    private static List<List<Object[]>> chunks(List<Object[]> rows, int rowsPerTask) {
+        if (rowsPerTask <= 0) {
+            throw new IllegalArgumentException("rowsPerTask must be positive");
+        }
+        List<List<Object[]>> chunks = new ArrayList<List<Object[]>>();
+        for (int from = 0; from < rows.size(); from += rowsPerTask) {
+            chunks.add(rows.subList(from, Math.min(rows.size(), from + rowsPerTask)));
+        }
+        return chunks;
+    }
+
+    private interface ConnectionCallback<R> {
+
+        R apply(Connection conn) throws SQLException;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.jdbc;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 并行执行一组任务，任一任务失败立即取消（中断）其余任务并抛出
+ * <p>
+ * 任务中的SQLException、RuntimeException原样抛出，其他异常包装为SQLException。
+ * ConcurrentQueryExecutor、ShardedTable、SchemaIntrospector等都通过这里执行任务。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public final class ParallelTasks {
+
+    private ParallelTasks() {
+    }
+
+    /**
+     * 在调用方的ExecutorService上执行全部任务，executorService为null时在调用线程上依次执行。
+     * 按完成顺序等待，先失败的任务不必等前面的任务结束
+     *
+     * @param name 出错时异常信息中的任务名
+     * @return 按任务顺序排列的结果
+     */
+    public static <R> List<R> invokeAll(ExecutorService executorService, List<? extends Callable<R>> tasks,
+                                        String name) throws SQLException {
+        List<R> results = new ArrayList<R>(tasks.size());
+        if (executorService == null) {
+            for (Callable<R> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (SQLException | RuntimeException e) {
+                    throw e;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException(name + " interrupted", e);
+                } catch (Exception e) {
+                    throw new SQLException(name + " task failed", e);
+                }
+            }
+            return results;
+        }
+
+        CompletionService<R> completion = new ExecutorCompletionService<R>(executorService);
+        List<Future<R>> futures = new ArrayList<Future<R>>(tasks.size());
+        try {
+            for (Callable<R> task : tasks) {
+                futures.add(completion.submit(task));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                completion.take().get();
+            }
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            cancel(futures);
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SQLException(name + " task failed", cause);
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new SQLException(name + " interrupted", e);
+        }
+    }
+
+    /**
+     * 在固定大小的守护线程池中执行全部任务直到完成，线程名为threadName-1、threadName-2...
+     */
+    public static void runAll(List<? extends Callable<?>> tasks, int parallelism, String threadName) throws SQLException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Callable<Object>> callables = (List<Callable<Object>>) tasks;
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()), new NamedThreadFactory(threadName));
+        try {
+            invokeAll(pool, callables, threadName);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void cancel(List<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        private final String name;
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.jdbc;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+
+import java.util.Properties;
+
+/**
+ * 一组命名的BasicDataSource连接池参数，未设置的参数保持DBCP2的默认值
+ * <p>
+ * 在properties文件中以"名称.参数"保存，如：
+ *
+ * <pre>
+ * paging.maxTotal=8
+ * paging.poolPreparedStatements=true
+ * paging.testOnBorrow=false
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class PoolProfile {
+
+    private final String name;
+
+    private int maxTotal = 8;
+
+    private int maxIdle = 8;
+
+    private int minIdle;
+
+    private int initialSize;
+
+    private long maxWaitMillis = -1;
+
+    private boolean poolPreparedStatements;
+
+    private int maxOpenPreparedStatements = -1;
+
+    private boolean testOnBorrow = true;
+
+    public PoolProfile(String name) {
+        if (name == null || name.isEmpty() || name.indexOf('.') >= 0) {
+            throw new IllegalArgumentException("Profile name must be non-empty and must not contain '.': " + name);
+        }
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public PoolProfile maxTotal(int maxTotal) {
+        this.maxTotal = maxTotal;
+        return this;
+    }
+
+    public PoolProfile maxIdle(int maxIdle) {
+        this.maxIdle = maxIdle;
+        return this;
+    }
+
+    public PoolProfile minIdle(int minIdle) {
+        this.minIdle = minIdle;
+        return this;
+    }
+
+    public PoolProfile initialSize(int initialSize) {
+        this.initialSize = initialSize;
+        return this;
+    }
+
+    /**
+     * 借连接的最长等待时间，-1表示一直等待
+     */
+    public PoolProfile maxWaitMillis(long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+        return this;
+    }
+
+    public PoolProfile poolPreparedStatements(boolean poolPreparedStatements) {
+        this.poolPreparedStatements = poolPreparedStatements;
+        return this;
+    }
+
+    public PoolProfile maxOpenPreparedStatements(int maxOpenPreparedStatements) {
+        this.maxOpenPreparedStatements = maxOpenPreparedStatements;
+        return this;
+    }
+
+    /**
+     * 借出前校验连接，没有validationQuery时使用Connection.isValid()
+     */
+    public PoolProfile testOnBorrow(boolean testOnBorrow) {
+        this.testOnBorrow = testOnBorrow;
+        return this;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public int getInitialSize() {
+        return initialSize;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    public boolean isPoolPreparedStatements() {
+        return poolPreparedStatements;
+    }
+
+    public int getMaxOpenPreparedStatements() {
+        return maxOpenPreparedStatements;
+    }
+
+    public boolean isTestOnBorrow() {
+        return testOnBorrow;
+    }
+
+    /**
+     * 把参数设置到BasicDataSource上，需要在第一次getConnection之前调用
+     */
+    public BasicDataSource apply(BasicDataSource dataSource) {
+        dataSource.setMaxTotal(maxTotal);
+        dataSource.setMaxIdle(maxIdle);
+        dataSource.setMinIdle(minIdle);
+        dataSource.setInitialSize(initialSize);
+        dataSource.setMaxWaitMillis(maxWaitMillis);
+        dataSource.setPoolPreparedStatements(poolPreparedStatements);
+        dataSource.setMaxOpenPreparedStatements(maxOpenPreparedStatements);
+        dataSource.setTestOnBorrow(testOnBorrow);
+        return dataSource;
+    }
+
+    /**
+     * 以"名称.参数"写入properties
+     */
+    public void store(Properties properties) {
+        properties.setProperty(key("maxTotal"), String.valueOf(maxTotal));
+        properties.setProperty(key("maxIdle"), String.valueOf(maxIdle));
+        properties.setProperty(key("minIdle"), String.valueOf(minIdle));
+        properties.setProperty(key("initialSize"), String.valueOf(initialSize));
+        properties.setProperty(key("maxWaitMillis"), String.valueOf(maxWaitMillis));
+        properties.setProperty(key("poolPreparedStatements"), String.valueOf(poolPreparedStatements));
+        properties.setProperty(key("maxOpenPreparedStatements"), String.valueOf(maxOpenPreparedStatements));
+        properties.setProperty(key("testOnBorrow"), String.valueOf(testOnBorrow));
+    }
+
+    /**
+     * 从properties中读取名为name的配置，没有出现的参数使用默认值
+     */
+    public static PoolProfile load(Properties properties, String name) {
+        PoolProfile profile = new PoolProfile(name);
+        String prefix = name + ".";
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.startsWith(prefix)) {
+                continue;
+            }
+            String value = properties.getProperty(key).trim();
+            try {
+                profile.set(key.substring(prefix.length()), value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for " + key + ": " + value, e);
+            }
+        }
+        return profile;
+    }
+
+    private void set(String property, String value) {
+        switch (property) {
+            case "maxTotal":
+                maxTotal = Integer.parseInt(value);
+                break;
+            case "maxIdle":
+                maxIdle = Integer.parseInt(value);
+                break;
+            case "minIdle":
+                minIdle = Integer.parseInt(value);
+                break;
+            case "initialSize":
+                initialSize = Integer.parseInt(value);
+                break;
+            case "maxWaitMillis":
+                maxWaitMillis = Long.parseLong(value);
+                break;
+            case "poolPreparedStatements":
+                poolPreparedStatements = Boolean.parseBoolean(value);
+                break;
+            case "maxOpenPreparedStatements":
+                maxOpenPreparedStatements = Integer.parseInt(value);
+                break;
+            case "testOnBorrow":
+                testOnBorrow = Boolean.parseBoolean(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown pool property: " + name + "." + property);
+        }
+    }
+
+    private String key(String property) {
+        return name + "." + property;
+    }
+
+    @Override
+    public String toString() {
+        return name + "[maxTotal=" + maxTotal + ", maxIdle=" + maxIdle + ", minIdle=" + minIdle
+                + ", poolPreparedStatements=" + poolPreparedStatements + ", testOnBorrow=" + testOnBorrow + "]";
+    }
+}
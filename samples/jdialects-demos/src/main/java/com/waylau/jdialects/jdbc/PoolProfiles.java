@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.jdbc;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * 按名称创建配置好连接池参数的BasicDataSource
+ * <p>
+ * 配置从classpath的jdialects-pool.properties读取，可以用jdialects-loadtest模块的PoolSweep压测生成；
+ * 另有内置的"default"，即DBCP2默认参数。
+ *
+ * <pre>
+ * BasicDataSource ds = PoolProfiles.createDataSource("paging", url, "sa", "");
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public final class PoolProfiles {
+
+    public static final String RESOURCE = "jdialects-pool.properties";
+
+    public static final String DEFAULT = "default";
+
+    private static volatile Map<String, PoolProfile> classpathProfiles;
+
+    private static volatile Properties classpathProperties;
+
+    private PoolProfiles() {
+    }
+
+    /**
+     * 创建BasicDataSource并应用名为profile的配置
+     */
+    public static BasicDataSource createDataSource(String profile, String url, String username, String password) {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        return get(profile).apply(dataSource);
+    }
+
+    /**
+     * 查找classpath中jdialects-pool.properties定义的配置，每次返回新对象，可以修改后再apply
+     */
+    public static PoolProfile get(String name) {
+        if (classpathProfiles().containsKey(name)) {
+            return PoolProfile.load(classpathProperties, name);
+        }
+        if (DEFAULT.equals(name)) {
+            return new PoolProfile(DEFAULT);
+        }
+        throw new IllegalArgumentException("Unknown pool profile: " + name + ", defined: " + classpathProfiles().keySet());
+    }
+
+    /**
+     * 读取properties中定义的全部配置，按名称排序
+     */
+    public static Map<String, PoolProfile> load(Properties properties) {
+        TreeSet<String> names = new TreeSet<String>();
+        for (String key : properties.stringPropertyNames()) {
+            int dot = key.indexOf('.');
+            if (dot <= 0) {
+                throw new IllegalArgumentException("Expected <profile>.<property> but got: " + key);
+            }
+            names.add(key.substring(0, dot));
+        }
+        Map<String, PoolProfile> profiles = new LinkedHashMap<String, PoolProfile>();
+        for (String name : names) {
+            profiles.put(name, PoolProfile.load(properties, name));
+        }
+        return profiles;
+    }
+
+    public static Map<String, PoolProfile> load(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        properties.load(in);
+        return load(properties);
+    }
+
+    public static void store(Collection<PoolProfile> profiles, OutputStream out, String comments) throws IOException {
+        Properties properties = new Properties();
+        for (PoolProfile profile : profiles) {
+            profile.store(properties);
+        }
+        properties.store(out, comments);
+    }
+
+    private static Map<String, PoolProfile> classpathProfiles() {
+        Map<String, PoolProfile> profiles = classpathProfiles;
+        if (profiles == null) {
+            Properties properties = new Properties();
+            InputStream in = PoolProfiles.class.getClassLoader().getResourceAsStream(RESOURCE);
+            if (in != null) {
+                try {
+                    properties.load(in);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot read " + RESOURCE, e);
+                } finally {
+                    try {
+                        in.close();
+                    } catch (IOException ignored) {
+                        // 只读，忽略
+                    }
+                }
+            }
+            profiles = load(properties);
+            classpathProperties = properties;
+            classpathProfiles = profiles;
+        }
+        return profiles;
+    }
+}
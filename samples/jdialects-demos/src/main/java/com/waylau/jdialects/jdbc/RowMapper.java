@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 把结果集的当前行转换为一个结果对象，用于分页、并发查询和分片查询
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public interface RowMapper<T> {
+
+    T map(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.jdbc;
+
+import com.waylau.jdialects.log.AsyncSqlLog;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * SQL执行器，替代各测试中复制的execute()方法
+ * <p>
+ * 与原来的写法相比：SQLException直接抛给调用方；支持批量执行和流式查询。
+ * 允许失败的语句（如删除可能不存在的表）用executeQuietly()，失败时记录日志后继续执行下一条。
+ * 构造时不修改连接池配置，需要DBCP2的PreparedStatement池（同一连接上相同的SQL只解析一次）时，
+ * 在第一次getConnection之前调用enableStatementPooling()，或在PoolProfile中配置poolPreparedStatements。
+ *
+ * <pre>
+ * SqlExecutor executor = new SqlExecutor(SqlExecutor.enableStatementPooling(ds, SqlExecutor.DEFAULT_MAX_OPEN_PREPARED_STATEMENTS));
+ * executor.execute(dialect.toCreateDDL(t));
+ * executor.query(conn, "select * from user_t", rs -&gt; ..., params);
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class SqlExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlExecutor.class);
+
+    /**
+     * 每个连接缓存的PreparedStatement上限
+     */
+    public static final int DEFAULT_MAX_OPEN_PREPARED_STATEMENTS = 100;
+
+    private final DataSource dataSource;
+
+    private int fetchSize = 500;
+
+    private AsyncSqlLog sqlLog;
+
+    public SqlExecutor(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 开启DBCP2的poolPreparedStatements，连接归还后缓存的语句仍保留在物理连接上，需要在第一次getConnection之前调用
+     */
+    public static BasicDataSource enableStatementPooling(BasicDataSource dataSource, int maxOpenPreparedStatements) {
+        dataSource.setPoolPreparedStatements(true);
+        dataSource.setMaxOpenPreparedStatements(maxOpenPreparedStatements);
+        return dataSource;
+    }
+
+    /**
+     * 流式查询每次从数据库读取的行数，默认500。
+     * MySQL Connector/J只在URL带useCursorFetch=true时按该值分批读取，否则忽略它并一次读入全部结果；
+     * 也可以设为Integer.MIN_VALUE逐行流式读取，但读完或关闭结果集之前该连接不能执行其它语句，
+     * 且H2等其它驱动不接受负数
+     */
+    public SqlExecutor fetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * 执行前把SQL交给异步日志，不在调用线程上输出
+     */
+    public SqlExecutor sqlLog(AsyncSqlLog sqlLog) {
+        this.sqlLog = sqlLog;
+        return this;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * 执行一条SQL，返回更新行数，查询语句返回0
+     */
+    public int execute(Connection conn, String sql, Object... params) throws SQLException {
+        logSql(sql);
+        PreparedStatement pst = conn.prepareStatement(sql);
+        try {
+            bind(pst, params);
+            if (pst.execute()) {
+                return 0;
+            }
+            return Math.max(pst.getUpdateCount(), 0);
+        } finally {
+            pst.close();
+        }
+    }
+
+    /**
+     * 执行一条SQL，失败时记录日志并返回false，不抛出异常
+     */
+    public boolean executeQuietly(Connection conn, String sql, Object... params) {
+        try {
+            execute(conn, sql, params);
+            return true;
+        } catch (SQLException e) {
+            logger.warn("{} failed: {}", sql, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 在同一个连接上依次执行多条SQL，如Dialect生成的DDL数组
+     */
+    public void execute(String... sqls) throws SQLException {
+        Connection conn = dataSource.getConnection();
+        try {
+            for (String sql : sqls) {
+                execute(conn, sql);
+            }
+        } finally {
+            conn.close();
+        }
+    }
+
+    /**
+     * 同一条SQL绑定多组参数，每batchSize组调用一次executeBatch
+     *
+     * @return 更新的总行数
+     */
+    public long executeBatch(Connection conn, String sql, List<Object[]> paramsList, int batchSize) throws SQLException {
+        logSql(sql);
+        PreparedStatement pst = conn.prepareStatement(sql);
+        try {
+            long total = 0;
+            int pending = 0;
+            for (Object[] params : paramsList) {
+                bind(pst, params);
+                pst.addBatch();
+                if (++pending == batchSize) {
+                    total += sum(pst.executeBatch());
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                total += sum(pst.executeBatch());
+            }
+            return total;
+        } finally {
+            pst.close();
+        }
+    }
+
+    /**
+     * 流式查询，逐行回调，不把结果集整体读入内存
+     * <p>
+     * 是否真正分批读取取决于驱动：MySQL需要useCursorFetch=true或fetchSize(Integer.MIN_VALUE)，见fetchSize()；
+     * PostgreSQL只在连接关闭自动提交时使用游标
+     *
+     * @return 读取的行数
+     */
+    public long query(Connection conn, String sql, RowHandler handler, Object... params) throws SQLException {
+        logSql(sql);
+        PreparedStatement pst = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            pst.setFetchSize(fetchSize);
+            bind(pst, params);
+            ResultSet rs = pst.executeQuery();
+            try {
+                long rows = 0;
+                while (rs.next()) {
+                    handler.handle(rs);
+                    rows++;
+                }
+                return rows;
+            } finally {
+                rs.close();
+            }
+        } finally {
+            pst.close();
+        }
+    }
+
+    /**
+     * 查询第一行第一列，没有数据返回null
+     */
+    public Object queryForObject(Connection conn, String sql, Object... params) throws SQLException {
+        logSql(sql);
+        PreparedStatement pst = conn.prepareStatement(sql);
+        try {
+            bind(pst, params);
+            ResultSet rs = pst.executeQuery();
+            try {
+                return rs.next() ? rs.getObject(1) : null;
+            } finally {
+                rs.close();
+            }
+        } finally {
+            pst.close();
+        }
+    }
+
+    private void logSql(String sql) {
+        if (sqlLog != null) {
+            sqlLog.log(sql);
+        }
+    }
+
+    static void bind(PreparedStatement pst, Object[] params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            pst.setObject(i + 1, params[i]);
+        }
+    }
+
+    private static long sum(int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+            // 驱动返回SUCCESS_NO_INFO时按1行计
+            total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return total;
+    }
+
+    /**
+     * 流式查询的行回调
+     */
+    public interface RowHandler {
+
+        void handle(ResultSet rs) throws SQLException;
+    }
+}
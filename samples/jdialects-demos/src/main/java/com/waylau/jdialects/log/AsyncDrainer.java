@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * RingBuffer加一个后台守护线程：调用线程只做一次入队，队列满时丢弃并计数，后台线程把已入队的元素成批交给handler处理
+ * <p>
+ * 单核机器上后台线程与调用线程争用同一个CPU，逐条处理时后台线程的开销与同步处理相同，
+ * 成批处理让每条元素只分摊一次handler调用（如一次日志格式化）。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+final class AsyncDrainer<E> {
+
+    /**
+     * 队列为空时后台线程的休眠时间。虚拟机上每次唤醒要几十微秒，休眠太短时唤醒本身就是主要开销，
+     * 队列满或flush()、close()时会提前唤醒
+     */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final RingBuffer<E> ring;
+
+    private final Consumer<? super List<E>> handler;
+
+    private final int maxBatch;
+
+    private final Thread worker;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder handled = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running = true;
+
+    /**
+     * @param maxBatch 每次交给handler的最大元素个数
+     */
+    AsyncDrainer(int capacity, int maxBatch, Consumer<? super List<E>> handler, String threadName) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch must be positive");
+        }
+        this.ring = new RingBuffer<E>(capacity);
+        this.maxBatch = maxBatch;
+        this.handler = handler;
+        this.worker = new Thread(this::drainLoop, threadName);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    boolean offer(E e) {
+        if (ring.offer(e)) {
+            return true;
+        }
+        LockSupport.unpark(worker);
+        dropped.increment();
+        return false;
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    long getHandled() {
+        return handled.sum();
+    }
+
+    long getFailed() {
+        return failed.sum();
+    }
+
+    int pending() {
+        return ring.size();
+    }
+
+    /**
+     * 等待队列中已有的元素处理完，最多等待timeoutMillis毫秒
+     */
+    boolean flush(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (handled.sum() + failed.sum() < ring.offered()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(IDLE_NANOS / 10);
+        }
+        return true;
+    }
+
+    /**
+     * 停止后台线程，剩余的元素处理完后返回
+     */
+    void close() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        List<E> batch = new ArrayList<E>(Math.min(maxBatch, ring.capacity()));
+        while (true) {
+            // 先读running再取元素，停止后仍能取完close()之前入队的元素
+            boolean stopping = !running;
+            E e;
+            while (batch.size() < maxBatch && (e = ring.poll()) != null) {
+                batch.add(e);
+            }
+            if (!batch.isEmpty()) {
+                handle(batch);
+            } else if (stopping) {
+                return;
+            } else {
+                LockSupport.parkNanos(this, IDLE_NANOS);
+            }
+        }
+    }
+
+    private void handle(List<E> batch) {
+        try {
+            handler.accept(batch);
+            handled.add(batch.size());
+        } catch (RuntimeException ex) {
+            // 写日志失败不能影响后台线程继续工作
+            failed.add(batch.size());
+        }
+        batch.clear();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.log;
+
+import com.github.drinkjava2.jlogs.Log;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * jdialects内部日志（jlogs）的实现，需要的应用在自己classpath的jlogs.properties中配置：
+ * log=com.waylau.jdialects.log.AsyncJLog
+ * <p>
+ * jlogs只在首次使用时读取该文件，Dialect等类的logger为静态常量，无法在代码中替换，
+ * 所以本模块只在测试资源中配置，不影响依赖本模块的应用。
+ * <p>
+ * Dialect.setGlobalAllowShowSql(true)时输出的"Paginated sql: ..."交给AsyncSqlLog.global()异步、按采样率记录，
+ * 其余信息（如保留字警告）同步写入对应类的SLF4J logger。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class AsyncJLog implements Log {
+
+    private static final String PAGINATED_SQL = "Paginated sql: ";
+
+    private final Logger logger;
+
+    public AsyncJLog(Class<?> clazz) {
+        this.logger = LoggerFactory.getLogger(clazz);
+    }
+
+    @Override
+    public void info(String msg) {
+        if (msg != null && msg.startsWith(PAGINATED_SQL)) {
+            AsyncSqlLog.global().log(msg.substring(PAGINATED_SQL.length()));
+        } else {
+            logger.info(msg);
+        }
+    }
+
+    @Override
+    public void warn(String msg) {
+        logger.warn(msg);
+    }
+
+    @Override
+    public void warn(String msg, Throwable t) {
+        logger.warn(msg, t);
+    }
+
+    @Override
+    public void error(String msg) {
+        logger.error(msg);
+    }
+
+    @Override
+    public void error(String msg, Throwable t) {
+        logger.error(msg, t);
+    }
+
+    @Override
+    public void debug(String msg) {
+        logger.debug(msg);
+    }
+}
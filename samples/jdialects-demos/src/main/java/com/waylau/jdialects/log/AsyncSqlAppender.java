@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.log;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * logback的异步SQL appender，用法与AsyncAppender相同，但使用无锁RingBuffer，按语句类型采样，队列满时丢弃并计数
+ * <p>
+ * 适用于代码中直接logger.info(ddl)的场景，消息内容按SQL识别类型。每个事件仍由后台线程逐个交给下游appender格式化，
+ * 单核机器上这部分开销与同步记录相同，应配合采样使用；能改代码时AsyncSqlLog成批写出的开销更低：
+ *
+ * <pre>
+ * &lt;appender name="SQL" class="com.waylau.jdialects.log.AsyncSqlAppender"&gt;
+ *   &lt;queueSize&gt;8192&lt;/queueSize&gt;
+ *   &lt;sampleRate&gt;0.01&lt;/sampleRate&gt;
+ *   &lt;sampleRates&gt;create=1,alter=1,drop=1&lt;/sampleRates&gt;
+ *   &lt;appender-ref ref="STDOUT" /&gt;
+ * &lt;/appender&gt;
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class AsyncSqlAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<ILoggingEvent>();
+
+    private final SqlSampler sampler = new SqlSampler();
+
+    private final LongAdder sampledOut = new LongAdder();
+
+    private int queueSize = 8192;
+
+    private double sampleRate = 1;
+
+    private String sampleRates;
+
+    private AsyncDrainer<ILoggingEvent> drainer;
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * 按类型的采样率，如"select=0.01,create=1"
+     */
+    public void setSampleRates(String sampleRates) {
+        this.sampleRates = sampleRates;
+    }
+
+    public long getDropped() {
+        return drainer == null ? 0 : drainer.getDropped();
+    }
+
+    public long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    public long getWritten() {
+        return drainer == null ? 0 : drainer.getHandled();
+    }
+
+    /**
+     * 等待已入队的事件写完，超时返回false
+     */
+    public boolean flush(long timeoutMillis) {
+        return drainer == null || drainer.flush(timeoutMillis);
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No attached appenders found for " + name);
+            return;
+        }
+        try {
+            sampler.rate(sampleRate);
+            if (sampleRates != null) {
+                for (String entry : sampleRates.split(",")) {
+                    String[] pair = entry.split("=");
+                    if (pair.length != 2) {
+                        throw new IllegalArgumentException("Invalid sample rate: " + entry);
+                    }
+                    sampler.rate(pair[0].trim(), Double.parseDouble(pair[1].trim()));
+                }
+            }
+            drainer = new AsyncDrainer<ILoggingEvent>(queueSize, AsyncSqlLog.MAX_BATCH, batch -> {
+                for (ILoggingEvent event : batch) {
+                    appenders.appendLoopOnAppenders(event);
+                }
+            }, "async-sql-appender-" + name);
+        } catch (IllegalArgumentException e) {
+            addError("Cannot start " + name, e);
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        drainer.close();
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!sampler.sample(event.getFormattedMessage())) {
+            sampledOut.increment();
+            return;
+        }
+        // 线程名、MDC等在调用线程上取出，后台线程写出时保持不变
+        event.prepareForDeferredProcessing();
+        drainer.offer(event);
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
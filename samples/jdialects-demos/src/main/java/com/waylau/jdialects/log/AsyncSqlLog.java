@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.log;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 异步、可采样的SQL日志，替代在调用线程上同步输出的Dialect.setGlobalAllowShowSql(true)和logger.info(ddl)
+ * <p>
+ * 调用线程只做采样判断和一次无锁入队；后台守护线程把SQL交给writer，默认写入名为"sql"的SLF4J logger。
+ * 队列满时直接丢弃并计入getDropped()，不会阻塞业务线程。采样率需要在开始记录前设置。
+ * <p>
+ * 写入SLF4J logger时，后台线程每次把已入队的SQL（最多MAX_BATCH条）按行拼成一条日志，
+ * 格式化、加锁和输出的开销由一批SQL分摊；单核机器上逐条写日志的后台线程与同步记录一样慢。
+ * 日志中的时间和线程名本来就是后台线程写出时的，成批写出不损失信息。
+ *
+ * <pre>
+ * AsyncSqlLog.setGlobal(new AsyncSqlLog(8192).sampleRate(0.01).sampleRate("create", 1));
+ * AsyncSqlLog.global().log(sql);
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class AsyncSqlLog implements Closeable {
+
+    /**
+     * 默认输出的SLF4J logger名称
+     */
+    public static final String LOGGER_NAME = "sql";
+
+    /**
+     * 写入SLF4J logger时一条日志最多包含的SQL条数
+     */
+    public static final int MAX_BATCH = 256;
+
+    private static volatile AsyncSqlLog global;
+
+    private final SqlSampler sampler = new SqlSampler();
+
+    private final AsyncDrainer<String> drainer;
+
+    private final LongAdder sampledOut = new LongAdder();
+
+    public AsyncSqlLog(int capacity) {
+        this(capacity, LoggerFactory.getLogger(LOGGER_NAME));
+    }
+
+    /**
+     * 成批写入logger，每批一条INFO日志，每行一条SQL
+     */
+    public AsyncSqlLog(int capacity, Logger logger) {
+        this.drainer = new AsyncDrainer<String>(capacity, MAX_BATCH, new BatchWriter(logger), "async-sql-log");
+    }
+
+    /**
+     * 逐条交给writer
+     */
+    public AsyncSqlLog(int capacity, Consumer<String> writer) {
+        this.drainer = new AsyncDrainer<String>(capacity, 1, batch -> writer.accept(batch.get(0)), "async-sql-log");
+    }
+
+    /**
+     * 全局实例，未设置时创建容量8192、写入"sql" logger、全部记录的实例
+     */
+    public static AsyncSqlLog global() {
+        AsyncSqlLog log = global;
+        if (log == null) {
+            synchronized (AsyncSqlLog.class) {
+                if (global == null) {
+                    global = new AsyncSqlLog(8192);
+                }
+                log = global;
+            }
+        }
+        return log;
+    }
+
+    /**
+     * 替换全局实例，原实例剩余的日志写完后关闭
+     */
+    public static void setGlobal(AsyncSqlLog log) {
+        AsyncSqlLog old;
+        synchronized (AsyncSqlLog.class) {
+            old = global;
+            global = log;
+        }
+        if (old != null && old != log) {
+            old.close();
+        }
+    }
+
+    /**
+     * 所有语句的采样率
+     */
+    public AsyncSqlLog sampleRate(double rate) {
+        sampler.rate(rate);
+        return this;
+    }
+
+    /**
+     * 某一类语句的采样率，类型见SqlSampler.TYPES
+     */
+    public AsyncSqlLog sampleRate(String statementType, double rate) {
+        sampler.rate(statementType, rate);
+        return this;
+    }
+
+    /**
+     * 记录一条SQL
+     *
+     * @return 是否进入队列，未被采样或队列已满时返回false
+     */
+    public boolean log(String sql) {
+        if (!sampler.sample(sql)) {
+            sampledOut.increment();
+            return false;
+        }
+        return drainer.offer(sql);
+    }
+
+    /**
+     * 依次记录多条SQL，如Dialect生成的DDL数组
+     */
+    public void log(String... sqls) {
+        for (String sql : sqls) {
+            log(sql);
+        }
+    }
+
+    /**
+     * 因队列已满丢弃的条数
+     */
+    public long getDropped() {
+        return drainer.getDropped();
+    }
+
+    /**
+     * 未被采样的条数
+     */
+    public long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    /**
+     * 已交给writer的条数
+     */
+    public long getWritten() {
+        return drainer.getHandled();
+    }
+
+    /**
+     * writer抛出异常的条数
+     */
+    public long getFailed() {
+        return drainer.getFailed();
+    }
+
+    /**
+     * 等待已入队的SQL写完，超时返回false
+     */
+    public boolean flush(long timeoutMillis) {
+        return drainer.flush(timeoutMillis);
+    }
+
+    @Override
+    public void close() {
+        drainer.close();
+    }
+
+    /**
+     * 只在后台线程上调用，StringBuilder可以复用
+     */
+    private static final class BatchWriter implements Consumer<List<String>> {
+
+        private final Logger logger;
+
+        private final StringBuilder sb = new StringBuilder();
+
+        BatchWriter(Logger logger) {
+            this.logger = logger;
+        }
+
+        @Override
+        public void accept(List<String> batch) {
+            if (!logger.isInfoEnabled()) {
+                return;
+            }
+            if (batch.size() == 1) {
+                logger.info(batch.get(0));
+                return;
+            }
+            sb.setLength(0);
+            for (int i = 0; i < batch.size(); i++) {
+                if (i > 0) {
+                    sb.append('\n');
+                }
+                sb.append(batch.get(i));
+            }
+            logger.info(sb.toString());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "written=" + getWritten() + ", dropped=" + getDropped() + ", sampledOut=" + getSampledOut()
+                + ", failed=" + getFailed();
+    }
+}
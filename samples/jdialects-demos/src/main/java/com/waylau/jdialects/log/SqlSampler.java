@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.log;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 按语句类型（SQL的第一个关键字）设置采样率
+ * <p>
+ * 类型识别只比较开头的关键字，不分配对象；采样率为1或0时不取随机数。
+ *
+ * <pre>
+ * SqlSampler sampler = new SqlSampler().rate(0.01).rate("create", 1).rate("select", 0.001);
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public final class SqlSampler {
+
+    /**
+     * 识别的语句类型，其余归为OTHER
+     */
+    public static final String[] TYPES = {"select", "insert", "update", "delete", "merge", "create", "alter", "drop",
+            "truncate", "with", "call"};
+
+    public static final String OTHER = "other";
+
+    private final double[] rates = new double[TYPES.length + 1];
+
+    public SqlSampler() {
+        rate(1);
+    }
+
+    /**
+     * 所有类型的采样率，0到1之间
+     */
+    public SqlSampler rate(double rate) {
+        checkRate(rate);
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = rate;
+        }
+        return this;
+    }
+
+    /**
+     * 某一类型的采样率，如rate("select", 0.01)
+     */
+    public SqlSampler rate(String type, double rate) {
+        checkRate(rate);
+        String key = type.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < TYPES.length; i++) {
+            if (TYPES[i].equals(key)) {
+                rates[i] = rate;
+                return this;
+            }
+        }
+        if (OTHER.equals(key)) {
+            rates[TYPES.length] = rate;
+            return this;
+        }
+        throw new IllegalArgumentException("Unknown statement type: " + type);
+    }
+
+    public double getRate(String sql) {
+        return rates[typeIndex(sql)];
+    }
+
+    /**
+     * 本条语句是否记录
+     */
+    public boolean sample(String sql) {
+        double rate = rates[typeIndex(sql)];
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    /**
+     * 语句类型，TYPES之一或OTHER
+     */
+    public static String statementType(String sql) {
+        int index = typeIndex(sql);
+        return index < TYPES.length ? TYPES[index] : OTHER;
+    }
+
+    private static int typeIndex(String sql) {
+        int start = 0;
+        int length = sql.length();
+        while (start < length && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        for (int i = 0; i < TYPES.length; i++) {
+            String type = TYPES[i];
+            int end = start + type.length();
+            if (sql.regionMatches(true, start, type, 0, type.length())
+                    && (end == length || !Character.isLetterOrDigit(sql.charAt(end)))) {
+                return i;
+            }
+        }
+        return TYPES.length;
+    }
+
+    private static void checkRate(double rate) {
+        if (!(rate >= 0 && rate <= 1)) {
+            throw new IllegalArgumentException("rate must be between 0 and 1");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.metrics;
+
+import org.apache.commons.dbcp2.DelegatingConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 返回InstrumentedStatement/InstrumentedPreparedStatement的连接，其余方法由DelegatingConnection转发
+ * <p>
+ * 关闭连接时，未关闭的语句随之关闭（DBCP的AbandonedTrace）。CallableStatement不做统计。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+class InstrumentedConnection extends DelegatingConnection<Connection> {
+
+    private final SqlMetrics metrics;
+
+    InstrumentedConnection(Connection conn, SqlMetrics metrics) {
+        super(conn);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        checkOpen();
+        try {
+            return new InstrumentedStatement(this, getDelegateInternal().createStatement(), metrics);
+        } catch (SQLException e) {
+            handleException(e);
+            return null;
+        }
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        checkOpen();
+        try {
+            return new InstrumentedStatement(this,
+                    getDelegateInternal().createStatement(resultSetType, resultSetConcurrency), metrics);
+        } catch (SQLException e) {
+            handleException(e);
+            return null;
+        }
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+            throws SQLException {
+        checkOpen();
+        try {
+            return new InstrumentedStatement(this,
+                    getDelegateInternal().createStatement(resultSetType, resultSetConcurrency, resultSetHoldability),
+                    metrics);
+        } catch (SQLException e) {
+            handleException(e);
+            return null;
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        checkOpen();
+        try {
+            return new InstrumentedPreparedStatement(this, getDelegateInternal().prepareStatement(sql),
+                    metrics.forSql(sql));
+        } catch (SQLException e) {
+            handleException(e);
+            return null;
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        checkOpen();
+        try {
+            return new InstrumentedPreparedStatement(this,
+                    getDelegateInternal().prepareStatement(sql, autoGeneratedKeys), metrics.forSql(sql));
+        } catch (SQLException e) {
+            handleException(e);
+            return null;
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        checkOpen();
+        try {
+            return new InstrumentedPreparedStatement(this,
+                    getDelegateInternal().prepareStatement(sql, columnIndexes), metrics.forSql(sql));
+        } catch (SQLException e) {
+            handleException(e);
+            return null;
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        checkOpen();
+        try {
+            return new InstrumentedPreparedStatement(this,
+                    getDelegateInternal().prepareStatement(sql, columnNames), metrics.forSql(sql));
+        } catch (SQLException e) {
+            handleException(e);
+            return null;
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
+            throws SQLException {
+        checkOpen();
+        try {
+            return new InstrumentedPreparedStatement(this,
+                    getDelegateInternal().prepareStatement(sql, resultSetType, resultSetConcurrency),
+                    metrics.forSql(sql));
+        } catch (SQLException e) {
+            handleException(e);
+            return null;
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
+                                              int resultSetHoldability) throws SQLException {
+        checkOpen();
+        try {
+            return new InstrumentedPreparedStatement(this,
+                    getDelegateInternal().prepareStatement(sql, resultSetType, resultSetConcurrency,
+                            resultSetHoldability), metrics.forSql(sql));
+        } catch (SQLException e) {
+            handleException(e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.metrics;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+/**
+ * 包装任意DataSource（通常是BasicDataSource），统计获取连接的等待时间，并让连接上执行的每条语句按形状计入SqlMetrics
+ * <p>
+ * 用法：
+ *
+ * <pre>
+ * InstrumentedDataSource ids = new InstrumentedDataSource(basicDataSource);
+ * ids.getMetrics().register("app");
+ * new SqlExecutor(ids).query(...);
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class InstrumentedDataSource implements DataSource {
+
+    private final DataSource target;
+
+    private final SqlMetrics metrics;
+
+    public InstrumentedDataSource(DataSource target) {
+        this(target, new SqlMetrics());
+    }
+
+    public InstrumentedDataSource(DataSource target, SqlMetrics metrics) {
+        this.target = target;
+        this.metrics = metrics;
+    }
+
+    public SqlMetrics getMetrics() {
+        return metrics;
+    }
+
+    public DataSource getTarget() {
+        return target;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection conn = target.getConnection();
+        metrics.recordPoolWait(System.nanoTime() - start);
+        return new InstrumentedConnection(conn, metrics);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection conn = target.getConnection(username, password);
+        metrics.recordPoolWait(System.nanoTime() - start);
+        return new InstrumentedConnection(conn, metrics);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return target.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        target.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        target.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return target.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return target.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.metrics;
+
+import org.apache.commons.dbcp2.DelegatingConnection;
+import org.apache.commons.dbcp2.DelegatingPreparedStatement;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 计时的PreparedStatement，SQL形状在prepare时确定，执行时不再查找
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+class InstrumentedPreparedStatement extends DelegatingPreparedStatement {
+
+    private final StatementMetrics metrics;
+
+    InstrumentedPreparedStatement(DelegatingConnection<?> conn, PreparedStatement stmt, StatementMetrics metrics) {
+        super(conn, stmt);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            ResultSet rs = super.executeQuery();
+            failed = false;
+            return new CountingResultSet(rs, metrics);
+        } finally {
+            metrics.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            boolean result = super.execute();
+            failed = false;
+            return result;
+        } finally {
+            metrics.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            int result = super.executeUpdate();
+            failed = false;
+            return result;
+        } finally {
+            metrics.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            long result = super.executeLargeUpdate();
+            failed = false;
+            return result;
+        } finally {
+            metrics.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            int[] result = super.executeBatch();
+            failed = false;
+            return result;
+        } finally {
+            metrics.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            long[] result = super.executeLargeBatch();
+            failed = false;
+            return result;
+        } finally {
+            metrics.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        ResultSet rs = super.getResultSet();
+        return rs == null ? null : new CountingResultSet(rs, metrics);
+    }
+}
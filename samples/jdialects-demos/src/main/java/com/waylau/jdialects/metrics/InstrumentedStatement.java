@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.metrics;
+
+import org.apache.commons.dbcp2.DelegatingConnection;
+import org.apache.commons.dbcp2.DelegatingStatement;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 按执行的SQL计时的Statement
+ * <p>
+ * executeBatch整批计一次，计入第一条addBatch的SQL形状。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+class InstrumentedStatement extends DelegatingStatement {
+
+    private final SqlMetrics metrics;
+
+    /**
+     * 最近一次执行的SQL，getResultSet()取回的行数计入它
+     */
+    private StatementMetrics current;
+
+    private StatementMetrics batch;
+
+    InstrumentedStatement(DelegatingConnection<?> conn, Statement stmt, SqlMetrics metrics) {
+        super(conn, stmt);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        StatementMetrics m = metrics.forSql(sql);
+        current = m;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            ResultSet rs = super.executeQuery(sql);
+            failed = false;
+            return new CountingResultSet(rs, m);
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        StatementMetrics m = metrics.forSql(sql);
+        current = m;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            boolean result = super.execute(sql);
+            failed = false;
+            return result;
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        StatementMetrics m = metrics.forSql(sql);
+        current = m;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            boolean result = super.execute(sql, autoGeneratedKeys);
+            failed = false;
+            return result;
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        StatementMetrics m = metrics.forSql(sql);
+        current = m;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            boolean result = super.execute(sql, columnIndexes);
+            failed = false;
+            return result;
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        StatementMetrics m = metrics.forSql(sql);
+        current = m;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            boolean result = super.execute(sql, columnNames);
+            failed = false;
+            return result;
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        StatementMetrics m = metrics.forSql(sql);
+        current = m;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            int result = super.executeUpdate(sql);
+            failed = false;
+            return result;
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        StatementMetrics m = metrics.forSql(sql);
+        current = m;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            int result = super.executeUpdate(sql, autoGeneratedKeys);
+            failed = false;
+            return result;
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        StatementMetrics m = metrics.forSql(sql);
+        current = m;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            int result = super.executeUpdate(sql, columnIndexes);
+            failed = false;
+            return result;
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        StatementMetrics m = metrics.forSql(sql);
+        current = m;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            int result = super.executeUpdate(sql, columnNames);
+            failed = false;
+            return result;
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        StatementMetrics m = metrics.forSql(sql);
+        current = m;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            long result = super.executeLargeUpdate(sql);
+            failed = false;
+            return result;
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        StatementMetrics m = metrics.forSql(sql);
+        current = m;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            long result = super.executeLargeUpdate(sql, autoGeneratedKeys);
+            failed = false;
+            return result;
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        StatementMetrics m = metrics.forSql(sql);
+        current = m;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            long result = super.executeLargeUpdate(sql, columnIndexes);
+            failed = false;
+            return result;
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        StatementMetrics m = metrics.forSql(sql);
+        current = m;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            long result = super.executeLargeUpdate(sql, columnNames);
+            failed = false;
+            return result;
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        StatementMetrics m = batch();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            int[] result = super.executeBatch();
+            failed = false;
+            return result;
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        StatementMetrics m = batch();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            long[] result = super.executeLargeBatch();
+            failed = false;
+            return result;
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        super.addBatch(sql);
+        if (batch == null) {
+            batch = metrics.forSql(sql);
+        }
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        super.clearBatch();
+        batch = null;
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        ResultSet rs = super.getResultSet();
+        return rs == null ? null : new CountingResultSet(rs, current == null ? metrics.forSql(null) : current);
+    }
+
+    private StatementMetrics batch() {
+        StatementMetrics m = batch == null ? metrics.forSql(null) : batch;
+        batch = null;
+        return m;
+    }
+}
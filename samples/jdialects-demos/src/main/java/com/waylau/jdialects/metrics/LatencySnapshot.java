@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * 某一时刻LatencyHistogram的只读快照，时间单位均为纳秒
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class LatencySnapshot {
+
+    private final long count;
+
+    private final long totalNanos;
+
+    private final long maxNanos;
+
+    private final long p50Nanos;
+
+    private final long p99Nanos;
+
+    private final long p999Nanos;
+
+    @ConstructorProperties({"count", "totalNanos", "maxNanos", "p50Nanos", "p99Nanos", "p999Nanos"})
+    public LatencySnapshot(long count, long totalNanos, long maxNanos, long p50Nanos, long p99Nanos, long p999Nanos) {
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + ", mean=" + getMeanNanos() / 1000 + "us, p50=" + p50Nanos / 1000
+                + "us, p99=" + p99Nanos / 1000 + "us, p999=" + p999Nanos / 1000 + "us, max=" + maxNanos / 1000 + "us";
+    }
+}
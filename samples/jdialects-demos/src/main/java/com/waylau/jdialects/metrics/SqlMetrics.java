@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按SQL形状（见SqlShapes）汇总的语句延迟、错误数、取回行数，以及获取连接的等待时间
+ * <p>
+ * 原始SQL到统计对象的映射有缓存，同一条SQL再次执行时只做一次哈希查找，不再归一化；
+ * 形状数超过上限后，新形状都计入"&lt;other&gt;"，避免内联了字面量的SQL把内存撑爆。
+ * 获取连接时还不知道会执行哪条SQL，所以连接等待时间只在DataSource级别统计。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class SqlMetrics implements SqlMetricsMXBean {
+
+    public static final String OTHER = "<other>";
+
+    private static final int MAX_CACHED_SQL = 10000;
+
+    private final ConcurrentMap<String, StatementMetrics> bySql = new ConcurrentHashMap<String, StatementMetrics>();
+
+    private final ConcurrentMap<String, StatementMetrics> byShape = new ConcurrentHashMap<String, StatementMetrics>();
+
+    private final StatementMetrics other = new StatementMetrics(OTHER);
+
+    private final LatencyHistogram poolWait = new LatencyHistogram();
+
+    private final int maxShapes;
+
+    private volatile ObjectName objectName;
+
+    public SqlMetrics() {
+        this(1000);
+    }
+
+    public SqlMetrics(int maxShapes) {
+        if (maxShapes <= 0) {
+            throw new IllegalArgumentException("maxShapes must be positive");
+        }
+        this.maxShapes = maxShapes;
+    }
+
+    StatementMetrics forSql(String sql) {
+        if (sql == null) {
+            return other;
+        }
+        StatementMetrics metrics = bySql.get(sql);
+        if (metrics != null) {
+            return metrics;
+        }
+        metrics = forShape(SqlShapes.normalize(sql));
+        if (bySql.size() < MAX_CACHED_SQL) {
+            bySql.putIfAbsent(sql, metrics);
+        }
+        return metrics;
+    }
+
+    private StatementMetrics forShape(String shape) {
+        StatementMetrics metrics = byShape.get(shape);
+        if (metrics != null) {
+            return metrics;
+        }
+        if (byShape.size() >= maxShapes) {
+            return other;
+        }
+        return byShape.computeIfAbsent(shape, StatementMetrics::new);
+    }
+
+    void recordPoolWait(long nanos) {
+        poolWait.record(nanos);
+    }
+
+    /**
+     * 各SQL形状的统计，按累计耗时从高到低排序
+     */
+    public List<StatementSnapshot> snapshot() {
+        List<StatementSnapshot> result = new ArrayList<StatementSnapshot>(byShape.size() + 1);
+        for (StatementMetrics metrics : byShape.values()) {
+            result.add(metrics.snapshot());
+        }
+        StatementSnapshot others = other.snapshot();
+        if (others.getExecutions() > 0) {
+            result.add(others);
+        }
+        // 先取快照再排序，排序期间的并发更新不会影响比较结果
+        result.sort(Comparator.comparingLong((StatementSnapshot s) -> s.getLatency().getTotalNanos()).reversed());
+        return result;
+    }
+
+    /**
+     * 某条SQL所属形状的统计，没有执行过时返回null
+     */
+    public StatementSnapshot snapshot(String sql) {
+        StatementMetrics metrics = byShape.get(SqlShapes.normalize(sql));
+        return metrics == null ? null : metrics.snapshot();
+    }
+
+    @Override
+    public List<StatementSnapshot> getStatements() {
+        return snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getPoolWait() {
+        return poolWait.snapshot();
+    }
+
+    @Override
+    public int getShapeCount() {
+        return byShape.size();
+    }
+
+    /**
+     * 清零所有计数，已识别的形状保留
+     */
+    @Override
+    public void reset() {
+        for (StatementMetrics metrics : byShape.values()) {
+            metrics.reset();
+        }
+        other.reset();
+        poolWait.reset();
+    }
+
+    /**
+     * 注册到平台MBeanServer，名称为com.waylau.jdialects:type=SqlMetrics,name=&lt;name&gt;
+     */
+    public ObjectName register(String name) {
+        try {
+            ObjectName on = ObjectName.getInstance("com.waylau.jdialects:type=SqlMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, on);
+            this.objectName = on;
+            return on;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register SqlMetrics " + name, e);
+        }
+    }
+
+    public void unregister() {
+        ObjectName on = objectName;
+        if (on == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(on)) {
+                server.unregisterMBean(on);
+            }
+            objectName = null;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister " + on, e);
+        }
+    }
+}
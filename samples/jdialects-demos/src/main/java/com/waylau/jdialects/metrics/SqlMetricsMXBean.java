@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.metrics;
+
+import java.util.List;
+
+/**
+ * SqlMetrics的JMX接口，在JConsole/VisualVM的MBeans页签com.waylau.jdialects下查看
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public interface SqlMetricsMXBean {
+
+    /**
+     * 各SQL形状的统计，按累计耗时从高到低排序
+     */
+    List<StatementSnapshot> getStatements();
+
+    /**
+     * 从DataSource获取连接的等待时间
+     */
+    LatencySnapshot getPoolWait();
+
+    int getShapeCount();
+
+    void reset();
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.metrics;
+
+/**
+ * 把SQL归一化为"形状"，用作统计的键
+ * <p>
+ * 去掉注释、合并空白、关键字和标识符转小写，字符串和数字字面量替换为?，
+ * IN列表和多行VALUES只保留一组。这样Dialect.pagin按页内联的偏移量、每批行数不同的多行insert都归为同一形状。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public final class SqlShapes {
+
+    private SqlShapes() {
+    }
+
+    public static String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        int n = sql.length();
+        StringBuilder out = new StringBuilder(Math.min(n, 256));
+        int i = 0;
+        while (i < n) {
+            char c = sql.charAt(i);
+            if (c == '-' && i + 1 < n && sql.charAt(i + 1) == '-') {
+                while (i < n && sql.charAt(i) != '\n') {
+                    i++;
+                }
+                space(out);
+            } else if (c == '/' && i + 1 < n && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+                space(out);
+            } else if (Character.isWhitespace(c)) {
+                space(out);
+                i++;
+            } else if (c == '\'') {
+                i = skipQuoted(sql, i, '\'');
+                placeholder(out);
+            } else if (c == '"' || c == '`') {
+                // 带引号的标识符保持原样
+                int end = skipQuoted(sql, i, c);
+                out.append(sql, i, end);
+                i = end;
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < n && Character.isDigit(sql.charAt(i + 1)))) {
+                while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                placeholder(out);
+            } else if (Character.isLetter(c) || c == '_' || c == '$') {
+                while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_' || sql.charAt(i) == '$')) {
+                    out.append(Character.toLowerCase(sql.charAt(i)));
+                    i++;
+                }
+            } else if (c == '?') {
+                placeholder(out);
+                i++;
+            } else if (c == ',') {
+                trimSpace(out);
+                out.append(", ");
+                i++;
+            } else if (c == ')') {
+                trimSpace(out);
+                out.append(c);
+                i++;
+            } else {
+                out.append(c);
+                i++;
+            }
+            collapse(out);
+        }
+        trimSpace(out);
+        return out.toString();
+    }
+
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        int n = sql.length();
+        while (i < n) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < n && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return n;
+    }
+
+    private static void space(StringBuilder out) {
+        int len = out.length();
+        if (len > 0 && out.charAt(len - 1) != ' ' && out.charAt(len - 1) != '(') {
+            out.append(' ');
+        }
+    }
+
+    private static void trimSpace(StringBuilder out) {
+        int len = out.length();
+        if (len > 0 && out.charAt(len - 1) == ' ') {
+            out.setLength(len - 1);
+        }
+    }
+
+    private static void placeholder(StringBuilder out) {
+        int len = out.length();
+        // -1这样的负数：减号紧跟在运算符或左括号之后时一并替换
+        if (len > 0 && out.charAt(len - 1) == '-') {
+            int before = len - 2;
+            while (before >= 0 && out.charAt(before) == ' ') {
+                before--;
+            }
+            if (before < 0 || "(,=<>".indexOf(out.charAt(before)) >= 0) {
+                out.setLength(len - 1);
+            }
+        }
+        out.append('?');
+    }
+
+    /**
+     * 把末尾的"?, ?)"合并为"?)"，"(?), (?)"合并为"(?)"
+     */
+    private static void collapse(StringBuilder out) {
+        int len = out.length();
+        if (len == 0) {
+            return;
+        }
+        if (out.charAt(len - 1) == ')') {
+            int open = matchingOpen(out, len - 1);
+            if (open < 0) {
+                return;
+            }
+            if (allPlaceholders(out, open + 1, len - 1)) {
+                out.setLength(open + 1);
+                out.append("?)");
+                len = out.length();
+            }
+            // 与前一组相同的(...)组，如多行VALUES
+            String group = out.substring(open, len);
+            int prevEnd = open - 1;
+            while (prevEnd >= 0 && out.charAt(prevEnd) == ' ') {
+                prevEnd--;
+            }
+            if (prevEnd >= 0 && out.charAt(prevEnd) == ',') {
+                int groupEnd = prevEnd;
+                while (groupEnd > 0 && out.charAt(groupEnd - 1) == ' ') {
+                    groupEnd--;
+                }
+                int groupStart = groupEnd - group.length();
+                if (groupStart >= 0 && out.substring(groupStart, groupEnd).equals(group)
+                        && (groupStart == 0 || !Character.isLetterOrDigit(out.charAt(groupStart - 1)))) {
+                    out.setLength(groupEnd);
+                }
+            }
+        }
+    }
+
+    private static int matchingOpen(StringBuilder out, int close) {
+        int depth = 0;
+        for (int i = close; i >= 0; i--) {
+            char c = out.charAt(i);
+            if (c == ')') {
+                depth++;
+            } else if (c == '(') {
+                depth--;
+                if (depth == 0) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static boolean allPlaceholders(StringBuilder out, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = out.charAt(i);
+            if (c != '?' && c != ',' && c != ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 一种SQL形状的累计统计，记录时不分配对象
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+final class StatementMetrics {
+
+    private final String shape;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder rowsFetched = new LongAdder();
+
+    StatementMetrics(String shape) {
+        this.shape = shape;
+    }
+
+    String getShape() {
+        return shape;
+    }
+
+    void record(long nanos, boolean failed) {
+        latency.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    void addRows(long rows) {
+        rowsFetched.add(rows);
+    }
+
+    StatementSnapshot snapshot() {
+        return new StatementSnapshot(shape, errors.sum(), rowsFetched.sum(), latency.snapshot());
+    }
+
+    void reset() {
+        latency.reset();
+        errors.reset();
+        rowsFetched.reset();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * 一种SQL形状的统计快照
+ * <p>
+ * 延迟只计execute/executeQuery本身，不含之后遍历ResultSet的时间；遍历取到的行数计入rowsFetched。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class StatementSnapshot {
+
+    private final String shape;
+
+    private final long errors;
+
+    private final long rowsFetched;
+
+    private final LatencySnapshot latency;
+
+    @ConstructorProperties({"shape", "errors", "rowsFetched", "latency"})
+    public StatementSnapshot(String shape, long errors, long rowsFetched, LatencySnapshot latency) {
+        this.shape = shape;
+        this.errors = errors;
+        this.rowsFetched = rowsFetched;
+        this.latency = latency;
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    public long getExecutions() {
+        return latency.getCount();
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    public LatencySnapshot getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return shape + ": " + latency + ", errors=" + errors + ", rows=" + rowsFetched;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.paging;
+
+import com.github.drinkjava2.jdialects.Dialect;
+
+/**
+ * 参数绑定方式的分页
+ * <p>
+ * Dialect.pagin把跳过行数、页大小直接写进SQL，每一页都是不同的语句。
+ * 这里把它们换成?占位符，所有页共用同一条SQL，数据库可以复用执行计划，
+ * 连接池的PreparedStatement缓存也能命中。
+ *
+ * <pre>
+ * BindPagination paging = new BindPagination(Dialect.H2Dialect, "select * from user_t where age > ?");
+ * PreparedStatement pst = conn.prepareStatement(paging.getSql());
+ * Object[] params = paging.params(2, 20, 18); // 18为原SQL的参数
+ * </pre>
+ * <p>
+ * 所有方言的语句都与Dialect.pagin做了文本比对。实际执行过的只有H2，以及H2兼容模式下的MySQL、PostgreSQL、
+ * SQL Server 2012、Oracle写法；HSQL的select limit ? ? *、DB2的rownumber() over(order by order of ...)
+ * 和fetch first ? rows only没有在真实数据库上执行过。SQLServerDialect、InformixDialect只有第一页的写法，构造时抛出IllegalArgumentException。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class BindPagination {
+
+    private final String sql;
+
+    /**
+     * 每个分页槽位的类型
+     */
+    private final int[] slots;
+
+    /**
+     * 每个分页槽位之前原SQL参数的个数，用于和原SQL参数合并
+     */
+    private final int[] sqlParamsBefore;
+
+    private final int sqlParamCount;
+
+    public BindPagination(Dialect dialect, String sql) {
+        // 统一使用非第一页的模板，第一页跳过0行，保证所有页是同一条SQL
+        PaginTemplate template = PaginTemplate.compile(dialect, sql, false);
+        if (template == null) {
+            throw new IllegalArgumentException("Can not build bind pagination for sql: " + sql);
+        }
+
+        int count = template.slotCount();
+        StringBuilder sb = new StringBuilder();
+        this.slots = new int[count];
+        this.sqlParamsBefore = new int[count];
+        int params = 0;
+        for (int i = 0; i < count; i++) {
+            String fragment = template.fragment(i);
+            params += SqlScanner.countParameters(fragment);
+            sb.append(fragment).append('?');
+            slots[i] = template.slot(i);
+            sqlParamsBefore[i] = params;
+        }
+        String tail = template.fragment(count);
+        sb.append(tail);
+        this.sqlParamCount = params + SqlScanner.countParameters(tail);
+        this.sql = sb.toString();
+    }
+
+    /**
+     * 所有页共用的分页SQL
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * 按占位符顺序返回要绑定的参数，sqlParams为原SQL自身的参数
+     */
+    public Object[] params(int pageNumber, int pageSize, Object... sqlParams) {
+        if (sqlParams.length != sqlParamCount) {
+            throw new IllegalArgumentException("Expected " + sqlParamCount + " sql parameters but got " + sqlParams.length);
+        }
+        long skipRows = (long) (pageNumber - 1) * pageSize;
+        long totalRows = (long) pageNumber * pageSize;
+
+        Object[] result = new Object[sqlParamCount + slots.length];
+        int index = 0;
+        int used = 0;
+        for (int i = 0; i < slots.length; i++) {
+            while (used < sqlParamsBefore[i]) {
+                result[index++] = sqlParams[used++];
+            }
+            switch (slots[i]) {
+                case PaginTemplate.SLOT_PAGESIZE:
+                    result[index++] = pageSize;
+                    break;
+                case PaginTemplate.SLOT_SKIP_ROWS:
+                    result[index++] = toNumber(skipRows);
+                    break;
+                default:
+                    result[index++] = toNumber(totalRows);
+            }
+        }
+        while (used < sqlParamCount) {
+            result[index++] = sqlParams[used++];
+        }
+        return result;
+    }
+
+    private static Object toNumber(long value) {
+        if (value <= Integer.MAX_VALUE) {
+            return (int) value;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.paging;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.waylau.jdialects.jdbc.RowMapper;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一次查询同时取得一页数据和总行数
+ * <p>
+ * 通常的做法是Dialect.pagin取一页，再对同一查询执行一次select count(*)，数据库要扫描两遍、多一次往返。
+ * 支持窗口函数的方言在选择列表中加入count(*) over()，总行数随每一行返回；
+ * 其它方言先取页数据，页不满时总行数可以直接算出，只有页满（或页码超出范围）时才补一次count查询。
+ * 窗口函数方式下页码超出范围时没有行返回，同样补一次count查询。
+ *
+ * <pre>
+ * CountedPagination paging = new CountedPagination(Dialect.H2Dialect, new SqlExecutor(ds));
+ * Page&lt;String&gt; page = paging.query(conn, 3, 20, "select * from user_t where age &gt; ? order by first_name",
+ *         rs -&gt; rs.getString("first_name"), 18);
+ * long total = page.getTotalCount();
+ * </pre>
+ * <p>
+ * 窗口函数方式会多出一列TOTAL_COLUMN，RowMapper应按列名读取。含DISTINCT的查询加一列会改变去重结果，
+ * Oracle不允许未限定的*与其它列并列，这两种情况使用count查询。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class CountedPagination {
+
+    /**
+     * count(*) over()的列别名
+     */
+    public static final String TOTAL_COLUMN = "jd_total_count";
+
+    private final Dialect dialect;
+
+    private final SqlExecutor sqlExecutor;
+
+    private final boolean windowCount;
+
+    public CountedPagination(Dialect dialect, SqlExecutor sqlExecutor) {
+        this.dialect = dialect;
+        this.sqlExecutor = sqlExecutor;
+        this.windowCount = supportsWindowCount(dialect);
+    }
+
+    /**
+     * 查询第pageNumber页及总行数，params为sql自身的参数
+     */
+    public <T> Page<T> query(Connection conn, int pageNumber, int pageSize, String sql, RowMapper<T> mapper,
+                             Object... params) throws SQLException {
+        if (pageNumber <= 0) {
+            throw new IllegalArgumentException("pageNumber must be positive");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        long skipRows = (long) (pageNumber - 1) * pageSize;
+        String windowSql = windowSql(pageNumber, pageSize, sql);
+        List<T> rows = new ArrayList<T>(pageSize);
+        long[] windowTotal = {-1};
+        sqlExecutor.query(conn, windowSql != null ? windowSql : dialect.pagin(pageNumber, pageSize, sql), rs -> {
+            if (windowTotal[0] < 0 && windowSql != null) {
+                windowTotal[0] = rs.getLong(TOTAL_COLUMN);
+            }
+            rows.add(mapper.map(rs));
+        }, params);
+
+        long total = windowTotal[0];
+        if (total < 0) {
+            if (!rows.isEmpty() && rows.size() < pageSize) {
+                // 最后一页：前面的页都是满的
+                total = skipRows + rows.size();
+            } else if (rows.isEmpty() && pageNumber == 1) {
+                total = 0;
+            } else {
+                total = count(conn, sql, params);
+            }
+        }
+        return new Page<T>(rows, pageNumber, pageSize, total);
+    }
+
+    /**
+     * 带count(*) over()的分页SQL，方言或查询不适用时返回null
+     */
+    public String windowSql(int pageNumber, int pageSize, String sql) {
+        if (!windowCount) {
+            return null;
+        }
+        int selectPos = SqlScanner.indexOfTopLevelKeyword(sql, "select");
+        int fromPos = SqlScanner.indexOfTopLevelKeyword(sql, "from");
+        if (selectPos < 0 || fromPos < selectPos) {
+            return null;
+        }
+        String selectList = sql.substring(selectPos + "select".length(), fromPos).trim();
+        if (SqlScanner.indexOfTopLevelKeyword(selectList, "distinct") == 0
+                || ("*".equals(selectList) && dialect.isOracleFamily())) {
+            return null;
+        }
+        String counted = sql.substring(0, fromPos).replaceAll("\\s+$", "") + ", count(*) over() " + TOTAL_COLUMN
+                + " " + sql.substring(fromPos);
+        return dialect.pagin(pageNumber, pageSize, counted);
+    }
+
+    /**
+     * 统计sql结果行数的SQL，去掉最外层不带参数的ORDER BY
+     */
+    public String countSql(String sql) {
+        String base = sql;
+        int orderPos = SqlScanner.indexOfTopLevelKeyword(sql, "order");
+        if (orderPos > 0 && SqlScanner.countParameters(sql.substring(orderPos)) == 0) {
+            base = sql.substring(0, orderPos).trim();
+        }
+        return "select count(*) from (" + base + ") count_";
+    }
+
+    private long count(Connection conn, String sql, Object[] params) throws SQLException {
+        return ((Number) sqlExecutor.queryForObject(conn, countSql(sql), params)).longValue();
+    }
+
+    /**
+     * 方言是否支持count(*) over()窗口函数，PostgreSQL从8.4开始支持
+     */
+    public static boolean supportsWindowCount(Dialect dialect) {
+        return dialect.isH2Family() || dialect.isOracleFamily() || dialect.isDB2Family()
+                || (dialect.isPostgresFamily() && !Dialect.PostgreSQL81Dialect.equals(dialect)
+                && !Dialect.PostgreSQL82Dialect.equals(dialect))
+                || (dialect.isSQLServerFamily() && !Dialect.SQLServerDialect.equals(dialect))
+                || Dialect.MySQL8Dialect.equals(dialect) || Dialect.MariaDB102Dialect.equals(dialect)
+                || Dialect.MariaDB103Dialect.equals(dialect);
+    }
+}
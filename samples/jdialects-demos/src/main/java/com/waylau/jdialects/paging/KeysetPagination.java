@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.paging;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.ColumnModel;
+import com.github.drinkjava2.jdialects.model.TableModel;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 键集（seek）分页
+ * <p>
+ * 与Dialect.pagin的OFFSET分页不同，下一页从上一页最后一行的排序键之后开始读取，
+ * 数据库可以直接定位到索引位置，每一页的代价与页码无关（需要以排序键开头的索引，参见seekCondition()）。
+ *
+ * <pre>
+ * KeysetPagination paging = new KeysetPagination(Dialect.H2Dialect, t);
+ * String first = paging.firstPage(20, "select * from user_t");
+ * String next = paging.nextPage(20, "select * from user_t"); // 绑定paging.params(lastKey)
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class KeysetPagination {
+
+    private final Dialect dialect;
+
+    private final List<String> keyColumns;
+
+    private final boolean rowValueComparison;
+
+    private boolean descending;
+
+    /**
+     * 使用TableModel的主键列作为排序键
+     */
+    public KeysetPagination(Dialect dialect, TableModel tableModel) {
+        this(dialect, pkeyColumnNames(tableModel));
+    }
+
+    public KeysetPagination(Dialect dialect, String... keyColumns) {
+        if (keyColumns.length == 0) {
+            throw new IllegalArgumentException("Keyset pagination needs at least one key column");
+        }
+        this.dialect = dialect;
+        this.keyColumns = Collections.unmodifiableList(Arrays.asList(keyColumns.clone()));
+        this.rowValueComparison = supportsRowValueComparison(dialect);
+    }
+
+    /**
+     * 按排序键倒序翻页
+     */
+    public KeysetPagination desc() {
+        this.descending = true;
+        return this;
+    }
+
+    public List<String> getKeyColumns() {
+        return keyColumns;
+    }
+
+    /**
+     * 第一页，sql为不带ORDER BY的查询语句
+     */
+    public String firstPage(int pageSize, String sql) {
+        return dialect.pagin(1, pageSize, sql + orderBy());
+    }
+
+    /**
+     * 后续页，需要绑定params(lastKey)返回的参数。
+     * 条件加在WHERE子句末尾，即最外层的GROUP BY、HAVING、WINDOW之前，排序键应为分组列
+     */
+    public String nextPage(int pageSize, String sql) {
+        int end = SqlScanner.indexOfFirstTopLevelKeyword(sql, "group", "having", "window");
+        String head = end < 0 ? sql : sql.substring(0, end).trim();
+        String tail = end < 0 ? "" : " " + sql.substring(end).trim();
+        int wherePos = SqlScanner.indexOfTopLevelKeyword(head, "where");
+        String seek;
+        if (wherePos < 0) {
+            seek = head + " where " + seekCondition() + tail;
+        } else {
+            // 原有条件加括号，避免与OR优先级冲突
+            int condStart = wherePos + "where".length();
+            seek = head.substring(0, condStart) + " (" + head.substring(condStart).trim() + ") and " + seekCondition()
+                    + tail;
+        }
+        return dialect.pagin(1, pageSize, seek + orderBy());
+    }
+
+    /**
+     * 将上一页最后一行的排序键展开为nextPage需要绑定的参数
+     */
+    public Object[] params(Object[] lastKey) {
+        if (lastKey.length != keyColumns.size()) {
+            throw new IllegalArgumentException("Expected " + keyColumns.size() + " key values but got " + lastKey.length);
+        }
+        if (lastKey.length == 1) {
+            return lastKey.clone();
+        }
+
+        // 首列的范围条件 k1 >= ?
+        List<Object> params = new ArrayList<Object>();
+        params.add(lastKey[0]);
+        if (rowValueComparison) {
+            params.addAll(Arrays.asList(lastKey));
+            return params.toArray();
+        }
+
+        // k1 > ? or (k1 = ? and k2 > ?) ...
+        for (int i = 0; i < lastKey.length; i++) {
+            for (int j = 0; j <= i; j++) {
+                params.add(lastKey[j]);
+            }
+        }
+        return params.toArray();
+    }
+
+    /**
+     * 读取结果集当前行的排序键
+     */
+    public Object[] lastKey(ResultSet rs) throws SQLException {
+        Object[] key = new Object[keyColumns.size()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = rs.getObject(keyColumns.get(i));
+        }
+        return key;
+    }
+
+    /**
+     * 排序键位于上一页最后一行之后的条件，需要绑定params(lastKey)返回的参数。
+     * <p>
+     * 多列排序键时先加上首列的范围条件 k1 &gt;= ?（倒序为 &lt;=），H2等数据库无法把行值比较或展开的OR条件
+     * 用作索引范围，只有这个条件才能让索引直接定位到上一页末尾，否则深分页仍会从头扫描索引。
+     */
+    public String seekCondition() {
+        String op = descending ? " < " : " > ";
+        if (keyColumns.size() == 1) {
+            return keyColumns.get(0) + op + "?";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(keyColumns.get(0)).append(descending ? " <= ? and " : " >= ? and ");
+        if (rowValueComparison) {
+            sb.append('(');
+            for (int i = 0; i < keyColumns.size(); i++) {
+                sb.append(i > 0 ? ", " : "").append(keyColumns.get(i));
+            }
+            sb.append(')').append(op).append('(');
+            for (int i = 0; i < keyColumns.size(); i++) {
+                sb.append(i > 0 ? ", ?" : "?");
+            }
+            return sb.append(')').toString();
+        }
+
+        sb.append('(');
+        for (int i = 0; i < keyColumns.size(); i++) {
+            if (i > 0) {
+                sb.append(" or ");
+            }
+            sb.append('(');
+            for (int j = 0; j < i; j++) {
+                sb.append(keyColumns.get(j)).append(" = ? and ");
+            }
+            sb.append(keyColumns.get(i)).append(op).append("?)");
+        }
+        return sb.append(')').toString();
+    }
+
+    private String orderBy() {
+        StringBuilder sb = new StringBuilder(" order by ");
+        for (int i = 0; i < keyColumns.size(); i++) {
+            sb.append(i > 0 ? ", " : "").append(keyColumns.get(i));
+            if (descending) {
+                sb.append(" desc");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String[] pkeyColumnNames(TableModel tableModel) {
+        List<ColumnModel> pkeys = tableModel.getPKeyColumns();
+        if (pkeys.isEmpty()) {
+            throw new IllegalArgumentException("Table " + tableModel.getTableName() + " has no primary key");
+        }
+        String[] names = new String[pkeys.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = pkeys.get(i).getColumnName();
+        }
+        return names;
+    }
+
+    /**
+     * 方言是否支持 (k1, k2) &gt; (?, ?) 行值比较，不支持时展开为OR条件
+     */
+    public static boolean supportsRowValueComparison(Dialect dialect) {
+        return dialect.isMySqlFamily() || dialect.isH2Family() || dialect.isPostgresFamily()
+                || dialect.isDB2Family() || Dialect.HSQLDialect.equals(dialect) || Dialect.SQLiteDialect.equals(dialect);
+    }
+}
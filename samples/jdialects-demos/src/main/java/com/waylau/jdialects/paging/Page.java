@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.paging;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 一页数据及满足条件的总行数
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class Page<T> {
+
+    private final List<T> rows;
+
+    private final int pageNumber;
+
+    private final int pageSize;
+
+    private final long totalCount;
+
+    public Page(List<T> rows, int pageNumber, int pageSize, long totalCount) {
+        this.rows = Collections.unmodifiableList(rows);
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.totalCount = totalCount;
+    }
+
+    public List<T> getRows() {
+        return rows;
+    }
+
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * 总页数，没有数据时为0
+     */
+    public long getPageCount() {
+        return (totalCount + pageSize - 1) / pageSize;
+    }
+
+    @Override
+    public String toString() {
+        return "Page[" + pageNumber + "/" + getPageCount() + ", rows=" + rows.size() + ", total=" + totalCount + "]";
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.paging;
+
+import com.github.drinkjava2.jdialects.Dialect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 预编译的分页SQL模板
+ * <p>
+ * 用特殊的页码、页大小调用一次Dialect.pagin，再把输出中的数字切成"片段+槽位"，
+ * 之后每次分页只需把页大小、跳过行数、总行数拼接进去，不再重新执行方言变换。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public final class PaginTemplate {
+
+    static final int SLOT_PAGESIZE = 0;
+
+    static final int SLOT_SKIP_ROWS = 1;
+
+    static final int SLOT_TOTAL_ROWS = 2;
+
+    /**
+     * 用于定位槽位的哨兵值，页码3时跳过行数、总行数分别为15838622、23757933
+     */
+    private static final int SENTINEL_PAGE = 3;
+
+    private static final int SENTINEL_SIZE = 7919311;
+
+    private static final String[] SENTINELS = {
+            String.valueOf(SENTINEL_SIZE),
+            String.valueOf((SENTINEL_PAGE - 1) * SENTINEL_SIZE),
+            String.valueOf(SENTINEL_PAGE * SENTINEL_SIZE)};
+
+    private final String[] fragments;
+
+    private final int[] slots;
+
+    private final int fixedLength;
+
+    private PaginTemplate(String[] fragments, int[] slots) {
+        this.fragments = fragments;
+        this.slots = slots;
+        int len = 0;
+        for (String fragment : fragments) {
+            len += fragment.length();
+        }
+        this.fixedLength = len;
+    }
+
+    /**
+     * 编译模板，firstPage为true时对应Dialect.pagin第一页的写法（topLimitTemplate）。
+     * SQL本身包含哨兵数字等无法可靠切分的情况返回null
+     */
+    public static PaginTemplate compile(Dialect dialect, String sql, boolean firstPage) {
+        for (String sentinel : SENTINELS) {
+            if (sql.contains(sentinel)) {
+                return null;
+            }
+        }
+
+        String out = dialect.pagin(firstPage ? 1 : SENTINEL_PAGE, SENTINEL_SIZE, sql);
+        List<String> fragments = new ArrayList<String>();
+        List<Integer> slots = new ArrayList<Integer>();
+        int from = 0;
+        while (true) {
+            int next = -1;
+            int slot = -1;
+            for (int i = 0; i < SENTINELS.length; i++) {
+                int pos = out.indexOf(SENTINELS[i], from);
+                if (pos >= 0 && (next < 0 || pos < next)) {
+                    next = pos;
+                    slot = i;
+                }
+            }
+            if (next < 0) {
+                fragments.add(out.substring(from));
+                break;
+            }
+            fragments.add(out.substring(from, next));
+            slots.add(slot);
+            from = next + SENTINELS[slot].length();
+        }
+
+        int[] slotArray = new int[slots.size()];
+        for (int i = 0; i < slotArray.length; i++) {
+            slotArray[i] = slots.get(i);
+        }
+        PaginTemplate template = new PaginTemplate(fragments.toArray(new String[0]), slotArray);
+
+        // 用另一组页码校验，确保模板与方言输出完全一致
+        int checkPage = firstPage ? 1 : 5;
+        if (!template.render(checkPage, 13).equals(dialect.pagin(checkPage, 13, sql))) {
+            return null;
+        }
+        return template;
+    }
+
+    /**
+     * 槽位数量，即分页需要绑定的参数个数
+     */
+    int slotCount() {
+        return slots.length;
+    }
+
+    /**
+     * 第index个槽位的类型
+     */
+    int slot(int index) {
+        return slots[index];
+    }
+
+    /**
+     * 第index个槽位之前的SQL片段
+     */
+    String fragment(int index) {
+        return fragments[index];
+    }
+
+    /**
+     * 拼接出分页SQL，结果与Dialect.pagin(pageNumber, pageSize, sql)相同
+     */
+    public String render(int pageNumber, int pageSize) {
+        long skipRows = (long) (pageNumber - 1) * pageSize;
+        long totalRows = (long) pageNumber * pageSize;
+        StringBuilder sb = new StringBuilder(fixedLength + slots.length * 11);
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(fragments[i]);
+            switch (slots[i]) {
+                case SLOT_PAGESIZE:
+                    sb.append(pageSize);
+                    break;
+                case SLOT_SKIP_ROWS:
+                    sb.append(skipRows);
+                    break;
+                default:
+                    sb.append(totalRows);
+            }
+        }
+        return sb.append(fragments[slots.length]).toString();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.paging;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.DialectException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 分页SQL模板缓存，按(Dialect, 原始SQL)缓存PaginTemplate
+ * <p>
+ * 每个方言各有一个容量为maxSize的LRU，超出时淘汰最久未使用的模板。
+ * 修改Dialect.setGlobalEnableTopLimitPagin后需要调用clear()。
+ *
+ * <pre>
+ * PaginTemplateCache cache = new PaginTemplateCache(500);
+ * String sql = cache.pagin(Dialect.H2Dialect, 2, 20, "select * from user_t");
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class PaginTemplateCache {
+
+    /**
+     * 无法编译成模板的SQL的占位，命中后直接走Dialect.pagin
+     */
+    private static final Entry UNCACHEABLE = new Entry(null, null);
+
+    private final int maxSize;
+
+    private final ConcurrentMap<Dialect, Lru> caches = new ConcurrentHashMap<Dialect, Lru>();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    public PaginTemplateCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 与dialect.pagin(pageNumber, pageSize, sql)等价
+     */
+    public String pagin(Dialect dialect, int pageNumber, int pageSize, String sql) {
+        Lru lru = caches.get(dialect);
+        if (lru == null) {
+            lru = new Lru();
+            Lru existing = caches.putIfAbsent(dialect, lru);
+            if (existing != null) {
+                lru = existing;
+            }
+        }
+
+        Entry entry;
+        synchronized (lru) {
+            entry = lru.get(sql);
+        }
+        if (entry == null) {
+            missCount.increment();
+            entry = compile(dialect, sql);
+            synchronized (lru) {
+                lru.put(sql, entry);
+            }
+        } else {
+            hitCount.increment();
+        }
+
+        if (entry == UNCACHEABLE) {
+            return dialect.pagin(pageNumber, pageSize, sql);
+        }
+        // 与Dialect.pagin一致，第一页使用topLimitTemplate
+        PaginTemplate template = pageNumber == 1 && Boolean.TRUE.equals(Dialect.getGlobalEnableTopLimitPagin())
+                ? entry.firstPage : entry.otherPage;
+        if (template == null) {
+            // 该写法无法编译或方言不支持（如只支持top的方言翻到第2页以后），由Dialect.pagin处理或抛出异常
+            return dialect.pagin(pageNumber, pageSize, sql);
+        }
+        return template.render(pageNumber, pageSize);
+    }
+
+    private Entry compile(Dialect dialect, String sql) {
+        PaginTemplate firstPage = compile(dialect, sql, true);
+        PaginTemplate otherPage = compile(dialect, sql, false);
+        if (firstPage == null && otherPage == null) {
+            return UNCACHEABLE;
+        }
+        return new Entry(firstPage, otherPage);
+    }
+
+    /**
+     * 方言不支持该页的写法时返回null，如SQLServerDialect、InformixDialect只支持第一页的top写法
+     */
+    private static PaginTemplate compile(Dialect dialect, String sql, boolean firstPage) {
+        try {
+            return PaginTemplate.compile(dialect, sql, firstPage);
+        } catch (DialectException e) {
+            return null;
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 所有方言缓存的模板总数
+     */
+    public int size() {
+        int size = 0;
+        for (Lru lru : caches.values()) {
+            synchronized (lru) {
+                size += lru.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        caches.clear();
+    }
+
+    /**
+     * 第一页、其它页的模板，不能编译的为null
+     */
+    private static final class Entry {
+
+        final PaginTemplate firstPage;
+
+        final PaginTemplate otherPage;
+
+        Entry(PaginTemplate firstPage, PaginTemplate otherPage) {
+            this.firstPage = firstPage;
+            this.otherPage = otherPage;
+        }
+    }
+
+    private final class Lru extends LinkedHashMap<String, Entry> {
+
+        private static final long serialVersionUID = 1L;
+
+        Lru() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > maxSize) {
+                evictionCount.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.paging;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 简单的SQL扫描工具，跳过字符串常量和括号内的子查询
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public final class SqlScanner {
+
+    private SqlScanner() {
+    }
+
+    /**
+     * 查找最外层（不在括号、引号内）的关键字位置，找不到返回-1
+     */
+    static int indexOfTopLevelKeyword(String sql, String keyword) {
+        int depth = 0;
+        int len = sql.length();
+        int kwLen = keyword.length();
+        for (int i = 0; i < len; i++) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuoted(sql, i, c);
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && i + kwLen <= len && sql.regionMatches(true, i, keyword, 0, kwLen)
+                    && isBoundary(sql, i - 1) && isBoundary(sql, i + kwLen)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 查找几个最外层关键字中最先出现的位置，都找不到返回-1
+     */
+    static int indexOfFirstTopLevelKeyword(String sql, String... keywords) {
+        int first = -1;
+        for (String keyword : keywords) {
+            int pos = indexOfTopLevelKeyword(sql, keyword);
+            if (pos >= 0 && (first < 0 || pos < first)) {
+                first = pos;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * 统计不在引号内的参数占位符?的个数
+     */
+    static int countParameters(String sql) {
+        int count = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuoted(sql, i, c);
+            } else if (c == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 拆分为单词：标识符（可含.，带引号时去掉引号）、字符串常量、连续的比较运算符、其它单个字符，跳过空白
+     */
+    public static List<String> tokenize(String sql) {
+        List<String> tokens = new ArrayList<String>();
+        int len = sql.length();
+        int i = 0;
+        while (i < len) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'' || c == '"' || c == '`') {
+                int end = skipQuoted(sql, i, c);
+                tokens.add(c == '\'' ? sql.substring(i, Math.min(len, end + 1)) : sql.substring(i + 1, Math.min(len, end)));
+                i = end + 1;
+            } else if (!isBoundary(sql, i)) {
+                int start = i;
+                while (i < len && (!isBoundary(sql, i) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(sql.substring(start, i));
+            } else if ("<>=!".indexOf(c) >= 0) {
+                int start = i;
+                while (i < len && "<>=!".indexOf(sql.charAt(i)) >= 0) {
+                    i++;
+                }
+                tokens.add(sql.substring(start, i));
+            } else {
+                tokens.add(String.valueOf(c));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                // 两个连续引号表示转义
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isBoundary(String sql, int index) {
+        if (index < 0 || index >= sql.length()) {
+            return true;
+        }
+        char c = sql.charAt(index);
+        return !(Character.isLetterOrDigit(c) || c == '_' || c == '$');
+    }
+}
@@ -0,0 +1,498 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.result;
+
+import com.github.drinkjava2.jdialects.Type;
+import com.github.drinkjava2.jdialects.model.ColumnModel;
+import com.github.drinkjava2.jdialects.model.TableModel;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 按列存放的一页查询结果，列的存储方式由ColumnModel的类型决定
+ * <p>
+ * 整数列存int[]/long[]，浮点列存double[]，布尔列存boolean[]，字符串列做字典编码（int[]编码加去重后的String），
+ * 其它类型存Object[]；每列另有一个long[]位图记录null。数组在多页之间复用，只在某页行数超过当前容量时扩容，
+ * 读完一页后不再为每行创建Map和Integer、Long等包装对象。
+ *
+ * <pre>
+ * ColumnarPage page = new ColumnarPage(t, 100);
+ * for (int p = 1; p &lt;= pages; p++) {
+ *     page.clear();
+ *     executor.query(conn, dialect.pagin(p, 100, "select * from user_t order by first_name"), page::add);
+ *     int age = page.getInt(0, page.columnIndex("age"));
+ * }
+ * </pre>
+ * <p>
+ * 字典在clear()时清空，只在一页内去重：取值种类少的列（状态、类别）每页只保留少数几个String，
+ * 主键这类每行不同的列与直接存String[]相当。驱动为getString创建的String对象无法避免。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class ColumnarPage {
+
+    static final int OBJECT = 0;
+
+    static final int INT = 1;
+
+    static final int LONG = 2;
+
+    static final int DOUBLE = 3;
+
+    static final int BOOLEAN = 4;
+
+    static final int STRING = 5;
+
+    private final List<String> columnNames;
+
+    private final int[] kinds;
+
+    private final Object[] values;
+
+    private final long[][] nulls;
+
+    /**
+     * 字符串列的字典，其它列为null
+     */
+    private final Dictionary[] dictionaries;
+
+    /**
+     * 当前ResultSet中各列的位置，换ResultSet时重新查找
+     */
+    private final int[] resultSetColumns;
+
+    private ResultSet resultSet;
+
+    private int capacity;
+
+    private int size;
+
+    /**
+     * 使用TableModel中的全部非transient列
+     */
+    public ColumnarPage(TableModel tableModel, int capacity) {
+        this(columns(tableModel), capacity);
+    }
+
+    public ColumnarPage(List<ColumnModel> columns, int capacity) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one column is required");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        int n = columns.size();
+        List<String> names = new ArrayList<String>(n);
+        this.kinds = new int[n];
+        this.values = new Object[n];
+        this.nulls = new long[n][];
+        this.dictionaries = new Dictionary[n];
+        this.resultSetColumns = new int[n];
+        this.capacity = capacity;
+        for (int i = 0; i < n; i++) {
+            ColumnModel column = columns.get(i);
+            names.add(column.getColumnName());
+            kinds[i] = kindOf(column.getColumnType());
+            values[i] = newArray(kinds[i], capacity);
+            nulls[i] = new long[bitmapLength(capacity)];
+            if (kinds[i] == STRING) {
+                dictionaries[i] = new Dictionary();
+            }
+        }
+        this.columnNames = Collections.unmodifiableList(names);
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    /**
+     * 列名对应的序号，不区分大小写，找不到时抛IllegalArgumentException
+     */
+    public int columnIndex(String columnName) {
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (columnNames.get(i).equalsIgnoreCase(columnName)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No column " + columnName + " in " + columnNames);
+    }
+
+    /**
+     * 当前行数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 当前容量，超过时各列数组按两倍扩容
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 清空数据以便读取下一页，数组保留
+     */
+    public void clear() {
+        for (int i = 0; i < kinds.length; i++) {
+            Arrays.fill(nulls[i], 0, bitmapLength(size), 0L);
+            if (kinds[i] == OBJECT) {
+                Arrays.fill((Object[]) values[i], 0, size, null);
+            } else if (kinds[i] == STRING) {
+                dictionaries[i].clear();
+            }
+        }
+        size = 0;
+        resultSet = null;
+    }
+
+    /**
+     * 清空后读取rs的全部行
+     *
+     * @return 读取的行数
+     */
+    public int fill(ResultSet rs) throws SQLException {
+        clear();
+        while (rs.next()) {
+            add(rs);
+        }
+        return size;
+    }
+
+    /**
+     * 追加rs的当前行，可以作为SqlExecutor.query的RowHandler
+     */
+    public void add(ResultSet rs) throws SQLException {
+        if (rs != resultSet) {
+            for (int i = 0; i < resultSetColumns.length; i++) {
+                resultSetColumns[i] = rs.findColumn(columnNames.get(i));
+            }
+            resultSet = rs;
+        }
+        if (size == capacity) {
+            grow();
+        }
+        int row = size;
+        for (int i = 0; i < kinds.length; i++) {
+            int c = resultSetColumns[i];
+            boolean isNull;
+            switch (kinds[i]) {
+                case INT:
+                    ((int[]) values[i])[row] = rs.getInt(c);
+                    isNull = rs.wasNull();
+                    break;
+                case LONG:
+                    ((long[]) values[i])[row] = rs.getLong(c);
+                    isNull = rs.wasNull();
+                    break;
+                case DOUBLE:
+                    ((double[]) values[i])[row] = rs.getDouble(c);
+                    isNull = rs.wasNull();
+                    break;
+                case BOOLEAN:
+                    ((boolean[]) values[i])[row] = rs.getBoolean(c);
+                    isNull = rs.wasNull();
+                    break;
+                case STRING:
+                    String s = rs.getString(c);
+                    isNull = s == null;
+                    ((int[]) values[i])[row] = isNull ? -1 : dictionaries[i].encode(s);
+                    break;
+                default:
+                    Object o = rs.getObject(c);
+                    isNull = o == null;
+                    ((Object[]) values[i])[row] = o;
+            }
+            if (isNull) {
+                nulls[i][row >>> 6] |= 1L << row;
+            }
+        }
+        size++;
+    }
+
+    public boolean isNull(int row, int column) {
+        checkRow(row);
+        return (nulls[column][row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * INTEGER等整数列的值，null时为0
+     */
+    public int getInt(int row, int column) {
+        checkRow(row);
+        checkKind(column, INT);
+        return ((int[]) values[column])[row];
+    }
+
+    /**
+     * BIGINT列的值，也可读取整数列，null时为0
+     */
+    public long getLong(int row, int column) {
+        checkRow(row);
+        if (kinds[column] == INT) {
+            return ((int[]) values[column])[row];
+        }
+        checkKind(column, LONG);
+        return ((long[]) values[column])[row];
+    }
+
+    /**
+     * 浮点列的值，null时为0
+     */
+    public double getDouble(int row, int column) {
+        checkRow(row);
+        checkKind(column, DOUBLE);
+        return ((double[]) values[column])[row];
+    }
+
+    /**
+     * 布尔列的值，null时为false
+     */
+    public boolean getBoolean(int row, int column) {
+        checkRow(row);
+        checkKind(column, BOOLEAN);
+        return ((boolean[]) values[column])[row];
+    }
+
+    /**
+     * 字符串列的值
+     */
+    public String getString(int row, int column) {
+        checkRow(row);
+        checkKind(column, STRING);
+        int code = ((int[]) values[column])[row];
+        return code < 0 ? null : dictionaries[column].decode(code);
+    }
+
+    /**
+     * 字符串列在本页字典中的编码，相同的值编码相同，null时为-1
+     */
+    public int getStringCode(int row, int column) {
+        checkRow(row);
+        checkKind(column, STRING);
+        return ((int[]) values[column])[row];
+    }
+
+    /**
+     * 字符串列本页不同取值的个数
+     */
+    public int dictionarySize(int column) {
+        checkKind(column, STRING);
+        return dictionaries[column].size();
+    }
+
+    /**
+     * 任意列的值，基本类型列会装箱，只用于不在热路径上的读取
+     */
+    public Object getObject(int row, int column) {
+        if (isNull(row, column)) {
+            return null;
+        }
+        switch (kinds[column]) {
+            case INT:
+                return ((int[]) values[column])[row];
+            case LONG:
+                return ((long[]) values[column])[row];
+            case DOUBLE:
+                return ((double[]) values[column])[row];
+            case BOOLEAN:
+                return ((boolean[]) values[column])[row];
+            case STRING:
+                return getString(row, column);
+            default:
+                return ((Object[]) values[column])[row];
+        }
+    }
+
+    private void grow() {
+        int newCapacity = capacity * 2;
+        for (int i = 0; i < kinds.length; i++) {
+            values[i] = copyOf(values[i], newCapacity);
+            nulls[i] = Arrays.copyOf(nulls[i], bitmapLength(newCapacity));
+        }
+        capacity = newCapacity;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of " + size);
+        }
+    }
+
+    private void checkKind(int column, int kind) {
+        if (kinds[column] != kind) {
+            throw new IllegalArgumentException("Column " + columnNames.get(column) + " is not stored as "
+                    + kindName(kind));
+        }
+    }
+
+    private static String kindName(int kind) {
+        return new String[]{"object", "int", "long", "double", "boolean", "string"}[kind];
+    }
+
+    /**
+     * ColumnModel类型对应的存储方式
+     */
+    static int kindOf(Type type) {
+        if (type == null) {
+            return OBJECT;
+        }
+        switch (type) {
+            case TINYINT:
+            case SMALLINT:
+            case MEDIUMINT:
+            case INTEGER:
+            case INT:
+                return INT;
+            case BIGINT:
+                return LONG;
+            case FLOAT:
+            case REAL:
+            case DOUBLE:
+            case DOUBLE_PRECISION:
+            case BINARY_FLOAT:
+            case BINARY_DOUBLE:
+                return DOUBLE;
+            case BOOLEAN:
+            case BIT:
+                return BOOLEAN;
+            case CHAR:
+            case NCHAR:
+            case VARCHAR:
+            case VARCHAR2:
+            case NVARCHAR:
+            case LONGVARCHAR:
+            case LONGNVARCHAR:
+            case TINYTEXT:
+            case TEXT:
+            case MEDIUMTEXT:
+            case LONGTEXT:
+                return STRING;
+            default:
+                return OBJECT;
+        }
+    }
+
+    private static Object newArray(int kind, int capacity) {
+        switch (kind) {
+            case INT:
+            case STRING:
+                return new int[capacity];
+            case LONG:
+                return new long[capacity];
+            case DOUBLE:
+                return new double[capacity];
+            case BOOLEAN:
+                return new boolean[capacity];
+            default:
+                return new Object[capacity];
+        }
+    }
+
+    private static Object copyOf(Object array, int capacity) {
+        if (array instanceof int[]) {
+            return Arrays.copyOf((int[]) array, capacity);
+        }
+        if (array instanceof long[]) {
+            return Arrays.copyOf((long[]) array, capacity);
+        }
+        if (array instanceof double[]) {
+            return Arrays.copyOf((double[]) array, capacity);
+        }
+        if (array instanceof boolean[]) {
+            return Arrays.copyOf((boolean[]) array, capacity);
+        }
+        return Arrays.copyOf((Object[]) array, capacity);
+    }
+
+    private static int bitmapLength(int rows) {
+        return (rows + 63) >>> 6;
+    }
+
+    private static List<ColumnModel> columns(TableModel tableModel) {
+        List<ColumnModel> columns = new ArrayList<ColumnModel>();
+        for (ColumnModel column : tableModel.getColumns()) {
+            if (!Boolean.TRUE.equals(column.getTransientable())) {
+                columns.add(column);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * 一页内的字符串字典，开放寻址的int[]散列表存编码，查找和插入都不创建对象，clear后保留容量
+     */
+    private static final class Dictionary {
+
+        /**
+         * 编码加1，0表示空槽
+         */
+        private int[] table = new int[32];
+
+        private String[] strings = new String[16];
+
+        private int size;
+
+        int encode(String s) {
+            int mask = table.length - 1;
+            int slot = mix(s.hashCode()) & mask;
+            while (table[slot] != 0) {
+                int code = table[slot] - 1;
+                if (strings[code].equals(s)) {
+                    return code;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size == strings.length) {
+                strings = Arrays.copyOf(strings, size * 2);
+            }
+            strings[size] = s;
+            table[slot] = size + 1;
+            size++;
+            // 装载因子不超过1/2
+            if (size * 2 > table.length) {
+                rehash();
+            }
+            return size - 1;
+        }
+
+        String decode(int code) {
+            return strings[code];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            Arrays.fill(strings, 0, size, null);
+            Arrays.fill(table, 0);
+            size = 0;
+        }
+
+        private void rehash() {
+            table = new int[table.length * 2];
+            int mask = table.length - 1;
+            for (int code = 0; code < size; code++) {
+                int slot = mix(strings[code].hashCode()) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = code + 1;
+            }
+        }
+
+        private static int mix(int h) {
+            return h ^ (h >>> 16);
+        }
+    }
+}
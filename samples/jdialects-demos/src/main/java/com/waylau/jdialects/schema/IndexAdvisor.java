@@ -0,0 +1,752 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.TableModelUtils;
+import com.github.drinkjava2.jdialects.model.ColumnModel;
+import com.github.drinkjava2.jdialects.model.IndexModel;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.github.drinkjava2.jdialects.model.UniqueModel;
+import com.waylau.jdialects.metrics.SqlMetrics;
+import com.waylau.jdialects.metrics.SqlShapes;
+import com.waylau.jdialects.metrics.StatementSnapshot;
+import com.waylau.jdialects.paging.SqlScanner;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 根据实际执行的查询和现有索引建议新增IndexModel
+ * <p>
+ * 查询来源可以是SqlMetrics（InstrumentedDataSource统计的SQL形状、执行次数和总耗时），
+ * 也可以作为AsyncSqlLog的writer接收Dialect.pagin输出的分页SQL，或直接调用observe()。
+ * 每条单表查询解析出WHERE中AND连接的等值列、范围列和ORDER BY列，候选索引为"等值列 + 排序列"，
+ * 没有ORDER BY时为"等值列 + 第一个范围列"；含OR的条件、多表连接不参与。
+ * 候选索引与现有的主键、唯一约束、索引比较，已被覆盖的去掉，是另一候选前缀的并入后者，
+ * 按收益（相关查询的总耗时，没有耗时时为执行次数）从高到低排列。
+ * verify()在数据库上比较建索引前后的EXPLAIN，确认执行计划用上了新索引。
+ *
+ * <pre>
+ * IndexAdvisor advisor = new IndexAdvisor(Dialect.H2Dialect);
+ * advisor.observe(instrumentedDataSource.getMetrics());
+ * for (IndexAdvisor.Proposal proposal : advisor.advise(conn)) {
+ *     IndexAdvisor.Verification v = advisor.verify(conn, proposal, false);
+ * }
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class IndexAdvisor {
+
+    /**
+     * Oracle等数据库的标识符长度上限
+     */
+    private static final int MAX_NAME_LENGTH = 30;
+
+    private static final Set<String> CLAUSE_END = new HashSet<String>(Arrays.asList(
+            "group", "order", "limit", "offset", "fetch", "union", "for", "having"));
+
+    private static final Set<String> NOT_ALIAS = new HashSet<String>(Arrays.asList(
+            "where", "order", "group", "limit", "offset", "fetch", "join", "inner", "left", "right", "full", "cross",
+            "natural", "on", "union", "for", "having"));
+
+    private final Dialect dialect;
+
+    private final Map<String, Observed> observed = new LinkedHashMap<String, Observed>();
+
+    public IndexAdvisor(Dialect dialect) {
+        this.dialect = dialect;
+    }
+
+    /**
+     * 记录一次执行，可以作为AsyncSqlLog的writer
+     */
+    public void observe(String sql) {
+        observe(sql, 1, 0);
+    }
+
+    /**
+     * 记录一条SQL的执行次数和总耗时，相同形状的SQL累加
+     */
+    public synchronized void observe(String sql, long executions, long totalNanos) {
+        String shape = SqlShapes.normalize(sql);
+        Observed o = observed.get(shape);
+        if (o == null) {
+            o = new Observed(sql);
+            observed.put(shape, o);
+        }
+        o.executions += executions;
+        o.totalNanos += totalNanos;
+    }
+
+    /**
+     * 记录SqlMetrics当前的统计，数值是累计值，重复调用前应先reset()统计
+     */
+    public void observe(SqlMetrics metrics) {
+        for (StatementSnapshot statement : metrics.snapshot()) {
+            observe(statement.getShape(), statement.getExecutions(), statement.getLatency().getTotalNanos());
+        }
+    }
+
+    /**
+     * 用db2Models读取现有表结构和索引后给出建议
+     */
+    public List<Proposal> advise(Connection conn) throws SQLException {
+        TableModel[] live = TableModelUtils.db2Models(conn, dialect);
+        SchemaDiff.readIndexes(conn, live);
+        return advise(live);
+    }
+
+    /**
+     * 按收益从高到低返回建议
+     *
+     * @param live 现有结构，索引和唯一约束需已填充，见SchemaDiff.readIndexes()
+     */
+    public List<Proposal> advise(TableModel... live) {
+        Map<String, TableModel> tables = new LinkedHashMap<String, TableModel>();
+        for (TableModel model : live) {
+            tables.put(key(model.getTableName()), model);
+        }
+
+        Map<String, Proposal> candidates = new LinkedHashMap<String, Proposal>();
+        synchronized (this) {
+            for (Observed o : observed.values()) {
+                QueryShape query = parse(o.sample);
+                TableModel model = query == null ? null : tables.get(key(query.table));
+                if (model == null) {
+                    continue;
+                }
+                Candidate candidate = candidate(query, model);
+                if (candidate == null || isCovered(candidate, model)) {
+                    continue;
+                }
+                String candidateKey = key(model.getTableName()) + ":" + candidate.columns;
+                Proposal proposal = candidates.get(candidateKey);
+                if (proposal == null) {
+                    proposal = new Proposal(model, candidate.columns);
+                    candidates.put(candidateKey, proposal);
+                }
+                proposal.add(o);
+            }
+        }
+
+        // 一个候选是同表另一候选的前缀时，较长的索引同样能服务前者的查询
+        List<Proposal> result = new ArrayList<Proposal>();
+        for (Proposal proposal : candidates.values()) {
+            Proposal longer = null;
+            for (Proposal other : candidates.values()) {
+                if (other != proposal && other.isLongerPrefixOf(proposal)
+                        && (longer == null || other.columns.size() > longer.columns.size())) {
+                    longer = other;
+                }
+            }
+            if (longer == null) {
+                result.add(proposal);
+            }
+        }
+        for (Proposal proposal : candidates.values()) {
+            if (!result.contains(proposal)) {
+                for (Proposal kept : result) {
+                    if (kept.isLongerPrefixOf(proposal)) {
+                        kept.merge(proposal);
+                        break;
+                    }
+                }
+            }
+        }
+        result.sort((a, b) -> Long.compare(b.getBenefit(), a.getBenefit()));
+        return result;
+    }
+
+    /**
+     * 比较建索引前后样例查询的EXPLAIN，新计划使用了建议的索引时确认
+     *
+     * @param keep 是否保留新建的索引，false时比较后删除（比较失败时同样删除）
+     */
+    public Verification verify(Connection conn, Proposal proposal, boolean keep) throws SQLException {
+        String before = explain(conn, proposal.getSampleSql());
+        String[] ddls = proposal.toCreateDDL(dialect);
+        Statement st = conn.createStatement();
+        try {
+            for (String ddl : ddls) {
+                st.execute(ddl);
+            }
+            try {
+                String after = explain(conn, proposal.getSampleSql());
+                String name = proposal.getIndexName().toLowerCase(Locale.ROOT);
+                boolean confirmed = after.toLowerCase(Locale.ROOT).contains(name)
+                        && !before.toLowerCase(Locale.ROOT).contains(name);
+                return new Verification(proposal, before, after, confirmed);
+            } finally {
+                if (!keep) {
+                    st.execute(new SchemaDiff(dialect).dropIndexDDL(proposal.getTableName(), proposal.getIndexModel()));
+                }
+            }
+        } finally {
+            st.close();
+        }
+    }
+
+    /**
+     * EXPLAIN的输出，参数不绑定（H2允许）
+     */
+    String explain(Connection conn, String sql) throws SQLException {
+        PreparedStatement pst = conn.prepareStatement("explain " + sql);
+        try {
+            ResultSet rs = pst.executeQuery();
+            try {
+                StringBuilder sb = new StringBuilder();
+                while (rs.next()) {
+                    sb.append(rs.getString(1)).append('\n');
+                }
+                return sb.toString();
+            } finally {
+                rs.close();
+            }
+        } finally {
+            pst.close();
+        }
+    }
+
+    /**
+     * 解析单表查询，不是单表查询时返回null。分页SQL外层包了子查询时（如Oracle的rownum写法）解析内层
+     */
+    static QueryShape parse(String sql) {
+        List<String> tokens = SqlScanner.tokenize(SqlShapes.normalize(sql));
+        return parse(tokens, 0, tokens.size());
+    }
+
+    private static QueryShape parse(List<String> tokens, int start, int end) {
+        if (start >= end || !"select".equals(tokens.get(start))) {
+            return null;
+        }
+        int from = indexOf(tokens, start, end, "from");
+        if (from < 0 || from + 1 >= end) {
+            return null;
+        }
+        int pos = from + 1;
+        if ("(".equals(tokens.get(pos))) {
+            int close = matching(tokens, pos, end);
+            return close < 0 ? null : parse(tokens, pos + 1, close);
+        }
+        QueryShape query = new QueryShape(lastPart(tokens.get(pos++)));
+        if (pos < end && "as".equals(tokens.get(pos))) {
+            pos++;
+        }
+        if (pos < end && isIdentifier(tokens.get(pos)) && !NOT_ALIAS.contains(tokens.get(pos))) {
+            query.alias = tokens.get(pos++);
+        }
+        if (pos < end && (",".equals(tokens.get(pos)) || NOT_ALIAS.contains(tokens.get(pos))
+                && !"where".equals(tokens.get(pos)) && !CLAUSE_END.contains(tokens.get(pos)))) {
+            // 多表查询
+            return null;
+        }
+
+        int where = indexOf(tokens, pos, end, "where");
+        if (where >= 0) {
+            int whereEnd = clauseEnd(tokens, where + 1, end);
+            parseWhere(query, tokens, where + 1, whereEnd);
+        }
+        int order = indexOf(tokens, pos, end, "order");
+        if (order >= 0 && order + 1 < end && "by".equals(tokens.get(order + 1))) {
+            parseOrderBy(query, tokens, order + 2, clauseEnd(tokens, order + 2, end));
+        }
+        return query;
+    }
+
+    private static void parseWhere(QueryShape query, List<String> tokens, int start, int end) {
+        List<int[]> conjuncts = new ArrayList<int[]>();
+        int depth = 0;
+        int from = start;
+        boolean between = false;
+        for (int i = start; i < end; i++) {
+            String t = tokens.get(i);
+            if ("(".equals(t)) {
+                depth++;
+            } else if (")".equals(t)) {
+                depth--;
+            } else if (depth == 0 && "or".equals(t)) {
+                // OR连接的条件不能用一个索引前缀定位
+                return;
+            } else if (depth == 0 && "between".equals(t)) {
+                between = true;
+            } else if (depth == 0 && "and".equals(t)) {
+                if (between) {
+                    between = false;
+                } else {
+                    conjuncts.add(new int[]{from, i});
+                    from = i + 1;
+                }
+            }
+        }
+        conjuncts.add(new int[]{from, end});
+
+        for (int[] range : conjuncts) {
+            int s = range[0];
+            int e = range[1];
+            // 整个条件包在括号里时去掉括号，里面可能有OR，交给递归判断
+            if (e - s >= 2 && "(".equals(tokens.get(s)) && matching(tokens, s, e) == e - 1) {
+                QueryShape inner = new QueryShape(query.table);
+                inner.alias = query.alias;
+                parseWhere(inner, tokens, s + 1, e - 1);
+                query.equalities.addAll(inner.equalities);
+                query.ranges.addAll(inner.ranges);
+                continue;
+            }
+            if (e - s < 2) {
+                continue;
+            }
+            String column = query.column(tokens.get(s));
+            String op = tokens.get(s + 1);
+            if (column == null && e - s == 3 && query.column(tokens.get(s + 2)) != null) {
+                // ? = col
+                column = query.column(tokens.get(s + 2));
+                op = reverse(op);
+            }
+            if (column == null) {
+                continue;
+            }
+            if ("=".equals(op) || "in".equals(op) || ("is".equals(op) && "null".equals(tokens.get(s + 2 < e ? s + 2 : s)))) {
+                query.equalities.add(column);
+            } else if ("<".equals(op) || ">".equals(op) || "<=".equals(op) || ">=".equals(op)
+                    || "between".equals(op) || "like".equals(op)) {
+                query.ranges.add(column);
+            }
+        }
+    }
+
+    private static void parseOrderBy(QueryShape query, List<String> tokens, int start, int end) {
+        List<String> columns = new ArrayList<String>();
+        Boolean descending = null;
+        int i = start;
+        while (i < end) {
+            String column = query.column(tokens.get(i++));
+            if (column == null) {
+                return;
+            }
+            boolean desc = false;
+            if (i < end && ("asc".equals(tokens.get(i)) || "desc".equals(tokens.get(i)))) {
+                desc = "desc".equals(tokens.get(i++));
+            }
+            if (i < end && "nulls".equals(tokens.get(i))) {
+                i += 2;
+            }
+            // 升降序混合时普通索引不能同时满足
+            if (descending != null && descending != desc) {
+                return;
+            }
+            descending = desc;
+            columns.add(column);
+            if (i < end && !",".equals(tokens.get(i++))) {
+                return;
+            }
+        }
+        query.orderBy.addAll(columns);
+    }
+
+    /**
+     * 等值列在前，然后是排序列，没有排序列时为第一个范围列；只保留表中存在的列
+     */
+    private static Candidate candidate(QueryShape query, TableModel model) {
+        Map<String, String> names = new LinkedHashMap<String, String>();
+        for (ColumnModel column : model.getColumns()) {
+            names.put(key(column.getColumnName()), column.getColumnName());
+        }
+        List<String> columns = new ArrayList<String>();
+        for (String column : query.equalities) {
+            String name = names.get(key(column));
+            if (name != null && !columns.contains(name)) {
+                columns.add(name);
+            }
+        }
+        int equalityCount = columns.size();
+        List<String> tail = new ArrayList<String>();
+        for (String column : query.orderBy) {
+            String name = names.get(key(column));
+            if (name == null) {
+                // 排序列不全时索引不能省去排序
+                tail.clear();
+                break;
+            }
+            if (!columns.contains(name)) {
+                tail.add(name);
+            }
+        }
+        if (query.orderBy.isEmpty() || (tail.isEmpty() && equalityCount == 0)) {
+            for (String column : query.ranges) {
+                String name = names.get(key(column));
+                if (name != null && !columns.contains(name)) {
+                    tail.add(name);
+                    break;
+                }
+            }
+        }
+        columns.addAll(tail);
+        return columns.isEmpty() ? null : new Candidate(columns, equalityCount);
+    }
+
+    /**
+     * 现有索引的前若干列与候选的等值列集合相同、其后的列与候选其余列顺序相同时视为已覆盖
+     */
+    private static boolean isCovered(Candidate candidate, TableModel model) {
+        for (List<String> existing : existingIndexes(model)) {
+            if (existing.size() < candidate.columns.size()) {
+                continue;
+            }
+            Set<String> head = new HashSet<String>();
+            Set<String> wanted = new HashSet<String>();
+            for (int i = 0; i < candidate.equalityCount; i++) {
+                head.add(key(existing.get(i)));
+                wanted.add(key(candidate.columns.get(i)));
+            }
+            boolean covered = head.equals(wanted);
+            for (int i = candidate.equalityCount; covered && i < candidate.columns.size(); i++) {
+                covered = key(existing.get(i)).equals(key(candidate.columns.get(i)));
+            }
+            if (covered) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<List<String>> existingIndexes(TableModel model) {
+        List<List<String>> indexes = new ArrayList<List<String>>();
+        List<String> pkeys = new ArrayList<String>();
+        for (ColumnModel pkey : model.getPKeyColumns()) {
+            pkeys.add(pkey.getColumnName());
+        }
+        if (!pkeys.isEmpty()) {
+            indexes.add(pkeys);
+        }
+        for (IndexModel index : model.getIndexConsts()) {
+            indexes.add(Arrays.asList(index.getColumnList()));
+        }
+        for (UniqueModel unique : model.getUniqueConsts()) {
+            indexes.add(Arrays.asList(unique.getColumnList()));
+        }
+        return indexes;
+    }
+
+    private static int indexOf(List<String> tokens, int start, int end, String keyword) {
+        int depth = 0;
+        for (int i = start; i < end; i++) {
+            String t = tokens.get(i);
+            if ("(".equals(t)) {
+                depth++;
+            } else if (")".equals(t)) {
+                depth--;
+            } else if (depth == 0 && keyword.equals(t)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int clauseEnd(List<String> tokens, int start, int end) {
+        int depth = 0;
+        for (int i = start; i < end; i++) {
+            String t = tokens.get(i);
+            if ("(".equals(t)) {
+                depth++;
+            } else if (")".equals(t)) {
+                depth--;
+            } else if (depth == 0 && CLAUSE_END.contains(t)) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static int matching(List<String> tokens, int open, int end) {
+        int depth = 0;
+        for (int i = open; i < end; i++) {
+            if ("(".equals(tokens.get(i))) {
+                depth++;
+            } else if (")".equals(tokens.get(i)) && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String reverse(String op) {
+        if ("<".equals(op)) {
+            return ">";
+        }
+        if (">".equals(op)) {
+            return "<";
+        }
+        if ("<=".equals(op)) {
+            return ">=";
+        }
+        if (">=".equals(op)) {
+            return "<=";
+        }
+        return op;
+    }
+
+    private static boolean isIdentifier(String token) {
+        char c = token.charAt(0);
+        return Character.isLetter(c) || c == '_' || c == '$';
+    }
+
+    private static String lastPart(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? name : name.substring(dot + 1);
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 候选索引名：ix_表名_列名，超过30个字符时截断并加哈希后缀
+     */
+    static String indexName(String tableName, List<String> columns) {
+        StringBuilder sb = new StringBuilder("ix_").append(tableName);
+        for (String column : columns) {
+            sb.append('_').append(column);
+        }
+        String name = sb.toString().toLowerCase(Locale.ROOT);
+        if (name.length() <= MAX_NAME_LENGTH) {
+            return name;
+        }
+        String hash = String.format("%04x", name.hashCode() & 0xffff);
+        return name.substring(0, MAX_NAME_LENGTH - hash.length() - 1) + "_" + hash;
+    }
+
+    /**
+     * 解析出的单表查询
+     */
+    static final class QueryShape {
+
+        final String table;
+
+        String alias;
+
+        final Set<String> equalities = new LinkedHashSet<String>();
+
+        final List<String> ranges = new ArrayList<String>();
+
+        final List<String> orderBy = new ArrayList<String>();
+
+        QueryShape(String table) {
+            this.table = table;
+        }
+
+        /**
+         * 列引用对应的列名，带了其它表的限定名时返回null
+         */
+        String column(String token) {
+            if (!isIdentifier(token)) {
+                return null;
+            }
+            int dot = token.lastIndexOf('.');
+            if (dot < 0) {
+                return token;
+            }
+            String qualifier = lastPart(token.substring(0, dot));
+            return qualifier.equals(alias) || qualifier.equals(key(table)) ? token.substring(dot + 1) : null;
+        }
+    }
+
+    private static final class Candidate {
+
+        final List<String> columns;
+
+        final int equalityCount;
+
+        Candidate(List<String> columns, int equalityCount) {
+            this.columns = columns;
+            this.equalityCount = equalityCount;
+        }
+    }
+
+    private static final class Observed {
+
+        final String sample;
+
+        long executions;
+
+        long totalNanos;
+
+        Observed(String sample) {
+            this.sample = sample;
+        }
+    }
+
+    /**
+     * 一条索引建议
+     */
+    public static class Proposal {
+
+        private final TableModel tableModel;
+
+        private final List<String> columns;
+
+        private final String indexName;
+
+        private long executions;
+
+        private long totalNanos;
+
+        private int queries;
+
+        private String sampleSql;
+
+        private long sampleWeight = -1;
+
+        Proposal(TableModel tableModel, List<String> columns) {
+            this.tableModel = tableModel;
+            this.columns = Collections.unmodifiableList(new ArrayList<String>(columns));
+            this.indexName = indexName(tableModel.getTableName(), columns);
+        }
+
+        void add(Observed o) {
+            executions += o.executions;
+            totalNanos += o.totalNanos;
+            queries++;
+            long weight = o.totalNanos > 0 ? o.totalNanos : o.executions;
+            if (weight > sampleWeight) {
+                sampleWeight = weight;
+                sampleSql = o.sample;
+            }
+        }
+
+        void merge(Proposal other) {
+            executions += other.executions;
+            totalNanos += other.totalNanos;
+            queries += other.queries;
+        }
+
+        boolean isLongerPrefixOf(Proposal other) {
+            if (!key(tableModel.getTableName()).equals(key(other.tableModel.getTableName()))
+                    || columns.size() <= other.columns.size()) {
+                return false;
+            }
+            return columns.subList(0, other.columns.size()).equals(other.columns);
+        }
+
+        public String getTableName() {
+            return tableModel.getTableName();
+        }
+
+        public List<String> getColumns() {
+            return columns;
+        }
+
+        public String getIndexName() {
+            return indexName;
+        }
+
+        public IndexModel getIndexModel() {
+            TableModel copy = tableModel.newCopy();
+            copy.getIndexConsts().clear();
+            return copy.index(indexName).columns(columns.toArray(new String[0]));
+        }
+
+        /**
+         * 估计收益：相关查询的总耗时（纳秒），没有耗时统计时为执行次数
+         */
+        public long getBenefit() {
+            return totalNanos > 0 ? totalNanos : executions;
+        }
+
+        public long getExecutions() {
+            return executions;
+        }
+
+        /**
+         * 受益的不同查询形状数
+         */
+        public int getQueries() {
+            return queries;
+        }
+
+        /**
+         * 收益最大的一条查询，verify()用它做EXPLAIN
+         */
+        public String getSampleSql() {
+            return sampleSql;
+        }
+
+        /**
+         * 建索引的DDL，由Dialect.toCreateDDL生成，与建表时的写法一致
+         */
+        public String[] toCreateDDL(Dialect dialect) {
+            TableModel bare = SchemaDiff.bare(tableModel);
+            List<String> plain = Arrays.asList(dialect.toCreateDDL(bare));
+            bare.index(indexName).columns(columns.toArray(new String[0]));
+            List<String> ddls = new ArrayList<String>();
+            for (String ddl : dialect.toCreateDDL(bare)) {
+                if (!plain.contains(ddl)) {
+                    ddls.add(ddl);
+                }
+            }
+            return ddls.toArray(new String[0]);
+        }
+
+        @Override
+        public String toString() {
+            return indexName + " on " + getTableName() + " " + columns + ", queries=" + queries + ", executions="
+                    + executions + ", benefit=" + getBenefit();
+        }
+    }
+
+    /**
+     * verify()的结果
+     */
+    public static class Verification {
+
+        private final Proposal proposal;
+
+        private final String beforePlan;
+
+        private final String afterPlan;
+
+        private final boolean confirmed;
+
+        Verification(Proposal proposal, String beforePlan, String afterPlan, boolean confirmed) {
+            this.proposal = proposal;
+            this.beforePlan = beforePlan;
+            this.afterPlan = afterPlan;
+            this.confirmed = confirmed;
+        }
+
+        public Proposal getProposal() {
+            return proposal;
+        }
+
+        public String getBeforePlan() {
+            return beforePlan;
+        }
+
+        public String getAfterPlan() {
+            return afterPlan;
+        }
+
+        /**
+         * 建索引后执行计划使用了该索引
+         */
+        public boolean isConfirmed() {
+            return confirmed;
+        }
+    }
+}
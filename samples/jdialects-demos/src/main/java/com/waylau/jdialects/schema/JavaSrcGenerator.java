@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.TableModelUtils;
+import com.github.drinkjava2.jdialects.TableModelUtilsOfJavaSrc;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.ParallelTasks;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 增量、并行版的TableModelUtils.db2JavaSrcFiles()
+ * <p>
+ * 每个表的模型与OPT_*设置一起计算SHA-256，记录在输出目录的索引文件中；哈希未变且文件仍在的表直接跳过，
+ * 其余的表并行调用model2JavaSrc()生成，内容与现有文件不同时才写入，未变的文件保持原有修改时间，
+ * 增量编译不会因此重新编译。
+ *
+ * <pre>
+ * JavaSrcGenerator.Result result = new JavaSrcGenerator(Dialect.H2Dialect, ds).generate(Paths.get("src/main/java/entity"), setting);
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class JavaSrcGenerator {
+
+    /**
+     * 输出目录中记录"文件名=哈希"的索引文件
+     */
+    public static final String INDEX_FILE = ".jdialects-src.sha256";
+
+    private final Dialect dialect;
+
+    private final DataSource dataSource;
+
+    private int parallelism = 4;
+
+    public JavaSrcGenerator(Dialect dialect, DataSource dataSource) {
+        this.dialect = dialect;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 读取元数据和生成源码使用的线程数
+     */
+    public JavaSrcGenerator parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 读取数据库中的表并生成源码，设置项与db2JavaSrcFiles()相同
+     */
+    public Result generate(Path outputFolder, Map<String, Object> setting) throws SQLException, IOException {
+        TableModel[] models = new SchemaIntrospector(dialect, dataSource).parallelism(parallelism)
+                .includeIndexes(false).db2Models();
+        return generate(models, outputFolder, setting);
+    }
+
+    /**
+     * 为给定的模型生成源码，如SchemaSnapshot中的模型
+     */
+    public Result generate(TableModel[] models, final Path outputFolder, final Map<String, Object> setting)
+            throws SQLException, IOException {
+        Files.createDirectories(outputFolder);
+        final Map<String, String> index = readIndex(outputFolder.resolve(INDEX_FILE));
+        final Map<String, String> newIndex = new ConcurrentHashMap<String, String>();
+        final byte[] settingDigest = settingDigest(setting);
+        final Set<String> excludeTables = excludeTables(setting);
+        final String filePrefix = filePrefix(setting);
+        final Result result = new Result();
+
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(models.length);
+        for (final TableModel model : models) {
+            if (excludeTables.contains(model.getTableName().toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            tasks.add(() -> {
+                String fileName = filePrefix + TableModelUtilsOfJavaSrc.getClassNameFromTableModel(model) + ".java";
+                Path file = outputFolder.resolve(fileName);
+                String hash = hash(settingDigest, model);
+                newIndex.put(fileName, hash);
+                if (hash.equals(index.get(fileName)) && Files.exists(file)) {
+                    result.skipped.incrementAndGet();
+                    return null;
+                }
+
+                byte[] src = TableModelUtils.model2JavaSrc(model, setting).getBytes(StandardCharsets.UTF_8);
+                if (Files.exists(file) && Arrays.equals(src, Files.readAllBytes(file))) {
+                    result.unchanged.incrementAndGet();
+                } else {
+                    Files.write(file, src);
+                    result.written.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        if (!tasks.isEmpty()) {
+            ParallelTasks.runAll(tasks, parallelism, "java-src-generator");
+        }
+
+        // 保留本次未涉及的表（如被排除的表）原有的记录
+        Map<String, String> merged = new TreeMap<String, String>(index);
+        merged.putAll(newIndex);
+        writeIndex(outputFolder.resolve(INDEX_FILE), merged);
+        return result;
+    }
+
+    private static String hash(byte[] settingDigest, TableModel model) throws IOException {
+        MessageDigest digest = sha256();
+        digest.update(settingDigest);
+        digest.update(SchemaSnapshot.encode(model));
+        return hex(digest.digest());
+    }
+
+    /**
+     * 设置项按键排序，集合类的值按元素排序，与Map、Set的遍历顺序无关
+     */
+    private static byte[] settingDigest(Map<String, Object> setting) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Object> entry : new TreeMap<String, Object>(setting).entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof Collection) {
+                Set<String> sorted = new TreeSet<String>();
+                for (Object element : (Collection<?>) value) {
+                    sorted.add(String.valueOf(element));
+                }
+                value = sorted;
+            }
+            sb.append(entry.getKey()).append('=').append(value).append('\n');
+        }
+        return sha256().digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * db2JavaSrcFiles()要求OPT_EXCLUDE_TABLES是HashSet，这里接受任意Collection
+     */
+    private static Set<String> excludeTables(Map<String, Object> setting) {
+        Set<String> excludeTables = new HashSet<String>();
+        Object value = setting.get(TableModelUtils.OPT_EXCLUDE_TABLES);
+        if (value instanceof Collection) {
+            for (Object table : (Collection<?>) value) {
+                excludeTables.add(String.valueOf(table).trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return excludeTables;
+    }
+
+    /**
+     * 与db2JavaSrcFiles()一致：类定义模板中"$"之前最后一个空格后的部分作为文件名前缀
+     */
+    private static String filePrefix(Map<String, Object> setting) {
+        String classDefinition = (String) setting.get(TableModelUtils.OPT_CLASS_DEFINITION);
+        if (classDefinition == null) {
+            return "";
+        }
+        int dollar = classDefinition.indexOf('$');
+        String before = dollar < 0 ? classDefinition : classDefinition.substring(0, dollar);
+        return before.substring(before.lastIndexOf(' ') + 1);
+    }
+
+    private static Map<String, String> readIndex(Path file) throws IOException {
+        Map<String, String> index = new TreeMap<String, String>();
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int eq = line.lastIndexOf('=');
+                if (eq > 0) {
+                    index.put(line.substring(0, eq), line.substring(eq + 1));
+                }
+            }
+        }
+        return index;
+    }
+
+    private static void writeIndex(Path file, Map<String, String> index) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> entry : index.entrySet()) {
+            sb.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+        }
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        if (!Files.exists(file) || !Arrays.equals(bytes, Files.readAllBytes(file))) {
+            Files.write(file, bytes);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 一次生成的统计
+     */
+    public static final class Result {
+
+        private final AtomicInteger written = new AtomicInteger();
+
+        private final AtomicInteger unchanged = new AtomicInteger();
+
+        private final AtomicInteger skipped = new AtomicInteger();
+
+        /**
+         * 新建或内容变化而写入的文件数
+         */
+        public int getWritten() {
+            return written.get();
+        }
+
+        /**
+         * 哈希变化但生成内容与现有文件相同、未写入的文件数
+         */
+        public int getUnchanged() {
+            return unchanged.get();
+        }
+
+        /**
+         * 哈希未变、没有生成的表数
+         */
+        public int getSkipped() {
+            return skipped.get();
+        }
+
+        @Override
+        public String toString() {
+            return "written=" + written + ", unchanged=" + unchanged + ", skipped=" + skipped;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.DialectException;
+import com.github.drinkjava2.jdialects.Type;
+import com.github.drinkjava2.jdialects.model.ColumnModel;
+import com.github.drinkjava2.jdialects.model.IndexModel;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.github.drinkjava2.jdialects.model.UniqueModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 根据TableModel和PartitionModel生成分区表的DDL，以及滚动窗口需要的增加、删除分区的DDL
+ * <p>
+ * 目前支持MySQL系列（含MariaDB）的PARTITION BY RANGE / RANGE COLUMNS / HASH / KEY。
+ * 整数列按RANGE、HASH分区，日期、字符串等其它列按RANGE COLUMNS、KEY分区。
+ * H2没有表分区；jDialects中的PostgreSQL方言最高为9.5，早于声明式分区（PostgreSQL 10），
+ * 这些方言调用时抛出DialectException，可以改用不分区的Dialect.toCreateDDL或ShardedTable.ofTables。
+ *
+ * <pre>
+ * PartitionDDL ddl = new PartitionDDL(Dialect.MySQL8Dialect);
+ * String[] create = ddl.toCreateDDL(t, PartitionModel.rangeByMonth("created", YearMonth.of(2026, 1), 12).maxValue("p_max"));
+ * String[] add = ddl.toAddPartitionDDL(t, partitioning, "p202701", LocalDate.of(2027, 2, 1));
+ * String[] drop = ddl.toDropPartitionDDL(t, partitioning, "p202601");
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class PartitionDDL {
+
+    private final Dialect dialect;
+
+    public PartitionDDL(Dialect dialect) {
+        this.dialect = dialect;
+    }
+
+    /**
+     * 方言是否支持生成分区DDL
+     */
+    public static boolean supportsPartitioning(Dialect dialect) {
+        return dialect.isMySqlFamily() || dialect.isFamily("MariaDB");
+    }
+
+    /**
+     * 建表DDL，分区子句附加在create table语句之后，索引等其它语句不变
+     */
+    public String[] toCreateDDL(TableModel tableModel, PartitionModel partitioning) {
+        checkSupported("partitioned tables");
+        ColumnModel column = partitionColumn(tableModel, partitioning);
+        checkKeys(tableModel, column.getColumnName());
+        String[] ddls = dialect.toCreateDDL(tableModel);
+        for (int i = 0; i < ddls.length; i++) {
+            if (ddls[i].trim().toLowerCase(Locale.ROOT).startsWith("create table")) {
+                ddls[i] = ddls[i] + " " + partitionClause(column, partitioning);
+                return ddls;
+            }
+        }
+        throw new DialectException("No create table statement generated for table " + tableModel.getTableName());
+    }
+
+    /**
+     * 范围分区末尾增加一个分区，有MAXVALUE分区时从它拆分出新分区。成功生成后partitioning同时更新
+     */
+    public String[] toAddPartitionDDL(TableModel tableModel, PartitionModel partitioning, String name,
+                                      Comparable<?> lessThan) {
+        checkSupported("adding partitions");
+        checkRange(partitioning);
+        ColumnModel column = partitionColumn(tableModel, partitioning);
+        checkBound(column, lessThan);
+        partitioning.partition(name, lessThan);
+
+        String partition = "partition " + name + " values less than (" + literal(lessThan) + ")";
+        String sql;
+        if (partitioning.getMaxValuePartition() != null) {
+            String max = partitioning.getMaxValuePartition();
+            sql = "alter table " + tableModel.getTableName() + " reorganize partition " + max + " into (" + partition
+                    + ", partition " + max + " values less than maxvalue)";
+        } else {
+            sql = "alter table " + tableModel.getTableName() + " add partition (" + partition + ")";
+        }
+        return new String[]{sql};
+    }
+
+    /**
+     * 删除一个范围分区及其中的数据，比delete快且不产生大事务。成功生成后partitioning同时更新
+     */
+    public String[] toDropPartitionDDL(TableModel tableModel, PartitionModel partitioning, String name) {
+        checkSupported("dropping partitions");
+        checkRange(partitioning);
+        if (name.equalsIgnoreCase(partitioning.getMaxValuePartition())) {
+            throw new IllegalArgumentException("Can not drop the MAXVALUE partition " + name);
+        }
+        partitioning.removePartition(name);
+        return new String[]{"alter table " + tableModel.getTableName() + " drop partition " + name};
+    }
+
+    private String partitionClause(ColumnModel column, PartitionModel partitioning) {
+        boolean integer = isInteger(column.getColumnType());
+        String name = column.getColumnName();
+        if (partitioning.getKind() == PartitionModel.Kind.HASH) {
+            return "partition by " + (integer ? "hash" : "key") + " (" + name + ") partitions "
+                    + partitioning.getPartitionCount();
+        }
+        if (partitioning.getPartitions().isEmpty()) {
+            throw new IllegalArgumentException("Range partitioning on " + name + " needs at least one partition");
+        }
+        StringBuilder sb = new StringBuilder("partition by range ");
+        sb.append(integer ? "(" : "columns (").append(name).append(") (");
+        String separator = "";
+        for (PartitionModel.RangePartition partition : partitioning.getPartitions()) {
+            checkBound(column, partition.getLessThan());
+            sb.append(separator).append("partition ").append(partition.getName()).append(" values less than (")
+                    .append(literal(partition.getLessThan())).append(')');
+            separator = ", ";
+        }
+        if (partitioning.getMaxValuePartition() != null) {
+            sb.append(separator).append("partition ").append(partitioning.getMaxValuePartition())
+                    .append(" values less than maxvalue");
+        }
+        return sb.append(')').toString();
+    }
+
+    private void checkSupported(String what) {
+        if (!supportsPartitioning(dialect)) {
+            throw new DialectException(dialect + " does not support " + what
+                    + ", use Dialect.toCreateDDL for a plain table or ShardedTable.ofTables to split it into tables");
+        }
+    }
+
+    private static void checkRange(PartitionModel partitioning) {
+        if (partitioning.getKind() != PartitionModel.Kind.RANGE) {
+            throw new IllegalArgumentException("Only range partitions can be added or dropped by name");
+        }
+    }
+
+    private static ColumnModel partitionColumn(TableModel tableModel, PartitionModel partitioning) {
+        for (ColumnModel column : tableModel.getColumns()) {
+            if (column.getColumnName().equalsIgnoreCase(partitioning.getColumn())
+                    && !Boolean.TRUE.equals(column.getTransientable())) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("Partition column " + partitioning.getColumn() + " is not a column of table "
+                + tableModel.getTableName());
+    }
+
+    /**
+     * MySQL要求主键和每个唯一约束、唯一索引都包含分区列（错误1503），且分区表不能有外键
+     */
+    private static void checkKeys(TableModel tableModel, String columnName) {
+        List<String> pkeys = new ArrayList<String>();
+        for (ColumnModel pkey : tableModel.getPKeyColumns()) {
+            pkeys.add(pkey.getColumnName());
+        }
+        if (!pkeys.isEmpty() && !containsIgnoreCase(pkeys, columnName)) {
+            throw new IllegalArgumentException("Primary key " + pkeys + " of table " + tableModel.getTableName()
+                    + " must include partition column " + columnName);
+        }
+        for (UniqueModel unique : tableModel.getUniqueConsts()) {
+            if (!containsIgnoreCase(Arrays.asList(unique.getColumnList()), columnName)) {
+                throw new IllegalArgumentException("Unique constraint " + Arrays.toString(unique.getColumnList()) + " of table "
+                        + tableModel.getTableName() + " must include partition column " + columnName);
+            }
+        }
+        for (IndexModel index : tableModel.getIndexConsts()) {
+            if (Boolean.TRUE.equals(index.getUnique())
+                    && !containsIgnoreCase(Arrays.asList(index.getColumnList()), columnName)) {
+                throw new IllegalArgumentException("Unique index " + index.getName() + " of table "
+                        + tableModel.getTableName() + " must include partition column " + columnName);
+            }
+        }
+        if (!tableModel.getFkeyConstraints().isEmpty()) {
+            throw new IllegalArgumentException("Partitioned table " + tableModel.getTableName()
+                    + " can not have foreign keys");
+        }
+    }
+
+    private static void checkBound(ColumnModel column, Comparable<?> lessThan) {
+        if (isInteger(column.getColumnType()) && !(lessThan instanceof Number)) {
+            throw new IllegalArgumentException("Upper bound " + lessThan + " of integer column "
+                    + column.getColumnName() + " must be a number");
+        }
+    }
+
+    private static boolean containsIgnoreCase(List<String> names, String name) {
+        for (String n : names) {
+            if (n.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isInteger(Type type) {
+        return type == Type.TINYINT || type == Type.SMALLINT || type == Type.MEDIUMINT || type == Type.INTEGER
+                || type == Type.INT || type == Type.BIGINT;
+    }
+
+    /**
+     * 数字原样输出，日期、字符串等按toString()加单引号
+     */
+    private static String literal(Object value) {
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 表的分区定义：按列范围分区（日期、自增ID），或按列散列分区
+ * <p>
+ * TableModel本身没有分区信息，分区定义单独保存，由PartitionDDL结合TableModel生成建表和增删分区的DDL。
+ *
+ * <pre>
+ * PartitionModel byMonth = PartitionModel.rangeByMonth("created", YearMonth.of(2026, 1), 12).maxValue("p_max");
+ * PartitionModel byId = PartitionModel.range("id").partition("p0", 1000000).partition("p1", 2000000);
+ * PartitionModel byKey = PartitionModel.hash("user_id", 16);
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class PartitionModel {
+
+    public enum Kind {
+        RANGE, HASH
+    }
+
+    private static final DateTimeFormatter MONTH_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final Kind kind;
+
+    private final String column;
+
+    private final int partitionCount;
+
+    private final List<RangePartition> partitions = new ArrayList<RangePartition>();
+
+    private String maxValuePartition;
+
+    private PartitionModel(Kind kind, String column, int partitionCount) {
+        if (column == null || column.isEmpty()) {
+            throw new IllegalArgumentException("Partition column must not be empty");
+        }
+        this.kind = kind;
+        this.column = column;
+        this.partitionCount = partitionCount;
+    }
+
+    /**
+     * 按列范围分区，用partition()依次添加上界递增的分区
+     */
+    public static PartitionModel range(String column) {
+        return new PartitionModel(Kind.RANGE, column, 0);
+    }
+
+    /**
+     * 从first开始每月一个分区，分区名为pyyyyMM，上界为下月1日
+     */
+    public static PartitionModel rangeByMonth(String column, YearMonth first, int months) {
+        if (months <= 0) {
+            throw new IllegalArgumentException("months must be positive");
+        }
+        PartitionModel model = range(column);
+        for (int i = 0; i < months; i++) {
+            YearMonth month = first.plusMonths(i);
+            model.partition(monthPartitionName(month), monthUpperBound(month));
+        }
+        return model;
+    }
+
+    /**
+     * 按列散列为partitionCount个分区
+     */
+    public static PartitionModel hash(String column, int partitionCount) {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("partitionCount must be positive");
+        }
+        return new PartitionModel(Kind.HASH, column, partitionCount);
+    }
+
+    /**
+     * rangeByMonth使用的分区名
+     */
+    public static String monthPartitionName(YearMonth month) {
+        return MONTH_NAME.format(month);
+    }
+
+    /**
+     * rangeByMonth使用的分区上界：下月1日
+     */
+    public static LocalDate monthUpperBound(YearMonth month) {
+        return month.plusMonths(1).atDay(1);
+    }
+
+    /**
+     * 添加一个范围分区，保存小于lessThan的行，lessThan必须大于前一个分区的上界。MAXVALUE分区始终在最后
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PartitionModel partition(String name, Comparable<?> lessThan) {
+        if (kind != Kind.RANGE) {
+            throw new IllegalArgumentException("Only range partitioning has named partitions");
+        }
+        if (lessThan == null) {
+            throw new IllegalArgumentException("Partition " + name + " needs an upper bound");
+        }
+        checkNewName(name);
+        if (!partitions.isEmpty()) {
+            Comparable last = partitions.get(partitions.size() - 1).getLessThan();
+            if (!last.getClass().equals(lessThan.getClass()) || last.compareTo(lessThan) >= 0) {
+                throw new IllegalArgumentException("Upper bound " + lessThan + " of partition " + name
+                        + " must be greater than " + last);
+            }
+        }
+        partitions.add(new RangePartition(name, lessThan));
+        return this;
+    }
+
+    /**
+     * 最后一个分区，保存大于所有上界的行
+     */
+    public PartitionModel maxValue(String name) {
+        if (kind != Kind.RANGE) {
+            throw new IllegalArgumentException("Only range partitioning has a MAXVALUE partition");
+        }
+        if (maxValuePartition != null) {
+            throw new IllegalArgumentException("MAXVALUE partition " + maxValuePartition + " already exists");
+        }
+        checkNewName(name);
+        this.maxValuePartition = name;
+        return this;
+    }
+
+    /**
+     * 删除一个范围分区（不能删除MAXVALUE分区）
+     */
+    public PartitionModel removePartition(String name) {
+        for (int i = 0; i < partitions.size(); i++) {
+            if (partitions.get(i).getName().equalsIgnoreCase(name)) {
+                partitions.remove(i);
+                return this;
+            }
+        }
+        throw new IllegalArgumentException("No range partition " + name);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * 散列分区的分区数，范围分区为0
+     */
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public List<RangePartition> getPartitions() {
+        return Collections.unmodifiableList(partitions);
+    }
+
+    /**
+     * MAXVALUE分区名，没有时为null
+     */
+    public String getMaxValuePartition() {
+        return maxValuePartition;
+    }
+
+    private void checkNewName(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Partition name must not be empty");
+        }
+        for (RangePartition partition : partitions) {
+            if (partition.getName().equalsIgnoreCase(name)) {
+                throw new IllegalArgumentException("Partition " + name + " already exists");
+            }
+        }
+        if (name.equalsIgnoreCase(maxValuePartition)) {
+            throw new IllegalArgumentException("Partition " + name + " already exists");
+        }
+    }
+
+    /**
+     * 一个范围分区：名称和上界（不含）
+     */
+    public static class RangePartition {
+
+        private final String name;
+
+        private final Comparable<?> lessThan;
+
+        RangePartition(String name, Comparable<?> lessThan) {
+            this.name = name;
+            this.lessThan = lessThan;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Comparable<?> getLessThan() {
+            return lessThan;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+
+import javax.sql.DataSource;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 在一个连接上执行整个部署的DDL
+ * <p>
+ * 第一次执行时从连接池取一个连接，close()时归还，期间所有execute()共用该连接。
+ * 驱动支持批量更新时每batchSize条语句用addBatch/executeBatch一次发送，否则逐条执行；
+ * 驱动声明DDL可以在事务中执行且不会隐式提交时（如PostgreSQL、SQL Server、Derby），
+ * 一次execute()的全部语句在一个事务中，失败时整体回滚。H2、MySQL、Oracle的DDL会隐式提交，不在事务中执行。
+ * <p>
+ * 任一语句失败时不再发送后续批次，抛出DeployException，其中有失败的语句和已完成部分的Report。
+ * 注意H2等驱动在批次内遇到错误后仍会执行同一批次的其余语句，Report按updateCounts列出实际执行了的全部语句，
+ * 包括失败语句之后的；DDL不在事务中时这些语句已经生效，需要严格在第一个错误处停止时把batchSize设为1。
+ * Report按往返记录耗时，batchSize为1时即每条语句的耗时。
+ *
+ * <pre>
+ * try (SchemaDeploySession session = new SchemaDeploySession(Dialect.H2Dialect, ds)) {
+ *     session.drop(models);
+ *     SchemaDeploySession.Report report = session.create(models);
+ * }
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class SchemaDeploySession implements AutoCloseable {
+
+    private final Dialect dialect;
+
+    private final DataSource dataSource;
+
+    private int batchSize = 500;
+
+    private boolean transactional = true;
+
+    private Connection conn;
+
+    private boolean supportsBatch;
+
+    private boolean supportsTransactionalDDL;
+
+    public SchemaDeploySession(Dialect dialect, DataSource dataSource) {
+        this.dialect = dialect;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 每次executeBatch发送的语句数，默认500；为1时逐条执行并分别计时
+     */
+    public SchemaDeploySession batchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * 驱动支持事务性DDL时是否在事务中执行，默认true
+     */
+    public SchemaDeploySession transactional(boolean transactional) {
+        this.transactional = transactional;
+        return this;
+    }
+
+    public Report create(TableModel... models) throws SQLException {
+        return execute(dialect.toCreateDDL(models));
+    }
+
+    public Report drop(TableModel... models) throws SQLException {
+        return execute(dialect.toDropDDL(models));
+    }
+
+    /**
+     * 按顺序执行DDL，遇到第一个错误即停止
+     */
+    public Report execute(String... ddls) throws SQLException {
+        Connection conn = connection();
+        boolean inTransaction = transactional && supportsTransactionalDDL;
+        boolean autoCommit = conn.getAutoCommit();
+        if (inTransaction && autoCommit) {
+            conn.setAutoCommit(false);
+        }
+        Report report = new Report(inTransaction);
+        int size = supportsBatch ? batchSize : 1;
+        try {
+            Statement st = conn.createStatement();
+            try {
+                for (int from = 0; from < ddls.length; from += size) {
+                    List<String> chunk = Arrays.asList(ddls).subList(from, Math.min(ddls.length, from + size));
+                    executeChunk(st, chunk, from, report);
+                }
+            } finally {
+                st.close();
+            }
+            if (inTransaction) {
+                conn.commit();
+            }
+        } catch (DeployException e) {
+            if (inTransaction) {
+                rollback(conn, e);
+            }
+            throw e;
+        } finally {
+            if (inTransaction && autoCommit) {
+                conn.setAutoCommit(true);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * 当前连接上DDL是否在事务中执行
+     */
+    public boolean isTransactional() throws SQLException {
+        connection();
+        return transactional && supportsTransactionalDDL;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (conn != null) {
+            try {
+                conn.close();
+            } finally {
+                conn = null;
+            }
+        }
+    }
+
+    private void executeChunk(Statement st, List<String> chunk, int offset, Report report) throws DeployException {
+        long start = System.nanoTime();
+        try {
+            if (chunk.size() == 1) {
+                st.execute(chunk.get(0));
+            } else {
+                for (String ddl : chunk) {
+                    st.addBatch(ddl);
+                }
+                st.executeBatch();
+            }
+            report.steps.add(new Step(chunk, System.nanoTime() - start));
+        } catch (BatchUpdateException e) {
+            // 驱动在第一个错误处停止时updateCounts只有之前的语句，继续执行时失败的语句为EXECUTE_FAILED，
+            // 其后的语句已经执行，同样计入report
+            int[] counts = e.getUpdateCounts() == null ? new int[0] : e.getUpdateCounts();
+            int failed = -1;
+            List<String> executed = new ArrayList<String>(counts.length);
+            for (int i = 0; i < counts.length && i < chunk.size(); i++) {
+                if (counts[i] != Statement.EXECUTE_FAILED) {
+                    executed.add(chunk.get(i));
+                } else if (failed < 0) {
+                    failed = i;
+                }
+            }
+            if (failed < 0) {
+                failed = Math.min(counts.length, chunk.size() - 1);
+            }
+            report.steps.add(new Step(executed, System.nanoTime() - start));
+            throw new DeployException(offset + failed, chunk.get(failed), report, e);
+        } catch (SQLException e) {
+            report.steps.add(new Step(Collections.<String>emptyList(), System.nanoTime() - start));
+            throw new DeployException(offset, chunk.get(0), report, e);
+        }
+    }
+
+    private static void rollback(Connection conn, DeployException e) {
+        try {
+            conn.rollback();
+            e.rolledBack = true;
+        } catch (SQLException rollbackFailure) {
+            e.addSuppressed(rollbackFailure);
+        }
+    }
+
+    private Connection connection() throws SQLException {
+        if (conn == null) {
+            conn = dataSource.getConnection();
+            DatabaseMetaData meta = conn.getMetaData();
+            supportsBatch = meta.supportsBatchUpdates();
+            supportsTransactionalDDL = meta.supportsDataDefinitionAndDataManipulationTransactions()
+                    && !meta.dataDefinitionCausesTransactionCommit();
+        }
+        return conn;
+    }
+
+    /**
+     * 一次往返：一条语句或一个批次
+     */
+    public static class Step {
+
+        private final List<String> statements;
+
+        private final long nanos;
+
+        Step(List<String> statements, long nanos) {
+            this.statements = Collections.unmodifiableList(new ArrayList<String>(statements));
+            this.nanos = nanos;
+        }
+
+        /**
+         * 成功执行的语句，失败的批次中为驱动报告已执行的语句，可能包括失败语句之后的
+         */
+        public List<String> getStatements() {
+            return statements;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.3f ms %s", nanos / 1e6,
+                    statements.size() == 1 ? statements.get(0) : statements.size() + " statements");
+        }
+    }
+
+    /**
+     * 一次execute()的执行情况
+     */
+    public static class Report {
+
+        private final boolean transactional;
+
+        private final List<Step> steps = new ArrayList<Step>();
+
+        Report(boolean transactional) {
+            this.transactional = transactional;
+        }
+
+        public boolean isTransactional() {
+            return transactional;
+        }
+
+        public List<Step> getSteps() {
+            return Collections.unmodifiableList(steps);
+        }
+
+        public int getRoundTrips() {
+            return steps.size();
+        }
+
+        /**
+         * 成功执行的语句数
+         */
+        public int getStatementCount() {
+            int count = 0;
+            for (Step step : steps) {
+                count += step.statements.size();
+            }
+            return count;
+        }
+
+        public long getTotalNanos() {
+            long total = 0;
+            for (Step step : steps) {
+                total += step.nanos;
+            }
+            return total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d statements in %d round trips, %.3f ms%s", getStatementCount(), getRoundTrips(),
+                    getTotalNanos() / 1e6, transactional ? ", transactional" : "");
+        }
+    }
+
+    /**
+     * 部署中途失败
+     */
+    public static class DeployException extends SQLException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int failedIndex;
+
+        private final String failedStatement;
+
+        private final Report report;
+
+        private boolean rolledBack;
+
+        DeployException(int failedIndex, String failedStatement, Report report, SQLException cause) {
+            super("DDL statement " + (failedIndex + 1) + " failed: " + failedStatement, cause.getSQLState(),
+                    cause.getErrorCode(), cause);
+            this.failedIndex = failedIndex;
+            this.failedStatement = failedStatement;
+            this.report = report;
+        }
+
+        /**
+         * 失败语句在execute()参数中的下标
+         */
+        public int getFailedIndex() {
+            return failedIndex;
+        }
+
+        public String getFailedStatement() {
+            return failedStatement;
+        }
+
+        /**
+         * 已执行的部分，批次中失败语句之后驱动仍执行了的语句也在其中
+         */
+        public Report getReport() {
+            return report;
+        }
+
+        /**
+         * 是否已回滚，回滚后report中的语句也不再生效
+         */
+        public boolean isRolledBack() {
+            return rolledBack;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.DialectException;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.ParallelTasks;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * 按外键依赖并行部署表结构
+ * <p>
+ * 创建时先执行多个表共用的语句（如jdia_seq_autoid序列），再用连接池中的多个连接并行建表，
+ * 外键约束最后统一添加，因此建表之间没有先后依赖。关闭deferConstraints后，
+ * 每个表的完整DDL按TableDependencies.waves()分层执行，被引用的表先创建。
+ * 删除时顺序相反：先删外键，再并行删表，最后删除共用对象。
+ *
+ * <pre>
+ * new SchemaDeployer(Dialect.H2Dialect, ds).parallelism(8).create(models);
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class SchemaDeployer {
+
+    private final Dialect dialect;
+
+    private final DataSource dataSource;
+
+    private int parallelism = 4;
+
+    private boolean deferConstraints = true;
+
+    public SchemaDeployer(Dialect dialect, DataSource dataSource) {
+        this.dialect = dialect;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 并行执行的连接数，不应超过连接池的maxTotal
+     */
+    public SchemaDeployer parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 是否在所有表创建完后再添加外键约束，默认true
+     */
+    public SchemaDeployer deferConstraints(boolean deferConstraints) {
+        this.deferConstraints = deferConstraints;
+        return this;
+    }
+
+    public void create(TableModel... models) throws SQLException {
+        List<List<String>> full = new ArrayList<List<String>>();
+        List<List<String>> plain = new ArrayList<List<String>>();
+        for (TableModel model : models) {
+            full.add(Arrays.asList(dialect.toCreateDDL(model)));
+            plain.add(Arrays.asList(dialect.toCreateDDL(withoutFKeys(model))));
+        }
+        Set<String> shared = sharedStatements(plain);
+
+        runSerial(new ArrayList<String>(shared));
+        if (deferConstraints) {
+            runParallel(minus(plain, shared));
+            runParallel(minus(full, plain, shared));
+            return;
+        }
+
+        Map<TableModel, List<String>> byModel = index(models, minus(full, shared));
+        for (List<TableModel> wave : TableDependencies.waves(models)) {
+            runParallel(select(wave, byModel));
+        }
+    }
+
+    public void drop(TableModel... models) throws SQLException {
+        List<List<String>> plain = new ArrayList<List<String>>();
+        for (TableModel model : models) {
+            plain.add(Arrays.asList(dialect.toDropDDL(withoutFKeys(model))));
+        }
+        Set<String> shared = sharedStatements(plain);
+
+        List<List<String>> full = new ArrayList<List<String>>();
+        try {
+            for (TableModel model : models) {
+                full.add(Arrays.asList(dialect.toDropDDL(model)));
+            }
+        } catch (DialectException e) {
+            // 方言不支持单独删除外键，按依赖倒序删表
+            Map<TableModel, List<String>> byModel = index(models, minus(plain, shared));
+            List<List<TableModel>> waves = TableDependencies.waves(models);
+            for (int i = waves.size() - 1; i >= 0; i--) {
+                runParallel(select(waves.get(i), byModel));
+            }
+            runSerial(new ArrayList<String>(shared));
+            return;
+        }
+
+        runParallel(minus(full, plain, shared));
+        runParallel(minus(plain, shared));
+        runSerial(new ArrayList<String>(shared));
+    }
+
+    /**
+     * 在多个表的DDL中都出现的语句
+     */
+    private static Set<String> sharedStatements(List<List<String>> ddlLists) {
+        Set<String> seen = new HashSet<String>();
+        Set<String> shared = new LinkedHashSet<String>();
+        for (List<String> ddlList : ddlLists) {
+            for (String ddl : new LinkedHashSet<String>(ddlList)) {
+                if (!seen.add(ddl)) {
+                    shared.add(ddl);
+                }
+            }
+        }
+        return shared;
+    }
+
+    private static List<List<String>> minus(List<List<String>> lists, Set<String> excluded) {
+        List<List<String>> result = new ArrayList<List<String>>(lists.size());
+        for (List<String> list : lists) {
+            List<String> kept = new ArrayList<String>(list.size());
+            for (String ddl : list) {
+                if (!excluded.contains(ddl)) {
+                    kept.add(ddl);
+                }
+            }
+            result.add(kept);
+        }
+        return result;
+    }
+
+    /**
+     * 只保留full中有而plain中没有的语句，即外键相关的DDL
+     */
+    private static List<List<String>> minus(List<List<String>> full, List<List<String>> plain, Set<String> shared) {
+        List<List<String>> result = new ArrayList<List<String>>(full.size());
+        for (int i = 0; i < full.size(); i++) {
+            Set<String> excluded = new HashSet<String>(plain.get(i));
+            excluded.addAll(shared);
+            List<String> kept = new ArrayList<String>();
+            for (String ddl : full.get(i)) {
+                if (!excluded.contains(ddl)) {
+                    kept.add(ddl);
+                }
+            }
+            result.add(kept);
+        }
+        return result;
+    }
+
+    private static Map<TableModel, List<String>> index(TableModel[] models, List<List<String>> ddlLists) {
+        Map<TableModel, List<String>> byModel = new HashMap<TableModel, List<String>>();
+        for (int i = 0; i < models.length; i++) {
+            byModel.put(models[i], ddlLists.get(i));
+        }
+        return byModel;
+    }
+
+    private static List<List<String>> select(List<TableModel> wave, Map<TableModel, List<String>> byModel) {
+        List<List<String>> result = new ArrayList<List<String>>(wave.size());
+        for (TableModel model : wave) {
+            result.add(byModel.get(model));
+        }
+        return result;
+    }
+
+    static TableModel withoutFKeys(TableModel model) {
+        TableModel copy = model.newCopy();
+        copy.getFkeyConstraints().clear();
+        return copy;
+    }
+
+    private void runSerial(List<String> ddlList) throws SQLException {
+        if (!ddlList.isEmpty()) {
+            execute(ddlList);
+        }
+    }
+
+    /**
+     * 每个元素是一个表的DDL，一个表的语句在同一连接上顺序执行，不同表并行执行
+     */
+    private void runParallel(List<List<String>> tasks) throws SQLException {
+        List<List<String>> nonEmpty = new ArrayList<List<String>>();
+        for (List<String> task : tasks) {
+            if (!task.isEmpty()) {
+                nonEmpty.add(task);
+            }
+        }
+        if (nonEmpty.size() <= 1 || parallelism == 1) {
+            for (List<String> task : nonEmpty) {
+                execute(task);
+            }
+            return;
+        }
+        runTasks(nonEmpty);
+    }
+
+    private void runTasks(List<List<String>> tasks) throws SQLException {
+        List<Callable<Void>> callables = new ArrayList<Callable<Void>>(tasks.size());
+        for (final List<String> task : tasks) {
+            callables.add(() -> {
+                execute(task);
+                return null;
+            });
+        }
+        // 任一表失败立即取消其余任务
+        ParallelTasks.runAll(callables, parallelism, "schema-deployer");
+    }
+
+    private void execute(List<String> ddlList) throws SQLException {
+        Connection conn = dataSource.getConnection();
+        try {
+            Statement st = conn.createStatement();
+            try {
+                for (String ddl : ddlList) {
+                    st.execute(ddl);
+                }
+            } finally {
+                st.close();
+            }
+        } finally {
+            conn.close();
+        }
+    }
+}
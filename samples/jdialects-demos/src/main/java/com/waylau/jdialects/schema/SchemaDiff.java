@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.TableModelUtils;
+import com.github.drinkjava2.jdialects.model.ColumnModel;
+import com.github.drinkjava2.jdialects.model.FKeyModel;
+import com.github.drinkjava2.jdialects.model.IndexModel;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.github.drinkjava2.jdialects.model.UniqueModel;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * 比较数据库现有结构与目标TableModel，只生成增删列、索引、唯一约束、外键的DDL，不重建表
+ * <p>
+ * 列、索引、唯一约束、外键都按结构比较（列名、索引列、外键列和被引用表），名称不同不视为变化；
+ * 列类型、长度、是否可空的变化不在比较范围内，jdialects没有修改列的DDL。
+ * 每个表先比较结构指纹，指纹相同的表直接跳过。目标中没有的表不会被删除。
+ *
+ * <pre>
+ * String[] ddl = new SchemaDiff(Dialect.H2Dialect).diff(conn, models);
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class SchemaDiff {
+
+    /**
+     * H2唯一约束背后的索引名为"约束名_INDEX_n"
+     */
+    private static final Pattern H2_CONSTRAINT_INDEX = Pattern.compile("(?i)_INDEX_[0-9A-Z]+$");
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Dialect dialect;
+
+    public SchemaDiff(Dialect dialect) {
+        this.dialect = dialect;
+    }
+
+    /**
+     * 用db2Models读取现有结构，并补充索引和唯一约束后比较
+     */
+    public String[] diff(Connection conn, TableModel... target) throws SQLException {
+        TableModel[] live = TableModelUtils.db2Models(conn, dialect);
+
+        Set<String> targetNames = new HashSet<String>();
+        for (TableModel model : target) {
+            targetNames.add(TableDependencies.key(model.getTableName()));
+        }
+        List<TableModel> compared = new ArrayList<TableModel>();
+        for (TableModel model : live) {
+            if (targetNames.contains(TableDependencies.key(model.getTableName()))) {
+                compared.add(model);
+            }
+        }
+        TableModel[] liveModels = compared.toArray(new TableModel[0]);
+        readIndexes(conn, liveModels);
+        return diff(liveModels, target);
+    }
+
+    /**
+     * 按执行顺序返回DDL：先删外键、索引、列，再建表、加列、加索引，外键最后添加
+     *
+     * @param live   现有结构，索引和唯一约束需已填充，见readIndexes()
+     * @param target 目标结构
+     */
+    public String[] diff(TableModel[] live, TableModel... target) {
+        Map<String, TableModel> liveByName = new LinkedHashMap<String, TableModel>();
+        for (TableModel model : live) {
+            liveByName.put(TableDependencies.key(model.getTableName()), model);
+        }
+
+        List<String> drops = new ArrayList<String>();
+        List<String> dropColumns = new ArrayList<String>();
+        List<String> creates = new ArrayList<String>();
+        List<String> addFKeys = new ArrayList<String>();
+        List<TableModel> newTables = new ArrayList<TableModel>();
+        List<TableModel> existing = new ArrayList<TableModel>();
+        for (TableModel model : target) {
+            TableModel liveModel = liveByName.get(TableDependencies.key(model.getTableName()));
+            if (liveModel == null) {
+                newTables.add(model);
+                continue;
+            }
+            existing.add(model);
+            if (fingerprint(liveModel) != fingerprint(model)) {
+                diffTable(liveModel, model, drops, dropColumns, creates, addFKeys);
+            }
+        }
+        if (!newTables.isEmpty()) {
+            createTables(newTables, existing, creates, addFKeys);
+        }
+
+        List<String> result = new ArrayList<String>(drops);
+        result.addAll(dropColumns);
+        result.addAll(creates);
+        result.addAll(addFKeys);
+        return result.toArray(new String[0]);
+    }
+
+    /**
+     * 表结构指纹：由列名、索引列、唯一约束列、外键列和被引用表按字符计算的64位FNV-1a哈希，与名称大小写、定义顺序无关
+     */
+    public static long fingerprint(TableModel model) {
+        long hash = FNV_OFFSET;
+        for (String key : structureKeys(model)) {
+            for (int i = 0; i < key.length(); i++) {
+                hash ^= key.charAt(i);
+                hash *= FNV_PRIME;
+            }
+            hash ^= '\n';
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * 用DatabaseMetaData.getIndexInfo()为db2Models返回的模型补充索引和唯一约束，
+     * 跳过主键索引和数据库为外键自动创建的索引
+     */
+    public static void readIndexes(Connection conn, TableModel... models) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        boolean h2 = meta.getDatabaseProductName().toLowerCase(Locale.ROOT).contains("h2");
+        for (TableModel model : models) {
+            Map<String, List<String>> columnsByIndex = new LinkedHashMap<String, List<String>>();
+            Set<String> uniqueIndexes = new HashSet<String>();
+            ResultSet rs = meta.getIndexInfo(null, null, model.getTableName(), false, false);
+            try {
+                while (rs.next()) {
+                    String indexName = rs.getString("INDEX_NAME");
+                    String columnName = rs.getString("COLUMN_NAME");
+                    if (rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic || indexName == null || columnName == null) {
+                        continue;
+                    }
+                    List<String> columns = columnsByIndex.get(indexName);
+                    if (columns == null) {
+                        columns = new ArrayList<String>();
+                        columnsByIndex.put(indexName, columns);
+                    }
+                    columns.add(columnName);
+                    if (!rs.getBoolean("NON_UNIQUE")) {
+                        uniqueIndexes.add(indexName);
+                    }
+                }
+            } finally {
+                rs.close();
+            }
+
+            Set<String> pkColumns = new HashSet<String>();
+            for (ColumnModel column : model.getPKeyColumns()) {
+                pkColumns.add(key(column.getColumnName()));
+            }
+            for (Map.Entry<String, List<String>> entry : columnsByIndex.entrySet()) {
+                String name = entry.getKey();
+                String[] columns = entry.getValue().toArray(new String[0]);
+                if (uniqueIndexes.contains(name)) {
+                    if (keys(columns).equals(pkColumns)) {
+                        continue;
+                    }
+                    if (h2 && !H2_CONSTRAINT_INDEX.matcher(name).find()) {
+                        model.index(name).columns(columns).unique();
+                    } else {
+                        model.unique(h2 ? H2_CONSTRAINT_INDEX.matcher(name).replaceFirst("") : name).columns(columns);
+                    }
+                } else if (!isForeignKeyIndex(model, name, columns)) {
+                    model.index(name).columns(columns);
+                }
+            }
+        }
+    }
+
+    private static boolean isForeignKeyIndex(TableModel model, String indexName, String[] columns) {
+        for (FKeyModel fkey : model.getFkeyConstraints()) {
+            if (fkey.getFkeyName() != null && key(indexName).startsWith(key(fkey.getFkeyName()))
+                    && joinKeys(fkey.getColumnNames()).equals(joinKeys(Arrays.asList(columns)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void diffTable(TableModel live, TableModel target, List<String> drops, List<String> dropColumns,
+                           List<String> creates, List<String> addFKeys) {
+        // 外键
+        Map<String, FKeyModel> liveFKeys = fkeys(live);
+        Map<String, FKeyModel> targetFKeys = fkeys(target);
+        for (Map.Entry<String, FKeyModel> entry : liveFKeys.entrySet()) {
+            if (!targetFKeys.containsKey(entry.getKey())) {
+                drops.add(dialect.dropFKeyDDL(live.getTableName(), entry.getValue().getFkeyName()));
+            }
+        }
+
+        // 索引、唯一约束
+        Map<String, Object> liveIndexes = indexes(live);
+        Map<String, Object> targetIndexes = indexes(target);
+        for (Map.Entry<String, Object> entry : liveIndexes.entrySet()) {
+            if (!targetIndexes.containsKey(entry.getKey())) {
+                drops.add(dropIndexDDL(live.getTableName(), entry.getValue()));
+            }
+        }
+
+        // 列
+        Map<String, ColumnModel> liveColumns = columns(live);
+        Map<String, ColumnModel> targetColumns = columns(target);
+        for (Map.Entry<String, ColumnModel> entry : liveColumns.entrySet()) {
+            if (!targetColumns.containsKey(entry.getKey())) {
+                dropColumns.addAll(Arrays.asList(dialect.toDropColumnDDL(entry.getValue())));
+            }
+        }
+        for (Map.Entry<String, ColumnModel> entry : targetColumns.entrySet()) {
+            if (!liveColumns.containsKey(entry.getKey())) {
+                creates.addAll(Arrays.asList(dialect.toAddColumnDDL(entry.getValue())));
+            }
+        }
+
+        // 缺少的索引、外键借助toCreateDDL生成，与建表时的写法保持一致
+        TableModel bare = bare(target);
+        TableModel withIndexes = bare(target);
+        for (IndexModel index : target.getIndexConsts()) {
+            if (!liveIndexes.containsKey(indexKey(index.getColumnList(), Boolean.TRUE.equals(index.getUnique())))) {
+                withIndexes.getIndexConsts().add(index.newCopy());
+            }
+        }
+        for (UniqueModel unique : target.getUniqueConsts()) {
+            if (!liveIndexes.containsKey(indexKey(unique.getColumnList(), true))) {
+                withIndexes.getUniqueConsts().add(unique.newCopy());
+            }
+        }
+        TableModel withFKeys = bare(target);
+        for (Map.Entry<String, FKeyModel> entry : targetFKeys.entrySet()) {
+            if (!liveFKeys.containsKey(entry.getKey())) {
+                withFKeys.getFkeyConstraints().add(entry.getValue().newCopy());
+            }
+        }
+        List<String> bareDDL = Arrays.asList(dialect.toCreateDDL(bare));
+        creates.addAll(minus(dialect.toCreateDDL(withIndexes), bareDDL));
+        addFKeys.addAll(minus(dialect.toCreateDDL(withFKeys), bareDDL));
+    }
+
+    /**
+     * 新表不带外键创建，外键放到最后；已有表建表时生成过的共用语句（如jdia_seq_autoid序列）不再重复
+     */
+    private void createTables(List<TableModel> newTables, List<TableModel> existing, List<String> creates,
+                              List<String> addFKeys) {
+        Set<String> deployed = new HashSet<String>();
+        for (TableModel model : existing) {
+            deployed.addAll(Arrays.asList(dialect.toCreateDDL(SchemaDeployer.withoutFKeys(model))));
+        }
+        Set<String> plain = new LinkedHashSet<String>();
+        Set<String> fkeys = new LinkedHashSet<String>();
+        for (TableModel model : newTables) {
+            List<String> plainDDL = Arrays.asList(dialect.toCreateDDL(SchemaDeployer.withoutFKeys(model)));
+            plain.addAll(plainDDL);
+            fkeys.addAll(minus(dialect.toCreateDDL(model), plainDDL));
+        }
+        plain.removeAll(deployed);
+        creates.addAll(plain);
+        addFKeys.addAll(fkeys);
+    }
+
+    String dropIndexDDL(String tableName, Object index) {
+        if (index instanceof UniqueModel) {
+            String name = ((UniqueModel) index).getName();
+            if (dialect.isMySqlFamily()) {
+                return "alter table " + tableName + " drop index " + name;
+            }
+            if (!dialect.isDB2Family() && !dialect.isDerbyFamily()) {
+                return "alter table " + tableName + " drop constraint " + name;
+            }
+            return "drop index " + name;
+        }
+        String name = ((IndexModel) index).getName();
+        if (dialect.isMySqlFamily()) {
+            return "alter table " + tableName + " drop index " + name;
+        }
+        if (dialect.isSQLServerFamily()) {
+            return "drop index " + name + " on " + tableName;
+        }
+        return "drop index " + name;
+    }
+
+    static TableModel bare(TableModel model) {
+        TableModel copy = model.newCopy();
+        copy.getIndexConsts().clear();
+        copy.getUniqueConsts().clear();
+        copy.getFkeyConstraints().clear();
+        return copy;
+    }
+
+    private static List<String> minus(String[] ddlArray, List<String> excluded) {
+        List<String> result = new ArrayList<String>();
+        for (String ddl : ddlArray) {
+            if (!excluded.contains(ddl)) {
+                result.add(ddl);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> structureKeys(TableModel model) {
+        Set<String> keys = new TreeSet<String>();
+        keys.addAll(columns(model).keySet());
+        keys.addAll(indexes(model).keySet());
+        keys.addAll(fkeys(model).keySet());
+        return keys;
+    }
+
+    private static Map<String, ColumnModel> columns(TableModel model) {
+        Map<String, ColumnModel> columns = new LinkedHashMap<String, ColumnModel>();
+        for (ColumnModel column : model.getColumns()) {
+            if (!Boolean.TRUE.equals(column.getTransientable())) {
+                columns.put("c:" + key(column.getColumnName()), column);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * 唯一索引与唯一约束视为同一结构，值为IndexModel或UniqueModel
+     */
+    private static Map<String, Object> indexes(TableModel model) {
+        Map<String, Object> indexes = new LinkedHashMap<String, Object>();
+        for (IndexModel index : model.getIndexConsts()) {
+            indexes.put(indexKey(index.getColumnList(), Boolean.TRUE.equals(index.getUnique())), index);
+        }
+        for (UniqueModel unique : model.getUniqueConsts()) {
+            indexes.put(indexKey(unique.getColumnList(), true), unique);
+        }
+        return indexes;
+    }
+
+    private static Map<String, FKeyModel> fkeys(TableModel model) {
+        Map<String, FKeyModel> fkeys = new LinkedHashMap<String, FKeyModel>();
+        for (FKeyModel fkey : model.getFkeyConstraints()) {
+            String[] refTableAndColumns = fkey.getRefTableAndColumns();
+            String refTable = refTableAndColumns == null || refTableAndColumns.length == 0 ? "" : key(refTableAndColumns[0]);
+            fkeys.put("f:" + joinKeys(fkey.getColumnNames()) + ">" + refTable, fkey);
+        }
+        return fkeys;
+    }
+
+    private static String indexKey(String[] columns, boolean unique) {
+        return (unique ? "u:" : "i:") + joinKeys(columns == null ? new ArrayList<String>() : Arrays.asList(columns));
+    }
+
+    private static String joinKeys(List<String> names) {
+        StringBuilder sb = new StringBuilder();
+        for (Iterator<String> it = names.iterator(); it.hasNext(); ) {
+            sb.append(key(it.next()));
+            if (it.hasNext()) {
+                sb.append(',');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static Set<String> keys(String[] names) {
+        Set<String> keys = new HashSet<String>();
+        for (String name : names) {
+            keys.add(key(name));
+        }
+        return keys;
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.DialectException;
+import com.github.drinkjava2.jdialects.ReservedDBWords;
+import com.github.drinkjava2.jdialects.TypeUtils;
+import com.github.drinkjava2.jdialects.model.ColumnModel;
+import com.github.drinkjava2.jdialects.model.FKeyModel;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.ParallelTasks;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 并行读取数据库元数据，结果与TableModelUtils.db2Models()一致
+ * <p>
+ * 先用一个连接列出所有表，再从连接池取parallelism个连接，每个连接依次领取下一个表，
+ * 读取列、主键、外键和索引，结果按表清单的顺序合并。
+ *
+ * <pre>
+ * TableModel[] models = new SchemaIntrospector(Dialect.MySQL8Dialect, ds).parallelism(8).db2Models();
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class SchemaIntrospector {
+
+    private final Dialect dialect;
+
+    private final DataSource dataSource;
+
+    private int parallelism = 4;
+
+    private boolean includeIndexes = true;
+
+    private ProgressListener listener;
+
+    public SchemaIntrospector(Dialect dialect, DataSource dataSource) {
+        this.dialect = dialect;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 并行使用的连接数，不应超过连接池的maxTotal
+     */
+    public SchemaIntrospector parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 是否读取索引和唯一约束，默认true；db2Models()本身不读取
+     */
+    public SchemaIntrospector includeIndexes(boolean includeIndexes) {
+        this.includeIndexes = includeIndexes;
+        return this;
+    }
+
+    /**
+     * 每读完一个表回调一次，回调在工作线程中执行
+     */
+    public SchemaIntrospector listener(ProgressListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    public TableModel[] db2Models() throws SQLException {
+        final long start = System.nanoTime();
+        final String catalog;
+        final TableModel[] models;
+        Connection conn = dataSource.getConnection();
+        try {
+            catalog = conn.getCatalog();
+            models = listTables(conn, catalog);
+        } finally {
+            conn.close();
+        }
+
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger loaded = new AtomicInteger();
+        int workers = Math.max(1, Math.min(parallelism, models.length));
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(workers);
+        for (int i = 0; i < workers; i++) {
+            tasks.add(() -> {
+                Connection workerConn = dataSource.getConnection();
+                try {
+                    DatabaseMetaData meta = workerConn.getMetaData();
+                    for (int index = next.getAndIncrement(); index < models.length; index = next.getAndIncrement()) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            return null;
+                        }
+                        readTable(workerConn, meta, catalog, models[index]);
+                        if (listener != null) {
+                            listener.onTable(models[index], loaded.incrementAndGet(), models.length, System.nanoTime() - start);
+                        }
+                    }
+                } finally {
+                    workerConn.close();
+                }
+                return null;
+            });
+        }
+        if (models.length > 0) {
+            ParallelTasks.runAll(tasks, workers, "schema-introspector");
+        }
+        return models;
+    }
+
+    private TableModel[] listTables(Connection conn, String catalog) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        List<TableModel> models = new ArrayList<TableModel>();
+        ResultSet rs = meta.getTables(catalog, dialect.isOracleFamily() ? meta.getUserName() : null, null, new String[]{"TABLE"});
+        try {
+            while (rs.next()) {
+                String tableName = rs.getString("TABLE_NAME");
+                if (tableName == null || tableName.isEmpty()) {
+                    continue;
+                }
+                TableModel model = new TableModel(quoteIfReserved(tableName));
+                String comment = rs.getString("REMARKS");
+                if (comment != null && !comment.isEmpty()) {
+                    model.setComment(comment);
+                }
+                models.add(model);
+            }
+        } finally {
+            rs.close();
+        }
+        return models.toArray(new TableModel[0]);
+    }
+
+    /**
+     * 与TableModelUtils.db2Models()读取相同的列信息、主键和外键
+     */
+    private void readTable(Connection conn, DatabaseMetaData meta, String catalog, TableModel model) throws SQLException {
+        String tableName = model.getTableName();
+        ResultSet rs = meta.getColumns(catalog, null, tableName, null);
+        try {
+            while (rs.next()) {
+                ColumnModel col = new ColumnModel(quoteIfReserved(rs.getString("COLUMN_NAME")));
+                model.addColumn(col);
+                int javaSqlType = rs.getInt("DATA_TYPE");
+                try {
+                    col.setColumnType(TypeUtils.javaSqlTypeToDialectType(javaSqlType));
+                } catch (Exception e) {
+                    throw new DialectException("jDialect does not supported java.sql.types value " + javaSqlType, e);
+                }
+                col.setLength(rs.getInt("CHAR_OCTET_LENGTH"));
+                col.setPrecision(rs.getInt("COLUMN_SIZE"));
+                col.setScale(rs.getInt("DECIMAL_DIGITS"));
+                col.setNullable(rs.getInt("NULLABLE") > 0);
+                col.setDefaultValue(rs.getString("COLUMN_DEF"));
+                col.setComment(rs.getString("REMARKS"));
+                if ("YES".equalsIgnoreCase(rs.getString("IS_AUTOINCREMENT"))) {
+                    col.identityId();
+                }
+            }
+        } finally {
+            rs.close();
+        }
+
+        rs = meta.getPrimaryKeys(catalog, null, tableName);
+        try {
+            while (rs.next()) {
+                model.getColumnByColName(rs.getString("COLUMN_NAME")).setPkey(true);
+            }
+        } finally {
+            rs.close();
+        }
+
+        rs = meta.getImportedKeys(catalog, null, tableName);
+        try {
+            while (rs.next()) {
+                String fkName = rs.getString("FK_NAME");
+                String fkColumnName = rs.getString("FKCOLUMN_NAME");
+                String pkColumnName = rs.getString("PKCOLUMN_NAME");
+                if (rs.getInt("KEY_SEQ") == 1) {
+                    model.fkey(fkName).columns(fkColumnName).refs(rs.getString("PKTABLE_NAME"), pkColumnName);
+                } else {
+                    FKeyModel fkey = model.getFkey(fkName);
+                    fkey.getColumnNames().add(fkColumnName);
+                    String[] refs = Arrays.copyOf(fkey.getRefTableAndColumns(), fkey.getRefTableAndColumns().length + 1);
+                    refs[refs.length - 1] = pkColumnName;
+                    fkey.setRefTableAndColumns(refs);
+                }
+            }
+        } finally {
+            rs.close();
+        }
+
+        if (includeIndexes) {
+            SchemaDiff.readIndexes(conn, model);
+        }
+    }
+
+    private String quoteIfReserved(String name) {
+        if (ReservedDBWords.isReservedWord(dialect, name)) {
+            return dialect.ddlFeatures.getOpenQuote() + name + dialect.ddlFeatures.getCloseQuote();
+        }
+        return name;
+    }
+
+    /**
+     * 读取进度回调
+     */
+    public interface ProgressListener {
+
+        /**
+         * @param model        刚读完的表
+         * @param loaded       已读完的表数
+         * @param total        表总数
+         * @param elapsedNanos 从开始读取到现在的耗时
+         */
+        void onTable(TableModel model, int loaded, int total, long elapsedNanos);
+    }
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Type;
+import com.github.drinkjava2.jdialects.annotation.jpa.GenerationType;
+import com.github.drinkjava2.jdialects.model.ColumnModel;
+import com.github.drinkjava2.jdialects.model.FKeyModel;
+import com.github.drinkjava2.jdialects.model.IndexModel;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.github.drinkjava2.jdialects.model.UniqueModel;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * TableModel[]的二进制快照，文件以只读方式内存映射，打开时只读取表名目录，每个表在第一次访问时才解码
+ * <p>
+ * 保存表名、注释、列（类型、长度、精度、是否可空、主键、默认值、注释、主键生成方式）、外键、索引和唯一约束，
+ * 即db2Models()与SchemaDiff.readIndexes()读取的全部内容。解码后的模型是共享的，修改前请先newCopy()。
+ *
+ * <pre>
+ * 文件格式：magic(int) format(int) dialect(str) version(long) count(int)
+ *         目录：count * [name(str) offset(int)]
+ *         表：count * [table]
+ * str为int长度加UTF-8字节，长度-1表示null
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public final class SchemaSnapshot {
+
+    private static final int MAGIC = 0x4A445353; // JDSS
+
+    private static final int FORMAT = 1;
+
+    private final ByteBuffer buffer;
+
+    private final String dialectName;
+
+    private final long version;
+
+    private final String[] tableNames;
+
+    private final int[] offsets;
+
+    private final Map<String, Integer> indexByName;
+
+    private final AtomicReferenceArray<TableModel> decoded;
+
+    private SchemaSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        ByteBuffer in = buffer.duplicate();
+        if (in.remaining() < 8 || in.getInt() != MAGIC || in.getInt() != FORMAT) {
+            throw new IOException("Not a schema snapshot file");
+        }
+        dialectName = readString(in);
+        version = in.getLong();
+        int count = in.getInt();
+        tableNames = new String[count];
+        offsets = new int[count];
+        indexByName = new HashMap<String, Integer>(count * 2);
+        for (int i = 0; i < count; i++) {
+            tableNames[i] = readString(in);
+            offsets[i] = in.getInt();
+            indexByName.put(TableDependencies.key(tableNames[i]), i);
+        }
+        decoded = new AtomicReferenceArray<TableModel>(count);
+    }
+
+    /**
+     * 以只读内存映射打开快照文件
+     *
+     * @throws IOException 文件不存在或格式不正确
+     */
+    public static SchemaSnapshot open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new SchemaSnapshot(buffer);
+        } finally {
+            // 关闭通道后映射仍然有效
+            channel.close();
+        }
+    }
+
+    /**
+     * 只用普通读取检查文件头，判断快照是否由指定方言、结构版本生成，不做内存映射。
+     * Windows上仍被映射的文件不能被替换，快照过期时应先用本方法判断，不要打开后再write()覆盖
+     *
+     * @throws IOException 文件不存在或无法读取
+     */
+    public static boolean matches(Path file, String dialectName, long version) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 512));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT) {
+                return false;
+            }
+            int length = in.readInt();
+            // 方言名很短，长度异常说明文件已损坏
+            if (length < 0 || length > 1024) {
+                return false;
+            }
+            byte[] name = new byte[length];
+            in.readFully(name);
+            return new String(name, StandardCharsets.UTF_8).equals(dialectName) && in.readLong() == version;
+        } catch (EOFException e) {
+            return false;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * 写入快照，先写临时文件再替换，读取方不会看到写了一半的文件
+     *
+     * @param dialectName 生成模型时使用的方言
+     * @param version     数据库结构版本，见SchemaSnapshotCache
+     */
+    public static void write(Path file, String dialectName, long version, TableModel... models) throws IOException {
+        byte[][] tables = new byte[models.length][];
+        for (int i = 0; i < models.length; i++) {
+            tables[i] = encode(models[i]);
+        }
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(header);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT);
+        writeString(out, dialectName);
+        out.writeLong(version);
+        out.writeInt(models.length);
+        int directorySize = 0;
+        byte[][] names = new byte[models.length][];
+        for (int i = 0; i < models.length; i++) {
+            names[i] = models[i].getTableName().getBytes(StandardCharsets.UTF_8);
+            directorySize += 4 + names[i].length + 4;
+        }
+        int offset = out.size() + directorySize;
+        for (int i = 0; i < models.length; i++) {
+            out.writeInt(names[i].length);
+            out.write(names[i]);
+            out.writeInt(offset);
+            offset += tables[i].length;
+        }
+        out.flush();
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE);
+            try {
+                List<ByteBuffer> buffers = new ArrayList<ByteBuffer>(models.length + 1);
+                buffers.add(ByteBuffer.wrap(header.toByteArray()));
+                for (byte[] table : tables) {
+                    buffers.add(ByteBuffer.wrap(table));
+                }
+                ByteBuffer[] array = buffers.toArray(new ByteBuffer[0]);
+                while (array[array.length - 1].hasRemaining()) {
+                    channel.write(array);
+                }
+                channel.force(true);
+            } finally {
+                channel.close();
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public String getDialectName() {
+        return dialectName;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return tableNames.length;
+    }
+
+    public List<String> tableNames() {
+        return Collections.unmodifiableList(Arrays.asList(tableNames));
+    }
+
+    /**
+     * 按表名（不区分大小写）取模型，不存在时返回null
+     */
+    public TableModel get(String tableName) {
+        Integer index = indexByName.get(TableDependencies.key(tableName));
+        return index == null ? null : get(index);
+    }
+
+    public TableModel get(int index) {
+        TableModel model = decoded.get(index);
+        if (model == null) {
+            ByteBuffer in = buffer.duplicate();
+            // 转为Buffer调用，避免在JDK 9+上编译后在Java 8上找不到ByteBuffer.position(int)
+            ((Buffer) in).position(offsets[index]);
+            model = decode(in);
+            if (!decoded.compareAndSet(index, null, model)) {
+                model = decoded.get(index);
+            }
+        }
+        return model;
+    }
+
+    /**
+     * 解码全部表
+     */
+    public TableModel[] models() {
+        TableModel[] models = new TableModel[tableNames.length];
+        for (int i = 0; i < models.length; i++) {
+            models[i] = get(i);
+        }
+        return models;
+    }
+
+    int decodedCount() {
+        int count = 0;
+        for (int i = 0; i < decoded.length(); i++) {
+            if (decoded.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 单个表的二进制编码，内容相同的模型编码相同，也可用于计算模型的内容哈希
+     */
+    public static byte[] encode(TableModel model) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeString(out, model.getTableName());
+        writeString(out, model.getComment());
+        writeString(out, model.getCheck());
+        writeString(out, model.getEngineTail());
+        writeString(out, model.getTableTail());
+
+        out.writeInt(model.getColumns().size());
+        for (ColumnModel col : model.getColumns()) {
+            writeString(out, col.getColumnName());
+            writeString(out, col.getColumnType() == null ? null : col.getColumnType().name());
+            writeInteger(out, col.getLength());
+            writeInteger(out, col.getPrecision());
+            writeInteger(out, col.getScale());
+            writeBoolean(out, col.getNullable());
+            writeBoolean(out, col.getPkey());
+            writeString(out, col.getDefaultValue());
+            writeString(out, col.getComment());
+            writeString(out, col.getIdGenerationType() == null ? null : col.getIdGenerationType().name());
+        }
+
+        out.writeInt(model.getFkeyConstraints().size());
+        for (FKeyModel fkey : model.getFkeyConstraints()) {
+            writeString(out, fkey.getFkeyName());
+            writeStrings(out, fkey.getColumnNames().toArray(new String[0]));
+            writeStrings(out, fkey.getRefTableAndColumns());
+        }
+
+        out.writeInt(model.getIndexConsts().size());
+        for (IndexModel index : model.getIndexConsts()) {
+            writeString(out, index.getName());
+            writeBoolean(out, index.getUnique());
+            writeStrings(out, index.getColumnList());
+        }
+
+        out.writeInt(model.getUniqueConsts().size());
+        for (UniqueModel unique : model.getUniqueConsts()) {
+            writeString(out, unique.getName());
+            writeStrings(out, unique.getColumnList());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static TableModel decode(ByteBuffer in) {
+        TableModel model = new TableModel(readString(in));
+        model.setComment(readString(in));
+        model.setCheck(readString(in));
+        model.setEngineTail(readString(in));
+        model.setTableTail(readString(in));
+
+        int columns = in.getInt();
+        for (int i = 0; i < columns; i++) {
+            ColumnModel col = new ColumnModel(readString(in));
+            model.addColumn(col);
+            String type = readString(in);
+            col.setColumnType(type == null ? null : Type.valueOf(type));
+            col.setLength(readInteger(in));
+            col.setPrecision(readInteger(in));
+            col.setScale(readInteger(in));
+            col.setNullable(readBoolean(in));
+            col.setPkey(readBoolean(in));
+            col.setDefaultValue(readString(in));
+            col.setComment(readString(in));
+            String generationType = readString(in);
+            if (GenerationType.IDENTITY.name().equals(generationType)) {
+                col.identityId();
+            } else if (generationType != null) {
+                col.setIdGenerationType(GenerationType.valueOf(generationType));
+            }
+        }
+
+        int fkeys = in.getInt();
+        for (int i = 0; i < fkeys; i++) {
+            FKeyModel fkey = model.fkey(readString(in));
+            fkey.columns(readStrings(in));
+            fkey.setRefTableAndColumns(readStrings(in));
+        }
+
+        int indexes = in.getInt();
+        for (int i = 0; i < indexes; i++) {
+            IndexModel index = model.index(readString(in));
+            index.setUnique(readBoolean(in));
+            index.setColumnList(readStrings(in));
+        }
+
+        int uniques = in.getInt();
+        for (int i = 0; i < uniques; i++) {
+            model.unique(readString(in)).setColumnList(readStrings(in));
+        }
+        return model;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStrings(DataOutputStream out, String[] array) throws IOException {
+        if (array == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(array.length);
+        for (String s : array) {
+            writeString(out, s);
+        }
+    }
+
+    private static String[] readStrings(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String[] array = new String[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = readString(in);
+        }
+        return array;
+    }
+
+    /**
+     * 0为null，1为false，2为true
+     */
+    private static void writeBoolean(DataOutputStream out, Boolean b) throws IOException {
+        out.writeByte(b == null ? 0 : b ? 2 : 1);
+    }
+
+    private static Boolean readBoolean(ByteBuffer in) {
+        byte b = in.get();
+        return b == 0 ? null : b == 2;
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer i) throws IOException {
+        out.writeBoolean(i != null);
+        out.writeInt(i == null ? 0 : i);
+    }
+
+    private static Integer readInteger(ByteBuffer in) {
+        boolean present = in.get() != 0;
+        int value = in.getInt();
+        return present ? value : null;
+    }
+}
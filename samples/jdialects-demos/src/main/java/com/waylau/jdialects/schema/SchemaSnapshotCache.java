@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 启动时优先使用SchemaSnapshot快照文件，数据库结构版本变化时才重新读取元数据
+ * <p>
+ * 结构版本默认由一次DatabaseMetaData.getColumns()调用得到的全部表名、列名、类型、长度计算，
+ * 只有一次往返，但只改索引、外键不会改变它；这类变更较多时可以通过versionQuery()指定返回单个值的查询，如迁移工具的版本表。
+ *
+ * <pre>
+ * TableModel[] models = new SchemaSnapshotCache(Dialect.MySQL8Dialect, ds, Paths.get("schema.snapshot")).load().models();
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class SchemaSnapshotCache {
+
+    private final Dialect dialect;
+
+    private final DataSource dataSource;
+
+    private final Path file;
+
+    private String versionQuery;
+
+    private int parallelism = 4;
+
+    public SchemaSnapshotCache(Dialect dialect, DataSource dataSource, Path file) {
+        this.dialect = dialect;
+        this.dataSource = dataSource;
+        this.file = file;
+    }
+
+    /**
+     * 返回结构版本的查询，结果取第一行第一列，数值直接作为版本，其他类型取hashCode，如"select max(installed_rank) from flyway_schema_history"
+     */
+    public SchemaSnapshotCache versionQuery(String versionQuery) {
+        this.versionQuery = versionQuery;
+        return this;
+    }
+
+    /**
+     * 需要重新读取时使用的连接数，见SchemaIntrospector
+     */
+    public SchemaSnapshotCache parallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 快照有效时直接映射文件，否则重新读取元数据并写入快照
+     * <p>
+     * 先读文件头判断是否有效，过期的快照不做映射，Windows上才能替换该文件。
+     * 本进程仍持有旧版本返回的SchemaSnapshot时，其映射在被回收前同样会导致替换失败。
+     */
+    public SchemaSnapshot load() throws SQLException, IOException {
+        long version = currentVersion();
+        if (Files.exists(file)) {
+            try {
+                if (SchemaSnapshot.matches(file, dialect.getName(), version)) {
+                    return SchemaSnapshot.open(file);
+                }
+            } catch (IOException e) {
+                // 文件损坏或格式不同，重新生成
+            }
+        }
+        SchemaSnapshot.write(file, dialect.getName(), version,
+                new SchemaIntrospector(dialect, dataSource).parallelism(parallelism).db2Models());
+        return SchemaSnapshot.open(file);
+    }
+
+    public long currentVersion() throws SQLException {
+        Connection conn = dataSource.getConnection();
+        try {
+            return versionQuery == null ? metadataChecksum(conn) : queryVersion(conn);
+        } finally {
+            conn.close();
+        }
+    }
+
+    private long queryVersion(Connection conn) throws SQLException {
+        Statement st = conn.createStatement();
+        try {
+            ResultSet rs = st.executeQuery(versionQuery);
+            try {
+                if (!rs.next()) {
+                    return 0;
+                }
+                Object value = rs.getObject(1);
+                return value == null ? 0 : value instanceof Number ? ((Number) value).longValue() : value.toString().hashCode();
+            } finally {
+                rs.close();
+            }
+        } finally {
+            st.close();
+        }
+    }
+
+    /**
+     * 列信息的校验和，与列的返回顺序无关
+     */
+    private long metadataChecksum(Connection conn) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        long sum = 0;
+        long count = 0;
+        ResultSet rs = meta.getColumns(conn.getCatalog(), dialect.isOracleFamily() ? meta.getUserName() : null, null, null);
+        try {
+            while (rs.next()) {
+                String column = rs.getString("TABLE_SCHEM") + '.' + rs.getString("TABLE_NAME") + '.' + rs.getString("COLUMN_NAME")
+                        + ':' + rs.getInt("DATA_TYPE") + ':' + rs.getInt("COLUMN_SIZE") + ':' + rs.getInt("NULLABLE");
+                sum += mix(column.hashCode());
+                count++;
+            }
+        } finally {
+            rs.close();
+        }
+        return sum * 31 + count;
+    }
+
+    /**
+     * 把32位hashCode扩散到64位，减少求和时的碰撞
+     */
+    private static long mix(long h) {
+        h *= 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.model.FKeyModel;
+import com.github.drinkjava2.jdialects.model.TableModel;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 根据TableModel的fkey(...)定义建立表之间的依赖关系
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public final class TableDependencies {
+
+    private TableDependencies() {
+    }
+
+    /**
+     * 按拓扑顺序分层：第0层不引用其他表，第n层只引用前n-1层的表，同一层的表可以并行处理。
+     * 引用集合外的表、引用自身的外键不参与排序。
+     *
+     * @throws IllegalArgumentException 外键存在循环引用
+     */
+    public static List<List<TableModel>> waves(TableModel... models) {
+        Map<String, TableModel> byName = new LinkedHashMap<String, TableModel>();
+        for (TableModel model : models) {
+            byName.put(key(model.getTableName()), model);
+        }
+
+        // 每个表尚未创建的被引用表
+        Map<String, Set<String>> pending = new LinkedHashMap<String, Set<String>>();
+        for (TableModel model : models) {
+            String name = key(model.getTableName());
+            Set<String> refs = new LinkedHashSet<String>();
+            for (String ref : referencedTables(model)) {
+                if (!ref.equals(name) && byName.containsKey(ref)) {
+                    refs.add(ref);
+                }
+            }
+            pending.put(name, refs);
+        }
+
+        List<List<TableModel>> waves = new ArrayList<List<TableModel>>();
+        while (!pending.isEmpty()) {
+            List<String> ready = new ArrayList<String>();
+            for (Map.Entry<String, Set<String>> entry : pending.entrySet()) {
+                if (entry.getValue().isEmpty()) {
+                    ready.add(entry.getKey());
+                }
+            }
+            if (ready.isEmpty()) {
+                throw new IllegalArgumentException("Foreign key cycle among tables " + pending.keySet());
+            }
+
+            List<TableModel> wave = new ArrayList<TableModel>(ready.size());
+            for (String name : ready) {
+                pending.remove(name);
+                wave.add(byName.get(name));
+            }
+            for (Set<String> refs : pending.values()) {
+                refs.removeAll(ready);
+            }
+            waves.add(wave);
+        }
+        return waves;
+    }
+
+    /**
+     * 表通过外键引用的表名（小写）
+     */
+    public static Set<String> referencedTables(TableModel model) {
+        Set<String> refs = new LinkedHashSet<String>();
+        for (FKeyModel fkey : model.getFkeyConstraints()) {
+            String[] refTableAndColumns = fkey.getRefTableAndColumns();
+            if (refTableAndColumns != null && refTableAndColumns.length > 0) {
+                refs.add(key(refTableAndColumns[0]));
+            }
+        }
+        return refs;
+    }
+
+    static String key(String tableName) {
+        return tableName.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.shard;
+
+import javax.sql.DataSource;
+
+/**
+ * 一个分片：所在的数据源和物理表名
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class Shard {
+
+    private final int index;
+
+    private final DataSource dataSource;
+
+    private final String tableName;
+
+    public Shard(int index, DataSource dataSource, String tableName) {
+        this.index = index;
+        this.dataSource = dataSource;
+        this.tableName = tableName;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public String toString() {
+        return "Shard[" + index + ", " + tableName + "]";
+    }
+}
@@ -0,0 +1,444 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.shard;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.DialectException;
+import com.github.drinkjava2.jdialects.model.ColumnModel;
+import com.github.drinkjava2.jdialects.model.FKeyModel;
+import com.github.drinkjava2.jdialects.model.IndexModel;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.github.drinkjava2.jdialects.model.UniqueModel;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.ParallelTasks;
+import com.waylau.jdialects.jdbc.RowMapper;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.time.temporal.Temporal;
+
+/**
+ * 水平分片的表：同一个TableModel分布在N个分片上，按分片键路由写入，分页查询在所有分片上执行后归并
+ * <p>
+ * 分片可以是不同数据源上的同名表（ofDatabases），也可以是同一数据源上的user_t_0、user_t_1...（ofTables）。
+ * 分片键为Number时按值取模，否则按hashCode取模（String.hashCode由语言规范定义，跨JVM稳定）。
+ * <p>
+ * 第n页需要全局排序后的第(n-1)*size+1到n*size行，它们可能全部来自同一个分片，
+ * 所以每个分片都用Dialect.pagin取前n*size行，再按排序键k路归并，跳过前(n-1)*size行。
+ * 页码越大每个分片返回的行越多，深分页应改用排序键上的条件（参见KeysetPagination）。
+ * <p>
+ * 归并的顺序必须与数据库的排序规则一致，否则页间会出现重复或遗漏的行。默认只支持数字、日期时间类型的排序键，
+ * 且只用于null排在最前的H2、MySQL；字符串排序键（受字符集排序规则影响）或其它数据库
+ * 需要用orderBy(Comparator, String...)给出与数据库一致的比较器。
+ *
+ * <pre>
+ * ShardedTable users = ShardedTable.ofDatabases(Dialect.H2Dialect, t, "first_name", ds0, ds1, ds2)
+ *         .executorService(Executors.newFixedThreadPool(3));
+ * users.createTables();
+ * users.insert(rows);
+ * List&lt;String&gt; page = users.queryPage(2, 20, "age &gt; ?", rs -&gt; rs.getString("first_name"), 18);
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class ShardedTable {
+
+    private final Dialect dialect;
+
+    private final TableModel tableModel;
+
+    private final List<Shard> shards;
+
+    private final List<SqlExecutor> executors;
+
+    private final int shardKeyIndex;
+
+    private final List<String> columnNames;
+
+    private String[] sortColumns;
+
+    private Comparator<Object[]> keyComparator;
+
+    private ExecutorService executorService;
+
+    ShardedTable(Dialect dialect, TableModel tableModel, String shardKey, List<Shard> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.dialect = dialect;
+        this.tableModel = tableModel;
+        this.shards = Collections.unmodifiableList(new ArrayList<Shard>(shards));
+        this.executors = new ArrayList<SqlExecutor>(shards.size());
+        for (Shard shard : shards) {
+            executors.add(new SqlExecutor(shard.getDataSource()));
+        }
+        this.columnNames = new BatchInserter(dialect, tableModel).getColumnNames();
+        this.shardKeyIndex = indexOfIgnoreCase(columnNames, shardKey);
+        if (shardKeyIndex < 0) {
+            throw new IllegalArgumentException("Shard key " + shardKey + " is not an insertable column of table "
+                    + tableModel.getTableName());
+        }
+        this.sortColumns = pkeyColumnNames(tableModel);
+    }
+
+    /**
+     * 每个数据源一个分片，物理表名与TableModel相同
+     */
+    public static ShardedTable ofDatabases(Dialect dialect, TableModel tableModel, String shardKey,
+                                           DataSource... dataSources) {
+        List<Shard> shards = new ArrayList<Shard>(dataSources.length);
+        for (int i = 0; i < dataSources.length; i++) {
+            shards.add(new Shard(i, dataSources[i], tableModel.getTableName()));
+        }
+        return new ShardedTable(dialect, tableModel, shardKey, shards);
+    }
+
+    /**
+     * 同一数据源上的shardCount张表，表名为TableModel表名加_0、_1...
+     */
+    public static ShardedTable ofTables(Dialect dialect, TableModel tableModel, String shardKey,
+                                        DataSource dataSource, int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive");
+        }
+        List<Shard> shards = new ArrayList<Shard>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new Shard(i, dataSource, tableModel.getTableName() + "_" + i));
+        }
+        return new ShardedTable(dialect, tableModel, shardKey, shards);
+    }
+
+    /**
+     * 分页查询归并时使用的排序列（升序），默认为主键列。排序列应能唯一确定一行，否则相同键的行在页间的顺序不确定
+     */
+    public ShardedTable orderBy(String... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("At least one sort column is required");
+        }
+        this.sortColumns = columns.clone();
+        this.keyComparator = null;
+        return this;
+    }
+
+    /**
+     * 使用调用方给出的比较器归并，比较器的参数为各行排序列的值，顺序与columns一致。
+     * 比较器必须与数据库的排序规则和null排序一致，如MySQL默认的不区分大小写排序规则、PostgreSQL升序时null在最后
+     */
+    public ShardedTable orderBy(Comparator<Object[]> keyComparator, String... columns) {
+        if (keyComparator == null) {
+            throw new IllegalArgumentException("keyComparator must not be null");
+        }
+        orderBy(columns);
+        this.keyComparator = keyComparator;
+        return this;
+    }
+
+    /**
+     * 按Java的自然顺序逐列比较（字符串按UTF-16编码），只与二进制排序规则一致，如H2默认、MySQL的*_bin
+     *
+     * @param nullsFirst 升序时null是否排在最前
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Comparator<Object[]> naturalOrder(boolean nullsFirst) {
+        return (a, b) -> {
+            for (int i = 0; i < a.length; i++) {
+                if (a[i] == null || b[i] == null) {
+                    if (a[i] != b[i]) {
+                        return (a[i] == null) == nullsFirst ? -1 : 1;
+                    }
+                    continue;
+                }
+                int c = ((Comparable) a[i]).compareTo(b[i]);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return 0;
+        };
+    }
+
+    /**
+     * 各分片并行执行使用的线程池，不设置时在调用线程上依次执行。线程池由调用方关闭
+     */
+    public ShardedTable executorService(ExecutorService executorService) {
+        this.executorService = executorService;
+        return this;
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    /**
+     * 分片表的TableModel，表名、索引名、唯一约束名、外键名加上分片后缀以免在同一库中重名
+     */
+    public TableModel shardModel(Shard shard) {
+        TableModel copy = tableModel.newCopy();
+        if (shard.getTableName().equals(tableModel.getTableName())) {
+            return copy;
+        }
+        String suffix = shard.getTableName().substring(tableModel.getTableName().length());
+        copy.setTableName(shard.getTableName());
+        for (IndexModel index : copy.getIndexConsts()) {
+            if (index.getName() != null) {
+                index.setName(index.getName() + suffix);
+            }
+        }
+        for (UniqueModel unique : copy.getUniqueConsts()) {
+            if (unique.getName() != null) {
+                unique.setName(unique.getName() + suffix);
+            }
+        }
+        for (FKeyModel fkey : copy.getFkeyConstraints()) {
+            if (fkey.getFkeyName() != null) {
+                fkey.setFkeyName(fkey.getFkeyName() + suffix);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * 每个分片的建表DDL，顺序与getShards()一致
+     */
+    public List<String[]> toCreateDDL() {
+        List<String[]> ddls = new ArrayList<String[]>(shards.size());
+        for (Shard shard : shards) {
+            ddls.add(dialect.toCreateDDL(shardModel(shard)));
+        }
+        return ddls;
+    }
+
+    /**
+     * 在各分片上建表
+     */
+    public void createTables() throws SQLException {
+        List<String[]> ddls = toCreateDDL();
+        for (int i = 0; i < shards.size(); i++) {
+            executors.get(i).execute(ddls.get(i));
+        }
+    }
+
+    /**
+     * 分片键所在的分片
+     */
+    public Shard shardFor(Object shardKey) {
+        if (shardKey == null) {
+            throw new IllegalArgumentException("Shard key must not be null");
+        }
+        long hash = shardKey instanceof Number ? ((Number) shardKey).longValue() : shardKey.hashCode();
+        return shards.get((int) Math.floorMod(hash, (long) shards.size()));
+    }
+
+    /**
+     * 按分片键分组后在各分片上批量插入，每行的值按BatchInserter.getColumnNames()的顺序排列。
+     * 分片之间不在同一事务中
+     *
+     * @return 插入的总行数
+     */
+    public long insert(List<Object[]> rows) throws SQLException {
+        List<List<Object[]>> groups = new ArrayList<List<Object[]>>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            groups.add(new ArrayList<Object[]>());
+        }
+        for (Object[] row : rows) {
+            groups.get(shardFor(row[shardKeyIndex]).getIndex()).add(row);
+        }
+        List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        for (final Shard shard : shards) {
+            final List<Object[]> group = groups.get(shard.getIndex());
+            if (group.isEmpty()) {
+                continue;
+            }
+            final BatchInserter inserter = new BatchInserter(dialect, shardModel(shard));
+            tasks.add(() -> {
+                try (Connection conn = shard.getDataSource().getConnection()) {
+                    return inserter.insert(conn, group);
+                }
+            });
+        }
+        long total = 0;
+        for (Integer n : ParallelTasks.invokeAll(executorService, tasks, "Shard")) {
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * 全局第pageNumber页
+     *
+     * @param where 不含WHERE关键字的条件，为null时不加条件；params为其中的参数
+     */
+    public <T> List<T> queryPage(int pageNumber, int pageSize, String where, RowMapper<T> mapper,
+                                 Object... params) throws SQLException {
+        if (pageNumber <= 0) {
+            throw new IllegalArgumentException("pageNumber must be positive");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        long limit = (long) pageNumber * pageSize;
+        if (limit > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("pageNumber * pageSize is too large");
+        }
+        if (keyComparator == null && !dialect.isH2Family() && !dialect.isMySqlFamily()) {
+            throw new DialectException("Merging shards of " + dialect + " needs a comparator matching its collation "
+                    + "and null ordering, use orderBy(Comparator, String...)");
+        }
+        final Comparator<Object[]> comparator = keyComparator == null ? naturalOrder(true) : keyComparator;
+        List<Callable<List<Keyed<T>>>> tasks = new ArrayList<Callable<List<Keyed<T>>>>(shards.size());
+        for (final Shard shard : shards) {
+            final String sql = dialect.pagin(1, (int) limit, shardSql(shard, where));
+            tasks.add(() -> queryShard(shard, sql, mapper, params));
+        }
+        List<List<Keyed<T>>> results = ParallelTasks.invokeAll(executorService, tasks, "Shard");
+        return merge(results, comparator, (long) (pageNumber - 1) * pageSize, pageSize);
+    }
+
+    /**
+     * 单个分片上的查询语句（未分页）
+     */
+    public String shardSql(Shard shard, String where) {
+        StringBuilder sb = new StringBuilder("select * from ").append(shard.getTableName());
+        if (where != null && !where.trim().isEmpty()) {
+            sb.append(" where ").append(where);
+        }
+        sb.append(" order by ");
+        for (int i = 0; i < sortColumns.length; i++) {
+            sb.append(i > 0 ? ", " : "").append(sortColumns[i]);
+        }
+        return sb.toString();
+    }
+
+    private <T> List<Keyed<T>> queryShard(Shard shard, String sql, RowMapper<T> mapper, Object[] params)
+            throws SQLException {
+        List<Keyed<T>> rows = new ArrayList<Keyed<T>>();
+        try (Connection conn = shard.getDataSource().getConnection()) {
+            executors.get(shard.getIndex()).query(conn, sql, rs -> {
+                Object[] key = new Object[sortColumns.length];
+                for (int i = 0; i < key.length; i++) {
+                    key[i] = rs.getObject(sortColumns[i]);
+                    if (keyComparator == null) {
+                        checkDefaultKey(sortColumns[i], key[i]);
+                    }
+                }
+                rows.add(new Keyed<T>(key, shard.getIndex(), mapper.map(rs)));
+            }, params);
+        }
+        return rows;
+    }
+
+    /**
+     * 默认比较器只接受与排序规则无关的类型
+     */
+    private static void checkDefaultKey(String column, Object value) {
+        if (value != null && !(value instanceof Number) && !(value instanceof Date) && !(value instanceof Temporal)) {
+            throw new IllegalArgumentException("Sort column " + column + " has " + value.getClass().getSimpleName()
+                    + " values whose order depends on the database collation, use orderBy(Comparator, String...)");
+        }
+    }
+
+    /**
+     * k路归并：堆中放每个分片当前最小的一行，弹出后补入该分片的下一行。排序键相同时按分片序号排列
+     */
+    static <T> List<T> merge(List<List<Keyed<T>>> sortedShards, Comparator<Object[]> keyComparator, long skip,
+                             int size) {
+        Comparator<Cursor<T>> order = (a, b) -> {
+            int c = keyComparator.compare(a.current().key, b.current().key);
+            return c != 0 ? c : Integer.compare(a.current().shard, b.current().shard);
+        };
+        PriorityQueue<Cursor<T>> heap = new PriorityQueue<Cursor<T>>(Math.max(1, sortedShards.size()), order);
+        for (List<Keyed<T>> rows : sortedShards) {
+            if (!rows.isEmpty()) {
+                heap.add(new Cursor<T>(rows));
+            }
+        }
+        List<T> page = new ArrayList<T>(size);
+        long position = 0;
+        while (!heap.isEmpty() && page.size() < size) {
+            Cursor<T> cursor = heap.poll();
+            if (position++ >= skip) {
+                page.add(cursor.current().row);
+            }
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return page;
+    }
+
+    private static int indexOfIgnoreCase(List<String> names, String name) {
+        for (int i = 0; i < names.size(); i++) {
+            if (names.get(i).equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String[] pkeyColumnNames(TableModel tableModel) {
+        List<ColumnModel> pkeys = tableModel.getPKeyColumns();
+        if (pkeys.isEmpty()) {
+            throw new IllegalArgumentException("Table " + tableModel.getTableName() + " has no primary key");
+        }
+        String[] names = new String[pkeys.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = pkeys.get(i).getColumnName();
+        }
+        return names;
+    }
+
+    /**
+     * 一行结果及其排序键
+     */
+    static final class Keyed<T> {
+
+        final Object[] key;
+
+        final int shard;
+
+        final T row;
+
+        Keyed(Object[] key, int shard, T row) {
+            this.key = key;
+            this.shard = shard;
+            this.row = row;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(key) + "@" + shard;
+        }
+    }
+
+    private static final class Cursor<T> {
+
+        private final List<Keyed<T>> rows;
+
+        private int position;
+
+        Cursor(List<Keyed<T>> rows) {
+            this.rows = rows;
+        }
+
+        Keyed<T> current() {
+            return rows.get(position);
+        }
+
+        boolean advance() {
+            return ++position < rows.size();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.transfer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * TableCopier的断点文件，记录每个表已提交的最后一个主键，或者已复制完成
+ * <p>
+ * 主键值连同Java类型一起保存，续传时还原为读取时的类型（Long、Timestamp等）再绑定，
+ * PostgreSQL等不做隐式转换的数据库也能按原类型比较；不支持的类型在保存时直接报错。
+ * 每次更新先写临时文件再替换（文件系统支持时为原子替换），进程中断不会留下半个文件。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class CopyCheckpoint {
+
+    private static final String DONE = "done";
+
+    private final Path file;
+
+    private final Properties properties = new Properties();
+
+    public CopyCheckpoint(Path file) throws IOException {
+        this.file = file;
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            }
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * 表是否已经复制完成
+     */
+    public synchronized boolean isDone(String tableName) {
+        return DONE.equals(properties.getProperty(key(tableName)));
+    }
+
+    /**
+     * 已提交的最后一个主键，没有断点或已完成时返回null
+     */
+    public synchronized Object[] lastKey(String tableName) {
+        String value = properties.getProperty(key(tableName));
+        return value == null || DONE.equals(value) ? null : decode(value);
+    }
+
+    /**
+     * 清除表的断点，下次从头复制
+     */
+    public synchronized void reset(String tableName) throws IOException {
+        if (properties.remove(key(tableName)) != null) {
+            store();
+        }
+    }
+
+    synchronized void save(String tableName, Object[] lastKey) throws IOException {
+        properties.setProperty(key(tableName), encode(lastKey));
+        store();
+    }
+
+    synchronized void done(String tableName) throws IOException {
+        properties.setProperty(key(tableName), DONE);
+        store();
+    }
+
+    private void store() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                properties.store(out, "jdialects table copy checkpoint");
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static String key(String tableName) {
+        return tableName.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 每个值写成"类型长度:值"，如"L3:200"，值中可以包含任意字符
+     */
+    private static String encode(Object[] key) {
+        StringBuilder sb = new StringBuilder();
+        for (Object value : key) {
+            String type = type(value);
+            String s = value == null ? "" : format(value);
+            sb.append(type).append(s.length()).append(':').append(s);
+        }
+        return sb.toString();
+    }
+
+    private static Object[] decode(String value) {
+        List<Object> key = new ArrayList<Object>();
+        int pos = 0;
+        while (pos < value.length()) {
+            int digits = pos;
+            while (digits < value.length() && !Character.isDigit(value.charAt(digits))) {
+                digits++;
+            }
+            int colon = value.indexOf(':', digits);
+            if (colon < 0) {
+                throw new IllegalStateException("Corrupted checkpoint value: " + value);
+            }
+            int end = colon + 1 + Integer.parseInt(value.substring(digits, colon));
+            // 没有类型的为旧格式，按字符串处理
+            String type = digits == pos ? "S" : value.substring(pos, digits);
+            key.add(parse(type, value.substring(colon + 1, end)));
+            pos = end;
+        }
+        return key.toArray();
+    }
+
+    private static String type(Object value) {
+        if (value == null) {
+            return "N";
+        } else if (value instanceof String) {
+            return "S";
+        } else if (value instanceof Long) {
+            return "L";
+        } else if (value instanceof Integer) {
+            return "I";
+        } else if (value instanceof Short) {
+            return "H";
+        } else if (value instanceof Byte) {
+            return "B";
+        } else if (value instanceof BigDecimal) {
+            return "DEC";
+        } else if (value instanceof BigInteger) {
+            return "BIG";
+        } else if (value instanceof Double) {
+            return "D";
+        } else if (value instanceof Float) {
+            return "F";
+        } else if (value instanceof Boolean) {
+            return "Z";
+        } else if (value instanceof Timestamp) {
+            return "TS";
+        } else if (value instanceof Date) {
+            return "DATE";
+        } else if (value instanceof Time) {
+            return "TIME";
+        } else if (value instanceof LocalDateTime) {
+            return "LDT";
+        } else if (value instanceof LocalDate) {
+            return "LD";
+        } else if (value instanceof LocalTime) {
+            return "LT";
+        } else if (value instanceof OffsetDateTime) {
+            return "ODT";
+        } else if (value instanceof UUID) {
+            return "UUID";
+        } else if (value instanceof byte[]) {
+            return "BIN";
+        }
+        throw new IllegalArgumentException("Unsupported key type for checkpoint: " + value.getClass().getName());
+    }
+
+    private static String format(Object value) {
+        if (value instanceof Timestamp) {
+            // 按UTC时刻保存，与续传时的时区无关
+            return ((Timestamp) value).toInstant().toString();
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        } else if (value instanceof byte[]) {
+            return Base64.getEncoder().encodeToString((byte[]) value);
+        }
+        return value.toString();
+    }
+
+    private static Object parse(String type, String s) {
+        switch (type) {
+            case "N":
+                return null;
+            case "S":
+                return s;
+            case "L":
+                return Long.valueOf(s);
+            case "I":
+                return Integer.valueOf(s);
+            case "H":
+                return Short.valueOf(s);
+            case "B":
+                return Byte.valueOf(s);
+            case "DEC":
+                return new BigDecimal(s);
+            case "BIG":
+                return new BigInteger(s);
+            case "D":
+                return Double.valueOf(s);
+            case "F":
+                return Float.valueOf(s);
+            case "Z":
+                return Boolean.valueOf(s);
+            case "TS":
+                return Timestamp.from(Instant.parse(s));
+            case "DATE":
+                return Date.valueOf(s);
+            case "TIME":
+                return Time.valueOf(s);
+            case "LDT":
+                return LocalDateTime.parse(s);
+            case "LD":
+                return LocalDate.parse(s);
+            case "LT":
+                return LocalTime.parse(s);
+            case "ODT":
+                return OffsetDateTime.parse(s);
+            case "UUID":
+                return UUID.fromString(s);
+            case "BIN":
+                return Base64.getDecoder().decode(s);
+            default:
+                throw new IllegalStateException("Unknown checkpoint value type: " + type);
+        }
+    }
+}
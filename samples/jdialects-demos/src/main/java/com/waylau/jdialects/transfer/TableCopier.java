@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.transfer;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.ParallelTasks;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import com.waylau.jdialects.paging.KeysetPagination;
+import com.waylau.jdialects.schema.TableDependencies;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 根据TableModel在两个数据库之间复制表数据
+ * <p>
+ * 一个读线程按源方言的键集分页流式读取，每batchSize行放入有界队列，队列满时读线程阻塞（背压）；
+ * 多个写线程各自使用一个目标库连接，用BatchInserter批量插入，每批单独提交。
+ * 指定断点文件后，连续提交的批次的最后一个主键写入断点，中断后再次复制会先删除目标表中断点之后的行
+ * （其他写线程已提交的批次），再从断点继续。目标表需要预先创建。
+ *
+ * <pre>
+ * TableCopier.Stats stats = new TableCopier(Dialect.H2Dialect, h2, Dialect.MySQL8Dialect, mysql)
+ *         .writers(4).checkpoint(new CopyCheckpoint(Paths.get("copy.checkpoint"))).copy(t);
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class TableCopier {
+
+    private static final Batch END = new Batch(-1, Collections.<Object[]>emptyList(), null);
+
+    private final Dialect sourceDialect;
+
+    private final DataSource source;
+
+    private final Dialect targetDialect;
+
+    private final DataSource target;
+
+    private int pageSize = 5000;
+
+    private int fetchSize = 1000;
+
+    private int batchSize = 500;
+
+    private int rowsPerStatement = 1;
+
+    private int writers = 4;
+
+    private int queueCapacity = 8;
+
+    private CopyCheckpoint checkpoint;
+
+    public TableCopier(Dialect sourceDialect, DataSource source, Dialect targetDialect, DataSource target) {
+        this.sourceDialect = sourceDialect;
+        this.source = source;
+        this.targetDialect = targetDialect;
+        this.target = target;
+    }
+
+    /**
+     * 每次分页查询读取的行数
+     */
+    public TableCopier pageSize(int pageSize) {
+        this.pageSize = positive(pageSize, "pageSize");
+        return this;
+    }
+
+    /**
+     * 分页查询的fetchSize
+     */
+    public TableCopier fetchSize(int fetchSize) {
+        this.fetchSize = positive(fetchSize, "fetchSize");
+        return this;
+    }
+
+    /**
+     * 每批（一次提交）的行数
+     */
+    public TableCopier batchSize(int batchSize) {
+        this.batchSize = positive(batchSize, "batchSize");
+        return this;
+    }
+
+    /**
+     * 每条INSERT语句携带的行数，见BatchInserter.rowsPerStatement()
+     */
+    public TableCopier rowsPerStatement(int rowsPerStatement) {
+        this.rowsPerStatement = positive(rowsPerStatement, "rowsPerStatement");
+        return this;
+    }
+
+    /**
+     * 写线程数，即同时使用的目标库连接数
+     */
+    public TableCopier writers(int writers) {
+        this.writers = positive(writers, "writers");
+        return this;
+    }
+
+    /**
+     * 队列中最多等待写入的批数
+     */
+    public TableCopier queueCapacity(int queueCapacity) {
+        this.queueCapacity = positive(queueCapacity, "queueCapacity");
+        return this;
+    }
+
+    public TableCopier checkpoint(CopyCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+        return this;
+    }
+
+    /**
+     * 按外键依赖顺序逐个复制，被引用的表先复制
+     */
+    public List<Stats> copyAll(TableModel... models) throws SQLException, IOException {
+        List<Stats> result = new ArrayList<Stats>(models.length);
+        for (List<TableModel> wave : TableDependencies.waves(models)) {
+            for (TableModel model : wave) {
+                result.add(copy(model));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 复制一个表，表在断点中已完成时直接返回
+     */
+    public Stats copy(TableModel model) throws SQLException, IOException {
+        final String tableName = model.getTableName();
+        final Stats stats = new Stats(tableName);
+        if (checkpoint != null && checkpoint.isDone(tableName)) {
+            stats.skipped = true;
+            return stats;
+        }
+
+        final BatchInserter inserter = new BatchInserter(targetDialect, model).batchSize(batchSize)
+                .rowsPerStatement(rowsPerStatement);
+        final KeysetPagination paging = new KeysetPagination(sourceDialect, model);
+        final int[] keyIndexes = keyIndexes(inserter.getColumnNames(), paging.getKeyColumns(), tableName);
+        Object[] resumeKey = checkpoint == null ? null : checkpoint.lastKey(tableName);
+        if (resumeKey != null) {
+            stats.deleted = deleteAfter(model, paging.getKeyColumns(), resumeKey);
+        }
+
+        final BlockingQueue<Batch> queue = new ArrayBlockingQueue<Batch>(queueCapacity);
+        final Progress progress = new Progress(tableName);
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(writers + 1);
+        final Object[] startKey = resumeKey;
+        tasks.add(() -> {
+            read(paging, inserter.getColumnNames(), keyIndexes, tableName, startKey, queue, stats);
+            return null;
+        });
+        for (int i = 0; i < writers; i++) {
+            tasks.add(() -> {
+                write(inserter, queue, progress, stats);
+                return null;
+            });
+        }
+
+        long start = System.nanoTime();
+        ParallelTasks.runAll(tasks, tasks.size(), "table-copier");
+        stats.elapsedNanos = System.nanoTime() - start;
+        if (checkpoint != null) {
+            checkpoint.done(tableName);
+        }
+        return stats;
+    }
+
+    /**
+     * 读线程：逐页读取，每batchSize行放入队列，结束后为每个写线程放入一个结束标记
+     */
+    private void read(KeysetPagination paging, List<String> columnNames, final int[] keyIndexes, String tableName,
+                      Object[] startKey, BlockingQueue<Batch> queue, Stats stats) throws SQLException, InterruptedException {
+        StringBuilder select = new StringBuilder("select ");
+        for (int i = 0; i < columnNames.size(); i++) {
+            select.append(i > 0 ? ", " : "").append(columnNames.get(i));
+        }
+        String sql = select.append(" from ").append(tableName).toString();
+        String firstPage = paging.firstPage(pageSize, sql);
+        String nextPage = paging.nextPage(pageSize, sql);
+        SqlExecutor executor = new SqlExecutor(source).fetchSize(fetchSize);
+        final int columns = columnNames.size();
+
+        Connection conn = source.getConnection();
+        try {
+            Object[] lastKey = startKey;
+            long seq = 0;
+            while (true) {
+                final List<Object[]> rows = new ArrayList<Object[]>(pageSize);
+                SqlExecutor.RowHandler handler = rs -> {
+                    Object[] row = new Object[columns];
+                    for (int i = 0; i < columns; i++) {
+                        row[i] = rs.getObject(i + 1);
+                    }
+                    rows.add(row);
+                };
+                if (lastKey == null) {
+                    executor.query(conn, firstPage, handler);
+                } else {
+                    executor.query(conn, nextPage, handler, paging.params(lastKey));
+                }
+                if (rows.isEmpty()) {
+                    break;
+                }
+                stats.rowsRead.addAndGet(rows.size());
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    List<Object[]> batchRows = rows.subList(from, Math.min(from + batchSize, rows.size()));
+                    Batch batch = new Batch(seq++, batchRows, key(batchRows.get(batchRows.size() - 1), keyIndexes));
+                    if (!queue.offer(batch)) {
+                        long blocked = System.nanoTime();
+                        queue.put(batch);
+                        stats.readerBlockedNanos.addAndGet(System.nanoTime() - blocked);
+                    }
+                }
+                lastKey = key(rows.get(rows.size() - 1), keyIndexes);
+                if (rows.size() < pageSize) {
+                    break;
+                }
+            }
+        } finally {
+            conn.close();
+        }
+        for (int i = 0; i < writers; i++) {
+            queue.put(END);
+        }
+    }
+
+    /**
+     * 写线程：每批一个事务，提交后推进断点
+     */
+    private void write(BatchInserter inserter, BlockingQueue<Batch> queue, Progress progress, Stats stats)
+            throws SQLException, IOException, InterruptedException {
+        Connection conn = target.getConnection();
+        try {
+            conn.setAutoCommit(false);
+            try {
+                Batch batch;
+                while ((batch = queue.take()) != END) {
+                    try {
+                        inserter.insert(conn, batch.rows);
+                        conn.commit();
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        throw e;
+                    }
+                    stats.rowsWritten.addAndGet(batch.rows.size());
+                    stats.batches.incrementAndGet();
+                    progress.committed(batch);
+                }
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            conn.close();
+        }
+    }
+
+    /**
+     * 删除目标表中主键大于断点的行
+     */
+    private long deleteAfter(TableModel model, List<String> keyColumns, Object[] lastKey) throws SQLException {
+        KeysetPagination targetPaging = new KeysetPagination(targetDialect, keyColumns.toArray(new String[0]));
+        String sql = "delete from " + model.getTableName() + " where " + targetPaging.seekCondition();
+        Connection conn = target.getConnection();
+        try {
+            return new SqlExecutor(target).execute(conn, sql, targetPaging.params(lastKey));
+        } finally {
+            conn.close();
+        }
+    }
+
+    private static int[] keyIndexes(List<String> columnNames, List<String> keyColumns, String tableName) {
+        int[] indexes = new int[keyColumns.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = -1;
+            for (int j = 0; j < columnNames.size(); j++) {
+                if (columnNames.get(j).equalsIgnoreCase(keyColumns.get(i))) {
+                    indexes[i] = j;
+                }
+            }
+            if (indexes[i] < 0) {
+                throw new IllegalArgumentException("Primary key column " + keyColumns.get(i) + " of table " + tableName
+                        + " is not insertable");
+            }
+        }
+        return indexes;
+    }
+
+    private static Object[] key(Object[] row, int[] keyIndexes) {
+        Object[] key = new Object[keyIndexes.length];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = row[keyIndexes[i]];
+        }
+        return key;
+    }
+
+    private static int positive(int value, String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
+    private static final class Batch {
+
+        final long seq;
+
+        final List<Object[]> rows;
+
+        final Object[] lastKey;
+
+        Batch(long seq, List<Object[]> rows, Object[] lastKey) {
+            this.seq = seq;
+            this.rows = rows;
+            this.lastKey = lastKey;
+        }
+    }
+
+    /**
+     * 写线程乱序提交，只有之前的批次全部提交后才推进断点
+     */
+    private final class Progress {
+
+        private final String tableName;
+
+        private final TreeMap<Long, Object[]> committed = new TreeMap<Long, Object[]>();
+
+        private long next;
+
+        Progress(String tableName) {
+            this.tableName = tableName;
+        }
+
+        synchronized void committed(Batch batch) throws IOException {
+            committed.put(batch.seq, batch.lastKey);
+            Object[] lastKey = null;
+            while (!committed.isEmpty() && committed.firstKey() == next) {
+                lastKey = committed.pollFirstEntry().getValue();
+                next++;
+            }
+            if (lastKey != null && checkpoint != null) {
+                checkpoint.save(tableName, lastKey);
+            }
+        }
+    }
+
+    /**
+     * 一个表的复制统计
+     */
+    public static final class Stats {
+
+        private final String tableName;
+
+        private final AtomicLong rowsRead = new AtomicLong();
+
+        private final AtomicLong rowsWritten = new AtomicLong();
+
+        private final AtomicLong batches = new AtomicLong();
+
+        private final AtomicLong readerBlockedNanos = new AtomicLong();
+
+        private volatile long elapsedNanos;
+
+        private long deleted;
+
+        private boolean skipped;
+
+        Stats(String tableName) {
+            this.tableName = tableName;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public long getRowsRead() {
+            return rowsRead.get();
+        }
+
+        public long getRowsWritten() {
+            return rowsWritten.get();
+        }
+
+        public long getBatches() {
+            return batches.get();
+        }
+
+        /**
+         * 读线程因队列已满等待的时间，接近总耗时说明瓶颈在写入
+         */
+        public long getReaderBlockedNanos() {
+            return readerBlockedNanos.get();
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * 续传前从目标表删除的断点之后的行数
+         */
+        public long getDeleted() {
+            return deleted;
+        }
+
+        /**
+         * 断点中已完成，本次没有复制
+         */
+        public boolean isSkipped() {
+            return skipped;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rowsWritten.get() * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return tableName + ": rows=" + rowsWritten + ", batches=" + batches + ", elapsed=" + elapsedNanos / 1000000
+                    + "ms, rows/s=" + Math.round(getRowsPerSecond()) + ", readerBlocked=" + readerBlockedNanos.get() / 1000000
+                    + "ms" + (skipped ? ", skipped" : "") + (deleted > 0 ? ", deleted=" + deleted : "");
+        }
+    }
+}
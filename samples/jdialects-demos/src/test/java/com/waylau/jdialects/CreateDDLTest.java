@@ -6,14 +6,17 @@ package com.waylau.jdialects;
 import com.github.drinkjava2.jdialects.Dialect;
 import com.github.drinkjava2.jdialects.model.ColumnModel;
 import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.SqlExecutor;
 import org.apache.commons.dbcp2.BasicDataSource;
 import org.junit.jupiter.api.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -29,6 +32,8 @@ class CreateDDLTest {
 
     BasicDataSource ds = null;
 
+    SqlExecutor executor = null;
+
     Dialect dialect = Dialect.H2Dialect;
 
     @BeforeAll
@@ -42,6 +47,9 @@ class CreateDDLTest {
         ds.setUrl("jdbc:h2:mem:test_db");
         ds.setUsername("sa");
         ds.setPassword("");
+
+        // 失败的语句记录日志后继续执行，与原来的execute()一致
+        executor = new SqlExecutor(ds);
     }
 
     @AfterAll
@@ -67,7 +75,7 @@ class CreateDDLTest {
 
             for (String ddl : ddlArray) {
                 logger.info(ddl);
-                execute(conn, ddl);
+                executor.executeQuietly(conn, ddl);
             }
         } catch (
                 SQLException e) {
@@ -100,7 +108,7 @@ class CreateDDLTest {
 
             for (String ddl : ddlArray) {
                 logger.info(ddl);
-                execute(conn, ddl);
+                executor.executeQuietly(conn, ddl);
             }
         } catch (
                 SQLException e) {
@@ -118,13 +126,23 @@ class CreateDDLTest {
     @Test
     @Order(3)
     void testAddData() throws SQLException {
+        // 使用TableModel
+        TableModel t = new TableModel("user_t");
+        t.column("first_name").VARCHAR(20).pkey();
+        t.column("last_name").VARCHAR(20).pkey();
+        t.column("age").INTEGER();
+
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (int i = 1; i <= 100; i++) {
+            rows.add(new Object[]{"Foo" + i, "Bar" + i, i});
+        }
+
         Connection conn = null;
         try {
             conn = ds.getConnection();
 
-            for (int i = 1; i <= 100; i++) {
-                execute(conn, "insert into user_t (first_name, last_name, age) values(?,?,?)", "Foo" + i, "Bar" + i, i);
-            }
+            // 批量插入，每条语句携带20行
+            new BatchInserter(dialect, t).batchSize(50).rowsPerStatement(20).insert(conn, rows);
         } catch (
                 SQLException e) {
             e.printStackTrace();
@@ -147,7 +165,7 @@ class CreateDDLTest {
         try {
             conn = ds.getConnection();
             logger.info(ddl);
-            execute(conn, ddl);
+            executor.executeQuietly(conn, ddl);
         } catch (
                 SQLException e) {
             e.printStackTrace();
@@ -181,7 +199,7 @@ class CreateDDLTest {
             for (String ddl : ddlArray) {
                 logger.info(ddl);
 
-                execute(conn, ddl);
+                executor.executeQuietly(conn, ddl);
             }
         } catch (
                 SQLException e) {
@@ -216,7 +234,7 @@ class CreateDDLTest {
             for (String ddl : ddlArray) {
                 logger.info(ddl);
 
-                execute(conn, ddl);
+                executor.executeQuietly(conn, ddl);
             }
         } catch (
                 SQLException e) {
@@ -246,7 +264,7 @@ class CreateDDLTest {
 
             for (String ddl : ddlArray) {
                 logger.info(ddl);
-                execute(conn, ddl);
+                executor.executeQuietly(conn, ddl);
             }
         } catch (
                 SQLException e) {
@@ -261,30 +279,4 @@ class CreateDDLTest {
         }
     }
 
-
-    // 执行SQL
-    private int execute(Connection conn, String sql, Object... params) throws SQLException {
-        PreparedStatement pst = null;
-        try {
-            int i = 1;
-            pst = conn.prepareStatement(sql);
-            for (Object obj : params) {
-                pst.setObject(i++, obj);
-            }
-
-            pst.execute();
-            return 1;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return 0;
-        } finally {
-            if (pst != null)
-                try {
-                    pst.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-        }
-    }
-
 }
\ No newline at end of file
@@ -5,13 +5,14 @@ package com.waylau.jdialects;
 
 import com.github.drinkjava2.jdialects.Dialect;
 import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import com.waylau.jdialects.schema.SchemaDeploySession;
 import org.apache.commons.dbcp2.BasicDataSource;
 import org.junit.jupiter.api.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 
@@ -35,6 +36,10 @@ class CreateModeDDLTest {
 
     private BasicDataSource ds = null;
 
+    private SqlExecutor executor = null;
+
+    private SchemaDeploySession session = null;
+
     @BeforeAll
     void initData() {
         // 启用日志
@@ -46,10 +51,19 @@ class CreateModeDDLTest {
         ds.setUrl("jdbc:mysql://127.0.0.1:3306/test_jdialects?useUnicode=true&characterEncoding=UTF-8&useSSL=false&autoReconnect=true&serverTimezone=Asia/Shanghai");
         ds.setUsername("root");
         ds.setPassword("123456");
+
+        // 失败的语句记录日志后继续执行，与原来的execute()一致
+        executor = new SqlExecutor(ds);
+
+        // 整个部署共用一个连接
+        session = new SchemaDeploySession(dialect, ds);
     }
 
     @AfterAll
     void deleteData() throws SQLException {
+        if (session != null) {
+            session.close();
+        }
         if (ds != null) {
             ds.close();
         }
@@ -86,14 +100,8 @@ class CreateModeDDLTest {
         // 执行DDL
         executeDDL(dialect.toDropDDL(table));
 
-        // 使用TableModel
-        TableModel t = new TableModel("model_table_t");
-        t.column("model_table_id").LONG().pkey().autoId();
-        t.column("table_name").VARCHAR(50);
-        t.column("check_attribute").VARCHAR(50);
-        t.column("comment_attribute").VARCHAR(100);
-        t.column("engine_tail").VARCHAR(50);
-        t.column("table_tail").VARCHAR(50);
+        // 使用TableModel，定义见TestModels
+        TableModel t = TestModels.modelTableModel();
         // 使用方言来创建DDL
         String[] ddlArray = dialect.toCreateDDL(t);
 
@@ -109,34 +117,8 @@ class CreateModeDDLTest {
         // 执行DDL
         executeDDL(dialect.toDropDDL(column));
 
-        // 使用TableModel
-        TableModel t = new TableModel("model_column_t");
-        t.column("model_column_id").LONG().pkey().autoId();
-        t.column("column_name").VARCHAR(50);
-        t.column("column_type").VARCHAR(50);
-        t.column("column_definition").VARCHAR(50);
-        t.column("pkey").BOOLEAN();
-        t.column("nullable").BOOLEAN();
-        t.column("check_attribute").VARCHAR(50);
-        t.column("default_value").VARCHAR(50);
-        t.column("tail").VARCHAR(50);
-        t.column("comment_attribute").VARCHAR(50);
-        t.column("create_timestamp").BOOLEAN();
-        t.column("update_timestamp").BOOLEAN();
-        t.column("created_by").BOOLEAN();
-        t.column("last_modified_by").BOOLEAN();
-        t.column("id_generation_type").VARCHAR(50);
-        t.column("id_generation_name").VARCHAR(50);
-        t.column("converter_class_or_name").VARCHAR(350);
-        t.column("entity_field").VARCHAR(50);
-        t.column("length").INTEGER();
-        t.column("precision_attribute").INTEGER();
-        t.column("scale").INTEGER();
-        t.column("insertable").BOOLEAN();
-        t.column("updatable").BOOLEAN();
-        t.column("transientable").BOOLEAN();
-        t.column("model_table_id").LONG();
-        t.fkey("fk_model_table_id_model_column_t_model_table_t").columns("model_table_id").refs("model_table_t", "model_table_id");
+        // 使用TableModel，定义见TestModels
+        TableModel t = TestModels.modelColumnModel();
 
         // 使用方言来创建DDL
         String[] ddlArray = dialect.toCreateDDL(t);
@@ -152,16 +134,8 @@ class CreateModeDDLTest {
         // 执行DDL
         executeDDL(dialect.toDropDDL(fkey));
 
-        // 使用TableModel
-        TableModel t = new TableModel("model_fkey_t");
-        t.column("model_fkey_id").LONG().pkey().autoId();
-        t.column("name").VARCHAR(50);
-        t.column("unique_attribute").BOOLEAN();
-        t.column("fk_column_names").VARCHAR(250).comment("多个外键列名英文逗号隔开");
-        t.column("pk_column_names").VARCHAR(250).comment("多个被引用主键列名英文逗号隔开");
-        t.column("pk_table_name").VARCHAR(50).comment("被引用表的名称");
-        t.column("model_table_id").LONG();
-        t.fkey("fk_model_table_id_model_fkey_t_model_table_t").columns("model_table_id").refs("model_table_t", "model_table_id");
+        // 使用TableModel，定义见TestModels
+        TableModel t = TestModels.modelFKeyModel();
 
         // 使用方言来创建DDL
         String[] ddlArray = dialect.toCreateDDL(t);
@@ -178,13 +152,8 @@ class CreateModeDDLTest {
         // 执行DDL
         executeDDL(dialect.toDropDDL(unique));
 
-        // 使用TableModel
-        TableModel t = new TableModel("model_unique_t");
-        t.column("model_unique_id").LONG().pkey().autoId();
-        t.column("name").VARCHAR(50);
-        t.column("column_names").VARCHAR(250).comment("多个列名英文逗号隔开");
-        t.column("model_table_id").LONG();
-        t.fkey("fk_model_table_id_model_unique_t_model_table_t").columns("model_table_id").refs("model_table_t", "model_table_id");
+        // 使用TableModel，定义见TestModels
+        TableModel t = TestModels.modelUniqueModel();
 
         // 使用方言来创建DDL
         String[] ddlArray = dialect.toCreateDDL(t);
@@ -201,14 +170,8 @@ class CreateModeDDLTest {
         // 执行DDL
         executeDDL(dialect.toDropDDL(index));
 
-        // 使用TableModel
-        TableModel t = new TableModel("model_index_t");
-        t.column("model_index_id").LONG().pkey().autoId();
-        t.column("index_name").VARCHAR(50);
-        t.column("unique_attribute").BOOLEAN();
-        t.column("column_names").VARCHAR(250).comment("多个列名英文逗号隔开");
-        t.column("model_table_id").LONG();
-        t.fkey("fk_model_table_id_model_index_t_model_table_t").columns("model_table_id").refs("model_table_t", "model_table_id");
+        // 使用TableModel，定义见TestModels
+        TableModel t = TestModels.modelIndexModel();
 
         // 使用方言来创建DDL
         String[] ddlArray = dialect.toCreateDDL(t);
@@ -233,27 +196,27 @@ class CreateModeDDLTest {
 
             for (String ddl : dialect.toDropDDL(table)) {
                 logger.info(ddl);
-                execute(conn, ddl);
+                executor.executeQuietly(conn, ddl);
             }
 
             for (String ddl : dialect.toDropDDL(column)) {
                 logger.info(ddl);
-                execute(conn, ddl);
+                executor.executeQuietly(conn, ddl);
             }
 
             for (String ddl : dialect.toDropDDL(fkey)) {
                 logger.info(ddl);
-                execute(conn, ddl);
+                executor.executeQuietly(conn, ddl);
             }
 
             for (String ddl : dialect.toDropDDL(index)) {
                 logger.info(ddl);
-                execute(conn, ddl);
+                executor.executeQuietly(conn, ddl);
             }
 
             for (String ddl : dialect.toDropDDL(unique)) {
                 logger.info(ddl);
-                execute(conn, ddl);
+                executor.executeQuietly(conn, ddl);
             }
         } catch (
                 SQLException e) {
@@ -268,51 +231,16 @@ class CreateModeDDLTest {
         }
     }
 
-    // 执行SQL
-    private int execute(Connection conn, String sql, Object... params) throws SQLException {
-        PreparedStatement pst = null;
-        try {
-            int i = 1;
-            pst = conn.prepareStatement(sql);
-            for (Object obj : params) {
-                pst.setObject(i++, obj);
-            }
-
-            pst.execute();
-            return 1;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return 0;
-        } finally {
-            if (pst != null)
-                try {
-                    pst.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-        }
-    }
-
-    // 执行DDL
+    // 执行DDL，批量发送，出错即停止
     private void executeDDL(String[] ddlArray) {
-        Connection conn = null;
         try {
-            conn = ds.getConnection();
-
-            for (String ddl : ddlArray) {
-                logger.info(ddl);
-                execute(conn, ddl);
+            SchemaDeploySession.Report report = session.execute(ddlArray);
+            for (SchemaDeploySession.Step step : report.getSteps()) {
+                step.getStatements().forEach(logger::info);
             }
-        } catch (
-                SQLException e) {
+            logger.info(report.toString());
+        } catch (SQLException e) {
             e.printStackTrace();
-        } finally {
-            try {
-                if (conn != null)
-                    conn.close();
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
         }
     }
 
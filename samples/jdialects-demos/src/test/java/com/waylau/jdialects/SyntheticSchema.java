@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects;
+
+import com.github.drinkjava2.jdialects.model.TableModel;
+
+import java.util.Random;
+
+/**
+ * 生成大规模的测试表结构，同一个seed生成的表结构相同
+ * <p>
+ * 每个表有一个LONG主键和8~40个普通列（平均约24列），类型混合VARCHAR、INTEGER、BIGINT、DECIMAL、BOOLEAN、
+ * TIMESTAMP；除第一个表外每个表有0~3个外键，引用前200个表中随机的表，外键列上建索引；每5个表有一个唯一约束。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public final class SyntheticSchema {
+
+    private static final int MIN_COLUMNS = 8;
+
+    private static final int MAX_COLUMNS = 40;
+
+    private static final int MAX_FKEYS = 3;
+
+    /**
+     * 外键只引用最近的若干个表，与业务库中模块内互相引用的情况接近
+     */
+    private static final int FKEY_WINDOW = 200;
+
+    private SyntheticSchema() {
+    }
+
+    public static String tableName(int index) {
+        return String.format("syn_%05d", index);
+    }
+
+    public static TableModel[] tables(int count, long seed) {
+        Random random = new Random(seed);
+        TableModel[] models = new TableModel[count];
+        for (int i = 0; i < count; i++) {
+            models[i] = table(i, random);
+        }
+        return models;
+    }
+
+    private static TableModel table(int index, Random random) {
+        String name = tableName(index);
+        TableModel t = new TableModel(name);
+        t.column("id").LONG().pkey();
+        int columns = MIN_COLUMNS + random.nextInt(MAX_COLUMNS - MIN_COLUMNS + 1);
+        for (int c = 0; c < columns; c++) {
+            String column = "c" + c;
+            switch (random.nextInt(6)) {
+                case 0:
+                    t.column(column).INTEGER();
+                    break;
+                case 1:
+                    t.column(column).BIGINT();
+                    break;
+                case 2:
+                    t.column(column).DECIMAL(18, 2);
+                    break;
+                case 3:
+                    t.column(column).BOOLEAN();
+                    break;
+                case 4:
+                    t.column(column).TIMESTAMP();
+                    break;
+                default:
+                    t.column(column).VARCHAR(16 << random.nextInt(5));
+                    break;
+            }
+        }
+        int fkeys = index == 0 ? 0 : Math.min(index, random.nextInt(MAX_FKEYS + 1));
+        for (int f = 0; f < fkeys; f++) {
+            int target = index - 1 - random.nextInt(Math.min(index, FKEY_WINDOW));
+            String column = "ref" + f + "_id";
+            t.column(column).LONG();
+            t.fkey("fk_" + name + "_" + f).columns(column).refs(tableName(target), "id");
+            t.index("ix_" + name + "_" + f).columns(column);
+        }
+        if (index % 5 == 0) {
+            t.column("code").VARCHAR(32);
+            t.unique("uk_" + name + "_code").columns("code");
+        }
+        return t;
+    }
+}
@@ -7,13 +7,13 @@ import com.github.drinkjava2.jdialects.Dialect;
 import com.github.drinkjava2.jdialects.TableModelUtils;
 import com.github.drinkjava2.jdialects.model.ColumnModel;
 import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.SqlExecutor;
 import org.apache.commons.dbcp2.BasicDataSource;
 import org.junit.jupiter.api.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -32,6 +32,8 @@ class TableModelUtilsTest {
 
     BasicDataSource ds = null;
 
+    SqlExecutor executor = null;
+
     Dialect dialect = Dialect.H2Dialect;
 
     @BeforeAll
@@ -45,6 +47,9 @@ class TableModelUtilsTest {
         ds.setUrl("jdbc:h2:mem:test_db");
         ds.setUsername("sa");
         ds.setPassword("");
+
+        // 失败的语句记录日志后继续执行，与原来的execute()一致
+        executor = new SqlExecutor(ds);
     }
 
     @AfterAll
@@ -71,7 +76,7 @@ class TableModelUtilsTest {
             conn = ds.getConnection();
 
             for (String ddl : ddlArray) {
-                execute(conn, ddl);
+                executor.executeQuietly(conn, ddl);
             }
         } catch (
                 SQLException e) {
@@ -133,28 +138,4 @@ class TableModelUtilsTest {
 
     }
 
-    // 执行SQL
-    private int execute(Connection conn, String sql, Object... params) throws SQLException {
-        PreparedStatement pst = null;
-        try {
-            int i = 1;
-            pst = conn.prepareStatement(sql);// NOSONAR
-            for (Object obj : params) {
-                pst.setObject(i++, obj);
-            }
-
-            pst.execute();
-            return 1;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return 0;
-        } finally {
-            if (pst != null)
-                try {
-                    pst.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects;
+
+import com.github.drinkjava2.jdialects.model.TableModel;
+
+/**
+ * 测试共用的模型。user_t与CreateDDLTest中的定义一致；model_*_t由CreateModeDDLTest逐个建表，其他测试整体部署
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public final class TestModels {
+
+    private TestModels() {
+    }
+
+    public static TableModel userModel() {
+        TableModel t = new TableModel("user_t");
+        t.column("first_name").VARCHAR(20).pkey();
+        t.column("last_name").VARCHAR(20).pkey();
+        t.column("age").INTEGER();
+        return t;
+    }
+
+    /**
+     * model_table_t、model_column_t、model_fkey_t、model_unique_t、model_index_t，后四个表引用model_table_t
+     */
+    public static TableModel[] modelTables() {
+        return new TableModel[]{modelTableModel(), modelColumnModel(), modelFKeyModel(), modelUniqueModel(), modelIndexModel()};
+    }
+
+    public static TableModel modelTableModel() {
+        TableModel t = new TableModel("model_table_t");
+        t.column("model_table_id").LONG().pkey().autoId();
+        t.column("table_name").VARCHAR(50);
+        t.column("check_attribute").VARCHAR(50);
+        t.column("comment_attribute").VARCHAR(100);
+        t.column("engine_tail").VARCHAR(50);
+        t.column("table_tail").VARCHAR(50);
+        return t;
+    }
+
+    public static TableModel modelColumnModel() {
+        TableModel t = new TableModel("model_column_t");
+        t.column("model_column_id").LONG().pkey().autoId();
+        t.column("column_name").VARCHAR(50);
+        t.column("column_type").VARCHAR(50);
+        t.column("column_definition").VARCHAR(50);
+        t.column("pkey").BOOLEAN();
+        t.column("nullable").BOOLEAN();
+        t.column("check_attribute").VARCHAR(50);
+        t.column("default_value").VARCHAR(50);
+        t.column("tail").VARCHAR(50);
+        t.column("comment_attribute").VARCHAR(50);
+        t.column("create_timestamp").BOOLEAN();
+        t.column("update_timestamp").BOOLEAN();
+        t.column("created_by").BOOLEAN();
+        t.column("last_modified_by").BOOLEAN();
+        t.column("id_generation_type").VARCHAR(50);
+        t.column("id_generation_name").VARCHAR(50);
+        t.column("converter_class_or_name").VARCHAR(350);
+        t.column("entity_field").VARCHAR(50);
+        t.column("length").INTEGER();
+        t.column("precision_attribute").INTEGER();
+        t.column("scale").INTEGER();
+        t.column("insertable").BOOLEAN();
+        t.column("updatable").BOOLEAN();
+        t.column("transientable").BOOLEAN();
+        t.column("model_table_id").LONG();
+        t.fkey("fk_model_table_id_model_column_t_model_table_t").columns("model_table_id").refs("model_table_t", "model_table_id");
+        return t;
+    }
+
+    public static TableModel modelFKeyModel() {
+        TableModel t = new TableModel("model_fkey_t");
+        t.column("model_fkey_id").LONG().pkey().autoId();
+        t.column("name").VARCHAR(50);
+        t.column("unique_attribute").BOOLEAN();
+        t.column("fk_column_names").VARCHAR(250).comment("多个外键列名英文逗号隔开");
+        t.column("pk_column_names").VARCHAR(250).comment("多个被引用主键列名英文逗号隔开");
+        t.column("pk_table_name").VARCHAR(50).comment("被引用表的名称");
+        t.column("model_table_id").LONG();
+        t.fkey("fk_model_table_id_model_fkey_t_model_table_t").columns("model_table_id").refs("model_table_t", "model_table_id");
+        return t;
+    }
+
+    public static TableModel modelUniqueModel() {
+        TableModel t = new TableModel("model_unique_t");
+        t.column("model_unique_id").LONG().pkey().autoId();
+        t.column("name").VARCHAR(50);
+        t.column("column_names").VARCHAR(250).comment("多个列名英文逗号隔开");
+        t.column("model_table_id").LONG();
+        t.fkey("fk_model_table_id_model_unique_t_model_table_t").columns("model_table_id").refs("model_table_t", "model_table_id");
+        return t;
+    }
+
+    public static TableModel modelIndexModel() {
+        TableModel t = new TableModel("model_index_t");
+        t.column("model_index_id").LONG().pkey().autoId();
+        t.column("index_name").VARCHAR(50);
+        t.column("unique_attribute").BOOLEAN();
+        t.column("column_names").VARCHAR(250).comment("多个列名英文逗号隔开");
+        t.column("model_table_id").LONG();
+        t.fkey("fk_model_table_id_model_index_t_model_table_t").columns("model_table_id").refs("model_table_t", "model_table_id");
+        return t;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.jdbc;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * BatchInserter test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class BatchInserterTest {
+
+    BasicDataSource ds = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    TableModel t = null;
+
+    @BeforeAll
+    void initData() throws SQLException {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:batch_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+
+        t = new TableModel("user_t");
+        t.column("first_name").VARCHAR(20).pkey();
+        t.column("last_name").VARCHAR(20).pkey();
+        t.column("age").INTEGER();
+
+        try (Connection conn = ds.getConnection(); Statement st = conn.createStatement()) {
+            for (String ddl : dialect.toCreateDDL(t)) {
+                st.execute(ddl);
+            }
+        }
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @BeforeEach
+    void truncate() throws SQLException {
+        try (Connection conn = ds.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("delete from user_t");
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testInsertSql() {
+        BatchInserter inserter = new BatchInserter(dialect, t);
+
+        assertEquals("insert into user_t (first_name, last_name, age) values (?,?,?)", inserter.insertSql(1));
+        assertEquals("insert into user_t (first_name, last_name, age) values (?,?,?), (?,?,?)", inserter.insertSql(2));
+    }
+
+    @Test
+    @Order(2)
+    void testRowsPerStatement() {
+        // H2支持多行VALUES，Oracle不支持
+        assertEquals(20, new BatchInserter(dialect, t).rowsPerStatement(20).getRowsPerStatement());
+        assertEquals(1, new BatchInserter(Dialect.Oracle12cDialect, t).rowsPerStatement(20).getRowsPerStatement());
+
+        // 受单条语句参数个数限制
+        assertEquals(BatchInserter.DEFAULT_MAX_PARAMETERS / 3,
+                new BatchInserter(dialect, t).rowsPerStatement(100000).getRowsPerStatement());
+        assertEquals(999 / 3, new BatchInserter(Dialect.SQLiteDialect, t).rowsPerStatement(100000).getRowsPerStatement());
+        assertEquals(65535 / 3, new BatchInserter(Dialect.MySQL8Dialect, t).rowsPerStatement(100000).getRowsPerStatement());
+        assertEquals(2100 / 3, new BatchInserter(Dialect.SQLServer2012Dialect, t).rowsPerStatement(100000).getRowsPerStatement());
+
+        // SQL Server的VALUES最多1000行，即使参数个数还没到上限
+        TableModel single = new TableModel("id_t");
+        single.column("id").LONG().pkey();
+        assertEquals(1000, new BatchInserter(Dialect.SQLServer2012Dialect, single).rowsPerStatement(2000).getRowsPerStatement());
+        assertEquals(500, new BatchInserter(Dialect.SQLiteDialect, single).rowsPerStatement(2000).getRowsPerStatement());
+    }
+
+    @Test
+    @Order(3)
+    void testBatchInsert() throws SQLException {
+        try (Connection conn = ds.getConnection()) {
+            int count = new BatchInserter(dialect, t).batchSize(30).insert(conn, rows(100));
+
+            assertEquals(100, count);
+            assertEquals(100, count(conn));
+        }
+    }
+
+    @Test
+    @Order(4)
+    void testMultiRowInsert() throws SQLException {
+        // 1003行：100条10行的语句，剩余3行走单行批量
+        try (Connection conn = ds.getConnection()) {
+            int count = new BatchInserter(dialect, t).batchSize(7).rowsPerStatement(10).insert(conn, rows(1003));
+
+            assertEquals(1003, count);
+            assertEquals(1003, count(conn));
+        }
+    }
+
+    private List<Object[]> rows(int n) {
+        List<Object[]> rows = new ArrayList<Object[]>(n);
+        for (int i = 1; i <= n; i++) {
+            rows.add(new Object[]{"Foo" + i, "Bar" + i, i});
+        }
+        return rows;
+    }
+
+    private int count(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("select count(*) from user_t")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.jdbc;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.TestModels;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BulkLoader test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class BulkLoaderTest {
+
+    BasicDataSource ds = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    void initData() throws SQLException {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:bulk_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+
+        new SqlExecutor(ds).execute(dialect.toCreateDDL(TestModels.userModel(), valueModel(), blobModel()));
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testLoadSql() {
+        Path csv = tempDir.resolve("user_t.csv");
+        BulkLoader mysql = new BulkLoader(Dialect.MySQL8Dialect, TestModels.userModel());
+
+        assertTrue(mysql.isNative());
+        assertTrue(mysql.loadSql(csv).startsWith("load data local infile '" + csv.toAbsolutePath().toString().replace('\\', '/')));
+        assertTrue(mysql.loadSql(csv).endsWith("(first_name, last_name, age)"));
+        // H2的CSVREAD比批量插入慢，load()不使用，但仍可生成导入语句
+        assertFalse(new BulkLoader(dialect, TestModels.userModel()).isNative());
+        assertTrue(new BulkLoader(dialect, TestModels.userModel()).loadSql(csv)
+                .startsWith("insert into user_t (first_name, last_name, age) direct select * from csvread("));
+        assertFalse(new BulkLoader(Dialect.Oracle12cDialect, TestModels.userModel()).isNative());
+    }
+
+    @Test
+    @Order(2)
+    void testLoad() throws SQLException, IOException {
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (int i = 1; i <= 10000; i++) {
+            rows.add(new Object[]{"Foo" + i, "Bar" + i, i % 100});
+        }
+        BulkLoader loader = new BulkLoader(dialect, TestModels.userModel()).tempDirectory(tempDir).bufferSize(1024);
+
+        try (Connection conn = ds.getConnection()) {
+            assertEquals(10000, loader.load(conn, rows));
+            assertEquals(10000L, new SqlExecutor(ds).queryForObject(conn, "select count(*) from user_t"));
+            assertEquals(99, new SqlExecutor(ds).queryForObject(conn, "select age from user_t where first_name = 'Foo9999'"));
+        }
+        // H2上退回批量插入，不写临时文件
+        assertEquals(0, tempDir.toFile().list().length);
+
+        // 缓冲区写满后分多次写出，行不丢失、不截断
+        Path csv = tempDir.resolve("user_t.csv");
+        assertEquals(10000, loader.writeCsv(csv, rows));
+        List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+        assertEquals(10000, lines.size());
+        assertEquals("\"Foo10000\",\"Bar10000\",0", lines.get(9999));
+    }
+
+    @Test
+    @Order(3)
+    void testValues() throws SQLException, IOException {
+        Timestamp now = Timestamp.valueOf("2026-10-18 12:34:56.789");
+        List<Object[]> rows = Arrays.asList(
+                new Object[]{1L, "a \"quoted\", value", true, new BigDecimal("12.50"), now},
+                new Object[]{2L, "多行\n文本", false, null, null},
+                new Object[]{3L, "NULL", null, new BigDecimal("1E+3"), null},
+                new Object[]{4L, "", null, null, null});
+
+        try (Connection conn = ds.getConnection()) {
+            // 用H2的CSVREAD读回writeCsv()写出的文件，检查CSV的转义
+            BulkLoader loader = new BulkLoader(dialect, valueModel());
+            Path csv = tempDir.resolve("value_t.csv");
+            assertEquals(4, loader.writeCsv(csv, rows));
+            try (Statement st = conn.createStatement()) {
+                assertEquals(4, st.executeUpdate(loader.loadSql(csv)));
+            }
+
+            try (Statement st = conn.createStatement();
+                 ResultSet rs = st.executeQuery("select name, flag, amount, created from value_t order by id")) {
+                assertTrue(rs.next());
+                assertEquals("a \"quoted\", value", rs.getString(1));
+                assertTrue(rs.getBoolean(2));
+                assertEquals(new BigDecimal("12.50"), rs.getBigDecimal(3));
+                assertEquals(now, rs.getTimestamp(4));
+                assertTrue(rs.next());
+                assertEquals("多行\n文本", rs.getString(1));
+                assertFalse(rs.getBoolean(2));
+                assertNull(rs.getBigDecimal(3));
+                assertTrue(rs.next());
+                assertEquals("NULL", rs.getString(1));
+                assertNull(rs.getObject(2));
+                assertEquals(0, new BigDecimal("1000").compareTo(rs.getBigDecimal(3)));
+                assertTrue(rs.next());
+                assertEquals("", rs.getString(1));
+            }
+        }
+    }
+
+    @Test
+    @Order(4)
+    void testFallback() throws SQLException, IOException {
+        // 有二进制列时退回批量插入
+        BulkLoader loader = new BulkLoader(dialect, blobModel());
+        assertFalse(loader.isNative());
+
+        try (Connection conn = ds.getConnection()) {
+            assertEquals(2, loader.load(conn, Arrays.asList(new Object[]{1L, new byte[]{1, 2}}, new Object[]{2L, null})));
+            assertEquals(2L, new SqlExecutor(ds).queryForObject(conn, "select count(*) from blob_t"));
+        }
+    }
+
+    private static TableModel valueModel() {
+        TableModel t = new TableModel("value_t");
+        t.column("id").LONG().pkey();
+        t.column("name").VARCHAR(50);
+        t.column("flag").BOOLEAN();
+        t.column("amount").DECIMAL(10, 2);
+        t.column("created").TIMESTAMP();
+        return t;
+    }
+
+    private static TableModel blobModel() {
+        TableModel t = new TableModel("blob_t");
+        t.column("id").LONG().pkey();
+        t.column("content").BLOB();
+        return t;
+    }
+}
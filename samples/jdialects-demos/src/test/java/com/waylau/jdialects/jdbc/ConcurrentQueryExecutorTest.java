@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.jdbc;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.TestModels;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ConcurrentQueryExecutor test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class ConcurrentQueryExecutorTest {
+
+    private static final int ROWS = 1005;
+
+    BasicDataSource ds = null;
+
+    ConcurrentQueryExecutor executor = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    TableModel t = TestModels.userModel();
+
+    @BeforeAll
+    void initData() throws SQLException {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:concurrent_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+        ds.setMaxTotal(3);
+
+        // 线程数多于连接数，多出的任务在信号量上等待
+        executor = new ConcurrentQueryExecutor(dialect, ds, Executors.newFixedThreadPool(8));
+        new SqlExecutor(ds).execute(dialect.toCreateDDL(t));
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (executor != null) {
+            executor.close();
+        }
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testInsert() throws SQLException {
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{String.format("Foo%04d", i), "Bar" + i, i % 100});
+        }
+
+        assertEquals(3, executor.getMaxConcurrency());
+        assertEquals(ROWS, executor.insert(t, rows, 100));
+        assertThrows(IllegalArgumentException.class, () -> executor.insert(t, rows, 0));
+    }
+
+    @Test
+    @Order(2)
+    void testQueryPages() throws SQLException {
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        List<List<String>> pages = executor.queryPages("select first_name from user_t where age >= ? order by first_name",
+                100, 11, rs -> {
+                    int now = active.incrementAndGet();
+                    maxActive.accumulateAndGet(now, Math::max);
+                    active.decrementAndGet();
+                    return rs.getString(1);
+                }, 0);
+
+        assertEquals(11, pages.size());
+        assertEquals("Foo0000", pages.get(0).get(0));
+        assertEquals("Foo0100", pages.get(1).get(0));
+        assertEquals(5, pages.get(10).size());
+        assertTrue(maxActive.get() <= 3);
+    }
+
+    @Test
+    @Order(3)
+    void testExecuteBatch() throws SQLException {
+        List<Object[]> params = new ArrayList<Object[]>();
+        for (int i = 0; i < 100; i++) {
+            params.add(new Object[]{i});
+        }
+
+        assertEquals(ROWS, executor.executeBatch("update user_t set age = age + 1000 where age = ?", params, 10, 5));
+        assertThrows(SQLException.class,
+                () -> executor.executeBatch("update no_such_t set age = ?", params, 10, 5));
+    }
+}
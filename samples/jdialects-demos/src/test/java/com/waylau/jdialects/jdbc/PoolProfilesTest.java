@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.jdbc;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PoolProfile、PoolProfiles test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class PoolProfilesTest {
+
+    @Test
+    @Order(1)
+    void testStoreAndLoad() throws IOException {
+        PoolProfile paging = new PoolProfile("paging").maxTotal(16).maxIdle(16).poolPreparedStatements(true)
+                .testOnBorrow(false);
+        PoolProfile batch = new PoolProfile("batch").maxTotal(4).maxWaitMillis(2000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PoolProfiles.store(Arrays.asList(paging, batch), out, "test");
+
+        Map<String, PoolProfile> loaded = PoolProfiles.load(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(Arrays.asList("batch", "paging"), Arrays.asList(loaded.keySet().toArray()));
+        assertEquals(16, loaded.get("paging").getMaxTotal());
+        assertTrue(loaded.get("paging").isPoolPreparedStatements());
+        assertFalse(loaded.get("paging").isTestOnBorrow());
+        assertEquals(2000, loaded.get("batch").getMaxWaitMillis());
+        assertTrue(loaded.get("batch").isTestOnBorrow());
+
+        Properties invalid = new Properties();
+        invalid.setProperty("paging.maxTotl", "8");
+        assertThrows(IllegalArgumentException.class, () -> PoolProfiles.load(invalid));
+        assertThrows(IllegalArgumentException.class, () -> new PoolProfile("a.b"));
+    }
+
+    @Test
+    @Order(2)
+    void testCreateDataSource() throws SQLException {
+        // src/test/resources/jdialects-pool.properties
+        BasicDataSource ds = PoolProfiles.createDataSource("paging", "jdbc:h2:mem:pool_profile_db", "sa", "");
+        try {
+            assertEquals(4, ds.getMaxTotal());
+            assertTrue(ds.isPoolPreparedStatements());
+            assertFalse(ds.getTestOnBorrow());
+            try (Connection conn = ds.getConnection()) {
+                assertTrue(conn.isValid(1));
+            }
+        } finally {
+            ds.close();
+        }
+
+        // 未列出的参数保持DBCP2默认值
+        PoolProfile batch = PoolProfiles.get("batch");
+        assertEquals(2, batch.getMaxTotal());
+        assertEquals(8, batch.getMaxIdle());
+        assertEquals(new BasicDataSource().getTestOnBorrow(), PoolProfiles.get(PoolProfiles.DEFAULT).isTestOnBorrow());
+        assertThrows(IllegalArgumentException.class, () -> PoolProfiles.get("no_such_profile"));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.jdbc;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.log.AsyncSqlLog;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.dbcp2.DelegatingStatement;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SqlExecutor test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class SqlExecutorTest {
+
+    BasicDataSource ds = null;
+
+    SqlExecutor executor = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    @BeforeAll
+    void initData() {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:executor_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+
+        executor = new SqlExecutor(SqlExecutor.enableStatementPooling(ds, SqlExecutor.DEFAULT_MAX_OPEN_PREPARED_STATEMENTS))
+                .fetchSize(10);
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testExecuteDDL() throws SQLException {
+        TableModel t = new TableModel("user_t");
+        t.column("first_name").VARCHAR(20).pkey();
+        t.column("last_name").VARCHAR(20).pkey();
+        t.column("age").INTEGER();
+
+        executor.execute(dialect.toDropAndCreateDDL(t));
+
+        assertTrue(ds.isPoolPreparedStatements());
+    }
+
+    @Test
+    @Order(2)
+    void testExecuteBatch() throws SQLException {
+        List<Object[]> paramsList = new ArrayList<Object[]>();
+        for (int i = 1; i <= 100; i++) {
+            paramsList.add(new Object[]{"Foo" + i, "Bar" + i, i});
+        }
+
+        try (Connection conn = ds.getConnection()) {
+            long count = executor.executeBatch(conn, "insert into user_t (first_name, last_name, age) values(?,?,?)", paramsList, 30);
+
+            assertEquals(100, count);
+            assertEquals(100L, executor.queryForObject(conn, "select count(*) from user_t"));
+            assertEquals(1, executor.execute(conn, "update user_t set age = ? where first_name = ?", 0, "Foo1"));
+        }
+    }
+
+    @Test
+    @Order(3)
+    void testQuery() throws SQLException {
+        final long[] sum = new long[1];
+        try (Connection conn = ds.getConnection()) {
+            long rows = executor.query(conn, "select age from user_t where age > ?", rs -> sum[0] += rs.getInt(1), 50);
+
+            assertEquals(50, rows);
+            assertEquals(3775, sum[0]);
+        }
+    }
+
+    @Test
+    @Order(4)
+    void testStatementPooling() throws SQLException {
+        String sql = "select age from user_t where first_name = ?";
+        try (Connection conn = ds.getConnection()) {
+            Statement first;
+            try (PreparedStatement pst = conn.prepareStatement(sql)) {
+                first = ((DelegatingStatement) pst).getInnermostDelegate();
+            }
+            try (PreparedStatement pst = conn.prepareStatement(sql)) {
+                // 关闭后再次prepare，拿到的是池中同一个语句
+                assertSame(first, ((DelegatingStatement) pst).getInnermostDelegate());
+            }
+        }
+    }
+
+    @Test
+    @Order(5)
+    void testExceptionNotSwallowed() throws SQLException {
+        try (Connection conn = ds.getConnection()) {
+            assertThrows(SQLException.class, () -> executor.execute(conn, "select * from not_exist_t"));
+        }
+    }
+
+    @Test
+    @Order(6)
+    void testSqlLog() throws SQLException {
+        List<String> logged = new CopyOnWriteArrayList<String>();
+        try (AsyncSqlLog sqlLog = new AsyncSqlLog(64, logged::add);
+             Connection conn = ds.getConnection()) {
+            new SqlExecutor(ds).sqlLog(sqlLog).queryForObject(conn, "select count(*) from user_t");
+
+            assertTrue(sqlLog.flush(5000));
+            assertEquals(Collections.singletonList("select count(*) from user_t"), logged);
+        }
+    }
+
+    @Test
+    @Order(7)
+    void testConstructorKeepsPoolConfiguration() {
+        // 构造SqlExecutor不能覆盖PoolProfile等已有的连接池配置
+        BasicDataSource profiled = new BasicDataSource();
+        profiled.setMaxOpenPreparedStatements(20);
+        new SqlExecutor(profiled);
+
+        assertFalse(profiled.isPoolPreparedStatements());
+        assertEquals(20, profiled.getMaxOpenPreparedStatements());
+    }
+
+    @Test
+    @Order(8)
+    void testExecuteQuietly() throws SQLException {
+        try (Connection conn = ds.getConnection()) {
+            // 失败的语句不影响同一连接上的后续语句
+            assertFalse(executor.executeQuietly(conn, "drop table no_such_t"));
+            assertTrue(executor.executeQuietly(conn, "create table quiet_t (id int)"));
+            assertTrue(executor.executeQuietly(conn, "drop table quiet_t"));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.log;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.github.drinkjava2.jdialects.Dialect;
+import org.junit.jupiter.api.*;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RingBuffer、AsyncSqlLog、AsyncSqlAppender、AsyncJLog test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class AsyncSqlLogTest {
+
+    @Test
+    @Order(1)
+    void testRingBuffer() {
+        RingBuffer<Integer> ring = new RingBuffer<Integer>(5);
+        assertEquals(8, ring.capacity());
+
+        for (int i = 0; i < 8; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(8));
+        assertEquals(Integer.valueOf(0), ring.poll());
+        assertTrue(ring.offer(8));
+        for (int i = 1; i <= 8; i++) {
+            assertEquals(Integer.valueOf(i), ring.poll());
+        }
+        assertNull(ring.poll());
+    }
+
+    @Test
+    @Order(2)
+    void testSampler() {
+        SqlSampler sampler = new SqlSampler().rate(0).rate("create", 1);
+
+        assertEquals("select", SqlSampler.statementType("  (SELECT * from user_t)"));
+        assertEquals("create", SqlSampler.statementType("create table user_t (id int)"));
+        assertEquals(SqlSampler.OTHER, SqlSampler.statementType("selected"));
+        assertTrue(sampler.sample("CREATE TABLE user_t (id int)"));
+        assertFalse(sampler.sample("select * from user_t"));
+        assertThrows(IllegalArgumentException.class, () -> sampler.rate("select", 2));
+    }
+
+    @Test
+    @Order(3)
+    void testConcurrentLog() throws InterruptedException {
+        final AtomicLong written = new AtomicLong();
+        final AsyncSqlLog log = new AsyncSqlLog(256, sql -> written.incrementAndGet()).sampleRate("select", 0);
+        final int threads = 4;
+        final int perThread = 20000;
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    log.log(i % 2 == 0 ? "insert into user_t values (?)" : "select * from user_t");
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        assertTrue(log.flush(5000));
+        log.close();
+
+        // 每条SQL要么被采样掉，要么写出，要么因队列满丢弃
+        assertEquals(threads * perThread / 2, log.getSampledOut());
+        assertEquals(threads * perThread / 2, log.getWritten() + log.getDropped());
+        assertEquals(written.get(), log.getWritten());
+    }
+
+    @Test
+    @Order(4)
+    void testBatchedLogger() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        ListAppender<ILoggingEvent> list = new ListAppender<ILoggingEvent>();
+        list.setContext(context);
+        list.start();
+        Logger logger = context.getLogger("async_sql_batch_test");
+        logger.setAdditive(false);
+        logger.addAppender(list);
+
+        List<String> expected = new ArrayList<String>();
+        try (AsyncSqlLog log = new AsyncSqlLog(4096, logger)) {
+            for (int i = 0; i < 1000; i++) {
+                String sql = "select * from user_t where id = " + i;
+                assertTrue(log.log(sql));
+                expected.add(sql);
+            }
+            assertTrue(log.flush(5000));
+            assertEquals(1000, log.getWritten());
+        } finally {
+            logger.detachAppender(list);
+        }
+
+        // 每条日志最多MAX_BATCH行，按入队顺序
+        List<String> lines = new ArrayList<String>();
+        for (ILoggingEvent event : list.list) {
+            String[] batch = event.getFormattedMessage().split("\n");
+            assertTrue(batch.length <= AsyncSqlLog.MAX_BATCH);
+            lines.addAll(Arrays.asList(batch));
+        }
+        assertEquals(expected, lines);
+    }
+
+    @Test
+    @Order(5)
+    void testAppender() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        ListAppender<ILoggingEvent> list = new ListAppender<ILoggingEvent>();
+        list.setContext(context);
+        list.start();
+
+        AsyncSqlAppender appender = new AsyncSqlAppender();
+        appender.setContext(context);
+        appender.setName("SQL");
+        appender.setSampleRate(0);
+        appender.setSampleRates("create=1");
+        appender.addAppender(list);
+        appender.start();
+        assertTrue(appender.isStarted());
+
+        Logger logger = context.getLogger("async_sql_test");
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        try {
+            logger.info("create table user_t (id int)");
+            logger.info("select * from user_t");
+            logger.info("create table {} (id int)", "order_t");
+            assertTrue(appender.flush(5000));
+
+            assertEquals(2, list.list.size());
+            assertEquals("create table order_t (id int)", list.list.get(1).getFormattedMessage());
+            assertEquals(Thread.currentThread().getName(), list.list.get(0).getThreadName());
+            assertEquals(1, appender.getSampledOut());
+        } finally {
+            logger.detachAppender(appender);
+            appender.stop();
+        }
+    }
+
+    @Test
+    @Order(6)
+    void testDialectShowSql() {
+        // src/test/resources/jlogs.properties让jdialects使用AsyncJLog
+        List<String> logged = new CopyOnWriteArrayList<String>();
+        AsyncSqlLog.setGlobal(new AsyncSqlLog(64, logged::add));
+        Dialect.setGlobalAllowShowSql(true);
+        try {
+            String sql = Dialect.H2Dialect.pagin(2, 10, "select * from user_t");
+            assertTrue(AsyncSqlLog.global().flush(5000));
+            assertEquals(1, logged.size());
+            assertEquals(sql, logged.get(0));
+        } finally {
+            Dialect.setGlobalAllowShowSql(false);
+            AsyncSqlLog.setGlobal(null);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.metrics;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.TestModels;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SqlShapes、LatencyHistogram、InstrumentedDataSource、SqlMetrics test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class SqlMetricsTest {
+
+    private static final int ROWS = 95;
+
+    BasicDataSource ds = null;
+
+    InstrumentedDataSource ids = null;
+
+    SqlExecutor executor = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    @BeforeAll
+    void initData() {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:metrics_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+
+        ids = new InstrumentedDataSource(ds);
+        executor = new SqlExecutor(ids);
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testNormalize() {
+        // H2第1页没有offset，是另一种形状
+        assertEquals(SqlShapes.normalize(dialect.pagin(2, 10, "select * from user_t")),
+                SqlShapes.normalize(dialect.pagin(7, 10, "select * from user_t")));
+        assertEquals("select * from user_t where id in (?) and name = ?",
+                SqlShapes.normalize("SELECT *\n  FROM user_t -- all\n WHERE id IN (1, 2,3) AND name = 'O''Brien'"));
+        assertEquals("insert into user_t (a, b) values (?)",
+                SqlShapes.normalize("insert into user_t (a, b) values (?,?), (?,?), (?,?)"));
+        assertEquals("select \"Col1\" from t1 where x > ?", SqlShapes.normalize("select /* hint */ \"Col1\" from t1 where x > -1.5"));
+        assertEquals("select count(*) from user_t", SqlShapes.normalize("select count(*) from user_t"));
+    }
+
+    @Test
+    @Order(2)
+    void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1000000L, snapshot.getMaxNanos());
+        // 每个桶的相对宽度不超过1/16
+        assertEquals(500000, snapshot.getP50Nanos(), 500000 / 16.0);
+        assertEquals(990000, snapshot.getP99Nanos(), 990000 / 16.0);
+        assertTrue(snapshot.getP999Nanos() >= snapshot.getP99Nanos());
+        assertEquals(500500, snapshot.getMeanNanos());
+
+        for (long v = 1; v < (1L << 40); v = v * 3 + 1) {
+            int bucket = LatencyHistogram.bucket(v);
+            assertTrue(LatencyHistogram.upperBound(bucket) >= v);
+            assertTrue(bucket == 0 || LatencyHistogram.upperBound(bucket - 1) < v);
+        }
+    }
+
+    @Test
+    @Order(3)
+    void testInstrumentedQueries() throws SQLException {
+        TableModel t = TestModels.userModel();
+        executor.execute(dialect.toCreateDDL(t));
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{"Foo" + i, "Bar" + i, i});
+        }
+        String query = "select first_name from user_t order by first_name";
+        int pages = 0;
+        long fetched = 0;
+        try (Connection conn = ids.getConnection()) {
+            new BatchInserter(dialect, t).rowsPerStatement(20).insert(conn, rows);
+            for (int page = 1; ; page++) {
+                long n = executor.query(conn, dialect.pagin(page, 10, query), rs -> {
+                });
+                pages++;
+                fetched += n;
+                if (n < 10) {
+                    break;
+                }
+            }
+            try (Statement stmt = conn.createStatement()) {
+                assertThrows(SQLException.class, () -> stmt.executeQuery("select * from no_such_t"));
+                assertTrue(stmt.execute("select count(*) from user_t where age < 50"));
+                try (ResultSet rs = stmt.getResultSet()) {
+                    assertTrue(rs.next());
+                    assertEquals(50, rs.getInt(1));
+                }
+            }
+        }
+
+        SqlMetrics metrics = ids.getMetrics();
+        StatementSnapshot first = metrics.snapshot(dialect.pagin(1, 10, query));
+        StatementSnapshot paged = metrics.snapshot(dialect.pagin(3, 10, query));
+        assertEquals(1, first.getExecutions());
+        assertEquals(pages - 1, paged.getExecutions());
+        assertEquals(ROWS, fetched);
+        assertEquals(ROWS, first.getRowsFetched() + paged.getRowsFetched());
+        assertTrue(paged.getLatency().getP99Nanos() >= paged.getLatency().getP50Nanos());
+
+        // 20行一条的多行insert和剩余15行的单行insert归为同一形状，各executeBatch一次
+        StatementSnapshot insert = metrics.snapshot(new BatchInserter(dialect, t).insertSql(20));
+        assertEquals(insert.getShape(), metrics.snapshot(new BatchInserter(dialect, t).insertSql(1)).getShape());
+        assertEquals(2, insert.getExecutions());
+
+        assertEquals(1, metrics.snapshot("select * from no_such_t").getErrors());
+        assertEquals(1, metrics.snapshot("select count(*) from user_t where age < 100").getRowsFetched());
+        assertTrue(metrics.getPoolWait().getCount() >= 2);
+
+        List<StatementSnapshot> all = metrics.snapshot();
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getLatency().getTotalNanos() >= all.get(i).getLatency().getTotalNanos());
+        }
+    }
+
+    @Test
+    @Order(4)
+    void testShapeLimit() {
+        SqlMetrics metrics = new SqlMetrics(2);
+        StatementMetrics a = metrics.forSql("select a from t");
+        assertSame(a, metrics.forSql("select a from t"));
+        metrics.forSql("select b from t");
+        metrics.forSql("select c from t").record(1000, false);
+        assertEquals(2, metrics.getShapeCount());
+        assertEquals(SqlMetrics.OTHER, metrics.snapshot().get(0).getShape());
+        assertThrows(IllegalArgumentException.class, () -> new SqlMetrics(0));
+    }
+
+    @Test
+    @Order(5)
+    void testJmx() throws Exception {
+        SqlMetrics metrics = ids.getMetrics();
+        ObjectName name = metrics.register("metrics_db");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(metrics.getShapeCount(), server.getAttribute(name, "ShapeCount"));
+            CompositeData poolWait = (CompositeData) server.getAttribute(name, "PoolWait");
+            assertEquals(metrics.getPoolWait().getCount(), poolWait.get("count"));
+            CompositeData[] statements = (CompositeData[]) server.getAttribute(name, "Statements");
+            assertEquals(metrics.snapshot().size(), statements.length);
+            assertTrue(((CompositeData) statements[0].get("latency")).containsKey("p999Nanos"));
+
+            server.invoke(name, "reset", null, null);
+            assertEquals(0, metrics.getPoolWait().getCount());
+        } finally {
+            metrics.unregister();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+}
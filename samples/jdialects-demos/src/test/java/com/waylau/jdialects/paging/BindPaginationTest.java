@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.paging;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * BindPagination test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class BindPaginationTest {
+
+    BasicDataSource ds = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    @BeforeAll
+    void initData() throws SQLException {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:bind_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+
+        TableModel t = new TableModel("user_t");
+        t.column("first_name").VARCHAR(20).pkey();
+        t.column("last_name").VARCHAR(20).pkey();
+        t.column("age").INTEGER();
+
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (int i = 1; i <= 100; i++) {
+            rows.add(new Object[]{"Foo" + i, "Bar" + i, i});
+        }
+        try (Connection conn = ds.getConnection(); Statement st = conn.createStatement()) {
+            for (String ddl : dialect.toCreateDDL(t)) {
+                st.execute(ddl);
+            }
+            new BatchInserter(dialect, t).insert(conn, rows);
+        }
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testSql() {
+        assertEquals("select * from user_t limit ? offset ?",
+                new BindPagination(Dialect.H2Dialect, "select * from user_t").getSql());
+        assertEquals("select * from user_t limit ?, ?",
+                new BindPagination(Dialect.MySQL8Dialect, "select * from user_t").getSql());
+
+        // HSQL的分页参数在原SQL参数之前
+        BindPagination hsql = new BindPagination(Dialect.HSQLDialect, "select * from user_t where age > ?");
+        assertEquals("select limit ? ? * from user_t where age > ?", hsql.getSql());
+        assertArrayEquals(new Object[]{20, 10, 18}, hsql.params(3, 10, 18));
+    }
+
+    @Test
+    @Order(2)
+    void testSameAsPaginForAllDialects() {
+        String sql = "select * from user_t order by first_name";
+        for (Dialect d : Dialect.dialects) {
+            if (Dialect.NOT_SUPPORT.equals(d.sqlTemplate)) {
+                continue;
+            }
+            BindPagination paging = new BindPagination(d, sql);
+            for (int page = 2; page <= 5; page++) {
+                assertEquals(d.pagin(page, 20, sql), inline(paging.getSql(), paging.params(page, 20)), d.getName());
+            }
+        }
+    }
+
+    @Test
+    @Order(3)
+    void testReusePreparedStatement() throws SQLException {
+        String sql = "select first_name from user_t where age > ? order by age";
+        BindPagination paging = new BindPagination(dialect, sql);
+
+        try (Connection conn = ds.getConnection()) {
+            try (Statement st = conn.createStatement()) {
+                st.execute("SET QUERY_STATISTICS TRUE");
+            }
+
+            // 同一个PreparedStatement翻5页
+            try (PreparedStatement pst = conn.prepareStatement(paging.getSql())) {
+                for (int page = 1; page <= 5; page++) {
+                    Object[] params = paging.params(page, 10, 20);
+                    for (int i = 0; i < params.length; i++) {
+                        pst.setObject(i + 1, params[i]);
+                    }
+                    List<String> actual = new ArrayList<String>();
+                    try (ResultSet rs = pst.executeQuery()) {
+                        while (rs.next()) {
+                            actual.add(rs.getString(1));
+                        }
+                    }
+                    assertEquals(literalPage(conn, page, 10, sql.replace("?", "20")), actual);
+                }
+            }
+
+            // H2的查询统计中只有一条分页语句，执行了5次
+            try (PreparedStatement pst = conn.prepareStatement(
+                    "select execution_count from information_schema.query_statistics where sql_statement = ?")) {
+                pst.setString(1, paging.getSql());
+                try (ResultSet rs = pst.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(5, rs.getInt(1));
+                    assertFalse(rs.next());
+                }
+            }
+        }
+    }
+
+    @Test
+    @Order(4)
+    void testExecuteInCompatibilityModes() throws SQLException {
+        // H2兼容模式能执行的写法：MySQL的limit ?, ?、PostgreSQL的limit ? offset ?、
+        // SQL Server 2012的offset ? rows fetch next ? rows only、Oracle的rownum嵌套查询。
+        // HSQL的select limit ? ? *、DB2的rownumber() over(order by order of ...)H2不支持，只做了与pagin的文本比对
+        Dialect[] dialects = {Dialect.MySQL8Dialect, Dialect.PostgreSQL9Dialect, Dialect.SQLServer2012Dialect, Dialect.Oracle12cDialect};
+        String[] modes = {"MySQL", "PostgreSQL", "MSSQLServer", "Oracle"};
+        String sql = "select first_name from user_t where age > ? order by first_name";
+        List<String> expected = new ArrayList<String>();
+        for (int i = 19; i <= 100; i++) {
+            expected.add("Foo" + i);
+        }
+        expected.sort(null);
+
+        for (int m = 0; m < modes.length; m++) {
+            BindPagination paging = new BindPagination(dialects[m], sql);
+            try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:bind_" + modes[m] + ";MODE=" + modes[m], "sa", "")) {
+                try (Statement st = conn.createStatement()) {
+                    st.execute("create table user_t (first_name varchar(20) primary key, age int)");
+                    st.execute("insert into user_t select 'Foo' || x, x from system_range(1, 100)");
+                }
+                try (PreparedStatement pst = conn.prepareStatement(paging.getSql())) {
+                    for (int page = 1; page <= 9; page++) {
+                        Object[] params = paging.params(page, 10, 18);
+                        for (int i = 0; i < params.length; i++) {
+                            pst.setObject(i + 1, params[i]);
+                        }
+                        List<String> actual = new ArrayList<String>();
+                        try (ResultSet rs = pst.executeQuery()) {
+                            while (rs.next()) {
+                                actual.add(rs.getString(1));
+                            }
+                        }
+                        int from = (page - 1) * 10;
+                        assertEquals(expected.subList(from, Math.min(expected.size(), from + 10)), actual,
+                                dialects[m].getName() + " page " + page);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<String> literalPage(Connection conn, int page, int size, String sql) throws SQLException {
+        List<String> result = new ArrayList<String>();
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(dialect.pagin(page, size, sql))) {
+            while (rs.next()) {
+                result.add(rs.getString(1));
+            }
+        }
+        return result;
+    }
+
+    private static String inline(String sql, Object[] params) {
+        StringBuilder sb = new StringBuilder();
+        int p = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                sb.append(params[p++]);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.paging;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.TestModels;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import com.waylau.jdialects.metrics.InstrumentedDataSource;
+import com.waylau.jdialects.metrics.StatementSnapshot;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CountedPagination test，用InstrumentedDataSource统计每页执行的SQL数
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class CountedPaginationTest {
+
+    private static final int ROWS = 95;
+
+    private static final String SQL = "select * from user_t where age >= ? order by first_name";
+
+    BasicDataSource ds = null;
+
+    InstrumentedDataSource ids = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    TableModel t = TestModels.userModel();
+
+    @BeforeAll
+    void initData() throws SQLException {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:counted_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+
+        ids = new InstrumentedDataSource(ds);
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{String.format("Foo%03d", i), "Bar" + i, i % 10});
+        }
+        try (Connection conn = ds.getConnection()) {
+            new SqlExecutor(ds).execute(dialect.toCreateDDL(t));
+            new BatchInserter(dialect, t).insert(conn, rows);
+        }
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testSql() {
+        CountedPagination paging = new CountedPagination(dialect, new SqlExecutor(ids));
+
+        assertEquals("select *, count(*) over() jd_total_count from user_t where age >= ? order by first_name limit 10 offset 20",
+                paging.windowSql(3, 10, SQL));
+        assertEquals("select count(*) from (select * from user_t where age >= ?) count_", paging.countSql(SQL));
+        assertNull(paging.windowSql(1, 10, "select distinct age from user_t"));
+        assertNull(new CountedPagination(Dialect.Oracle12cDialect, new SqlExecutor(ids)).windowSql(1, 10, "select * from user_t"));
+        assertNull(new CountedPagination(Dialect.MySQL57Dialect, new SqlExecutor(ids)).windowSql(1, 10, SQL));
+        assertTrue(CountedPagination.supportsWindowCount(Dialect.MySQL8Dialect));
+        // PostgreSQL 8.4才有窗口函数
+        assertFalse(CountedPagination.supportsWindowCount(Dialect.PostgreSQL82Dialect));
+        assertTrue(CountedPagination.supportsWindowCount(Dialect.PostgreSQL9Dialect));
+    }
+
+    @Test
+    @Order(2)
+    void testWindowCount() throws SQLException {
+        // age >= 3 的行数
+        long expected = separateCount(3);
+        CountedPagination paging = new CountedPagination(dialect, new SqlExecutor(ids));
+        for (int page = 1; page <= 7; page++) {
+            ids.getMetrics().reset();
+            Page<String> result = query(paging, page);
+
+            assertEquals(expected, result.getTotalCount());
+            assertEquals(separatePage(page), result.getRows());
+            // 一页一条SQL；超出范围的第7页没有行，补一次count
+            assertEquals(page == 7 ? 2 : 1, executions());
+        }
+    }
+
+    @Test
+    @Order(3)
+    void testFallbackCount() throws SQLException {
+        // Derby不支持count(*) over()，H2同样支持它的OFFSET/FETCH语法
+        long expected = separateCount(3);
+        CountedPagination paging = new CountedPagination(Dialect.DerbyTenSevenDialect, new SqlExecutor(ids));
+        for (int page = 1; page <= 7; page++) {
+            ids.getMetrics().reset();
+            Page<String> result = query(paging, page);
+
+            assertEquals(expected, result.getTotalCount());
+            assertEquals(separatePage(page), result.getRows());
+            // 最后一页（第6页，6行）不满，总行数直接算出
+            assertEquals(page == 6 ? 1 : 2, executions());
+        }
+    }
+
+    @Test
+    @Order(4)
+    void testEmptyResult() throws SQLException {
+        ids.getMetrics().reset();
+        Page<String> result = query(new CountedPagination(dialect, new SqlExecutor(ids)), 1, 100);
+
+        assertEquals(0, result.getTotalCount());
+        assertEquals(0, result.getPageCount());
+        assertTrue(result.getRows().isEmpty());
+        assertEquals(1, executions());
+    }
+
+    private Page<String> query(CountedPagination paging, int page) throws SQLException {
+        return query(paging, page, 3);
+    }
+
+    private Page<String> query(CountedPagination paging, int page, int minAge) throws SQLException {
+        try (Connection conn = ids.getConnection()) {
+            return paging.query(conn, page, 12, SQL, rs -> rs.getString("first_name"), minAge);
+        }
+    }
+
+    /**
+     * 原来的做法：pagin取页，再单独count
+     */
+    private List<String> separatePage(int page) throws SQLException {
+        List<String> rows = new ArrayList<String>();
+        try (Connection conn = ds.getConnection()) {
+            new SqlExecutor(ds).query(conn, dialect.pagin(page, 12, SQL), rs -> rows.add(rs.getString("first_name")), 3);
+        }
+        return rows;
+    }
+
+    private long separateCount(int minAge) throws SQLException {
+        try (Connection conn = ds.getConnection()) {
+            return ((Number) new SqlExecutor(ds).queryForObject(conn, "select count(*) from user_t where age >= ?",
+                    minAge)).longValue();
+        }
+    }
+
+    private long executions() {
+        long total = 0;
+        for (StatementSnapshot statement : ids.getMetrics().snapshot()) {
+            total += statement.getExecutions();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.paging;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * KeysetPagination test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class KeysetPaginationTest {
+
+    BasicDataSource ds = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    TableModel t = null;
+
+    @BeforeAll
+    void initData() throws SQLException {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:keyset_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+
+        t = new TableModel("user_t");
+        t.column("first_name").VARCHAR(20).pkey();
+        t.column("last_name").VARCHAR(20).pkey();
+        t.column("age").INTEGER();
+
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (int i = 1; i <= 100; i++) {
+            rows.add(new Object[]{"Foo" + (i % 7), "Bar" + i, i});
+        }
+        try (Connection conn = ds.getConnection(); Statement st = conn.createStatement()) {
+            for (String ddl : dialect.toCreateDDL(t)) {
+                st.execute(ddl);
+            }
+            new BatchInserter(dialect, t).insert(conn, rows);
+        }
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testSql() {
+        KeysetPagination paging = new KeysetPagination(dialect, t);
+
+        assertEquals("select * from user_t order by first_name, last_name limit 20",
+                paging.firstPage(20, "select * from user_t"));
+        assertEquals("select * from user_t where first_name >= ? and (first_name, last_name) > (?, ?) order by first_name, last_name limit 20",
+                paging.nextPage(20, "select * from user_t"));
+        assertEquals("select * from user_t where (age > 10 or age < 5) and first_name >= ? and (first_name, last_name) > (?, ?) order by first_name, last_name limit 20",
+                paging.nextPage(20, "select * from user_t where age > 10 or age < 5"));
+    }
+
+    @Test
+    @Order(2)
+    void testExpandedSql() {
+        // SQL Server不支持行值比较，展开为OR条件
+        KeysetPagination paging = new KeysetPagination(Dialect.SQLServer2012Dialect, t);
+
+        assertEquals("select * from user_t where first_name >= ? and ((first_name > ?) or (first_name = ? and last_name > ?)) order by first_name, last_name offset 0 rows fetch next 20 rows only",
+                paging.nextPage(20, "select * from user_t"));
+        assertArrayEquals(new Object[]{"Foo1", "Foo1", "Foo1", "Bar8"}, paging.params(new Object[]{"Foo1", "Bar8"}));
+    }
+
+    @Test
+    @Order(3)
+    void testWalkAllPages() throws SQLException {
+        List<String> expected = readAll(dialect.pagin(1, 1000, "select * from user_t order by first_name, last_name"));
+
+        assertEquals(expected, walk(new KeysetPagination(dialect, t)));
+        // H2同样支持OFFSET/FETCH语法，可以验证展开后的OR条件
+        assertEquals(expected, walk(new KeysetPagination(Dialect.SQLServer2012Dialect, "first_name", "last_name")));
+    }
+
+    @Test
+    @Order(4)
+    void testWalkAllPagesDesc() throws SQLException {
+        List<String> expected = readAll(dialect.pagin(1, 1000, "select * from user_t order by first_name desc, last_name desc"));
+
+        assertEquals(expected, walk(new KeysetPagination(dialect, t).desc()));
+    }
+
+    @Test
+    @Order(5)
+    void testGroupBy() throws SQLException {
+        KeysetPagination paging = new KeysetPagination(dialect, "first_name");
+
+        assertEquals("select first_name, count(*) from user_t where first_name > ? group by first_name order by first_name limit 3",
+                paging.nextPage(3, "select first_name, count(*) from user_t group by first_name"));
+        assertEquals("select first_name, count(*) from user_t where (age > 10) and first_name > ? group by first_name having count(*) > 1 order by first_name limit 3",
+                paging.nextPage(3, "select first_name, count(*) from user_t where age > 10 group by first_name having count(*) > 1"));
+
+        String base = "select first_name, count(*) as cnt from user_t where age > 10 group by first_name";
+        List<String> expected = readAll(base + " order by first_name", "cnt");
+        List<String> result = new ArrayList<String>();
+        Object[] lastKey = null;
+        try (Connection conn = ds.getConnection()) {
+            do {
+                String sql = lastKey == null ? paging.firstPage(3, base) : paging.nextPage(3, base);
+                try (PreparedStatement pst = conn.prepareStatement(sql)) {
+                    if (lastKey != null) {
+                        pst.setObject(1, paging.params(lastKey)[0]);
+                    }
+                    lastKey = null;
+                    try (ResultSet rs = pst.executeQuery()) {
+                        while (rs.next()) {
+                            result.add(rs.getString("first_name") + "," + rs.getString("cnt"));
+                            lastKey = paging.lastKey(rs);
+                        }
+                    }
+                }
+            } while (lastKey != null);
+        }
+        assertEquals(7, expected.size());
+        assertEquals(expected, result);
+    }
+
+    @Test
+    @Order(6)
+    void testSeekUsesIndexRange() throws SQLException {
+        // 行值比较本身不能用作索引范围，首列条件让H2直接定位到上一页末尾
+        assertEquals("FIRST_NAME >= ?1", indexCondition(new KeysetPagination(dialect, t)));
+        assertEquals("FIRST_NAME <= ?1", indexCondition(new KeysetPagination(dialect, t).desc()));
+        assertEquals("FIRST_NAME >= ?1", indexCondition(new KeysetPagination(Dialect.SQLServer2012Dialect, "first_name", "last_name")));
+    }
+
+    private String indexCondition(KeysetPagination paging) throws SQLException {
+        String sql = "explain " + paging.nextPage(15, "select * from user_t");
+        Object[] params = paging.params(new Object[]{"Foo3", "Bar50"});
+        try (Connection conn = ds.getConnection(); PreparedStatement pst = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pst.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = pst.executeQuery()) {
+                rs.next();
+                // 形如 /* PUBLIC.PRIMARY_KEY_9: FIRST_NAME >= ?1 */，冒号之后为索引范围条件
+                Matcher m = Pattern.compile("/\\* PUBLIC\\.PRIMARY_KEY_\\w+: (.+?) \\*/").matcher(rs.getString(1));
+                return m.find() ? m.group(1) : null;
+            }
+        }
+    }
+
+    private List<String> walk(KeysetPagination paging) throws SQLException {
+        List<String> result = new ArrayList<String>();
+        String base = "select * from user_t";
+        Object[] lastKey = null;
+        try (Connection conn = ds.getConnection()) {
+            while (true) {
+                String sql = lastKey == null ? paging.firstPage(15, base) : paging.nextPage(15, base);
+                Object[] params = lastKey == null ? new Object[0] : paging.params(lastKey);
+                int rows = 0;
+                try (PreparedStatement pst = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < params.length; i++) {
+                        pst.setObject(i + 1, params[i]);
+                    }
+                    try (ResultSet rs = pst.executeQuery()) {
+                        while (rs.next()) {
+                            result.add(rs.getString("first_name") + "," + rs.getString("last_name"));
+                            lastKey = paging.lastKey(rs);
+                            rows++;
+                        }
+                    }
+                }
+                if (rows < 15) {
+                    return result;
+                }
+            }
+        }
+    }
+
+    private List<String> readAll(String sql) throws SQLException {
+        return readAll(sql, "last_name");
+    }
+
+    private List<String> readAll(String sql, String secondColumn) throws SQLException {
+        List<String> result = new ArrayList<String>();
+        try (Connection conn = ds.getConnection(); Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                result.add(rs.getString("first_name") + "," + rs.getString(secondColumn));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.paging;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.DialectException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * PaginTemplateCache test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+class PaginTemplateCacheTest {
+
+    private static final String SQL = "select distinct first_name from user_t where age > 18 order by first_name";
+
+    @Test
+    void testSameAsPaginForAllDialects() {
+        PaginTemplateCache cache = new PaginTemplateCache(10);
+        for (Dialect dialect : Dialect.dialects) {
+            if (Dialect.NOT_SUPPORT.equals(dialect.sqlTemplate)) {
+                continue;
+            }
+            for (int page = 1; page <= 4; page++) {
+                assertEquals(dialect.pagin(page, 20, SQL), cache.pagin(dialect, page, 20, SQL), dialect.getName());
+                assertEquals(dialect.pagin(page * 100, 7, SQL), cache.pagin(dialect, page * 100, 7, SQL), dialect.getName());
+            }
+        }
+    }
+
+    @Test
+    void testHitAndMiss() {
+        PaginTemplateCache cache = new PaginTemplateCache(10);
+        cache.pagin(Dialect.H2Dialect, 1, 20, "select * from user_t");
+        cache.pagin(Dialect.H2Dialect, 2, 20, "select * from user_t");
+        cache.pagin(Dialect.H2Dialect, 3, 20, "select * from user_t");
+        cache.pagin(Dialect.MySQL8Dialect, 3, 20, "select * from user_t");
+
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testEviction() {
+        PaginTemplateCache cache = new PaginTemplateCache(2);
+        cache.pagin(Dialect.H2Dialect, 2, 20, "select * from a_t");
+        cache.pagin(Dialect.H2Dialect, 2, 20, "select * from b_t");
+        // 访问a_t后，最久未使用的是b_t
+        cache.pagin(Dialect.H2Dialect, 2, 20, "select * from a_t");
+        cache.pagin(Dialect.H2Dialect, 2, 20, "select * from c_t");
+
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+
+        cache.pagin(Dialect.H2Dialect, 2, 20, "select * from a_t");
+        assertEquals(2, cache.getHitCount());
+        cache.pagin(Dialect.H2Dialect, 2, 20, "select * from b_t");
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    void testUncacheableSql() {
+        // SQL中含有哨兵数字时无法编译，退回Dialect.pagin
+        String sql = "select * from user_t where age <> 7919311";
+        assertNull(PaginTemplate.compile(Dialect.H2Dialect, sql, false));
+
+        PaginTemplateCache cache = new PaginTemplateCache(10);
+        assertEquals(Dialect.H2Dialect.pagin(3, 20, sql), cache.pagin(Dialect.H2Dialect, 3, 20, sql));
+        assertEquals(Dialect.H2Dialect.pagin(4, 20, sql), cache.pagin(Dialect.H2Dialect, 4, 20, sql));
+    }
+
+    @Test
+    void testTopLimitOnlyDialect() {
+        // SQLServerDialect只支持第一页的top写法，第一页照常缓存，其它页与Dialect.pagin一样抛出异常
+        PaginTemplateCache cache = new PaginTemplateCache(10);
+        for (Dialect dialect : new Dialect[]{Dialect.SQLServerDialect, Dialect.InformixDialect}) {
+            assertEquals(dialect.pagin(1, 20, SQL), cache.pagin(dialect, 1, 20, SQL), dialect.getName());
+            assertEquals(dialect.pagin(1, 7, SQL), cache.pagin(dialect, 1, 7, SQL), dialect.getName());
+            assertThrows(DialectException.class, () -> cache.pagin(dialect, 2, 20, SQL), dialect.getName());
+        }
+        assertEquals(2, cache.size());
+        assertEquals(4, cache.getHitCount());
+    }
+}
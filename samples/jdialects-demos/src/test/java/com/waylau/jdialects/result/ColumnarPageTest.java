@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.result;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.Type;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ColumnarPage test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class ColumnarPageTest {
+
+    private static final int ROWS = 250;
+
+    private static final String SQL = "select * from typed_t order by id";
+
+    BasicDataSource ds = null;
+
+    SqlExecutor executor = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    TableModel t = null;
+
+    @BeforeAll
+    void initData() throws SQLException {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:columnar_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+        executor = new SqlExecutor(ds);
+
+        t = new TableModel("typed_t");
+        t.column("id").LONG().pkey();
+        t.column("first_name").VARCHAR(20);
+        t.column("age").INTEGER();
+        t.column("score").DOUBLE();
+        t.column("active").BOOLEAN();
+        t.column("born").DATE();
+        executor.execute(dialect.toCreateDDL(t));
+
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (int i = 0; i < ROWS; i++) {
+            // 每7行一个null，first_name只有5种取值
+            boolean isNull = i % 7 == 3;
+            rows.add(new Object[]{(long) i + 10000000000L, isNull ? null : "Foo" + (i % 5), isNull ? null : i % 100,
+                    isNull ? null : i / 4.0, isNull ? null : i % 2 == 0, isNull ? null : Date.valueOf("2000-01-01")});
+        }
+        try (Connection conn = ds.getConnection()) {
+            new BatchInserter(dialect, t).insert(conn, rows);
+        }
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testKinds() {
+        assertEquals(ColumnarPage.INT, ColumnarPage.kindOf(Type.INTEGER));
+        assertEquals(ColumnarPage.LONG, ColumnarPage.kindOf(Type.BIGINT));
+        assertEquals(ColumnarPage.STRING, ColumnarPage.kindOf(Type.VARCHAR));
+        assertEquals(ColumnarPage.OBJECT, ColumnarPage.kindOf(Type.DATE));
+    }
+
+    @Test
+    @Order(2)
+    void testPages() throws SQLException {
+        ColumnarPage page = new ColumnarPage(t, 100);
+        int id = page.columnIndex("id");
+        int name = page.columnIndex("FIRST_NAME");
+        int age = page.columnIndex("age");
+        int score = page.columnIndex("score");
+        int active = page.columnIndex("active");
+        int born = page.columnIndex("born");
+
+        try (Connection conn = ds.getConnection()) {
+            int read = 0;
+            for (int p = 1; p <= 3; p++) {
+                page.clear();
+                executor.query(conn, dialect.pagin(p, 100, SQL), page::add);
+                assertEquals(p < 3 ? 100 : 50, page.size());
+                for (int row = 0; row < page.size(); row++, read++) {
+                    assertEquals(read + 10000000000L, page.getLong(row, id));
+                    boolean isNull = read % 7 == 3;
+                    assertEquals(isNull, page.isNull(row, age));
+                    assertEquals(isNull, page.isNull(row, name));
+                    assertEquals(isNull, page.isNull(row, born));
+                    if (!isNull) {
+                        assertEquals("Foo" + (read % 5), page.getString(row, name));
+                        assertEquals(read % 100, page.getInt(row, age));
+                        assertEquals(read % 100L, page.getLong(row, age));
+                        assertEquals(read / 4.0, page.getDouble(row, score));
+                        assertEquals(read % 2 == 0, page.getBoolean(row, active));
+                        assertEquals(Date.valueOf("2000-01-01"), page.getObject(row, born));
+                    } else {
+                        assertEquals(0, page.getInt(row, age));
+                        assertNull(page.getString(row, name));
+                        assertNull(page.getObject(row, age));
+                    }
+                }
+                // 字典只保留本页的5种取值
+                assertEquals(5, page.dictionarySize(name));
+            }
+            assertEquals(ROWS, read);
+            // 容量足够，没有扩容
+            assertEquals(100, page.capacity());
+        }
+
+        assertThrows(IndexOutOfBoundsException.class, () -> page.getInt(50, age));
+        assertThrows(IllegalArgumentException.class, () -> page.getInt(0, name));
+        assertThrows(IllegalArgumentException.class, () -> page.columnIndex("no_such_column"));
+    }
+
+    @Test
+    @Order(3)
+    void testGrow() throws SQLException {
+        ColumnarPage page = new ColumnarPage(t, 16);
+        try (Connection conn = ds.getConnection()) {
+            executor.query(conn, SQL, page::add);
+        }
+
+        assertEquals(ROWS, page.size());
+        assertEquals(256, page.capacity());
+        assertTrue(page.isNull(ROWS - 2, page.columnIndex("age")));
+        assertEquals("Foo4", page.getString(ROWS - 1, page.columnIndex("first_name")));
+        assertEquals(page.getStringCode(0, 1), page.getStringCode(5, 1));
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.TestModels;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import com.waylau.jdialects.metrics.InstrumentedDataSource;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IndexAdvisor test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class IndexAdvisorTest {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final int ROWS = 2000;
+
+    BasicDataSource ds = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    TableModel t = TestModels.userModel();
+
+    @BeforeAll
+    void initData() throws SQLException {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:advisor_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+
+        new SqlExecutor(ds).execute(dialect.toCreateDDL(t));
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{"Foo" + (i % 37), String.format("Bar%04d", i), i % 90});
+        }
+        try (Connection conn = ds.getConnection()) {
+            new BatchInserter(dialect, t).insert(conn, rows);
+        }
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testParse() {
+        IndexAdvisor.QueryShape query = IndexAdvisor.parse(
+                "select * from user_t u where u.age = 3 and last_name like 'B%' and first_name in ('a', 'b') order by u.last_name desc");
+        assertEquals("user_t", query.table);
+        assertEquals(Arrays.asList("age", "first_name"), new ArrayList<String>(query.equalities));
+        assertEquals(Arrays.asList("last_name"), query.ranges);
+        assertEquals(Arrays.asList("last_name"), query.orderBy);
+
+        // BETWEEN中的AND不拆分，反写的比较也能识别
+        query = IndexAdvisor.parse("select age from user_t where age between ? and ? and ? < last_name");
+        assertEquals(Arrays.asList("age", "last_name"), query.ranges);
+
+        // OR条件和升降序混合的排序不参与
+        query = IndexAdvisor.parse("select * from user_t where age = ? or last_name = ? order by age asc, last_name desc");
+        assertTrue(query.equalities.isEmpty());
+        assertTrue(query.orderBy.isEmpty());
+
+        // 分页SQL外层的子查询
+        query = IndexAdvisor.parse(Dialect.Oracle10gDialect.pagin(2, 10, "select * from user_t where age = ? order by last_name"));
+        assertEquals("user_t", query.table);
+        assertEquals(Arrays.asList("last_name"), query.orderBy);
+
+        assertNull(IndexAdvisor.parse("select * from user_t u, model_t m where u.age = m.age"));
+        assertNull(IndexAdvisor.parse("select * from user_t u join model_t m on u.age = m.age"));
+        assertNull(IndexAdvisor.parse("update user_t set age = ? where last_name = ?"));
+    }
+
+    @Test
+    @Order(2)
+    void testAdvise() {
+        IndexAdvisor advisor = new IndexAdvisor(dialect);
+        advisor.observe("select * from user_t where age = ?", 100, 0);
+        advisor.observe("select * from user_t where age = ? order by last_name", 50, 0);
+        advisor.observe("select * from user_t where last_name > ?", 20, 0);
+        // 主键第一列，已覆盖
+        advisor.observe("select * from user_t where first_name = ? order by last_name", 500, 0);
+        advisor.observe("select * from user_t where age = ? or last_name = ?", 500, 0);
+        advisor.observe("select * from no_such_t where age = ?", 500, 0);
+
+        List<IndexAdvisor.Proposal> proposals = advisor.advise(t);
+        proposals.forEach(p -> logger.info(p.toString()));
+
+        assertEquals(2, proposals.size());
+        // 前缀(age)并入(age, last_name)
+        assertEquals(Arrays.asList("age", "last_name"), proposals.get(0).getColumns());
+        assertEquals(150, proposals.get(0).getBenefit());
+        assertEquals(2, proposals.get(0).getQueries());
+        assertEquals("ix_user_t_age_last_name", proposals.get(0).getIndexName());
+        assertEquals(Arrays.asList("last_name"), proposals.get(1).getColumns());
+
+        String[] ddl = proposals.get(0).toCreateDDL(dialect);
+        assertEquals(1, ddl.length);
+        assertEquals("create  index ix_user_t_age_last_name on user_t (age,last_name)", ddl[0]);
+
+        // 已有索引覆盖时不再建议
+        TableModel indexed = TestModels.userModel();
+        indexed.index("idx_age_name").columns("age", "last_name");
+        assertEquals(Arrays.asList("last_name"), advisor.advise(indexed).get(0).getColumns());
+        assertEquals(1, advisor.advise(indexed).size());
+    }
+
+    @Test
+    @Order(3)
+    void testIndexName() {
+        assertEquals("ix_user_t_age", IndexAdvisor.indexName("user_t", Arrays.asList("age")));
+        String name = IndexAdvisor.indexName("model_column_t", Arrays.asList("column_name", "table_name"));
+        assertEquals(30, name.length());
+        assertTrue(name.startsWith("ix_model_column_t_column"));
+    }
+
+    @Test
+    @Order(4)
+    void testAdviseAndVerifyFromMetrics() throws SQLException {
+        InstrumentedDataSource instrumented = new InstrumentedDataSource(ds);
+        SqlExecutor executor = new SqlExecutor(instrumented);
+        try (Connection conn = instrumented.getConnection()) {
+            for (int i = 0; i < 30; i++) {
+                executor.query(conn, dialect.pagin(1, 10, "select * from user_t where age = ? order by last_name"),
+                        rs -> rs.getString("last_name"), i);
+            }
+            executor.query(conn, "select * from user_t where first_name = ?", rs -> rs.getString("last_name"), "Foo1");
+        }
+
+        IndexAdvisor advisor = new IndexAdvisor(dialect);
+        advisor.observe(instrumented.getMetrics());
+        try (Connection conn = ds.getConnection()) {
+            List<IndexAdvisor.Proposal> proposals = advisor.advise(conn);
+            assertEquals(1, proposals.size());
+            IndexAdvisor.Proposal proposal = proposals.get(0);
+            assertEquals(30, proposal.getExecutions());
+            assertTrue(proposal.getBenefit() > 30);
+
+            IndexAdvisor.Verification verification = advisor.verify(conn, proposal, false);
+            logger.info(verification.getBeforePlan());
+            logger.info(verification.getAfterPlan());
+            assertTrue(verification.isConfirmed());
+            assertTrue(verification.getBeforePlan().contains("tableScan"));
+
+            // 未保留索引，再次建议相同的索引
+            assertEquals(proposal.getIndexName(), advisor.advise(conn).get(0).getIndexName());
+
+            // 建索引后的EXPLAIN失败时同样删除索引
+            IndexAdvisor failing = new IndexAdvisor(dialect) {
+                private int explains;
+
+                @Override
+                String explain(Connection conn, String sql) throws SQLException {
+                    if (++explains == 2) {
+                        throw new SQLException("explain failed");
+                    }
+                    return super.explain(conn, sql);
+                }
+            };
+            assertThrows(SQLException.class, () -> failing.verify(conn, proposal, false));
+            assertEquals(proposal.getIndexName(), advisor.advise(conn).get(0).getIndexName());
+
+            advisor.verify(conn, proposal, true);
+            assertTrue(advisor.advise(conn).isEmpty());
+        }
+    }
+}
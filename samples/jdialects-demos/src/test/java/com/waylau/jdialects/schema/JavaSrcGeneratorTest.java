@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.TableModelUtils;
+import com.waylau.jdialects.TestModels;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JavaSrcGenerator test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class JavaSrcGeneratorTest {
+
+    BasicDataSource ds = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    void initData() throws SQLException {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:java_src_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+
+        new SchemaDeployer(dialect, ds).create(TestModels.modelTables());
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testIncremental() throws SQLException, IOException {
+        Path folder = tempDir.resolve("entity");
+        Map<String, Object> setting = new HashMap<String, Object>();
+        setting.put(TableModelUtils.OPT_EXCLUDE_TABLES, Arrays.asList("jdia_seq_autoid")); // 任意Collection均可
+        setting.put(TableModelUtils.OPT_PACKAGE_NAME, "somepackage");
+        setting.put(TableModelUtils.OPT_FIELDS, true);
+        setting.put(TableModelUtils.OPT_GETTER_SETTERS, true);
+        JavaSrcGenerator generator = new JavaSrcGenerator(dialect, ds).parallelism(2);
+
+        // 首次全部生成
+        JavaSrcGenerator.Result first = generator.generate(folder, setting);
+        // 与db2JavaSrcFiles()一样，H2下INFORMATION_SCHEMA中的表也会生成
+        int total = first.getWritten();
+        assertTrue(total >= 5);
+        assertEquals(total, countJavaFiles(folder));
+        assertFalse(Files.exists(folder.resolve("JdiaSeqAutoid.java")));
+        Path tableSrc = folder.resolve("ModelTableT.java");
+        assertTrue(new String(Files.readAllBytes(tableSrc), "UTF-8").contains("package somepackage;"));
+
+        // 结构和设置都未变，全部跳过，文件不被改写
+        FileTime modified = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(tableSrc, modified);
+        JavaSrcGenerator.Result second = generator.generate(folder, setting);
+        assertEquals(0, second.getWritten());
+        assertEquals(total, second.getSkipped());
+        assertEquals(modified, Files.getLastModifiedTime(tableSrc));
+
+        // 新增列只重新生成该表
+        new SqlExecutor(ds).execute("alter table model_table_t add column remark varchar(50)");
+        JavaSrcGenerator.Result third = generator.generate(folder, setting);
+        assertEquals(1, third.getWritten());
+        assertEquals(total - 1, third.getSkipped());
+        assertTrue(new String(Files.readAllBytes(tableSrc), "UTF-8").contains("remark"));
+
+        // 设置变化时全部重新计算，内容相同的文件不写入
+        setting.put(TableModelUtils.OPT_IMPORTS, "");
+        JavaSrcGenerator.Result fourth = generator.generate(folder, setting);
+        assertEquals(0, fourth.getWritten());
+        assertEquals(total, fourth.getUnchanged());
+
+        // 被删除的文件重新生成
+        Files.delete(tableSrc);
+        JavaSrcGenerator.Result fifth = generator.generate(folder, setting);
+        assertEquals(1, fifth.getWritten());
+        assertTrue(Files.exists(tableSrc));
+    }
+
+    private static long countJavaFiles(Path folder) throws IOException {
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.filter(p -> p.toString().endsWith(".java")).count();
+        }
+    }
+}
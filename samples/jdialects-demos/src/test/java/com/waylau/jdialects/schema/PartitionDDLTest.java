@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.DialectException;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.TestModels;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PartitionModel、PartitionDDL test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class PartitionDDLTest {
+
+    PartitionDDL mysql = new PartitionDDL(Dialect.MySQL8Dialect);
+
+    @Test
+    @Order(1)
+    void testRangeByMonth() {
+        TableModel t = orderModel();
+        PartitionModel partitioning = PartitionModel.rangeByMonth("created", YearMonth.of(2026, 1), 3).maxValue("p_max");
+        String[] ddls = mysql.toCreateDDL(t, partitioning);
+
+        assertEquals("create table if not exists order_t ( id bigint(255),created date,amount integer, primary key (id,created)) engine=InnoDB"
+                + " partition by range columns (created) (partition p202601 values less than ('2026-02-01'),"
+                + " partition p202602 values less than ('2026-03-01'), partition p202603 values less than ('2026-04-01'),"
+                + " partition p_max values less than maxvalue)", ddls[0]);
+        // 索引语句不变
+        assertEquals(Dialect.MySQL8Dialect.toCreateDDL(t)[1], ddls[1]);
+
+        // 滚动窗口：拆出下个月，删除最早的月份
+        YearMonth next = YearMonth.of(2026, 4);
+        assertArrayEquals(new String[]{"alter table order_t reorganize partition p_max into"
+                        + " (partition p202604 values less than ('2026-05-01'), partition p_max values less than maxvalue)"},
+                mysql.toAddPartitionDDL(t, partitioning, PartitionModel.monthPartitionName(next), PartitionModel.monthUpperBound(next)));
+        assertArrayEquals(new String[]{"alter table order_t drop partition p202601"},
+                mysql.toDropPartitionDDL(t, partitioning, "p202601"));
+        assertEquals(3, partitioning.getPartitions().size());
+        assertEquals("p202602", partitioning.getPartitions().get(0).getName());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> mysql.toAddPartitionDDL(t, partitioning, "p_old", LocalDate.of(2026, 3, 1)));
+        assertThrows(IllegalArgumentException.class, () -> mysql.toDropPartitionDDL(t, partitioning, "p_max"));
+    }
+
+    @Test
+    @Order(2)
+    void testRangeById() {
+        TableModel t = orderModel();
+        PartitionModel partitioning = PartitionModel.range("id").partition("p0", 1000000L).partition("p1", 2000000L);
+
+        assertTrue(mysql.toCreateDDL(t, partitioning)[0].endsWith(" engine=InnoDB partition by range (id)"
+                + " (partition p0 values less than (1000000), partition p1 values less than (2000000))"));
+        assertArrayEquals(new String[]{"alter table order_t add partition (partition p2 values less than (3000000))"},
+                mysql.toAddPartitionDDL(t, partitioning, "p2", 3000000L));
+        assertThrows(IllegalArgumentException.class, () -> mysql.toAddPartitionDDL(t, partitioning, "p3", "x"));
+    }
+
+    @Test
+    @Order(3)
+    void testHash() {
+        TableModel t = orderModel();
+
+        assertTrue(mysql.toCreateDDL(t, PartitionModel.hash("id", 8))[0].endsWith(" partition by hash (id) partitions 8"));
+        assertTrue(new PartitionDDL(Dialect.MariaDB103Dialect).toCreateDDL(TestModels.userModel(),
+                PartitionModel.hash("first_name", 4))[0].endsWith(" partition by key (first_name) partitions 4"));
+        assertThrows(IllegalArgumentException.class,
+                () -> mysql.toAddPartitionDDL(t, PartitionModel.hash("id", 8), "p9", 1L));
+    }
+
+    @Test
+    @Order(4)
+    void testInvalid() {
+        TableModel t = orderModel();
+
+        // 主键不包含分区列
+        assertThrows(IllegalArgumentException.class, () -> mysql.toCreateDDL(t, PartitionModel.hash("amount", 4)));
+        assertThrows(IllegalArgumentException.class, () -> mysql.toCreateDDL(t, PartitionModel.hash("no_such", 4)));
+        assertThrows(IllegalArgumentException.class, () -> mysql.toCreateDDL(t, PartitionModel.range("id")));
+        assertThrows(IllegalArgumentException.class,
+                () -> PartitionModel.range("id").partition("p1", 10L).partition("p0", 5L));
+
+        // 唯一索引不包含分区列，普通索引不受限制
+        TableModel uniqueIndexed = orderModel();
+        uniqueIndexed.index("uk_amount").columns("amount").unique();
+        assertThrows(IllegalArgumentException.class, () -> mysql.toCreateDDL(uniqueIndexed, PartitionModel.hash("id", 4)));
+        TableModel partitionedIndex = orderModel();
+        partitionedIndex.index("uk_amount_id").columns("amount", "id").unique();
+        assertTrue(String.join(";", mysql.toCreateDDL(partitionedIndex, PartitionModel.hash("id", 4)))
+                .contains("partition by hash (id)"));
+
+        // H2没有表分区，PostgreSQL方言早于声明式分区
+        DialectException e = assertThrows(DialectException.class,
+                () -> new PartitionDDL(Dialect.H2Dialect).toCreateDDL(t, PartitionModel.hash("id", 4)));
+        assertTrue(e.getMessage().contains("H2Dialect does not support partitioned tables"));
+        assertThrows(DialectException.class, () -> new PartitionDDL(Dialect.PostgreSQL95Dialect)
+                .toDropPartitionDDL(t, PartitionModel.range("id").partition("p0", 1L), "p0"));
+        assertFalse(PartitionDDL.supportsPartitioning(Dialect.H2Dialect));
+    }
+
+    private static TableModel orderModel() {
+        TableModel t = new TableModel("order_t");
+        t.column("id").LONG().pkey();
+        t.column("created").DATE().pkey();
+        t.column("amount").INTEGER();
+        t.index("idx_amount").columns("amount");
+        return t;
+    }
+}
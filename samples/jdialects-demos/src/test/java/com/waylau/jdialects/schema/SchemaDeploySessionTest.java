@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.TableModelUtils;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.TestModels;
+import com.waylau.jdialects.metrics.InstrumentedDataSource;
+import com.waylau.jdialects.metrics.StatementSnapshot;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SchemaDeploySession test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class SchemaDeploySessionTest {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    BasicDataSource ds = null;
+
+    InstrumentedDataSource instrumented = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    @BeforeAll
+    void initData() {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:deploy_session_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+
+        instrumented = new InstrumentedDataSource(ds);
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testCreateInOneRoundTrip() throws SQLException {
+        instrumented.getMetrics().reset();
+        try (SchemaDeploySession session = new SchemaDeploySession(dialect, instrumented)) {
+            SchemaDeploySession.Report report = session.create(TestModels.modelTables());
+            logger.info(report.toString());
+
+            assertEquals(dialect.toCreateDDL(TestModels.modelTables()).length, report.getStatementCount());
+            assertEquals(1, report.getRoundTrips());
+            // H2的DDL隐式提交
+            assertFalse(report.isTransactional());
+            assertFalse(session.isTransactional());
+        }
+        assertEquals(1, executions());
+        assertEquals(0, ds.getNumActive());
+
+        try (Connection conn = ds.getConnection()) {
+            int tables = 0;
+            for (TableModel model : TableModelUtils.db2Models(conn, dialect)) {
+                tables += model.getTableName().toLowerCase().startsWith("model_") ? 1 : 0;
+            }
+            assertEquals(5, tables);
+        }
+    }
+
+    @Test
+    @Order(2)
+    void testOneConnectionPerStatementTimings() throws SQLException {
+        instrumented.getMetrics().reset();
+        try (SchemaDeploySession session = new SchemaDeploySession(dialect, instrumented).batchSize(1)) {
+            SchemaDeploySession.Report drop = session.drop(TestModels.modelTables());
+            // 整个部署只占用一个连接
+            assertEquals(1, ds.getNumActive());
+            SchemaDeploySession.Report create = session.create(TestModels.modelTables());
+            assertEquals(1, ds.getNumActive());
+            create.getSteps().forEach(step -> logger.info(step.toString()));
+
+            assertEquals(drop.getStatementCount(), drop.getRoundTrips());
+            assertEquals(create.getStatementCount(), create.getRoundTrips());
+            for (SchemaDeploySession.Step step : create.getSteps()) {
+                assertEquals(1, step.getStatements().size());
+                assertTrue(step.getNanos() > 0);
+            }
+            assertEquals(drop.getRoundTrips() + create.getRoundTrips(), executions());
+        }
+        assertEquals(0, ds.getNumActive());
+    }
+
+    @Test
+    @Order(3)
+    void testFailFast() throws SQLException {
+        String[] ddls = {"create table fail_a_t (id int)", "create table model_table_t (id int)",
+                "create table fail_b_t (id int)"};
+        try (SchemaDeploySession session = new SchemaDeploySession(dialect, ds).batchSize(1)) {
+            SchemaDeploySession.DeployException e = assertThrows(SchemaDeploySession.DeployException.class,
+                    () -> session.execute(ddls));
+            logger.info(e.getMessage());
+            assertEquals(1, e.getFailedIndex());
+            assertEquals(ddls[1], e.getFailedStatement());
+            assertEquals(1, e.getReport().getStatementCount());
+            assertFalse(e.isRolledBack());
+
+            // 失败后不再执行后续语句，会话仍可继续使用
+            assertThrows(SQLException.class, () -> session.execute("select count(*) from fail_b_t"));
+            session.execute("drop table fail_a_t");
+        }
+    }
+
+    @Test
+    @Order(4)
+    void testFailFastInBatch() throws SQLException {
+        String[] ddls = {"create table fail_c_t (id int)", "create table fail_d_t (id int)",
+                "create table model_table_t (id int)", "create table fail_e_t (id int)"};
+        try (SchemaDeploySession session = new SchemaDeploySession(dialect, ds).batchSize(2)) {
+            SchemaDeploySession.DeployException e = assertThrows(SchemaDeploySession.DeployException.class,
+                    () -> session.execute(ddls));
+            assertEquals(2, e.getFailedIndex());
+            assertEquals(ddls[2], e.getFailedStatement());
+            assertEquals(2, e.getReport().getRoundTrips());
+
+            // H2在批次内出错后继续执行其余语句，fail_e_t已经创建，report中也要有
+            List<String> executed = e.getReport().getSteps().get(1).getStatements();
+            assertEquals(Collections.singletonList(ddls[3]), executed);
+            assertEquals(3, e.getReport().getStatementCount());
+            session.execute("select count(*) from fail_e_t");
+
+            session.execute("drop table fail_c_t", "drop table fail_d_t", "drop table fail_e_t");
+        }
+    }
+
+    private long executions() {
+        long executions = 0;
+        for (StatementSnapshot statement : instrumented.getMetrics().snapshot()) {
+            executions += statement.getExecutions();
+        }
+        return executions;
+    }
+}
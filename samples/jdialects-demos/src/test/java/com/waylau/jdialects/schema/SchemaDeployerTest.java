@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.TestModels;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SchemaDeployer test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class SchemaDeployerTest {
+
+    BasicDataSource ds = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    @BeforeAll
+    void initData() {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:deployer_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+        ds.setMaxTotal(8);
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testWaves() {
+        TableModel[] models = TestModels.modelTables();
+        List<List<TableModel>> waves = TableDependencies.waves(models[1], models[2], models[0], models[3], models[4]);
+
+        assertEquals(2, waves.size());
+        assertEquals("model_table_t", waves.get(0).get(0).getTableName());
+        assertEquals(4, waves.get(1).size());
+
+        // a <- b <- c
+        TableModel a = new TableModel("a_t");
+        a.column("id").LONG().pkey();
+        TableModel b = new TableModel("b_t");
+        b.column("id").LONG().pkey();
+        b.column("a_id").LONG();
+        b.fkey().columns("a_id").refs("A_T", "id");
+        TableModel c = new TableModel("c_t");
+        c.column("id").LONG().pkey();
+        c.column("b_id").LONG();
+        c.fkey().columns("b_id").refs("b_t", "id");
+
+        assertEquals("[[a_t], [b_t], [c_t]]", names(TableDependencies.waves(c, b, a)));
+    }
+
+    @Test
+    @Order(2)
+    void testCycle() {
+        TableModel a = new TableModel("a_t");
+        a.column("id").LONG().pkey();
+        a.column("b_id").LONG();
+        a.fkey().columns("b_id").refs("b_t", "id");
+        TableModel b = new TableModel("b_t");
+        b.column("id").LONG().pkey();
+        b.column("a_id").LONG();
+        b.fkey().columns("a_id").refs("a_t", "id");
+
+        assertThrows(IllegalArgumentException.class, () -> TableDependencies.waves(a, b));
+    }
+
+    @Test
+    @Order(3)
+    void testCreateAndDrop() throws SQLException {
+        TableModel[] models = TestModels.modelTables();
+        SchemaDeployer deployer = new SchemaDeployer(dialect, ds).parallelism(4);
+
+        // 五个表共用jdia_seq_autoid序列，只会创建一次
+        deployer.create(models);
+        assertEquals(5, countTables());
+        assertEquals(4, countForeignKeys());
+
+        deployer.drop(models);
+        assertEquals(0, countTables());
+    }
+
+    @Test
+    @Order(4)
+    void testCreateInWaves() throws SQLException {
+        TableModel[] models = TestModels.modelTables();
+        SchemaDeployer deployer = new SchemaDeployer(dialect, ds).parallelism(4).deferConstraints(false);
+
+        deployer.create(models[4], models[3], models[2], models[1], models[0]);
+        assertEquals(5, countTables());
+        assertEquals(4, countForeignKeys());
+
+        deployer.drop(models);
+        assertEquals(0, countTables());
+    }
+
+    @Test
+    @Order(5)
+    void testFailFast() {
+        TableModel t = new TableModel("bad_t");
+        t.column("id").LONG().pkey();
+        t.fkey().columns("id").refs("not_exist_t", "id");
+
+        assertThrows(SQLException.class, () -> new SchemaDeployer(dialect, ds).create(TestModels.userModel(), t));
+    }
+
+    private int countTables() throws SQLException {
+        try (Connection conn = ds.getConnection();
+             ResultSet rs = conn.createStatement().executeQuery(
+                     "select count(*) from information_schema.tables where table_name like 'MODEL_%_T'")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private int countForeignKeys() throws SQLException {
+        try (Connection conn = ds.getConnection();
+             ResultSet rs = conn.createStatement().executeQuery(
+                     "select count(*) from information_schema.table_constraints where constraint_type = 'FOREIGN KEY'")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static String names(List<List<TableModel>> waves) {
+        List<List<String>> names = new ArrayList<List<String>>();
+        for (List<TableModel> wave : waves) {
+            List<String> waveNames = new ArrayList<String>();
+            for (TableModel model : wave) {
+                waveNames.add(model.getTableName());
+            }
+            names.add(waveNames);
+        }
+        return names.toString();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.TestModels;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SchemaDiff test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class SchemaDiffTest {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    BasicDataSource ds = null;
+
+    SqlExecutor executor = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    SchemaDiff schemaDiff = new SchemaDiff(dialect);
+
+    @BeforeAll
+    void initData() throws SQLException {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:diff_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+
+        executor = new SqlExecutor(ds);
+        new SchemaDeployer(dialect, ds).create(TestModels.modelTables());
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testUnchanged() throws SQLException {
+        try (Connection conn = ds.getConnection()) {
+            assertEquals(0, schemaDiff.diff(conn, TestModels.modelTables()).length);
+        }
+    }
+
+    @Test
+    @Order(2)
+    void testAddAndDrop() throws SQLException {
+        TableModel[] models = changedModels();
+
+        try (Connection conn = ds.getConnection()) {
+            List<String> ddl = Arrays.asList(schemaDiff.diff(conn, models));
+            ddl.forEach(logger::info);
+
+            assertTrue(ddl.contains("alter table MODEL_COLUMN_T drop column TAIL"));
+            assertTrue(ddl.contains("alter table model_column_t add column remark varchar(50)"));
+            assertTrue(ddl.contains("create  index ix_column_name on model_column_t (column_name)"));
+            assertTrue(ddl.contains("alter table model_column_t add constraint uk_entity_field unique (entity_field)"));
+            // 已有表使用了jdia_seq_autoid，新表不再创建序列
+            assertEquals(1, ddl.stream().filter(s -> s.startsWith("create table")).count());
+            assertFalse(ddl.stream().anyMatch(s -> s.contains("jdia_seq_autoid")));
+            assertEquals(2, ddl.stream().filter(s -> s.contains("foreign key")).count());
+            assertEquals(1, ddl.stream().filter(s -> s.contains("drop constraint")).count());
+            assertEquals(8, ddl.size());
+
+            for (String s : ddl) {
+                executor.execute(conn, s);
+            }
+            assertEquals(0, schemaDiff.diff(conn, changedModels()).length);
+        }
+    }
+
+    @Test
+    @Order(3)
+    void testDropIndexes() throws SQLException {
+        TableModel[] models = changedModels();
+        models[1].getIndexConsts().clear();
+        models[1].getUniqueConsts().clear();
+
+        try (Connection conn = ds.getConnection()) {
+            List<String> ddl = Arrays.asList(schemaDiff.diff(conn, models));
+
+            assertEquals(Arrays.asList("drop index IX_COLUMN_NAME",
+                    "alter table MODEL_COLUMN_T drop constraint UK_ENTITY_FIELD"), ddl);
+
+            for (String s : ddl) {
+                executor.execute(conn, s);
+            }
+            assertEquals(0, schemaDiff.diff(conn, models).length);
+        }
+    }
+
+    @Test
+    @Order(4)
+    void testFingerprint() {
+        TableModel a = TestModels.modelColumnModel();
+        TableModel b = TestModels.modelColumnModel();
+        assertEquals(SchemaDiff.fingerprint(a), SchemaDiff.fingerprint(b));
+
+        // 名称大小写、外键名不影响指纹
+        b.setTableName("MODEL_COLUMN_T");
+        b.getFkeyConstraints().get(0).setFkeyName("fk_other");
+        assertEquals(SchemaDiff.fingerprint(a), SchemaDiff.fingerprint(b));
+
+        b.column("remark").VARCHAR(50);
+        assertNotEquals(SchemaDiff.fingerprint(a), SchemaDiff.fingerprint(b));
+    }
+
+    @Test
+    @Order(5)
+    void testManyTables() {
+        int count = 5000;
+        TableModel[] live = new TableModel[count];
+        TableModel[] target = new TableModel[count];
+        for (int i = 0; i < count; i++) {
+            TableModel model = TestModels.modelColumnModel();
+            model.setTableName("model_column_" + i);
+            target[i] = model;
+            live[i] = model.newCopy();
+        }
+        target[count - 1].column("remark").VARCHAR(50);
+
+        long start = System.nanoTime();
+        String[] ddl = schemaDiff.diff(live, target);
+        logger.info("diff {} tables in {} ms", count, (System.nanoTime() - start) / 1000000);
+
+        assertArrayEquals(new String[]{"alter table model_column_" + (count - 1) + " add column remark varchar(50)"}, ddl);
+    }
+
+    /**
+     * model_column_t删除tail列、新增remark列、索引和唯一约束，model_unique_t去掉外键，新增model_remark_t表
+     */
+    private static TableModel[] changedModels() {
+        TableModel[] models = TestModels.modelTables();
+        TableModel column = models[1];
+        column.removeColumn("tail");
+        column.column("remark").VARCHAR(50);
+        column.index("ix_column_name").columns("column_name");
+        column.unique("uk_entity_field").columns("entity_field");
+
+        models[3].getFkeyConstraints().clear();
+
+        TableModel remark = new TableModel("model_remark_t");
+        remark.column("model_remark_id").LONG().pkey().autoId();
+        remark.column("content").VARCHAR(200);
+        remark.column("model_table_id").LONG();
+        remark.column("model_column_id").LONG();
+        remark.fkey().columns("model_table_id").refs("model_table_t", "model_table_id");
+        remark.fkey().columns("model_column_id").refs("model_column_t", "model_column_id");
+
+        TableModel[] result = Arrays.copyOf(models, models.length + 1);
+        result[models.length] = remark;
+        return result;
+    }
+}
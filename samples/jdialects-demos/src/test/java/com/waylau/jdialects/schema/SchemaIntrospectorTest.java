@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.TableModelUtils;
+import com.github.drinkjava2.jdialects.model.ColumnModel;
+import com.github.drinkjava2.jdialects.model.FKeyModel;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.TestModels;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SchemaIntrospector test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class SchemaIntrospectorTest {
+
+    BasicDataSource ds = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    @BeforeAll
+    void initData() throws SQLException {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:introspector_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+        ds.setMaxTotal(8);
+
+        TableModel[] models = TestModels.modelTables();
+        models[1].index("ix_column_name").columns("column_name");
+        new SchemaDeployer(dialect, ds).create(models);
+        for (int i = 0; i < 50; i++) {
+            TableModel t = TestModels.userModel();
+            t.setTableName("user_" + i + "_t");
+            new SqlExecutor(ds).execute(dialect.toCreateDDL(t));
+        }
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testSameAsDb2Models() throws SQLException {
+        TableModel[] expected;
+        try (Connection conn = ds.getConnection()) {
+            expected = TableModelUtils.db2Models(conn, dialect);
+        }
+        TableModel[] actual = new SchemaIntrospector(dialect, ds).parallelism(4).includeIndexes(false).db2Models();
+
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(describe(expected[i]), describe(actual[i]));
+        }
+    }
+
+    @Test
+    @Order(2)
+    void testProgressAndIndexes() throws SQLException {
+        AtomicInteger calls = new AtomicInteger();
+        Set<String> threads = Collections.synchronizedSet(new HashSet<String>());
+        int[] last = new int[2];
+        TableModel[] models = new SchemaIntrospector(dialect, ds).parallelism(4)
+                .listener((model, loaded, total, elapsedNanos) -> {
+                    calls.incrementAndGet();
+                    threads.add(Thread.currentThread().getName());
+                    if (loaded == total) {
+                        last[0] = loaded;
+                        last[1] = total;
+                    }
+                }).db2Models();
+
+        assertEquals(models.length, calls.get());
+        assertEquals(models.length, last[0]);
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("schema-introspector-")));
+
+        TableModel column = Arrays.stream(models).filter(m -> m.getTableName().equals("MODEL_COLUMN_T")).findFirst().get();
+        assertEquals(1, column.getIndexConsts().size());
+        assertEquals("IX_COLUMN_NAME", column.getIndexConsts().get(0).getName());
+    }
+
+    private static String describe(TableModel model) {
+        StringBuilder sb = new StringBuilder(model.getTableName()).append(':');
+        for (ColumnModel col : model.getColumns()) {
+            sb.append(col.getColumnName()).append(' ').append(col.getColumnType()).append(' ').append(col.getLength())
+                    .append(' ').append(col.getPrecision()).append(' ').append(col.getScale()).append(' ')
+                    .append(col.getNullable()).append(' ').append(col.getPkey()).append(',');
+        }
+        for (FKeyModel fkey : model.getFkeyConstraints()) {
+            sb.append(fkey.getFkeyName()).append(fkey.getColumnNames()).append(Arrays.toString(fkey.getRefTableAndColumns()));
+        }
+        return sb.toString();
+    }
+}
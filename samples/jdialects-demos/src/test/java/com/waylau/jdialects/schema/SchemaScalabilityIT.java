@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.TableModelUtils;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.sun.management.ThreadMXBean;
+import com.waylau.jdialects.SyntheticSchema;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 大规模表结构的扩展性测试：分别用100、1000、10000个表测量toCreateDDL、toDropDDL、在H2上执行DDL
+ * 和TableModelUtils.db2Models的耗时、分配量和存活堆，耗时或分配量的增长超过线性（指数超过阈值）、
+ * 或者存活堆超过预算时失败。分配量逐个比较相邻规模；耗时受CPU缓存和GC影响，小规模时偏快，
+ * 用全部规模在对数坐标上拟合的斜率作为指数。
+ * <p>
+ * 已知问题：H2按表名查询元数据时扫描全部表，逐表读取的db2Models整体为平方增长（实测n^1.4～n^1.9，10000个表11～15秒），
+ * 所以db2Models的增长指数单独放宽到2.0（见ALLOWANCES），只防止进一步恶化，存活堆预算不放宽；大库启动请用SchemaSnapshotCache。
+ * <p>
+ * 运行：mvn -Pscalability verify，可用系统属性调整：
+ * <ul>
+ * <li>scalability.sizes 表数量，默认100,1000,10000</li>
+ * <li>scalability.maxExponent 允许的增长指数，默认1.15（1为线性，超出的部分只用于容忍测量抖动）</li>
+ * <li>scalability.maxExponent.阶段名 某一阶段允许的增长指数，如scalability.maxExponent.db2Models=1.15</li>
+ * <li>scalability.heapBudgetMb 存活堆预算，默认512</li>
+ * </ul>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+class SchemaScalabilityIT {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final long SEED = 20261018L;
+
+    /**
+     * 小于该耗时的测量按该值计算增长，避免毫秒级的抖动被当作超线性增长
+     */
+    private static final double MIN_MILLIS = 20;
+
+    /**
+     * 小规模的测量重复执行取最小值，总量约为该表数
+     */
+    private static final int REPEAT_TABLES = 3000;
+
+    /**
+     * 每个规模至少执行的次数，单次测量受GC影响，阈值接近1时会误报
+     */
+    private static final int MIN_REPEATS = 3;
+
+    private static final String[] PHASES = {"toCreateDDL", "toDropDDL", "h2Execute", "db2Models"};
+
+    /**
+     * 已知超线性的阶段及其允许的增长指数，原因见类注释，问题修复后删除
+     */
+    private static final Map<String, Double> ALLOWANCES = Collections.singletonMap("db2Models", 2.0);
+
+    private final Dialect dialect = Dialect.H2Dialect;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private int[] sizes;
+
+    private final Map<String, Double> maxExponents = new HashMap<String, Double>();
+
+    private long heapBudget;
+
+    private int databases;
+
+    @BeforeAll
+    void init() throws SQLException {
+        Dialect.setGlobalAllowShowSql(false);
+        String[] values = System.getProperty("scalability.sizes", "100,1000,10000").split(",");
+        sizes = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            sizes[i] = Integer.parseInt(values[i].trim());
+        }
+        String maxExponent = System.getProperty("scalability.maxExponent", "1.15");
+        for (String phase : PHASES) {
+            String allowance = ALLOWANCES.containsKey(phase) ? String.valueOf(ALLOWANCES.get(phase)) : maxExponent;
+            maxExponents.put(phase, Double.parseDouble(System.getProperty("scalability.maxExponent." + phase, allowance)));
+        }
+        heapBudget = Long.getLong("scalability.heapBudgetMb", 512L) * 1024 * 1024;
+
+        // 预热，结果不计入
+        measure(sizes[0]);
+    }
+
+    @Test
+    void testScalability() throws SQLException {
+        List<Map<String, Measurement>> results = new ArrayList<Map<String, Measurement>>();
+        for (int size : sizes) {
+            Map<String, Measurement> result = measure(size);
+            results.add(result);
+            for (Measurement m : result.values()) {
+                logger.info(String.format("%6d tables %-12s %9.1f ms %9.1f MB allocated %7.1f MB live", size, m.phase,
+                        m.millis, m.allocated / 1048576.0, m.live / 1048576.0));
+            }
+        }
+
+        List<String> failures = new ArrayList<String>();
+        for (int i = 0; i < sizes.length; i++) {
+            for (Measurement m : results.get(i).values()) {
+                if (m.live > heapBudget) {
+                    failures.add(String.format("%s at %d tables: live heap %.1f MB exceeds budget %.1f MB", m.phase,
+                            sizes[i], m.live / 1048576.0, heapBudget / 1048576.0));
+                }
+                if (i == 0) {
+                    continue;
+                }
+                Measurement previous = results.get(i - 1).get(m.phase);
+                double allocationExponent = exponent(previous.allocated, m.allocated, sizes[i - 1], sizes[i]);
+                logger.info(String.format("%-12s allocation n^%.2f from %d to %d tables (limit n^%.2f)", m.phase,
+                        allocationExponent, sizes[i - 1], sizes[i], maxExponents.get(m.phase)));
+                if (allocationExponent > maxExponents.get(m.phase)) {
+                    failures.add(String.format("%s allocation grows as n^%.2f from %d to %d tables (%.1f MB -> %.1f MB)",
+                            m.phase, allocationExponent, sizes[i - 1], sizes[i], previous.allocated / 1048576.0,
+                            m.allocated / 1048576.0));
+                }
+            }
+        }
+        if (sizes.length > 1) {
+            for (String phase : results.get(0).keySet()) {
+                double[] millis = new double[sizes.length];
+                for (int i = 0; i < sizes.length; i++) {
+                    millis[i] = Math.max(results.get(i).get(phase).millis, MIN_MILLIS);
+                }
+                double timeExponent = fittedExponent(sizes, millis);
+                logger.info(String.format("%-12s time n^%.2f (limit n^%.2f)", phase, timeExponent, maxExponents.get(phase)));
+                if (timeExponent > maxExponents.get(phase)) {
+                    failures.add(String.format("%s time grows as n^%.2f from %d to %d tables (%.1f ms -> %.1f ms)",
+                            phase, timeExponent, sizes[0], sizes[sizes.length - 1], results.get(0).get(phase).millis,
+                            results.get(sizes.length - 1).get(phase).millis));
+                }
+            }
+        }
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    /**
+     * 对一个规模执行全部阶段，至少重复MIN_REPEATS次，每个阶段取耗时最小的一次
+     */
+    private Map<String, Measurement> measure(int size) throws SQLException {
+        TableModel[] models = SyntheticSchema.tables(size, SEED);
+        Map<String, Measurement> best = new LinkedHashMap<String, Measurement>();
+        int repeats = Math.max(MIN_REPEATS, REPEAT_TABLES / size);
+        for (int r = 0; r < repeats; r++) {
+            for (Measurement m : run(models)) {
+                Measurement b = best.get(m.phase);
+                if (b == null || m.millis < b.millis) {
+                    best.put(m.phase, m);
+                }
+            }
+        }
+        return best;
+    }
+
+    private List<Measurement> run(TableModel[] models) throws SQLException {
+        List<Measurement> measurements = new ArrayList<Measurement>();
+
+        Phase phase = start(PHASES[0]);
+        String[] createDDL = dialect.toCreateDDL(models);
+        measurements.add(phase.stop());
+
+        phase = start(PHASES[1]);
+        String[] dropDDL = dialect.toDropDDL(models);
+        measurements.add(phase.stop());
+        assertTrue(dropDDL.length >= models.length);
+
+        Connection conn = DriverManager.getConnection("jdbc:h2:mem:scalability_" + (databases++), "sa", "");
+        try {
+            phase = start(PHASES[2]);
+            try (Statement st = conn.createStatement()) {
+                for (String ddl : createDDL) {
+                    st.execute(ddl);
+                }
+            }
+            measurements.add(phase.stop());
+
+            phase = start(PHASES[3]);
+            TableModel[] live = TableModelUtils.db2Models(conn, dialect);
+            measurements.add(phase.stop());
+            // H2 2.x的db2Models还会返回INFORMATION_SCHEMA中的若干系统表
+            int synthetic = 0;
+            for (TableModel model : live) {
+                synthetic += model.getTableName().toLowerCase().startsWith("syn_") ? 1 : 0;
+            }
+            assertEquals(models.length, synthetic);
+        } finally {
+            // 内存库随最后一个连接关闭而删除
+            conn.close();
+        }
+        return measurements;
+    }
+
+    private Phase start(String name) {
+        System.gc();
+        return new Phase(name, allocatedBytes());
+    }
+
+    /**
+     * 当前线程累计分配的字节数，H2内存库在调用线程中执行，也计算在内
+     */
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static double exponent(double before, double after, int sizeBefore, int sizeAfter) {
+        return Math.log(after / before) / Math.log((double) sizeAfter / sizeBefore);
+    }
+
+    /**
+     * log(values)对log(sizes)的最小二乘斜率
+     */
+    private static double fittedExponent(int[] sizes, double[] values) {
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            meanX += Math.log(sizes[i]) / sizes.length;
+            meanY += Math.log(values[i]) / sizes.length;
+        }
+        double sxy = 0;
+        double sxx = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            double dx = Math.log(sizes[i]) - meanX;
+            sxy += dx * (Math.log(values[i]) - meanY);
+            sxx += dx * dx;
+        }
+        return sxy / sxx;
+    }
+
+    private final class Phase {
+
+        private final String name;
+
+        private final long startAllocated;
+
+        private final long startNanos;
+
+        Phase(String name, long startAllocated) {
+            this.name = name;
+            this.startAllocated = startAllocated;
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * 阶段结束时结果仍被引用，GC后的已用堆即为此时的存活堆
+         */
+        Measurement stop() {
+            double millis = (System.nanoTime() - startNanos) / 1e6;
+            long allocated = allocatedBytes() - startAllocated;
+            System.gc();
+            return new Measurement(name, millis, allocated, memory.getHeapMemoryUsage().getUsed());
+        }
+    }
+
+    private static final class Measurement {
+
+        final String phase;
+
+        final double millis;
+
+        final long allocated;
+
+        final long live;
+
+        Measurement(String phase, double millis, long allocated, long live) {
+            this.phase = phase;
+            this.millis = millis;
+            this.allocated = allocated;
+            this.live = live;
+        }
+    }
+}
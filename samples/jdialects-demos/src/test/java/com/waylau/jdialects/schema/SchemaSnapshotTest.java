@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.schema;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.ColumnModel;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.TestModels;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SchemaSnapshot、SchemaSnapshotCache test
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class SchemaSnapshotTest {
+
+    BasicDataSource ds = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    void initData() throws SQLException {
+        // 使用H2数据库
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:mem:snapshot_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+
+        new SchemaDeployer(dialect, ds).create(TestModels.modelTables());
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testWriteAndOpen() throws IOException {
+        TableModel[] models = TestModels.modelTables();
+        models[1].index("ix_column_name").columns("column_name").unique();
+        models[1].unique("uk_entity_field").columns("entity_field");
+        models[1].getColumn("column_name").setComment("列名");
+
+        Path file = tempDir.resolve("models.snapshot");
+        SchemaSnapshot.write(file, dialect.getName(), 42L, models);
+        SchemaSnapshot snapshot = SchemaSnapshot.open(file);
+
+        assertEquals(42L, snapshot.getVersion());
+        assertEquals("H2Dialect", snapshot.getDialectName());
+        assertEquals(5, snapshot.size());
+        assertEquals(0, snapshot.decodedCount());
+
+        // 只解码访问到的表
+        TableModel column = snapshot.get("MODEL_COLUMN_T");
+        assertEquals(1, snapshot.decodedCount());
+        assertSame(column, snapshot.get("model_column_t"));
+        assertNull(snapshot.get("not_exist_t"));
+
+        assertEquals(SchemaDiff.fingerprint(models[1]), SchemaDiff.fingerprint(column));
+        assertEquals(models[1].getColumns().size(), column.getColumns().size());
+        ColumnModel columnName = column.getColumn("column_name");
+        assertEquals(Integer.valueOf(50), columnName.getLength());
+        assertEquals("列名", columnName.getComment());
+        assertEquals(Boolean.TRUE, column.getColumn("model_column_id").getPkey());
+        assertEquals("fk_model_table_id_model_column_t_model_table_t", column.getFkeyConstraints().get(0).getFkeyName());
+        assertEquals(Boolean.TRUE, column.getIndexConsts().get(0).getUnique());
+
+        assertEquals(5, snapshot.models().length);
+        assertEquals(5, snapshot.decodedCount());
+    }
+
+    @Test
+    @Order(2)
+    void testNotSnapshot() throws IOException {
+        Path file = tempDir.resolve("bad.snapshot");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IOException.class, () -> SchemaSnapshot.open(file));
+        assertFalse(SchemaSnapshot.matches(file, dialect.getName(), 0));
+    }
+
+    @Test
+    @Order(3)
+    void testMatches() throws IOException {
+        Path file = tempDir.resolve("header.snapshot");
+        SchemaSnapshot.write(file, dialect.getName(), 42L, TestModels.modelTables());
+
+        assertTrue(SchemaSnapshot.matches(file, "H2Dialect", 42L));
+        assertFalse(SchemaSnapshot.matches(file, "H2Dialect", 43L));
+        assertFalse(SchemaSnapshot.matches(file, "MySQL8Dialect", 42L));
+    }
+
+    @Test
+    @Order(4)
+    void testCache() throws SQLException, IOException {
+        Path file = tempDir.resolve("db.snapshot");
+        SchemaSnapshotCache cache = new SchemaSnapshotCache(dialect, ds, file);
+
+        SchemaSnapshot first = cache.load();
+        assertNotNull(first.get("model_table_t"));
+        long modified = Files.getLastModifiedTime(file).toMillis();
+
+        // 结构未变，直接使用快照
+        SchemaSnapshot second = cache.load();
+        assertEquals(first.getVersion(), second.getVersion());
+        assertEquals(modified, Files.getLastModifiedTime(file).toMillis());
+
+        // 新增列后版本变化，重新读取
+        new SqlExecutor(ds).execute("alter table model_table_t add column remark varchar(50)");
+        SchemaSnapshot third = cache.load();
+        assertNotEquals(first.getVersion(), third.getVersion());
+        assertNotNull(third.get("model_table_t").getColumnByColName("REMARK"));
+    }
+
+    @Test
+    @Order(5)
+    void testVersionQuery() throws SQLException, IOException {
+        new SqlExecutor(ds).execute("create table schema_version_t (version int)", "insert into schema_version_t values (7)");
+        SchemaSnapshotCache cache = new SchemaSnapshotCache(dialect, ds, tempDir.resolve("version.snapshot"))
+                .versionQuery("select max(version) from schema_version_t");
+
+        assertEquals(7L, cache.load().getVersion());
+    }
+}
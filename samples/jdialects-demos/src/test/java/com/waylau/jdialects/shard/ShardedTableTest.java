@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.shard;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.DialectException;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.TestModels;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ShardedTable test，3个H2内存库作为分片，另用一个库保存全部数据作为对照
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class ShardedTableTest {
+
+    private static final int SHARDS = 3;
+
+    private static final int ROWS = 250;
+
+    BasicDataSource[] shardDs = new BasicDataSource[SHARDS];
+
+    BasicDataSource ds = null;
+
+    ExecutorService executorService = Executors.newFixedThreadPool(SHARDS);
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    TableModel t = TestModels.userModel();
+
+    ShardedTable users = null;
+
+    @BeforeAll
+    void initData() throws SQLException {
+        // 使用H2数据库
+        for (int i = 0; i < SHARDS; i++) {
+            shardDs[i] = dataSource("jdbc:h2:mem:shard_db_" + i);
+        }
+        ds = dataSource("jdbc:h2:mem:unsharded_db");
+        new SqlExecutor(ds).execute(dialect.toCreateDDL(t));
+
+        // H2默认按Java字符串顺序比较VARCHAR，null排在最前
+        users = ShardedTable.ofDatabases(dialect, t, "last_name", shardDs).executorService(executorService)
+                .orderBy(ShardedTable.naturalOrder(true), "first_name", "last_name");
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        executorService.shutdown();
+        for (BasicDataSource shard : shardDs) {
+            if (shard != null) {
+                shard.close();
+            }
+        }
+        if (ds != null) {
+            ds.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testCreateDDL() throws SQLException {
+        TableModel indexed = TestModels.userModel();
+        indexed.index("idx_age").columns("age");
+        ShardedTable tables = ShardedTable.ofTables(dialect, indexed, "first_name", ds, 2);
+        List<String[]> ddls = tables.toCreateDDL();
+
+        assertEquals(2, ddls.size());
+        assertTrue(String.join(";", ddls.get(1)).contains("user_t_1"));
+        assertTrue(String.join(";", ddls.get(1)).contains("idx_age_1"));
+        // 原模型不受影响
+        assertEquals("idx_age", indexed.getIndexConsts().get(0).getName());
+        // 同一库中两张分片表及其索引不重名
+        tables.createTables();
+
+        users.createTables();
+    }
+
+    @Test
+    @Order(2)
+    void testInsert() throws SQLException {
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{"Foo" + (i % 17), String.format("Bar%03d", i), i % 50});
+        }
+        try (Connection conn = ds.getConnection()) {
+            new BatchInserter(dialect, t).insert(conn, rows);
+        }
+
+        assertEquals(ROWS, users.insert(rows));
+        long total = 0;
+        for (Shard shard : users.getShards()) {
+            long count = count(shard);
+            // 每个分片都有数据
+            assertTrue(count > 0);
+            total += count;
+        }
+        assertEquals(ROWS, total);
+        assertSame(users.shardFor("Bar007"), users.shardFor("Bar007"));
+        assertEquals(1, users.shardFor(4L).getIndex());
+    }
+
+    @Test
+    @Order(3)
+    void testQueryPage() throws SQLException {
+        for (int page = 1; page <= 13; page++) {
+            assertEquals(expected("select * from user_t order by first_name, last_name", page, 20),
+                    users.queryPage(page, 20, null, rs -> rs.getString("first_name") + "," + rs.getString("last_name")),
+                    "page " + page);
+        }
+        assertTrue(users.queryPage(14, 20, null, rs -> rs.getString("first_name")).isEmpty());
+    }
+
+    @Test
+    @Order(4)
+    void testQueryPageWhereAndOrder() throws SQLException {
+        ShardedTable byAge = ShardedTable.ofDatabases(dialect, t, "last_name", shardDs)
+                .orderBy(ShardedTable.naturalOrder(true), "age", "last_name");
+        for (int page = 1; page <= 5; page++) {
+            assertEquals(expected("select * from user_t where age >= 10 order by age, last_name", page, 30),
+                    byAge.queryPage(page, 30, "age >= ?", rs -> rs.getString("first_name") + "," + rs.getString("last_name"), 10),
+                    "page " + page);
+        }
+    }
+
+    @Test
+    @Order(5)
+    void testMerge() {
+        List<List<ShardedTable.Keyed<String>>> shards = new ArrayList<List<ShardedTable.Keyed<String>>>();
+        shards.add(keyed(0, 1, 4, 7));
+        shards.add(new ArrayList<ShardedTable.Keyed<String>>());
+        shards.add(keyed(2, 2, 3, 4));
+
+        assertEquals(Arrays.asList("3@2", "4@0", "4@2"), ShardedTable.merge(shards, ShardedTable.naturalOrder(true), 2, 3));
+        // null排在最后的数据库，如PostgreSQL、Oracle
+        List<List<ShardedTable.Keyed<String>>> nullsLast = new ArrayList<List<ShardedTable.Keyed<String>>>();
+        nullsLast.add(Arrays.asList(new ShardedTable.Keyed<String>(new Object[]{1}, 0, "1@0"),
+                new ShardedTable.Keyed<String>(new Object[]{null}, 0, "null@0")));
+        nullsLast.add(keyed(1, 2));
+        assertEquals(Arrays.asList("1@0", "2@1", "null@0"),
+                ShardedTable.merge(nullsLast, ShardedTable.naturalOrder(false), 0, 3));
+    }
+
+    @Test
+    @Order(6)
+    void testDefaultOrderRejectsCollationDependentKeys() throws SQLException {
+        // 默认比较器不接受字符串排序键
+        ShardedTable byName = ShardedTable.ofDatabases(dialect, t, "last_name", shardDs);
+        assertThrows(IllegalArgumentException.class, () -> byName.queryPage(1, 10, null, rs -> rs.getString("last_name")));
+        // 数字排序键可以使用默认比较器
+        assertEquals(10, byName.orderBy("age").queryPage(1, 10, null, rs -> rs.getString("last_name")).size());
+
+        // 其它数据库的null排序不同，需要给出比较器
+        ShardedTable postgres = ShardedTable.ofDatabases(Dialect.PostgreSQL95Dialect, t, "last_name", shardDs)
+                .orderBy("age");
+        assertThrows(DialectException.class, () -> postgres.queryPage(1, 10, null, rs -> rs.getString("last_name")));
+    }
+
+    @Test
+    @Order(7)
+    void testMixedCaseAndNullableSortKey() throws SQLException {
+        // IGNORECASE=TRUE时VARCHAR列不区分大小写排序，与MySQL默认的排序规则类似
+        BasicDataSource[] ciShards = new BasicDataSource[SHARDS];
+        for (int i = 0; i < SHARDS; i++) {
+            ciShards[i] = dataSource("jdbc:h2:mem:shard_ci_db_" + i + ";IGNORECASE=TRUE");
+        }
+        BasicDataSource ciDs = dataSource("jdbc:h2:mem:unsharded_ci_db;IGNORECASE=TRUE");
+        try {
+            TableModel items = new TableModel("item_t");
+            items.column("id").INTEGER().pkey();
+            items.column("name").VARCHAR(20);
+            items.column("score").INTEGER();
+            new SqlExecutor(ciDs).execute(dialect.toCreateDDL(items));
+
+            List<Object[]> rows = new ArrayList<Object[]>();
+            for (int i = 0; i < 90; i++) {
+                String name = String.format(i % 3 == 0 ? "bar%03d" : i % 3 == 1 ? "Bar%03d" : "BAR%03d", i);
+                rows.add(new Object[]{i, name, i % 4 == 0 ? null : i % 7});
+            }
+            try (Connection conn = ciDs.getConnection()) {
+                new BatchInserter(dialect, items).insert(conn, rows);
+            }
+
+            // score升序null在前，再按name不区分大小写排序
+            Comparator<Object[]> collation = Comparator
+                    .<Object[], Integer>comparing(k -> (Integer) k[0], Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(k -> (String) k[1], String.CASE_INSENSITIVE_ORDER);
+            ShardedTable sharded = ShardedTable.ofDatabases(dialect, items, "id", ciShards)
+                    .orderBy(collation, "score", "name");
+            sharded.createTables();
+            assertEquals(rows.size(), sharded.insert(rows));
+
+            List<List<String>> pages = new ArrayList<List<String>>();
+            for (int page = 1; page <= 5; page++) {
+                List<String> expected = new ArrayList<String>();
+                try (Connection conn = ciDs.getConnection()) {
+                    new SqlExecutor(ciDs).query(conn, dialect.pagin(page, 20, "select * from item_t order by score, name"),
+                            rs -> expected.add(rs.getString("name")));
+                }
+                pages.add(expected);
+                assertEquals(expected, sharded.queryPage(page, 20, null, rs -> rs.getString("name")), "page " + page);
+            }
+            assertNull(rows.get(0)[2]);
+            assertEquals("bar000", pages.get(0).get(0));
+
+            // 按Java字符串顺序归并时大写的BAR排在前面，与数据库的顺序不一致
+            sharded.orderBy(ShardedTable.naturalOrder(true), "score", "name");
+            List<List<String>> naturalPages = new ArrayList<List<String>>();
+            for (int page = 1; page <= 5; page++) {
+                naturalPages.add(sharded.queryPage(page, 20, null, rs -> rs.getString("name")));
+            }
+            assertNotEquals(pages, naturalPages);
+        } finally {
+            for (BasicDataSource shard : ciShards) {
+                shard.close();
+            }
+            ciDs.close();
+        }
+    }
+
+    private static List<ShardedTable.Keyed<String>> keyed(int shard, int... keys) {
+        List<ShardedTable.Keyed<String>> rows = new ArrayList<ShardedTable.Keyed<String>>();
+        for (int key : keys) {
+            rows.add(new ShardedTable.Keyed<String>(new Object[]{key}, shard, key + "@" + shard));
+        }
+        return rows;
+    }
+
+    private List<String> expected(String sql, int page, int pageSize) throws SQLException {
+        List<String> rows = new ArrayList<String>();
+        try (Connection conn = ds.getConnection()) {
+            new SqlExecutor(ds).query(conn, dialect.pagin(page, pageSize, sql),
+                    rs -> rows.add(rs.getString("first_name") + "," + rs.getString("last_name")));
+        }
+        return rows;
+    }
+
+    private long count(Shard shard) throws SQLException {
+        try (Connection conn = shard.getDataSource().getConnection()) {
+            return ((Number) new SqlExecutor(shard.getDataSource()).queryForObject(conn,
+                    "select count(*) from " + shard.getTableName())).longValue();
+        }
+    }
+
+    private static BasicDataSource dataSource(String url) {
+        BasicDataSource ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl(url);
+        ds.setUsername("sa");
+        ds.setPassword("");
+        return ds;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.transfer;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TableCopier test，源库是MySQL兼容模式的H2，目标库是普通H2
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class TableCopierTest {
+
+    static final int ROWS = 10000;
+
+    BasicDataSource mysql = null;
+
+    BasicDataSource h2 = null;
+
+    Dialect sourceDialect = Dialect.MySQL8Dialect;
+
+    Dialect targetDialect = Dialect.H2Dialect;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    void initData() throws SQLException {
+        mysql = dataSource("jdbc:h2:mem:copy_source;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        h2 = dataSource("jdbc:h2:mem:copy_target");
+
+        new SqlExecutor(mysql).execute(sourceDialect.toCreateDDL(orderModel()));
+        List<Object[]> rows = new ArrayList<Object[]>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            rows.add(new Object[]{(long) i, "order-" + i, i % 100});
+        }
+        try (Connection conn = mysql.getConnection()) {
+            new BatchInserter(sourceDialect, orderModel()).batchSize(500).rowsPerStatement(20).insert(conn, rows);
+        }
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (mysql != null) {
+            mysql.close();
+        }
+        if (h2 != null) {
+            h2.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testCopy() throws SQLException, IOException {
+        TableModel t = orderModel();
+        new SqlExecutor(h2).execute(targetDialect.toCreateDDL(t));
+
+        TableCopier.Stats stats = new TableCopier(sourceDialect, mysql, targetDialect, h2)
+                .pageSize(1000).batchSize(250).writers(4).queueCapacity(2).copy(t);
+
+        assertEquals(ROWS, stats.getRowsRead());
+        assertEquals(ROWS, stats.getRowsWritten());
+        assertEquals(ROWS / 250, stats.getBatches());
+        assertEquals((long) ROWS, count(h2, "order_t"));
+        assertEquals(sum(mysql), sum(h2));
+    }
+
+    @Test
+    @Order(2)
+    void testResume() throws SQLException, IOException {
+        TableModel t = orderModel();
+        t.setTableName("order_resume_t");
+        new SqlExecutor(h2).execute(targetDialect.toCreateDDL(t));
+        new SqlExecutor(mysql).execute(sourceDialect.toCreateDDL(t));
+        new SqlExecutor(mysql).execute("insert into order_resume_t select * from order_t where id <= 1000");
+
+        // 目标表中已有id=250的行，第5批主键冲突，前4批已提交
+        new SqlExecutor(h2).execute("insert into order_resume_t (id, name, amount) values (250, 'conflict', 0)");
+        CopyCheckpoint checkpoint = new CopyCheckpoint(tempDir.resolve("copy.checkpoint"));
+        TableCopier copier = new TableCopier(sourceDialect, mysql, targetDialect, h2)
+                .pageSize(100).batchSize(50).writers(1).checkpoint(checkpoint);
+        assertThrows(SQLException.class, () -> copier.copy(t));
+        assertArrayEquals(new Object[]{200L}, new CopyCheckpoint(checkpoint.getFile()).lastKey("order_resume_t"));
+
+        // 续传：删除断点之后的行，从id=201继续
+        TableCopier.Stats stats = new TableCopier(sourceDialect, mysql, targetDialect, h2)
+                .pageSize(100).batchSize(50).writers(4).checkpoint(new CopyCheckpoint(checkpoint.getFile())).copy(t);
+        assertEquals(1, stats.getDeleted());
+        assertEquals(800, stats.getRowsWritten());
+        assertEquals(1000L, count(h2, "order_resume_t"));
+
+        // 已完成的表不再复制
+        CopyCheckpoint done = new CopyCheckpoint(checkpoint.getFile());
+        assertTrue(done.isDone("ORDER_RESUME_T"));
+        assertTrue(new TableCopier(sourceDialect, mysql, targetDialect, h2).checkpoint(done).copy(t).isSkipped());
+    }
+
+    @Test
+    @Order(3)
+    void testCheckpointKeyTypes() throws IOException {
+        // 续传时按原类型绑定，不能变成字符串
+        Object[] key = {200L, "a:b", null, 7, new BigDecimal("12.50"), Timestamp.valueOf("2026-10-18 06:50:00.123456789"),
+                LocalDate.of(2026, 10, 18), UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e"), new byte[]{1, 2, 3}};
+        CopyCheckpoint checkpoint = new CopyCheckpoint(tempDir.resolve("types.checkpoint"));
+        checkpoint.save("typed_t", key);
+
+        Object[] restored = new CopyCheckpoint(checkpoint.getFile()).lastKey("typed_t");
+        assertArrayEquals(key, restored);
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != null) {
+                assertEquals(key[i].getClass(), restored[i].getClass());
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> checkpoint.save("typed_t", new Object[]{new Object()}));
+    }
+
+    private static TableModel orderModel() {
+        TableModel t = new TableModel("order_t");
+        t.column("id").LONG().pkey();
+        t.column("name").VARCHAR(50);
+        t.column("amount").INTEGER();
+        return t;
+    }
+
+    private static Object count(BasicDataSource ds, String table) throws SQLException {
+        try (Connection conn = ds.getConnection()) {
+            return new SqlExecutor(ds).queryForObject(conn, "select count(*) from " + table);
+        }
+    }
+
+    private static long sum(BasicDataSource ds) throws SQLException {
+        try (Connection conn = ds.getConnection()) {
+            return ((Number) new SqlExecutor(ds).queryForObject(conn, "select sum(id * 7 + amount) from order_t")).longValue();
+        }
+    }
+
+    private static BasicDataSource dataSource(String url) {
+        BasicDataSource ds = new BasicDataSource();
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl(url);
+        ds.setUsername("sa");
+        ds.setPassword("");
+        return ds;
+    }
+}
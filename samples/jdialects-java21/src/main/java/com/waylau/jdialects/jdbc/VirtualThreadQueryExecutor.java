@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.jdbc;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import org.apache.commons.dbcp2.BasicDataSource;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 每个分页查询、每段批量写入一个虚拟线程的ConcurrentQueryExecutor
+ * <p>
+ * 虚拟线程阻塞在JDBC的网络读写上时会让出载体线程，因此任务数可以远大于CPU核数；
+ * 真正能同时执行的SQL数仍由连接池的maxTotal限制，多出的虚拟线程在信号量上等待，不占用平台线程。
+ *
+ * <pre>
+ * try (ConcurrentQueryExecutor executor = VirtualThreadQueryExecutor.create(dialect, ds)) {
+ *     List&lt;List&lt;String&gt;&gt; pages = executor.queryPages(sql, 100, 50, rs -&gt; rs.getString(1));
+ * }
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public final class VirtualThreadQueryExecutor {
+
+    private VirtualThreadQueryExecutor() {
+    }
+
+    /**
+     * 并发上限取连接池的maxTotal
+     */
+    public static ConcurrentQueryExecutor create(Dialect dialect, BasicDataSource dataSource) {
+        return new ConcurrentQueryExecutor(dialect, dataSource, newExecutor());
+    }
+
+    public static ConcurrentQueryExecutor create(Dialect dialect, SqlExecutor sqlExecutor, int maxConcurrency) {
+        return new ConcurrentQueryExecutor(dialect, sqlExecutor, newExecutor(), maxConcurrency);
+    }
+
+    /**
+     * 线程名为jdialects-vt-0、jdialects-vt-1……，便于在线程转储中识别
+     */
+    public static ExecutorService newExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("jdialects-vt-", 0).factory());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.jdbc;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 虚拟线程与固定大小平台线程池的分页查询、批量写入吞吐量对比
+ * <p>
+ * 连接同一JVM内的H2 TCP服务，每页查询在服务端停顿PAUSE_NANOS纳秒（5毫秒），模拟远程数据库的网络往返和执行时间。
+ * 连接池maxTotal为POOL_SIZE，平台线程池只有PLATFORM_THREADS个线程，同时执行的SQL数受线程数限制；
+ * 虚拟线程每页一个，同时执行的SQL数只受连接池限制。每轮耗时和吞吐量通过slf4j日志（本类的logger）输出。
+ * <p>
+ * 每页查询都要在服务端排序整张表，单核机器上排序的CPU时间超过停顿，32个并发查询互相争抢CPU，
+ * 实测虚拟线程只有平台线程吞吐量的0.30～0.38倍；多核、停顿占主导时才能看到加速。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // 与@BeforeAll搭配使用
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // 指定方法的执行顺序
+class VirtualThreadLoadTest {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final int ROWS = 10000;
+
+    private static final int PAGE_SIZE = 100;
+
+    private static final int POOL_SIZE = 32;
+
+    private static final int PLATFORM_THREADS = 8;
+
+    private static final long PAUSE_NANOS = 5000000L;
+
+    private static final int ROUNDS = 5;
+
+    /**
+     * 派生表放在最前面作为外层循环，只求值一次，每页查询停顿一次
+     */
+    private static final String QUERY = "select u.first_name from (select pause_nanos(?) p) x, user_t u"
+            + " order by u.first_name";
+
+    Server server = null;
+
+    BasicDataSource ds = null;
+
+    Dialect dialect = Dialect.H2Dialect;
+
+    TableModel t = null;
+
+    @BeforeAll
+    void initData() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+
+        ds = new BasicDataSource();// DataSource
+        ds.setDriverClassName("org.h2.Driver");
+        ds.setUrl("jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:virtual_thread_db");
+        ds.setUsername("sa");
+        ds.setPassword("");
+        ds.setMaxTotal(POOL_SIZE);
+        ds.setMaxIdle(POOL_SIZE);
+
+        t = new TableModel("user_t");
+        t.column("first_name").VARCHAR(20).pkey();
+        t.column("last_name").VARCHAR(20);
+        t.column("age").INTEGER();
+        SqlExecutor executor = new SqlExecutor(ds);
+        executor.execute(dialect.toCreateDDL(t));
+        // H2调用的Java方法必须可公开访问，这里直接用JDK的parkNanos在服务端停顿
+        executor.execute("create alias pause_nanos for 'java.util.concurrent.locks.LockSupport.parkNanos(long)'");
+    }
+
+    @AfterAll
+    void deleteData() throws SQLException {
+        if (ds != null) {
+            ds.close();
+        }
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testInsert() throws SQLException {
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{String.format("Foo%05d", i), "Bar" + i, i % 100});
+        }
+        try (ConcurrentQueryExecutor executor = VirtualThreadQueryExecutor.create(dialect, ds)) {
+            long start = System.nanoTime();
+            assertEquals(ROWS, executor.insert(t, rows, 500));
+            report("virtual insert", ROWS, System.nanoTime() - start);
+        }
+    }
+
+    @Test
+    @Order(2)
+    void testPagedQueryThroughput() throws SQLException {
+        int pages = ROWS / PAGE_SIZE;
+        ConcurrentQueryExecutor platform = new ConcurrentQueryExecutor(dialect, new SqlExecutor(ds),
+                Executors.newFixedThreadPool(PLATFORM_THREADS), POOL_SIZE);
+        ConcurrentQueryExecutor virtual = VirtualThreadQueryExecutor.create(dialect, ds);
+        try {
+            // 预热：建立全部连接、JIT编译
+            run(platform, pages);
+            run(virtual, pages);
+
+            long platformNanos = run(platform, pages);
+            long virtualNanos = run(virtual, pages);
+            report("platform-" + PLATFORM_THREADS + " pages", ROUNDS * pages, platformNanos);
+            report("virtual pages", ROUNDS * pages, virtualNanos);
+
+            // 停顿主导耗时时，理论上限约为POOL_SIZE / PLATFORM_THREADS倍
+            logger.info(String.format("virtual/platform speedup: %.2fx", (double) platformNanos / virtualNanos));
+        } finally {
+            platform.close();
+            virtual.close();
+        }
+    }
+
+    private long run(ConcurrentQueryExecutor executor, int pages) throws SQLException {
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            List<List<String>> result = executor.queryPages(QUERY, PAGE_SIZE, pages, rs -> rs.getString(1),
+                    PAUSE_NANOS);
+            assertEquals(pages, result.size());
+            assertEquals("Foo00000", result.get(0).get(0));
+            assertEquals(String.format("Foo%05d", ROWS - 1), result.get(pages - 1).get(PAGE_SIZE - 1));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void report(String name, long operations, long nanos) {
+        logger.info(String.format("%-20s %8d ops %8d ms %10.1f ops/s", name, operations, nanos / 1000000,
+                operations * 1e9 / nanos));
+    }
+}
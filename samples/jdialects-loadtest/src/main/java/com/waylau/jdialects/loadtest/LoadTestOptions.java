@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.loadtest;
+
+import com.github.drinkjava2.jdialects.Dialect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 压测参数，命令行格式为--name=value，未指定的使用默认值
+ *
+ * <pre>
+ * java -jar target/loadtest.jar --rows=2000000 --clients=1,4,16 --depths=1:50,100:30,10000:20 --out=paging.csv
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class LoadTestOptions {
+
+    /**
+     * 同一会话重复执行相同的查询时H2默认直接返回上次的结果，压测需要关闭
+     */
+    private String url = "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE";
+
+    private String user = "sa";
+
+    private String password = "";
+
+    private Dialect dialect = Dialect.H2Dialect;
+
+    private long rows = 1000000;
+
+    private int pageSize = 20;
+
+    private PageDepthDistribution depths = PageDepthDistribution.parse("1:40,10:25,100:15,1000:10,10000:7,40000:3");
+
+    private List<Integer> clients = parseInts("1,4,16");
+
+    private int poolSize;
+
+    private List<PagingStrategy> strategies = parseStrategies("offset,keyset");
+
+    private int warmupSeconds = 5;
+
+    private int durationSeconds = 20;
+
+    private String out = "loadtest.csv";
+
+    private long randomSeed = 42;
+
+    private List<Integer> maxTotals = parseInts("2,4,8,16");
+
+    private double readRatio = 0.8;
+
+    private int batchRows = 100;
+
+    private String profileName = "mixed";
+
+    private String profilesOut = "jdialects-pool.properties";
+
+    public static LoadTestOptions parse(String... args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.set(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        options.validate();
+        return options;
+    }
+
+    private void set(String name, String value) {
+        switch (name) {
+            case "url":
+                url = value;
+                break;
+            case "user":
+                user = value;
+                break;
+            case "password":
+                password = value;
+                break;
+            case "dialect":
+                dialect = dialect(value);
+                break;
+            case "rows":
+                rows = Long.parseLong(value);
+                break;
+            case "page-size":
+                pageSize = Integer.parseInt(value);
+                break;
+            case "depths":
+                depths = PageDepthDistribution.parse(value);
+                break;
+            case "clients":
+                clients = parseInts(value);
+                break;
+            case "pool-size":
+                poolSize = Integer.parseInt(value);
+                break;
+            case "strategies":
+                strategies = parseStrategies(value);
+                break;
+            case "warmup":
+                warmupSeconds = Integer.parseInt(value);
+                break;
+            case "duration":
+                durationSeconds = Integer.parseInt(value);
+                break;
+            case "out":
+                out = value;
+                break;
+            case "seed":
+                randomSeed = Long.parseLong(value);
+                break;
+            case "max-totals":
+                maxTotals = parseInts(value);
+                break;
+            case "read-ratio":
+                readRatio = Double.parseDouble(value);
+                break;
+            case "batch-rows":
+                batchRows = Integer.parseInt(value);
+                break;
+            case "profile-name":
+                profileName = value;
+                break;
+            case "profiles-out":
+                profilesOut = value;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: --" + name);
+        }
+    }
+
+    private void validate() {
+        if (rows <= 0) {
+            throw new IllegalArgumentException("rows must be positive");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("page-size must be positive");
+        }
+        if (durationSeconds <= 0) {
+            throw new IllegalArgumentException("duration must be positive");
+        }
+        if (warmupSeconds < 0 || poolSize < 0) {
+            throw new IllegalArgumentException("warmup and pool-size must not be negative");
+        }
+        for (int n : clients) {
+            if (n <= 0) {
+                throw new IllegalArgumentException("clients must be positive");
+            }
+        }
+        for (int n : maxTotals) {
+            if (n <= 0) {
+                throw new IllegalArgumentException("max-totals must be positive");
+            }
+        }
+        if (readRatio < 0 || readRatio > 1) {
+            throw new IllegalArgumentException("read-ratio must be between 0 and 1");
+        }
+        if (batchRows <= 0) {
+            throw new IllegalArgumentException("batch-rows must be positive");
+        }
+        long maxDepth = (rows + pageSize - 1) / pageSize;
+        if (depths.getMaxDepth() > maxDepth) {
+            throw new IllegalArgumentException("Page depth " + depths.getMaxDepth() + " is beyond the last page "
+                    + maxDepth + " of " + rows + " rows");
+        }
+    }
+
+    private static Dialect dialect(String name) {
+        for (Dialect dialect : Dialect.dialects) {
+            if (dialect.getName().equals(name)) {
+                return dialect;
+            }
+        }
+        throw new IllegalArgumentException("Unknown dialect: " + name);
+    }
+
+    private static List<Integer> parseInts(String value) {
+        List<Integer> result = new ArrayList<Integer>();
+        for (String item : value.split(",")) {
+            result.add(Integer.parseInt(item.trim()));
+        }
+        return result;
+    }
+
+    private static List<PagingStrategy> parseStrategies(String value) {
+        List<PagingStrategy> result = new ArrayList<PagingStrategy>();
+        for (String item : value.split(",")) {
+            result.add(PagingStrategy.valueOf(item.trim().toUpperCase()));
+        }
+        return result;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public Dialect getDialect() {
+        return dialect;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public PageDepthDistribution getDepths() {
+        return depths;
+    }
+
+    public List<Integer> getClients() {
+        return clients;
+    }
+
+    /**
+     * 连接池大小，0表示与并发客户端数相同
+     */
+    public int getPoolSize(int clientCount) {
+        return poolSize == 0 ? clientCount : poolSize;
+    }
+
+    public List<PagingStrategy> getStrategies() {
+        return strategies;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * CSV输出文件，"-"表示标准输出
+     */
+    public String getOut() {
+        return out;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    /**
+     * PoolSweep中依次尝试的maxTotal
+     */
+    public List<Integer> getMaxTotals() {
+        return maxTotals;
+    }
+
+    /**
+     * PoolSweep中分页读的比例，其余为批量插入
+     */
+    public double getReadRatio() {
+        return readRatio;
+    }
+
+    public int getBatchRows() {
+        return batchRows;
+    }
+
+    /**
+     * PoolSweep推荐配置的名称
+     */
+    public String getProfileName() {
+        return profileName;
+    }
+
+    /**
+     * PoolSweep推荐配置的输出文件，可直接放入classpath供PoolProfiles读取
+     */
+    public String getProfilesOut() {
+        return profilesOut;
+    }
+}
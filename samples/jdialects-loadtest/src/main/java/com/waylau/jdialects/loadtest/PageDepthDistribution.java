@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.loadtest;
+
+import java.util.Random;
+
+/**
+ * 按权重抽取页码，格式为"页码:权重,页码:权重"，如"1:50,100:30,10000:20"表示一半请求查第1页
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class PageDepthDistribution {
+
+    private final int[] depths;
+
+    private final double[] cumulative;
+
+    private PageDepthDistribution(int[] depths, double[] cumulative) {
+        this.depths = depths;
+        this.cumulative = cumulative;
+    }
+
+    public static PageDepthDistribution parse(String spec) {
+        String[] items = spec.split(",");
+        int[] depths = new int[items.length];
+        double[] cumulative = new double[items.length];
+        double total = 0;
+        for (int i = 0; i < items.length; i++) {
+            String[] pair = items[i].split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected depth:weight but got: " + items[i]);
+            }
+            depths[i] = Integer.parseInt(pair[0].trim());
+            double weight = Double.parseDouble(pair[1].trim());
+            if (depths[i] <= 0 || weight <= 0) {
+                throw new IllegalArgumentException("Depth and weight must be positive: " + items[i]);
+            }
+            for (int j = 0; j < i; j++) {
+                if (depths[j] == depths[i]) {
+                    throw new IllegalArgumentException("Duplicate depth: " + depths[i]);
+                }
+            }
+            total += weight;
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+        return new PageDepthDistribution(depths, cumulative);
+    }
+
+    /**
+     * 抽取一个页码在getDepths()中的下标
+     */
+    public int nextIndex(Random random) {
+        double r = random.nextDouble();
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (r < cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+
+    public int[] getDepths() {
+        return depths.clone();
+    }
+
+    public int size() {
+        return depths.length;
+    }
+
+    public int getDepth(int index) {
+        return depths[index];
+    }
+
+    public int getMaxDepth() {
+        int max = 0;
+        for (int depth : depths) {
+            max = Math.max(max, depth);
+        }
+        return max;
+    }
+}
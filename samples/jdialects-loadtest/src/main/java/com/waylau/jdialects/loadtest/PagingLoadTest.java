@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.loadtest;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import com.waylau.jdialects.metrics.InstrumentedDataSource;
+import com.waylau.jdialects.metrics.LatencyHistogram;
+import com.waylau.jdialects.metrics.LatencySnapshot;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 分页压测：按页码分布驱动多个并发客户端，统计每种分页方式、并发数、页码下的吞吐量和延迟分位数，输出CSV
+ * <p>
+ * 每个请求从连接池借一个连接、查询一页并读完、归还连接，延迟包含借连接的等待。预热期间的请求不计入统计。
+ * 运行：java -jar target/loadtest.jar --rows=2000000 --clients=1,4,16 --out=paging.csv，参数见LoadTestOptions。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class PagingLoadTest {
+
+    public static final String CSV_HEADER = "strategy,clients,pool_size,page_depth,page_size,requests,errors,"
+            + "throughput_per_s,mean_us,p50_us,p99_us,p999_us,max_us,pool_wait_p99_us";
+
+    private static final Logger logger = LoggerFactory.getLogger(PagingLoadTest.class);
+
+    private final LoadTestOptions options;
+
+    public PagingLoadTest(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        PrintWriter csv = openCsv(options.getOut());
+        try {
+            new PagingLoadTest(options).run(csv);
+        } finally {
+            csv.flush();
+            if (!"-".equals(options.getOut())) {
+                csv.close();
+                logger.info("Results written to {}", options.getOut());
+            }
+        }
+    }
+
+    /**
+     * "-"表示标准输出
+     */
+    static PrintWriter openCsv(String out) throws IOException {
+        Writer writer = "-".equals(out)
+                ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                : new OutputStreamWriter(new FileOutputStream(out), StandardCharsets.UTF_8);
+        return new PrintWriter(writer);
+    }
+
+    /**
+     * 写入种子数据后依次压测每种分页方式、每个并发数，每组结果写完立即flush
+     */
+    public void run(PrintWriter csv) throws SQLException, InterruptedException, IOException {
+        BasicDataSource seedDs = dataSource(1);
+        Connection keepAlive = null;
+        try {
+            new UserTableSeeder(options.getDialect(), seedDs).seed(options.getRows());
+            // 内存库在最后一个连接关闭时删除，压测期间保持一个连接
+            keepAlive = seedDs.getConnection();
+            csv.println(CSV_HEADER);
+            csv.flush();
+            for (PagingStrategy strategy : options.getStrategies()) {
+                for (int clients : options.getClients()) {
+                    for (String line : runOnce(strategy, clients)) {
+                        csv.println(line);
+                    }
+                    csv.flush();
+                    if (csv.checkError()) {
+                        throw new IOException("Cannot write results to " + options.getOut());
+                    }
+                }
+            }
+        } finally {
+            try {
+                if (keepAlive != null) {
+                    keepAlive.close();
+                }
+            } finally {
+                seedDs.close();
+            }
+        }
+    }
+
+    private List<String> runOnce(PagingStrategy strategy, int clients) throws SQLException, InterruptedException {
+        Dialect dialect = options.getDialect();
+        PageDepthDistribution depths = options.getDepths();
+        int poolSize = options.getPoolSize(clients);
+        final PagingStrategy.PageQuery[] queries = new PagingStrategy.PageQuery[depths.size()];
+        final LatencyHistogram[] histograms = new LatencyHistogram[depths.size()];
+        final LongAdder[] errors = new LongAdder[depths.size()];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = strategy.query(dialect, options.getPageSize(), depths.getDepth(i));
+            histograms[i] = new LatencyHistogram();
+            errors[i] = new LongAdder();
+        }
+
+        BasicDataSource ds = dataSource(poolSize);
+        SqlExecutor.enableStatementPooling(ds, SqlExecutor.DEFAULT_MAX_OPEN_PREPARED_STATEMENTS);
+        InstrumentedDataSource ids = new InstrumentedDataSource(ds);
+        SqlExecutor executor = new SqlExecutor(ids);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            logger.info("Running {} with {} clients, pool size {}", strategy, clients, poolSize);
+            final long measureStart = System.nanoTime() + options.getWarmupSeconds() * 1000000000L;
+            final long end = measureStart + options.getDurationSeconds() * 1000000000L;
+            final AtomicLong poolWaitReset = new AtomicLong();
+            List<Future<?>> futures = new ArrayList<Future<?>>(clients);
+            for (int c = 0; c < clients; c++) {
+                final Random random = new Random(options.getRandomSeed() + c);
+                futures.add(pool.submit(() -> {
+                    boolean measuring = false;
+                    long now = System.nanoTime();
+                    while (now < end) {
+                        if (!measuring && now >= measureStart) {
+                            measuring = true;
+                            // 第一个进入统计期的客户端清掉预热期间的连接等待
+                            if (poolWaitReset.compareAndSet(0, 1)) {
+                                ids.getMetrics().reset();
+                            }
+                        }
+                        int index = depths.nextIndex(random);
+                        boolean failed = !queryPage(executor, ids, queries[index]);
+                        long done = System.nanoTime();
+                        if (measuring) {
+                            if (failed) {
+                                errors[index].increment();
+                            } else {
+                                histograms[index].record(done - now);
+                            }
+                        }
+                        now = done;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new SQLException("Load test client failed", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+            ds.close();
+        }
+
+        long poolWaitP99 = ids.getMetrics().getPoolWait().getP99Nanos();
+        List<String> lines = new ArrayList<String>(depths.size());
+        for (int i = 0; i < depths.size(); i++) {
+            LatencySnapshot s = histograms[i].snapshot();
+            lines.add(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d,%.1f,%d,%d,%d,%d,%d,%d",
+                    strategy.name().toLowerCase(Locale.ROOT), clients, poolSize, depths.getDepth(i),
+                    options.getPageSize(), s.getCount(), errors[i].sum(),
+                    s.getCount() / (double) options.getDurationSeconds(), s.getMeanNanos() / 1000,
+                    s.getP50Nanos() / 1000, s.getP99Nanos() / 1000, s.getP999Nanos() / 1000,
+                    s.getMaxNanos() / 1000, poolWaitP99 / 1000));
+        }
+        return lines;
+    }
+
+    /**
+     * 执行一次页查询并读完所有行，失败时记录日志返回false，压测继续
+     */
+    private boolean queryPage(SqlExecutor executor, InstrumentedDataSource ids, PagingStrategy.PageQuery query) {
+        try (Connection conn = ids.getConnection()) {
+            long rows = executor.query(conn, query.getSql(), rs -> rs.getString(1), query.getParams());
+            if (rows == 0) {
+                throw new SQLException("Empty page: " + query.getSql());
+            }
+            return true;
+        } catch (SQLException e) {
+            logger.warn("Page query failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private BasicDataSource dataSource(int poolSize) {
+        BasicDataSource ds = new BasicDataSource();
+        ds.setUrl(options.getUrl());
+        ds.setUsername(options.getUser());
+        ds.setPassword(options.getPassword());
+        ds.setMaxTotal(poolSize);
+        ds.setMaxIdle(poolSize);
+        return ds;
+    }
+}
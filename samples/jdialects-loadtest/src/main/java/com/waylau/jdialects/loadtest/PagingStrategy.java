@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.loadtest;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.waylau.jdialects.paging.KeysetPagination;
+
+/**
+ * 被压测的分页方式：OFFSET为Dialect.pagin，KEYSET为KeysetPagination
+ * <p>
+ * 种子数据的第r行（从0开始）排序键可以直接算出（见UserTableSeeder），键集分页不必先翻过前面的页，
+ * 两种方式查询同一页的结果相同。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public enum PagingStrategy {
+
+    OFFSET {
+        @Override
+        public PageQuery query(Dialect dialect, int pageSize, int page) {
+            return new PageQuery(dialect.pagin(page, pageSize, SELECT + " order by first_name, last_name"),
+                    new Object[0]);
+        }
+    },
+
+    KEYSET {
+        @Override
+        public PageQuery query(Dialect dialect, int pageSize, int page) {
+            KeysetPagination paging = new KeysetPagination(dialect, "first_name", "last_name");
+            if (page == 1) {
+                return new PageQuery(paging.firstPage(pageSize, SELECT), new Object[0]);
+            }
+            long lastRow = (long) (page - 1) * pageSize - 1;
+            Object[] lastKey = {UserTableSeeder.firstName(lastRow), UserTableSeeder.lastName(lastRow)};
+            return new PageQuery(paging.nextPage(pageSize, SELECT), paging.params(lastKey));
+        }
+    };
+
+    private static final String SELECT = "select first_name, last_name, age from " + UserTableSeeder.TABLE_NAME;
+
+    /**
+     * 查询第page页（从1开始）的SQL和参数
+     */
+    public abstract PageQuery query(Dialect dialect, int pageSize, int page);
+
+    /**
+     * 一页的SQL和绑定参数
+     */
+    public static final class PageQuery {
+
+        private final String sql;
+
+        private final Object[] params;
+
+        PageQuery(String sql, Object[] params) {
+            this.sql = sql;
+            this.params = params;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public Object[] getParams() {
+            return params.clone();
+        }
+    }
+}
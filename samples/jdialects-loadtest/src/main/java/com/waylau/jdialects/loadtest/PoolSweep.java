@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.loadtest;
+
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.PoolProfile;
+import com.waylau.jdialects.jdbc.PoolProfiles;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import com.waylau.jdialects.metrics.InstrumentedDataSource;
+import com.waylau.jdialects.metrics.LatencyHistogram;
+import com.waylau.jdialects.metrics.LatencySnapshot;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 连接池参数扫描：在固定的读写混合负载下依次尝试maxTotal、PreparedStatement池、借出校验的组合，
+ * 输出吞吐量和借连接等待时间随参数变化的CSV，并把推荐配置写成PoolProfiles可读取的properties
+ * <p>
+ * 负载为--clients中最大的并发数，每个请求按--read-ratio选择分页读（Dialect.pagin，页码按--depths分布）
+ * 或插入--batch-rows行（BatchInserter）。推荐吞吐量达到最高值95%以内的组合中maxTotal最小的一个，
+ * 同等条件下保留借出校验。运行：
+ *
+ * <pre>
+ * java -cp target/loadtest.jar com.waylau.jdialects.loadtest.PoolSweep --clients=16 --max-totals=2,4,8,16 \
+ *     --read-ratio=0.8 --profile-name=mixed --out=pool-sweep.csv --profiles-out=jdialects-pool.properties
+ * </pre>
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class PoolSweep {
+
+    public static final String CSV_HEADER = "max_total,pool_prepared_statements,test_on_borrow,clients,ops_per_s,"
+            + "reads_per_s,rows_written_per_s,read_p50_us,read_p99_us,write_p99_us,pool_wait_p50_us,"
+            + "pool_wait_p99_us,errors";
+
+    /**
+     * 吞吐量在最高值的这个比例以内视为相同，选更小的连接池
+     */
+    private static final double TOLERANCE = 0.95;
+
+    private static final Logger logger = LoggerFactory.getLogger(PoolSweep.class);
+
+    private final LoadTestOptions options;
+
+    /**
+     * 插入的行号从种子数据之后开始，每轮开始前删除上一轮插入的行并重置，各轮从相同的数据开始
+     */
+    private final AtomicLong nextRow;
+
+    public PoolSweep(LoadTestOptions options) {
+        this.options = options;
+        this.nextRow = new AtomicLong(options.getRows());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        PrintWriter csv = PagingLoadTest.openCsv(options.getOut());
+        try {
+            PoolProfile profile = new PoolSweep(options).run(csv);
+            logger.info("Recommended profile: {}", profile);
+        } finally {
+            csv.flush();
+            if (!"-".equals(options.getOut())) {
+                csv.close();
+                logger.info("Results written to {}", options.getOut());
+            }
+        }
+    }
+
+    /**
+     * 扫描全部组合并写出推荐配置
+     *
+     * @return 推荐的配置
+     */
+    public PoolProfile run(PrintWriter csv) throws SQLException, InterruptedException, IOException {
+        int clients = Collections.max(options.getClients());
+        List<Result> results = new ArrayList<Result>();
+        BasicDataSource seedDs = PoolProfiles.createDataSource(PoolProfiles.DEFAULT, options.getUrl(),
+                options.getUser(), options.getPassword());
+        Connection keepAlive = null;
+        try {
+            UserTableSeeder seeder = new UserTableSeeder(options.getDialect(), seedDs);
+            seeder.seed(options.getRows());
+            // 内存库在最后一个连接关闭时删除，扫描期间保持一个连接
+            keepAlive = seedDs.getConnection();
+            csv.println(CSV_HEADER);
+            csv.flush();
+            for (int maxTotal : options.getMaxTotals()) {
+                for (boolean pooled : new boolean[]{false, true}) {
+                    for (boolean testOnBorrow : new boolean[]{true, false}) {
+                        PoolProfile candidate = new PoolProfile(options.getProfileName()).maxTotal(maxTotal)
+                                .maxIdle(maxTotal).poolPreparedStatements(pooled)
+                                .maxOpenPreparedStatements(pooled ? SqlExecutor.DEFAULT_MAX_OPEN_PREPARED_STATEMENTS : -1)
+                                .testOnBorrow(testOnBorrow);
+                        seeder.deleteFrom(options.getRows());
+                        nextRow.set(options.getRows());
+                        Result result = runOnce(candidate, clients);
+                        results.add(result);
+                        csv.println(result.toCsv());
+                        csv.flush();
+                        if (csv.checkError()) {
+                            throw new IOException("Cannot write results to " + options.getOut());
+                        }
+                    }
+                }
+            }
+        } finally {
+            try {
+                if (keepAlive != null) {
+                    keepAlive.close();
+                }
+            } finally {
+                seedDs.close();
+            }
+        }
+
+        Result best = recommend(results);
+        try (OutputStream out = new FileOutputStream(options.getProfilesOut())) {
+            PoolProfiles.store(Collections.singletonList(best.profile), out, String.format(Locale.ROOT,
+                    "Recommended by PoolSweep: %d clients, read ratio %.2f, %d rows per batch, %.1f ops/s, pool wait p99 %d us",
+                    clients, options.getReadRatio(), options.getBatchRows(), best.opsPerSecond(),
+                    best.poolWait.getP99Nanos() / 1000));
+        }
+        logger.info("Profile {} written to {}", best.profile.getName(), options.getProfilesOut());
+        return best.profile;
+    }
+
+    /**
+     * 吞吐量不低于最高值95%的组合中，maxTotal最小、开启借出校验的优先
+     */
+    static Result recommend(List<Result> results) {
+        double bestOps = 0;
+        for (Result result : results) {
+            bestOps = Math.max(bestOps, result.opsPerSecond());
+        }
+        Result chosen = null;
+        for (Result result : results) {
+            if (result.errors > 0 || result.opsPerSecond() < bestOps * TOLERANCE) {
+                continue;
+            }
+            if (chosen == null || isPreferred(result, chosen)) {
+                chosen = result;
+            }
+        }
+        if (chosen == null) {
+            throw new IllegalStateException("Every pool configuration failed, see the log for errors");
+        }
+        return chosen;
+    }
+
+    private static boolean isPreferred(Result a, Result b) {
+        if (a.profile.getMaxTotal() != b.profile.getMaxTotal()) {
+            return a.profile.getMaxTotal() < b.profile.getMaxTotal();
+        }
+        if (a.profile.isTestOnBorrow() != b.profile.isTestOnBorrow()) {
+            return a.profile.isTestOnBorrow();
+        }
+        return a.opsPerSecond() > b.opsPerSecond();
+    }
+
+    private Result runOnce(PoolProfile profile, int clients) throws SQLException, InterruptedException {
+        final PagingStrategy.PageQuery[] queries = new PagingStrategy.PageQuery[options.getDepths().size()];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = PagingStrategy.OFFSET.query(options.getDialect(), options.getPageSize(),
+                    options.getDepths().getDepth(i));
+        }
+        final LatencyHistogram reads = new LatencyHistogram();
+        final LatencyHistogram writes = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final BatchInserter inserter = new BatchInserter(options.getDialect(), UserTableSeeder.userModel());
+
+        BasicDataSource ds = PoolProfiles.createDataSource(PoolProfiles.DEFAULT, options.getUrl(), options.getUser(),
+                options.getPassword());
+        profile.apply(ds);
+        final InstrumentedDataSource ids = new InstrumentedDataSource(ds);
+        final SqlExecutor executor = new SqlExecutor(ids);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            logger.info("Running {} with {} clients", profile, clients);
+            final long measureStart = System.nanoTime() + options.getWarmupSeconds() * 1000000000L;
+            final long end = measureStart + options.getDurationSeconds() * 1000000000L;
+            final AtomicBoolean resetDone = new AtomicBoolean();
+            List<Future<?>> futures = new ArrayList<Future<?>>(clients);
+            for (int c = 0; c < clients; c++) {
+                final Random random = new Random(options.getRandomSeed() + c);
+                futures.add(pool.submit(() -> {
+                    boolean measuring = false;
+                    long now = System.nanoTime();
+                    while (now < end) {
+                        if (!measuring && now >= measureStart) {
+                            measuring = true;
+                            if (resetDone.compareAndSet(false, true)) {
+                                ids.getMetrics().reset();
+                            }
+                        }
+                        boolean read = random.nextDouble() < options.getReadRatio();
+                        boolean ok = read
+                                ? queryPage(executor, ids, queries[options.getDepths().nextIndex(random)])
+                                : insertBatch(inserter, ids);
+                        long done = System.nanoTime();
+                        if (measuring) {
+                            if (!ok) {
+                                errors.increment();
+                            } else if (read) {
+                                reads.record(done - now);
+                            } else {
+                                writes.record(done - now);
+                            }
+                        }
+                        now = done;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new SQLException("Pool sweep client failed", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+            ds.close();
+        }
+        return new Result(profile, clients, options.getDurationSeconds(), options.getBatchRows(), reads.snapshot(),
+                writes.snapshot(), ids.getMetrics().getPoolWait(), errors.sum());
+    }
+
+    private boolean queryPage(SqlExecutor executor, InstrumentedDataSource ids, PagingStrategy.PageQuery query) {
+        try (Connection conn = ids.getConnection()) {
+            executor.query(conn, query.getSql(), rs -> rs.getString(1), query.getParams());
+            return true;
+        } catch (SQLException e) {
+            logger.warn("Page query failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean insertBatch(BatchInserter inserter, InstrumentedDataSource ids) {
+        long first = nextRow.getAndAdd(options.getBatchRows());
+        List<Object[]> rows = new ArrayList<Object[]>(options.getBatchRows());
+        for (long r = first; r < first + options.getBatchRows(); r++) {
+            rows.add(new Object[]{UserTableSeeder.firstName(r), UserTableSeeder.lastName(r), (int) (r % 100)});
+        }
+        try (Connection conn = ids.getConnection()) {
+            inserter.insert(conn, rows);
+            return true;
+        } catch (SQLException e) {
+            logger.warn("Batch insert failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 一种连接池配置的压测结果
+     */
+    static final class Result {
+
+        final PoolProfile profile;
+
+        final int clients;
+
+        final int seconds;
+
+        final int batchRows;
+
+        final LatencySnapshot reads;
+
+        final LatencySnapshot writes;
+
+        final LatencySnapshot poolWait;
+
+        final long errors;
+
+        Result(PoolProfile profile, int clients, int seconds, int batchRows, LatencySnapshot reads,
+               LatencySnapshot writes, LatencySnapshot poolWait, long errors) {
+            this.profile = profile;
+            this.clients = clients;
+            this.seconds = seconds;
+            this.batchRows = batchRows;
+            this.reads = reads;
+            this.writes = writes;
+            this.poolWait = poolWait;
+            this.errors = errors;
+        }
+
+        double opsPerSecond() {
+            return (reads.getCount() + writes.getCount()) / (double) seconds;
+        }
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%d,%s,%s,%d,%.1f,%.1f,%.1f,%d,%d,%d,%d,%d,%d",
+                    profile.getMaxTotal(), profile.isPoolPreparedStatements(), profile.isTestOnBorrow(), clients,
+                    opsPerSecond(), reads.getCount() / (double) seconds,
+                    writes.getCount() * batchRows / (double) seconds, reads.getP50Nanos() / 1000,
+                    reads.getP99Nanos() / 1000, writes.getP99Nanos() / 1000, poolWait.getP50Nanos() / 1000,
+                    poolWait.getP99Nanos() / 1000, errors);
+        }
+    }
+}
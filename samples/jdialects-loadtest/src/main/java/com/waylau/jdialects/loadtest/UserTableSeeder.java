@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) waylau.com, 2026. All rights reserved.
+ */
+package com.waylau.jdialects.loadtest;
+
+import com.github.drinkjava2.jdialects.Dialect;
+import com.github.drinkjava2.jdialects.model.TableModel;
+import com.waylau.jdialects.jdbc.BatchInserter;
+import com.waylau.jdialects.jdbc.SqlExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 向user_t写入压测数据，第r行为("Foo" + 10位补零的r, "Bar" + r, r % 100)，按主键排序即为行号顺序
+ * <p>
+ * H2使用insert ... select from system_range在服务端生成数据，其他数据库使用BatchInserter。
+ * 表中已有足够的行时跳过，文件库可以在多次压测之间复用。
+ *
+ * @author <a href="https://waylau.com">Way Lau</a>
+ * @since 2026-10-18
+ */
+public class UserTableSeeder {
+
+    public static final String TABLE_NAME = "user_t";
+
+    private static final Logger logger = LoggerFactory.getLogger(UserTableSeeder.class);
+
+    private static final int CHUNK_ROWS = 500000;
+
+    private final Dialect dialect;
+
+    private final DataSource dataSource;
+
+    public UserTableSeeder(Dialect dialect, DataSource dataSource) {
+        this.dialect = dialect;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 与CreateDDLTest中的user_t相同
+     */
+    public static TableModel userModel() {
+        TableModel t = new TableModel(TABLE_NAME);
+        t.column("first_name").VARCHAR(20).pkey();
+        t.column("last_name").VARCHAR(20).pkey();
+        t.column("age").INTEGER();
+        return t;
+    }
+
+    public static String firstName(long row) {
+        return String.format("Foo%010d", row);
+    }
+
+    public static String lastName(long row) {
+        return "Bar" + row;
+    }
+
+    /**
+     * 建表并写入rows行
+     *
+     * @return 本次写入的行数，已有数据时为0
+     */
+    public long seed(long rows) throws SQLException {
+        TableModel t = userModel();
+        SqlExecutor executor = new SqlExecutor(dataSource);
+        long existing;
+        try (Connection conn = dataSource.getConnection()) {
+            existing = count(executor, conn);
+        }
+        if (existing >= rows) {
+            logger.info("{} already has {} rows, skip seeding", TABLE_NAME, existing);
+            return 0;
+        }
+        if (existing >= 0) {
+            executor.execute(dialect.toDropDDL(t));
+        }
+        executor.execute(dialect.toCreateDDL(t));
+
+        long start = System.nanoTime();
+        try (Connection conn = dataSource.getConnection()) {
+            for (long from = 0; from < rows; from += CHUNK_ROWS) {
+                long to = Math.min(rows, from + CHUNK_ROWS);
+                if (dialect == Dialect.H2Dialect) {
+                    executor.execute(conn, "insert into " + TABLE_NAME + " (first_name, last_name, age)"
+                            + " select 'Foo' || lpad(x, 10, '0'), 'Bar' || x, mod(x, 100)"
+                            + " from system_range(" + from + ", " + (to - 1) + ")");
+                } else {
+                    insertRows(conn, t, from, to);
+                }
+                logger.info("Seeded {} / {} rows", to, rows);
+            }
+        }
+        logger.info("Seeded {} rows in {} ms", rows, (System.nanoTime() - start) / 1000000);
+        return rows;
+    }
+
+    /**
+     * 删除行号不小于row的行，即压测中在种子数据之后插入的行
+     *
+     * @return 删除的行数
+     */
+    public int deleteFrom(long row) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            int deleted = new SqlExecutor(dataSource).execute(conn,
+                    "delete from " + TABLE_NAME + " where first_name >= ?", firstName(row));
+            if (deleted > 0) {
+                logger.info("Deleted {} rows inserted after row {}", deleted, row);
+            }
+            return deleted;
+        }
+    }
+
+    private void insertRows(Connection conn, TableModel t, long from, long to) throws SQLException {
+        List<Object[]> buffer = new ArrayList<Object[]>(10000);
+        BatchInserter inserter = new BatchInserter(dialect, t);
+        for (long r = from; r < to; r++) {
+            buffer.add(new Object[]{firstName(r), lastName(r), (int) (r % 100)});
+            if (buffer.size() == 10000) {
+                inserter.insert(conn, buffer);
+                buffer.clear();
+            }
+        }
+        inserter.insert(conn, buffer);
+    }
+
+    /**
+     * 表不存在时返回-1
+     */
+    private static long count(SqlExecutor executor, Connection conn) {
+        try {
+            Object n = executor.queryForObject(conn, "select count(*) from " + TABLE_NAME);
+            return ((Number) n).longValue();
+        } catch (SQLException e) {
+            return -1;
+        }
+    }
+}